@@ -1,49 +1,62 @@
 package dev.le_app.mcss_api_java.api;
 
+import java.io.StringReader;
 import java.util.ArrayList;
+import java.util.stream.Stream;
 
 import org.json.JSONObject;
 
+import dev.le_app.mcss_api_java.api.fleet.FleetStats;
 import dev.le_app.mcss_api_java.api.servers.ServerCountFilter;
 import dev.le_app.mcss_api_java.api.servers.ServerFilter;
 import dev.le_app.mcss_api_java.api.servers.ServerType;
 import dev.le_app.mcss_api_java.api.servers.Servers;
 import dev.le_app.mcss_api_java.api.users.Users;
+import dev.le_app.mcss_api_java.api.utilities.BodyReader;
+import dev.le_app.mcss_api_java.api.utilities.HedgePolicy;
 import dev.le_app.mcss_api_java.api.utilities.Request;
+import dev.le_app.mcss_api_java.api.utilities.ResponseCache;
 import dev.le_app.mcss_api_java.commons.responses.Response;
 import dev.le_app.mcss_api_java.commons.responses.client.ServerCountResponse;
-import dev.le_app.mcss_api_java.commons.responses.client.ServersResponse;
 import dev.le_app.mcss_api_java.commons.responses.client.SettingsResponse;
 import dev.le_app.mcss_api_java.commons.responses.client.StatsResponse;
 import dev.le_app.mcss_api_java.commons.responses.server.ServerResponse;
+import dev.le_app.mcss_api_java.commons.responses.server.ServerResponseCodec;
 
 /**
  * The main class of the MCSS API Java wrapper.
  */
 public class MCSS {
 
-    private String url;
-    private int port;
-    private boolean https;
+    private volatile String ip;
+    private volatile String url;
+    private volatile int port;
+    private volatile boolean https;
 
-    private static Request request;
+    // Each instance has its own request, so clients for different hosts or keys do not interfere
+    private final Request request;
+
+    // Only kept for getRequest()
+    private static volatile Request lastRequest;
 
     public Servers servers;
     public Users users;
 
+    private final FleetStats fleet = new FleetStats();
+
     public MCSS(String ip, int port, String apiKey, boolean https) {
+        this.ip = ip;
         this.port = port;
         this.https = https;
+        this.url = buildUrl(ip, port, https);
 
-        String protocol = https ? "https" : "http";
-        String portString = (port > 0) ? (":" + port) : "";
-        this.url = protocol + "://" + ip + portString + "/api/v2";
-
-        request = new Request(url);
-        request.addHeader("apiKey", apiKey);
+        this.request = new Request(this.url);
+        this.request.addHeader("apiKey", apiKey);
+        lastRequest = this.request;
 
-        this.servers = new Servers();
-        this.users = new Users();
+        this.servers = new Servers(this.request);
+        this.servers.addStatsListener(this.fleet);
+        this.users = new Users(this.request);
     }
 
     public MCSS(String ip, int port, String apiKey) {
@@ -55,18 +68,35 @@ public class MCSS {
     }
 
     public ArrayList<ServerResponse> getServers() throws Exception {
-        ServersResponse servers = new ServersResponse(request.GET("/servers"));
-        return servers.getServers();
+        // Copied, the decoded list may be shared through the response cache
+        return this.listed(new ArrayList<ServerResponse>(request.GET("/servers", ServerResponseCodec::readList)));
     }
 
     public ArrayList<ServerResponse> getServers(ServerFilter filter) throws Exception {
-        ServersResponse servers = new ServersResponse(request.GET("/servers?filter=" + filter));
-        return servers.getServers();
+        return this.listed(new ArrayList<ServerResponse>(request.GET("/servers?filter=" + filter, ServerResponseCodec::readList)));
     }
 
     public ArrayList<ServerResponse> getServers(int filter) throws Exception {
-        ServersResponse servers = new ServersResponse(request.GET("/servers?filter=" + filter));
-        return servers.getServers();
+        return this.listed(new ArrayList<ServerResponse>(request.GET("/servers?filter=" + filter, ServerResponseCodec::readList)));
+    }
+
+    // The body is read whole, servers are decoded as the stream is consumed
+    public Stream<ServerResponse> streamServers() throws Exception {
+        return ServerResponseCodec.stream(new StringReader(request.GET("/servers", BodyReader.TEXT)));
+    }
+
+    public Stream<ServerResponse> streamServers(ServerFilter filter) throws Exception {
+        return ServerResponseCodec.stream(new StringReader(request.GET("/servers?filter=" + filter, BodyReader.TEXT)));
+    }
+
+    public Stream<ServerResponse> streamServers(int filter) throws Exception {
+        return ServerResponseCodec.stream(new StringReader(request.GET("/servers?filter=" + filter, BodyReader.TEXT)));
+    }
+
+    // Listings refresh the status of the servers in the fleet stats, stats samples do not carry one
+    private ArrayList<ServerResponse> listed(ArrayList<ServerResponse> servers) {
+        this.fleet.updateStatuses(servers);
+        return servers;
     }
 
     public int getServerCount() throws Exception {
@@ -95,6 +125,11 @@ public class MCSS {
         return new ServerCountResponse(request.GET("/servers/count?filter=" + filter + "&type=" + type)).getCount();
     }
 
+    // Rollup of the latest stats fetched for each server through this instance
+    public FleetStats getFleetStats() {
+        return this.fleet;
+    }
+
     public SettingsResponse getSettings() throws Exception {
         return new SettingsResponse(request.GET("/mcss/settings/All"));
     }
@@ -107,34 +142,67 @@ public class MCSS {
     public int getPort() { return this.port; }
     public boolean isHttps() { return this.https; }
 
-    public void setUrl(String ip) {
-        String protocol = this.https ? "https" : "http";
-        String portString = (this.port > 0) ? (":" + this.port) : "";
-        this.url = protocol + "://" + ip + portString + "/api/v2";
-
+    // The base URL is swapped atomically, requests already sent keep the previous one
+    public synchronized void setUrl(String ip) {
+        this.ip = ip;
+        this.rebuildUrl();
     }
-    
-    public void setPort(int port) {
+
+    public synchronized void setPort(int port) {
         this.port = port;
-        String protocol = this.https ? "https" : "http";
-        String portString = (this.port > 0) ? (":" + this.port) : "";
-        this.url = protocol + "://" + this.url.split("://")[1].split(":")[0] + portString + "/api/v2";
-        request.setBaseUrl(this.url);
+        this.rebuildUrl();
     }
 
-    public void setHttps(boolean https) {
+    public synchronized void setHttps(boolean https) {
         this.https = https;
-        String protocol = this.https ? "https" : "http";
-        String portString = (this.port > 0) ? (":" + this.port) : "";
-        this.url = protocol + "://" + this.url.split("://")[1].split(":")[0] + portString + "/api/v2";
-        request.setBaseUrl(this.url);
+        this.rebuildUrl();
     }
 
+    // Points the client at another host and key at once, setting them one by one would send the old key to the new host meanwhile
+    public synchronized void setTarget(String ip, int port, String apiKey, boolean https) {
+        this.ip = ip;
+        this.port = port;
+        this.https = https;
+        this.url = buildUrl(ip, port, https);
+        this.request.setBaseUrl(this.url, "apiKey", apiKey);
+    }
+
+    private void rebuildUrl() {
+        this.url = buildUrl(this.ip, this.port, this.https);
+        this.request.setBaseUrl(this.url);
+    }
+
+    private static String buildUrl(String ip, int port, boolean https) {
+        String protocol = https ? "https" : "http";
+        String portString = (port > 0) ? (":" + port) : "";
+        return protocol + "://" + ip + portString + "/api/v2";
+    }
+
+    public void setTimeouts(int connectTimeout, int readTimeout) {
+        request.setTimeouts(connectTimeout, readTimeout);
+    }
+
+    public void setHedging(HedgePolicy policy) {
+        request.setHedging(policy);
+    }
+
+    // Revalidates GET responses instead of decoding unchanged bodies again, null disables it
+    public void setResponseCache(ResponseCache cache) {
+        request.setResponseCache(cache);
+    }
+
+    // Calls already in flight finish with the previous key
     public void setApiKey(String apiKey) {
         request.setHeader("apiKey", apiKey);
     }
 
+    public Request request() {
+        return this.request;
+    }
+
+    // Returns the request of the last instance created, use request() on the instance instead
+    @Deprecated
     public static Request getRequest() {
-        return request;
+        return lastRequest;
     }
 }
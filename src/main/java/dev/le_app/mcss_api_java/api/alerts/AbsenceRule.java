@@ -0,0 +1,28 @@
+package dev.le_app.mcss_api_java.api.alerts;
+
+import java.time.Duration;
+
+public class AbsenceRule extends AlertRule {
+
+    private final long afterNanos;
+
+    AbsenceRule(String name, Duration after) {
+        super(name);
+        if (after.isNegative() || after.isZero()) throw new IllegalArgumentException("after must be positive");
+        this.afterNanos = after.toNanos();
+    }
+
+    public Duration getAfter() { return Duration.ofNanos(this.afterNanos); }
+
+    @Override
+    boolean onSample(RuleState state, long nanos, double[] values) {
+        return false;
+    }
+
+    @Override
+    boolean onTick(RuleState state, long nanos, long lastSample) {
+        if (lastSample < 0) return false;
+        state.value = (nanos - lastSample) / 1_000_000_000.0;
+        return nanos - lastSample >= this.afterNanos;
+    }
+}
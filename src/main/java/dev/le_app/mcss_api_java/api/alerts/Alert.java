@@ -0,0 +1,36 @@
+package dev.le_app.mcss_api_java.api.alerts;
+
+// A rule starting or stopping to fire for a server
+
+public class Alert {
+
+    private final AlertRule rule;
+    private final String serverId;
+    private final boolean firing;
+    private final double value;
+    private final long nanos;
+
+    Alert(AlertRule rule, String serverId, boolean firing, double value, long nanos) {
+        this.rule = rule;
+        this.serverId = serverId;
+        this.firing = firing;
+        this.value = value;
+        this.nanos = nanos;
+    }
+
+    public AlertRule getRule() { return this.rule; }
+    public String getServerId() { return this.serverId; }
+
+    // False when the alert resolved
+    public boolean isFiring() { return this.firing; }
+
+    // Metric value, rate per second or seconds without samples depending on the rule
+    public double getValue() { return this.value; }
+
+    // System.nanoTime() of the sample or tick that caused the transition
+    public long getNanos() { return this.nanos; }
+
+    public String toString() {
+        return (this.firing ? "FIRING " : "RESOLVED ") + this.rule.getName() + " on " + this.serverId + " (" + this.value + ")";
+    }
+}
@@ -0,0 +1,139 @@
+package dev.le_app.mcss_api_java.api.alerts;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import dev.le_app.mcss_api_java.api.servers.Server;
+import dev.le_app.mcss_api_java.api.servers.ServerStats;
+import dev.le_app.mcss_api_java.api.servers.ServerStatsListener;
+
+/**
+ * Evaluates alert rules over the stats samples of each server and reports when a rule starts or stops firing.
+ * Register it with Servers.addStatsListener, and call tick() periodically for absence rules.
+ */
+public class AlertEngine implements ServerStatsListener {
+
+    private volatile AlertRule[] rules = new AlertRule[0];
+    private final List<AlertListener> listeners = new CopyOnWriteArrayList<AlertListener>();
+    private final ConcurrentHashMap<String, ServerState> servers = new ConcurrentHashMap<String, ServerState>();
+
+    public synchronized AlertEngine addRule(AlertRule rule) {
+        for (AlertRule existing : this.rules) {
+            if (existing.getName().equals(rule.getName())) throw new IllegalArgumentException("A rule named " + rule.getName() + " already exists");
+        }
+        AlertRule[] rules = Arrays.copyOf(this.rules, this.rules.length + 1);
+        rules[rules.length - 1] = rule;
+        this.rules = rules;
+        return this;
+    }
+
+    public AlertEngine addListener(AlertListener listener) {
+        this.listeners.add(listener);
+        return this;
+    }
+
+    public void removeListener(AlertListener listener) {
+        this.listeners.remove(listener);
+    }
+
+    @Override
+    public void onStats(Server server, ServerStats stats) {
+        this.record(server.getServerId(), System.nanoTime(), stats);
+    }
+
+    public void record(String serverId, ServerStats stats) {
+        this.record(serverId, System.nanoTime(), stats);
+    }
+
+    // Samples of a server must be recorded in time order
+    public void record(String serverId, long nanos, ServerStats stats) {
+        double[] values = Metric.sample(stats);
+        ServerState server = this.servers.computeIfAbsent(serverId, id -> new ServerState());
+        List<Alert> alerts = null;
+        synchronized (server) {
+            AlertRule[] rules = server.sync(this.rules);
+            server.lastSample = nanos;
+            for (int i = 0; i < rules.length; i++) {
+                RuleState state = server.states[i];
+                alerts = this.transition(alerts, rules[i], serverId, state, rules[i].onSample(state, nanos, values), nanos);
+            }
+        }
+        this.publish(alerts);
+    }
+
+    public void tick() {
+        this.tick(System.nanoTime());
+    }
+
+    // Evaluates the rules that depend on time rather than on samples
+    public void tick(long nanos) {
+        for (Map.Entry<String, ServerState> entry : this.servers.entrySet()) {
+            ServerState server = entry.getValue();
+            List<Alert> alerts = null;
+            synchronized (server) {
+                AlertRule[] rules = server.sync(this.rules);
+                for (int i = 0; i < rules.length; i++) {
+                    RuleState state = server.states[i];
+                    alerts = this.transition(alerts, rules[i], entry.getKey(), state, rules[i].onTick(state, nanos, server.lastSample), nanos);
+                }
+            }
+            this.publish(alerts);
+        }
+    }
+
+    public boolean isFiring(String serverId, String rule) {
+        ServerState server = this.servers.get(serverId);
+        if (server == null) return false;
+        synchronized (server) {
+            for (int i = 0; i < server.rules.length; i++) {
+                if (server.rules[i].getName().equals(rule)) return server.states[i].firing;
+            }
+        }
+        return false;
+    }
+
+    // Forgets a server, its firing alerts are dropped without being resolved
+    public void remove(String serverId) {
+        this.servers.remove(serverId);
+    }
+
+    private List<Alert> transition(List<Alert> alerts, AlertRule rule, String serverId, RuleState state, boolean firing, long nanos) {
+        if (firing == state.firing) return alerts;
+        state.firing = firing;
+        if (alerts == null) alerts = new ArrayList<Alert>(2);
+        alerts.add(new Alert(rule, serverId, firing, state.value, nanos));
+        return alerts;
+    }
+
+    // Listeners run on the recording thread once the server lock is released
+    private void publish(List<Alert> alerts) {
+        if (alerts == null) return;
+        for (Alert alert : alerts) {
+            for (AlertListener listener : this.listeners) {
+                listener.onAlert(alert);
+            }
+        }
+    }
+
+    private static final class ServerState {
+
+        AlertRule[] rules = new AlertRule[0];
+        RuleState[] states = new RuleState[0];
+        long lastSample = -1;
+
+        // Adds state for rules registered since the last sample
+        AlertRule[] sync(AlertRule[] current) {
+            if (current.length != this.rules.length) {
+                RuleState[] states = Arrays.copyOf(this.states, current.length);
+                for (int i = this.rules.length; i < current.length; i++) states[i] = current[i].newState();
+                this.states = states;
+                this.rules = current;
+            }
+            return this.rules;
+        }
+    }
+}
@@ -0,0 +1,6 @@
+package dev.le_app.mcss_api_java.api.alerts;
+
+@FunctionalInterface
+public interface AlertListener {
+    void onAlert(Alert alert);
+}
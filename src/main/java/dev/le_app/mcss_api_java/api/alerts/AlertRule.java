@@ -0,0 +1,58 @@
+package dev.le_app.mcss_api_java.api.alerts;
+
+import java.time.Duration;
+
+/**
+ * A condition evaluated per server over its stats samples, built with the static factories.
+ * Each rule keeps a fixed amount of state per server whatever the window length.
+ */
+public abstract class AlertRule {
+
+    private final String name;
+
+    AlertRule(String name) {
+        if (name == null) throw new IllegalArgumentException("A rule needs a name");
+        this.name = name;
+    }
+
+    public String getName() { return this.name; }
+
+    RuleState newState() {
+        return new RuleState(0);
+    }
+
+    // Whether the condition holds once the sample is taken into account
+    abstract boolean onSample(RuleState state, long nanos, double[] values);
+
+    // Whether the condition holds when no sample arrived, lastSample is -1 before the first one
+    boolean onTick(RuleState state, long nanos, long lastSample) {
+        return state.firing;
+    }
+
+    // Fires while the metric is above the threshold, immediately unless forDuration or forSamples is set
+    public static ThresholdRule above(String name, Metric metric, double threshold) {
+        return new ThresholdRule(name, metric, threshold, true);
+    }
+
+    public static ThresholdRule below(String name, Metric metric, double threshold) {
+        return new ThresholdRule(name, metric, threshold, false);
+    }
+
+    // Fires while the metric grows by at least perSecond, measured across the window
+    public static RateRule rising(String name, Metric metric, double perSecond, Duration window) {
+        return new RateRule(name, metric, perSecond, window, true);
+    }
+
+    public static RateRule falling(String name, Metric metric, double perSecond, Duration window) {
+        return new RateRule(name, metric, perSecond, window, false);
+    }
+
+    // Fires when a server sent no sample for the given time, checked by AlertEngine.tick
+    public static AbsenceRule absent(String name, Duration after) {
+        return new AbsenceRule(name, after);
+    }
+
+    public String toString() {
+        return this.name;
+    }
+}
@@ -0,0 +1,30 @@
+package dev.le_app.mcss_api_java.api.alerts;
+
+import dev.le_app.mcss_api_java.api.servers.ServerStats;
+
+public enum Metric {
+    CPU,
+    MEMORY_USED,
+    // Memory used as a percent of getMemoryLimit()
+    MEMORY_PERCENT,
+    PLAYERS_ONLINE,
+    // Players online as a percent of the player limit
+    PLAYER_PERCENT;
+
+    private static final Metric[] VALUES = values();
+
+    // Reads every metric of a sample once, indexed by ordinal, NaN when it cannot be computed
+    static double[] sample(ServerStats stats) {
+        double[] values = new double[VALUES.length];
+        double memoryUsed = stats.getMemoryUsed();
+        double memoryLimit = stats.getMemoryLimit();
+        double players = stats.getPlayersOnline();
+        double playerLimit = stats.getPlayerLimit();
+        values[CPU.ordinal()] = stats.getCPU();
+        values[MEMORY_USED.ordinal()] = memoryUsed;
+        values[MEMORY_PERCENT.ordinal()] = memoryLimit > 0 ? 100 * memoryUsed / memoryLimit : Double.NaN;
+        values[PLAYERS_ONLINE.ordinal()] = players;
+        values[PLAYER_PERCENT.ordinal()] = playerLimit > 0 ? 100 * players / playerLimit : Double.NaN;
+        return values;
+    }
+}
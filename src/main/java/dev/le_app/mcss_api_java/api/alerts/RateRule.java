@@ -0,0 +1,65 @@
+package dev.le_app.mcss_api_java.api.alerts;
+
+import java.time.Duration;
+
+public class RateRule extends AlertRule {
+
+    private final Metric metric;
+    private final double perSecond;
+    private final long windowNanos;
+    private final boolean rising;
+    private int capacity = 32;
+
+    RateRule(String name, Metric metric, double perSecond, Duration window, boolean rising) {
+        super(name);
+        if (window.isNegative() || window.isZero()) throw new IllegalArgumentException("window must be positive");
+        this.metric = metric;
+        this.perSecond = Math.abs(perSecond);
+        this.windowNanos = window.toNanos();
+        this.rising = rising;
+    }
+
+    public Metric getMetric() { return this.metric; }
+    public double getPerSecond() { return this.perSecond; }
+    public Duration getWindow() { return Duration.ofNanos(this.windowNanos); }
+
+    // Samples kept per server, when more arrive within the window the oldest are dropped and the window shrinks
+    public RateRule setCapacity(int capacity) {
+        if (capacity < 2) throw new IllegalArgumentException("capacity must be at least 2");
+        this.capacity = capacity;
+        return this;
+    }
+
+    @Override
+    RuleState newState() {
+        return new RuleState(this.capacity);
+    }
+
+    @Override
+    boolean onSample(RuleState state, long nanos, double[] values) {
+        double value = values[this.metric.ordinal()];
+        if (Double.isNaN(value)) return false;
+        int capacity = state.times.length;
+
+        // Drops the samples that left the window, then the oldest one if the ring is full
+        while (state.size > 0 && nanos - state.times[state.head] > this.windowNanos) {
+            state.head = (state.head + 1) % capacity;
+            state.size--;
+        }
+        if (state.size == capacity) {
+            state.head = (state.head + 1) % capacity;
+            state.size--;
+        }
+        int tail = (state.head + state.size) % capacity;
+        state.times[tail] = nanos;
+        state.values[tail] = value;
+        state.size++;
+
+        if (state.size < 2) return false;
+        long elapsed = nanos - state.times[state.head];
+        if (elapsed <= 0) return state.firing;
+        double rate = (value - state.values[state.head]) * 1_000_000_000.0 / elapsed;
+        state.value = rate;
+        return this.rising ? rate >= this.perSecond : rate <= -this.perSecond;
+    }
+}
@@ -0,0 +1,24 @@
+package dev.le_app.mcss_api_java.api.alerts;
+
+// What a rule remembers about one server, its size is fixed when created
+
+final class RuleState {
+
+    boolean firing;
+    double value = Double.NaN;
+
+    // Threshold rules: start of the current breach and samples in it
+    long since = -1;
+    int count;
+
+    // Rate rules: ring of the latest samples
+    final long[] times;
+    final double[] values;
+    int head;
+    int size;
+
+    RuleState(int capacity) {
+        this.times = new long[capacity];
+        this.values = new double[capacity];
+    }
+}
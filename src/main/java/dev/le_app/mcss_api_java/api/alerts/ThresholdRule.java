@@ -0,0 +1,52 @@
+package dev.le_app.mcss_api_java.api.alerts;
+
+import java.time.Duration;
+
+public class ThresholdRule extends AlertRule {
+
+    private final Metric metric;
+    private final double threshold;
+    private final boolean above;
+    private long durationNanos = 0;
+    private int samples = 1;
+
+    ThresholdRule(String name, Metric metric, double threshold, boolean above) {
+        super(name);
+        this.metric = metric;
+        this.threshold = threshold;
+        this.above = above;
+    }
+
+    public Metric getMetric() { return this.metric; }
+    public double getThreshold() { return this.threshold; }
+    public boolean isAbove() { return this.above; }
+
+    // The breach must last this long before the rule fires
+    public ThresholdRule forDuration(Duration duration) {
+        if (duration.isNegative()) throw new IllegalArgumentException("duration cannot be negative");
+        this.durationNanos = duration.toNanos();
+        return this;
+    }
+
+    // The breach must be seen in this many consecutive samples before the rule fires
+    public ThresholdRule forSamples(int samples) {
+        if (samples < 1) throw new IllegalArgumentException("samples must be at least 1");
+        this.samples = samples;
+        return this;
+    }
+
+    @Override
+    boolean onSample(RuleState state, long nanos, double[] values) {
+        double value = values[this.metric.ordinal()];
+        state.value = value;
+        boolean breach = this.above ? value > this.threshold : value < this.threshold;
+        if (!breach) {
+            state.since = -1;
+            state.count = 0;
+            return false;
+        }
+        if (state.since < 0) state.since = nanos;
+        state.count++;
+        return state.count >= this.samples && nanos - state.since >= this.durationNanos;
+    }
+}
@@ -24,6 +24,19 @@ public class Backup {
         this.folderBlacklist = json.getJSONArray("folderBlacklist").toList().toArray(new String[0]);
     }
 
+    // Used by BackupCodec
+    Backup(String name, String destination, boolean suspend, Compression compression, boolean deleteOldBackups,
+           boolean runBackupAfterCreation, String[] fileBlacklist, String[] folderBlacklist) {
+        this.name = name;
+        this.destination = destination;
+        this.suspend = suspend;
+        this.compression = compression;
+        this.deleteOldBackups = deleteOldBackups;
+        this.runBackupAfterCreation = runBackupAfterCreation;
+        this.fileBlacklist = fileBlacklist;
+        this.folderBlacklist = folderBlacklist;
+    }
+
     public String getName() { return this.name; }
 
     public String getDestination() { return this.destination; }
@@ -0,0 +1,112 @@
+package dev.le_app.mcss_api_java.api.backups;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import dev.le_app.mcss_api_java.commons.json.JsonReader;
+import dev.le_app.mcss_api_java.commons.json.JsonWriter;
+
+/**
+ * Decodes backups straight from the token stream, unknown keys are skipped.
+ */
+public final class BackupCodec {
+
+    private static final String[] EMPTY = new String[0];
+
+    // Bit of each field in the seen mask
+    private static final String[] FIELDS = { "name", "destination", "suspend", "compression", "deleteOldBackups",
+        "runBackupAfterCreation", "fileBlacklist", "folderBlacklist" };
+
+    private BackupCodec() {}
+
+    public static Backup read(JsonReader in) throws IOException {
+        String name = null;
+        String destination = null;
+        boolean suspend = false;
+        Compression compression = null;
+        boolean deleteOldBackups = false;
+        boolean runBackupAfterCreation = false;
+        String[] fileBlacklist = EMPTY;
+        String[] folderBlacklist = EMPTY;
+        int seen = 0;
+
+        in.beginObject();
+        while (in.hasNext()) {
+            switch (in.nextName()) {
+                case "name": name = in.nextString(); seen |= 1 << 0; break;
+                case "destination": destination = in.nextString(); seen |= 1 << 1; break;
+                case "suspend": suspend = in.nextBoolean(); seen |= 1 << 2; break;
+                case "compression": compression = readCompression(in); seen |= 1 << 3; break;
+                case "deleteOldBackups": deleteOldBackups = in.nextBoolean(); seen |= 1 << 4; break;
+                case "runBackupAfterCreation": runBackupAfterCreation = in.nextBoolean(); seen |= 1 << 5; break;
+                case "fileBlacklist": fileBlacklist = readStrings(in); seen |= 1 << 6; break;
+                case "folderBlacklist": folderBlacklist = readStrings(in); seen |= 1 << 7; break;
+                default: in.skipValue();
+            }
+        }
+        in.endObject();
+        // Every field is required, as with Backup(JSONObject)
+        if (seen != (1 << FIELDS.length) - 1) throw new IOException("Backup is missing " + FIELDS[Integer.numberOfTrailingZeros(~seen)]);
+
+        return new Backup(name, destination, suspend, compression, deleteOldBackups, runBackupAfterCreation, fileBlacklist, folderBlacklist);
+    }
+
+    // Reads the backups key of GET /servers/{id}/backups
+    public static ArrayList<Backup> readList(Reader body) throws IOException {
+        JsonReader in = new JsonReader(body);
+        ArrayList<Backup> backups = new ArrayList<Backup>();
+        if (!in.seek("backups")) return backups;
+        in.beginArray();
+        while (in.hasNext()) backups.add(read(in));
+        in.endArray();
+        return backups;
+    }
+
+    // Same list decoded one backup at a time as the stream is consumed
+    public static Stream<Backup> stream(Reader body) throws IOException {
+        JsonReader in = new JsonReader(body);
+        if (!in.seek("backups")) return Stream.empty();
+        return in.stream(BackupCodec::read);
+    }
+
+    public static JsonWriter write(JsonWriter out, Backup backup) {
+        out.beginObject();
+        out.name("name").value(backup.getName());
+        out.name("destination").value(backup.getDestination());
+        out.name("suspend").value(backup.getSuspend());
+        out.name("compression").value(backup.getCompression() == null ? null : backup.getCompression().name());
+        out.name("deleteOldBackups").value(backup.getDeleteOldBackups());
+        out.name("runBackupAfterCreation").value(backup.getRunBackupAfterCreation());
+        out.name("fileBlacklist").value(backup.getFileBlacklist());
+        out.name("folderBlacklist").value(backup.getFolderBlacklist());
+        return out.endObject();
+    }
+
+    // The name of the constant, or its numeric value
+    private static Compression readCompression(JsonReader in) throws IOException {
+        if (in.peek() == JsonReader.Token.NUMBER) {
+            int value = in.nextInt();
+            for (Compression compression : Compression.values()) {
+                if (compression.getValue() == value) return compression;
+            }
+            return null;
+        }
+        String name = in.nextString();
+        return name == null ? null : Compression.valueOf(name);
+    }
+
+    private static String[] readStrings(JsonReader in) throws IOException {
+        if (in.peek() == JsonReader.Token.NULL) {
+            in.nextNull();
+            return EMPTY;
+        }
+        List<String> values = new ArrayList<String>();
+        in.beginArray();
+        while (in.hasNext()) values.add(in.nextString());
+        in.endArray();
+        return values.toArray(EMPTY);
+    }
+}
@@ -1,15 +1,18 @@
 package dev.le_app.mcss_api_java.api.backups;
 
+import java.io.StringReader;
 import java.util.ArrayList;
+import java.util.stream.Stream;
 
 import dev.le_app.mcss_api_java.api.MCSS;
-import org.json.JSONObject;
-
+import dev.le_app.mcss_api_java.api.utilities.BodyReader;
 import dev.le_app.mcss_api_java.api.utilities.Request;
+import dev.le_app.mcss_api_java.commons.json.JsonWriter;
 import dev.le_app.mcss_api_java.commons.responses.Response;
 import dev.le_app.mcss_api_java.commons.responses.backup.BackupResponse;
-import dev.le_app.mcss_api_java.commons.responses.backup.BackupsResponse;
 import dev.le_app.mcss_api_java.commons.structures.BackupBuilder;
+import dev.le_app.mcss_api_java.commons.structures.BuilderCodec;
+import org.json.JSONObject;
 
 public class Backups {
  
@@ -17,9 +20,15 @@ public class Backups {
 
     private String serverId;
 
+    public Backups(Request request, String serverId) {
+        this.request = request;
+        this.serverId = serverId;
+    }
+
+    // Uses the request of the last MCSS instance created
+    @Deprecated
     public Backups(String serverId) {
-        this.request = MCSS.getRequest();
-        this.serverId = null;
+        this(MCSS.getRequest(), serverId);
     }
 
     public BackupResponse get() throws Exception {
@@ -27,7 +36,11 @@ public class Backups {
     }
 
     public ArrayList<Backup> getBackups() throws Exception {
-        return new BackupsResponse(this.request.GET("/servers/" + this.serverId + "/backups")).getBackups();
+        return new ArrayList<Backup>(this.request.GET("/servers/" + this.serverId + "/backups", BackupCodec::readList));
+    }
+
+    public Stream<Backup> streamBackups() throws Exception {
+        return BackupCodec.stream(new StringReader(this.request.GET("/servers/" + this.serverId + "/backups", BodyReader.TEXT)));
     }
 
     public Backup getBackup(String backupId) throws Exception {
@@ -35,7 +48,7 @@ public class Backups {
     }
 
     public Response create(BackupBuilder backup) throws Exception {
-        return new Response(this.request.POST("/servers/" + this.serverId + "/backups", backup.toJSON()));
+        return new Response(this.request.POST("/servers/" + this.serverId + "/backups", BuilderCodec.write(new JsonWriter(), backup).toString()));
     }
 
     public Response create(JSONObject backup) throws Exception {
@@ -43,7 +56,7 @@ public class Backups {
     }
 
     public Response update(String backupId, BackupBuilder backup) throws Exception {
-        return new Response(this.request.PUT("/servers/" + this.serverId + "/backups/" + backupId, backup.toJSON()));
+        return new Response(this.request.PUT("/servers/" + this.serverId + "/backups/" + backupId, BuilderCodec.write(new JsonWriter(), backup).toString()));
     }
 
     public Response update(String backupId, JSONObject backup) throws Exception {
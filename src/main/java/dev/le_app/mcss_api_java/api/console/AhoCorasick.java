@@ -0,0 +1,148 @@
+package dev.le_app.mcss_api_java.api.console;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Aho-Corasick automaton compiled to a dense DFA over the characters used by the keywords.
+// Every line is scanned once, whatever the number of keywords.
+// When folding case, keywords and text are compared on Character.toLowerCase(Character.toUpperCase(c)), as String.regionMatches does.
+
+final class AhoCorasick {
+
+    interface Hit {
+        void hit(int keyword, int end);
+    }
+
+    private static final int ASCII = 128;
+
+    // Character -> column in the transition table, column 0 means "not used by any keyword"
+    private final int[] asciiClass;
+    private final Map<Character, Integer> otherClass;
+    private final int columns;
+    private final boolean foldCase;
+
+    // Transition table, states * columns
+    private final int[] delta;
+
+    // Keywords ending in each state, following the failure links
+    private final int[][] outputs;
+
+    AhoCorasick(List<String> keywords, boolean foldCase) {
+        this.asciiClass = new int[ASCII];
+        this.otherClass = new HashMap<Character, Integer>();
+        this.foldCase = foldCase;
+
+        int nextClass = 1;
+        for (String keyword : keywords) {
+            for (int i = 0; i < keyword.length(); i++) {
+                char c = foldCase ? fold(keyword.charAt(i)) : keyword.charAt(i);
+                if (c < ASCII) {
+                    if (this.asciiClass[c] == 0) this.asciiClass[c] = nextClass++;
+                } else if (!this.otherClass.containsKey(c)) {
+                    this.otherClass.put(c, nextClass++);
+                }
+            }
+        }
+        this.columns = nextClass;
+        if (foldCase) {
+            for (char c = 0; c < ASCII; c++) this.asciiClass[c] = this.asciiClass[fold(c)];
+        }
+
+        // Build the trie, -1 marks a missing edge
+        List<int[]> trie = new ArrayList<int[]>();
+        List<List<Integer>> out = new ArrayList<List<Integer>>();
+        trie.add(this.emptyRow());
+        out.add(new ArrayList<Integer>());
+
+        for (int k = 0; k < keywords.size(); k++) {
+            String keyword = keywords.get(k);
+            int state = 0;
+            for (int i = 0; i < keyword.length(); i++) {
+                int column = this.classOf(keyword.charAt(i));
+                if (trie.get(state)[column] < 0) {
+                    trie.get(state)[column] = trie.size();
+                    trie.add(this.emptyRow());
+                    out.add(new ArrayList<Integer>());
+                }
+                state = trie.get(state)[column];
+            }
+            out.get(state).add(k);
+        }
+
+        // Resolve failure links breadth first and turn the trie into a DFA
+        int states = trie.size();
+        int[] fail = new int[states];
+        this.delta = new int[states * this.columns];
+        ArrayDeque<Integer> queue = new ArrayDeque<Integer>();
+
+        for (int column = 0; column < this.columns; column++) {
+            int next = trie.get(0)[column];
+            if (next < 0) {
+                this.delta[column] = 0;
+            } else {
+                this.delta[column] = next;
+                fail[next] = 0;
+                queue.add(next);
+            }
+        }
+
+        while (!queue.isEmpty()) {
+            int state = queue.poll();
+            out.get(state).addAll(out.get(fail[state]));
+            for (int column = 0; column < this.columns; column++) {
+                int next = trie.get(state)[column];
+                if (next < 0) {
+                    this.delta[state * this.columns + column] = this.delta[fail[state] * this.columns + column];
+                } else {
+                    this.delta[state * this.columns + column] = next;
+                    fail[next] = this.delta[fail[state] * this.columns + column];
+                    queue.add(next);
+                }
+            }
+        }
+
+        this.outputs = new int[states][];
+        for (int state = 0; state < states; state++) {
+            List<Integer> keywordsHere = out.get(state);
+            int[] row = new int[keywordsHere.size()];
+            for (int i = 0; i < row.length; i++) row[i] = keywordsHere.get(i);
+            this.outputs[state] = row;
+        }
+    }
+
+    private int[] emptyRow() {
+        int[] row = new int[this.columns];
+        Arrays.fill(row, -1);
+        return row;
+    }
+
+    private static char fold(char c) {
+        return Character.toLowerCase(Character.toUpperCase(c));
+    }
+
+    private int classOf(char c) {
+        if (c < ASCII) return this.asciiClass[c];
+        if (this.foldCase) {
+            c = fold(c);
+            if (c < ASCII) return this.asciiClass[c];
+        }
+        Integer column = this.otherClass.get(c);
+        return column == null ? 0 : column;
+    }
+
+    // Reports every keyword occurrence in the text with the index just past its last character
+    void scan(CharSequence text, Hit hit) {
+        int state = 0;
+        for (int i = 0; i < text.length(); i++) {
+            state = this.delta[state * this.columns + this.classOf(text.charAt(i))];
+            int[] found = this.outputs[state];
+            for (int k = 0; k < found.length; k++) {
+                hit.hit(found[k], i + 1);
+            }
+        }
+    }
+}
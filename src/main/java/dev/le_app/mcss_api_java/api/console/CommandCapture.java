@@ -0,0 +1,92 @@
+package dev.le_app.mcss_api_java.api.console;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Predicate;
+
+import dev.le_app.mcss_api_java.api.exceptions.DeadlineExceededException;
+import dev.le_app.mcss_api_java.api.servers.Server;
+import dev.le_app.mcss_api_java.api.utilities.Deadline;
+
+/**
+ * Sends a command and collects the console lines written after it.
+ * The console position is marked before sending, then polled with isConsoleOutdated, backing off while nothing changes.
+ * Capture stops on the first line the matcher accepts, or without a matcher once the output went quiet.
+ * More lines than the window between two polls cannot be told apart and the oldest are lost.
+ */
+public class CommandCapture {
+
+    private Predicate<String> until;
+    private Duration quiet = Duration.ofMillis(300);
+    private long minPollMillis = 10;
+    private long maxPollMillis = 200;
+    private int window = 100;
+
+    // Stops on the first line accepted, quiet periods are then ignored
+    public CommandCapture setUntil(Predicate<String> until) {
+        this.until = until;
+        return this;
+    }
+
+    // Without a matcher, time without new lines after which the command is considered done
+    public CommandCapture setQuiet(Duration quiet) {
+        this.quiet = quiet;
+        return this;
+    }
+
+    public CommandCapture setPollInterval(long minMillis, long maxMillis) {
+        if (minMillis < 1 || maxMillis < minMillis) throw new IllegalArgumentException("Invalid poll interval");
+        this.minPollMillis = minMillis;
+        this.maxPollMillis = maxMillis;
+        return this;
+    }
+
+    public CommandCapture setWindow(int window) {
+        this.window = window;
+        return this;
+    }
+
+    public CommandOutput run(Server server, String command, Duration timeout) throws Exception {
+        long start = System.nanoTime();
+        List<String> lines = new ArrayList<String>();
+        String[] match = new String[1];
+        boolean timedOut = false;
+
+        try {
+            Deadline deadline = Deadline.after(timeout);
+            deadline.run(() -> {
+                ConsoleCursor cursor = new ConsoleCursor(this.window);
+                cursor.mark(server);
+                server.execute(command);
+
+                long lastOutput = System.nanoTime();
+                long poll = this.minPollMillis;
+                while (true) {
+                    String[] fresh = cursor.next(server);
+                    for (String line : fresh) {
+                        lines.add(line);
+                        if (this.until != null && this.until.test(line)) {
+                            match[0] = line;
+                            return;
+                        }
+                    }
+
+                    if (fresh.length > 0) {
+                        lastOutput = System.nanoTime();
+                        poll = this.minPollMillis;
+                    } else {
+                        poll = Math.min(poll * 2, this.maxPollMillis);
+                    }
+                    long sinceOutput = System.nanoTime() - lastOutput;
+                    if (this.until == null && sinceOutput >= this.quiet.toNanos()) return;
+                    if (deadline.isExpired()) throw new DeadlineExceededException("Command " + command + " did not finish in " + timeout.toMillis() + " ms", null);
+                    Thread.sleep(Math.min(poll, Math.max(1, deadline.remainingMillis())));
+                }
+            });
+        } catch (DeadlineExceededException e) {
+            timedOut = true;
+        }
+        return new CommandOutput(lines, match[0], timedOut, Duration.ofNanos(System.nanoTime() - start));
+    }
+}
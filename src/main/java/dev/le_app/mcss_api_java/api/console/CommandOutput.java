@@ -0,0 +1,38 @@
+package dev.le_app.mcss_api_java.api.console;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+
+// Console lines written after a command was sent, and why the capture stopped
+
+public class CommandOutput {
+
+    private final List<String> lines;
+    private final String match;
+    private final boolean timedOut;
+    private final Duration elapsed;
+
+    CommandOutput(List<String> lines, String match, boolean timedOut, Duration elapsed) {
+        this.lines = Collections.unmodifiableList(lines);
+        this.match = match;
+        this.timedOut = timedOut;
+        this.elapsed = elapsed;
+    }
+
+    public List<String> getLines() { return this.lines; }
+
+    // The line accepted by the matcher, null if none was
+    public String getMatch() { return this.match; }
+
+    public boolean isMatched() { return this.match != null; }
+
+    // The timeout passed before a match or a quiet period
+    public boolean isTimedOut() { return this.timedOut; }
+
+    public Duration getElapsed() { return this.elapsed; }
+
+    public String toString() {
+        return String.join("\n", this.lines);
+    }
+}
@@ -0,0 +1,77 @@
+package dev.le_app.mcss_api_java.api.console;
+
+import java.util.Arrays;
+
+import dev.le_app.mcss_api_java.api.servers.Server;
+
+/**
+ * Remembers the last two console lines seen for a server so that only the lines written
+ * since the previous call are returned.
+ */
+public class ConsoleCursor {
+
+    private static final String[] EMPTY = new String[0];
+
+    private final int window;
+
+    private String secondLastLine;
+    private String lastLine;
+    private boolean primed;
+
+    public ConsoleCursor(int window) {
+        if (window < 2) throw new IllegalArgumentException("window must be at least 2 lines");
+        this.window = window;
+    }
+
+    public ConsoleCursor() {
+        this(100);
+    }
+
+    public synchronized boolean isPrimed() { return this.primed; }
+
+    public synchronized String getLastLine() { return this.lastLine; }
+
+    public synchronized String getSecondLastLine() { return this.secondLastLine; }
+
+    // Moves the cursor to the end of the console without returning anything
+    public synchronized void mark(Server server) throws Exception {
+        this.remember(server.getConsole(this.window, false));
+    }
+
+    // Returns the lines written since the previous call, the first call only marks the position
+    public synchronized String[] next(Server server) throws Exception {
+        if (this.primed && this.lastLine != null && this.secondLastLine != null
+                && !server.isConsoleOutdated(this.secondLastLine, this.lastLine)) {
+            return EMPTY;
+        }
+
+        String[] lines = server.getConsole(this.window, false);
+        if (!this.primed) {
+            this.remember(lines);
+            return EMPTY;
+        }
+
+        int start = this.newLinesStart(lines);
+        this.remember(lines);
+        return start == 0 ? lines : Arrays.copyOfRange(lines, start, lines.length);
+    }
+
+    // Index of the first line after the remembered tail, 0 if the tail scrolled out of the window
+    private int newLinesStart(String[] lines) {
+        if (this.lastLine == null) return 0;
+        for (int i = lines.length - 1; i >= 0; i--) {
+            if (!lines[i].equals(this.lastLine)) continue;
+            if (this.secondLastLine == null || (i > 0 && lines[i - 1].equals(this.secondLastLine))) {
+                return i + 1;
+            }
+        }
+        return 0;
+    }
+
+    private void remember(String[] lines) {
+        this.primed = true;
+        if (lines.length == 0) return;
+        this.lastLine = lines[lines.length - 1];
+        this.secondLastLine = lines.length > 1 ? lines[lines.length - 2] : null;
+    }
+}
@@ -0,0 +1,8 @@
+package dev.le_app.mcss_api_java.api.console;
+
+@FunctionalInterface
+public interface ConsoleHandler {
+
+    void handle(ConsoleMatch match);
+
+}
@@ -0,0 +1,12 @@
+package dev.le_app.mcss_api_java.api.console;
+
+/**
+ * Receives console lines as they are decoded from the response.
+ * The sequence is a buffer reused for the next line: copy it if it has to outlive the call.
+ */
+@FunctionalInterface
+public interface ConsoleLineConsumer {
+
+    void accept(CharSequence line);
+
+}
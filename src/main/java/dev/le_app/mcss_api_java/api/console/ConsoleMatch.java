@@ -0,0 +1,30 @@
+package dev.le_app.mcss_api_java.api.console;
+
+public class ConsoleMatch {
+
+    private final String serverId;
+    private final ConsolePattern pattern;
+    private final String line;
+    private final String[] groups;
+
+    public ConsoleMatch(String serverId, ConsolePattern pattern, String line, String[] groups) {
+        this.serverId = serverId;
+        this.pattern = pattern;
+        this.line = line;
+        this.groups = groups;
+    }
+
+    public String getServerId() { return this.serverId; }
+
+    public ConsolePattern getPattern() { return this.pattern; }
+
+    public String getLine() { return this.line; }
+
+    public String[] getGroups() { return this.groups; }
+
+    public String getGroup(int index) { return this.groups[index]; }
+
+    public String toString() {
+        return this.serverId + ": " + this.line;
+    }
+}
@@ -0,0 +1,196 @@
+package dev.le_app.mcss_api_java.api.console;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A simple console pattern made of literal text and two kinds of captures:
+ * <ul>
+ *     <li>{@code {}} captures a single word (a run of non-whitespace characters)</li>
+ *     <li>{@code *} captures any text, possibly empty</li>
+ * </ul>
+ * A backslash escapes the next character. Patterns match anywhere in a line, for example
+ * {@code "{} joined the game"} or {@code "Can't keep up!*"}.
+ * Literal text is compared exactly unless the pattern is compiled to ignore case.
+ */
+public final class ConsolePattern {
+
+    private static final int LITERAL = 0;
+    private static final int WORD = 1;
+    private static final int ANY = 2;
+
+    private final String pattern;
+    private final int[] kinds;
+    private final String[] literals;
+    private final int anchor;
+    private final int groups;
+    private final boolean ignoreCase;
+
+    private ConsolePattern(String pattern, boolean ignoreCase, int[] kinds, String[] literals, int anchor, int groups) {
+        this.pattern = pattern;
+        this.ignoreCase = ignoreCase;
+        this.kinds = kinds;
+        this.literals = literals;
+        this.anchor = anchor;
+        this.groups = groups;
+    }
+
+    public static ConsolePattern compile(String pattern) {
+        return compile(pattern, false);
+    }
+
+    public static ConsolePattern compile(String pattern, boolean ignoreCase) {
+        List<Integer> kinds = new ArrayList<Integer>();
+        List<String> literals = new ArrayList<String>();
+        StringBuilder literal = new StringBuilder();
+
+        for (int i = 0; i < pattern.length(); i++) {
+            char c = pattern.charAt(i);
+            if (c == '\\' && i + 1 < pattern.length()) {
+                literal.append(pattern.charAt(++i));
+            } else if (c == '*' || (c == '{' && i + 1 < pattern.length() && pattern.charAt(i + 1) == '}')) {
+                if (literal.length() > 0) {
+                    kinds.add(LITERAL);
+                    literals.add(literal.toString());
+                    literal.setLength(0);
+                }
+                if (!kinds.isEmpty() && kinds.get(kinds.size() - 1) != LITERAL) {
+                    throw new IllegalArgumentException("Captures must be separated by literal text: " + pattern);
+                }
+                kinds.add(c == '*' ? ANY : WORD);
+                literals.add(null);
+                if (c == '{') i++;
+            } else {
+                literal.append(c);
+            }
+        }
+        if (literal.length() > 0) {
+            kinds.add(LITERAL);
+            literals.add(literal.toString());
+        }
+
+        int anchor = -1;
+        int groups = 0;
+        for (int i = 0; i < kinds.size(); i++) {
+            if (kinds.get(i) != LITERAL) {
+                groups++;
+            } else if (anchor < 0 || literals.get(i).length() > literals.get(anchor).length()) {
+                anchor = i;
+            }
+        }
+        if (anchor < 0) throw new IllegalArgumentException("Pattern needs some literal text: " + pattern);
+
+        int[] kindArray = new int[kinds.size()];
+        for (int i = 0; i < kindArray.length; i++) kindArray[i] = kinds.get(i);
+        return new ConsolePattern(pattern, ignoreCase, kindArray, literals.toArray(new String[0]), anchor, groups);
+    }
+
+    public String getPattern() { return this.pattern; }
+
+    public int getGroupCount() { return this.groups; }
+
+    public boolean isIgnoreCase() { return this.ignoreCase; }
+
+    // Longest literal of the pattern, fed to the automaton
+    String getAnchor() { return this.literals[this.anchor]; }
+
+    /**
+     * Checks the rest of the pattern around an occurrence of the anchor literal.
+     * @return the captured groups, or null when the line does not match
+     */
+    String[] matchAt(String line, int anchorEnd) {
+        String[] captured = new String[this.groups];
+        int anchorStart = anchorEnd - this.literals[this.anchor].length();
+        // The automaton folds case when any pattern ignores it, so the anchor is checked again here
+        if (anchorStart < 0 || !this.matches(line, anchorStart, this.literals[this.anchor])) return null;
+
+        int group = 0;
+        for (int i = 0; i < this.anchor; i++) {
+            if (this.kinds[i] != LITERAL) group++;
+        }
+
+        // Right of the anchor, left to right
+        int pos = anchorEnd;
+        int rightGroup = group;
+        for (int i = this.anchor + 1; i < this.kinds.length; i++) {
+            if (this.kinds[i] == LITERAL) {
+                if (!this.matches(line, pos, this.literals[i])) return null;
+                pos += this.literals[i].length();
+                continue;
+            }
+            String next = i + 1 < this.kinds.length ? this.literals[i + 1] : null;
+            int end;
+            if (this.kinds[i] == ANY) {
+                end = next == null ? line.length() : this.indexOf(line, next, pos);
+                if (end < 0) return null;
+            } else {
+                end = pos;
+                while (end < line.length() && !Character.isWhitespace(line.charAt(end))
+                        && (next == null || !this.matches(line, end, next))) {
+                    end++;
+                }
+                if (end == pos) return null;
+            }
+            captured[rightGroup++] = line.substring(pos, end);
+            pos = end;
+        }
+
+        // Left of the anchor, right to left
+        pos = anchorStart;
+        int leftGroup = group - 1;
+        for (int i = this.anchor - 1; i >= 0; i--) {
+            if (this.kinds[i] == LITERAL) {
+                int start = pos - this.literals[i].length();
+                if (start < 0 || !this.matches(line, start, this.literals[i])) return null;
+                pos = start;
+                continue;
+            }
+            String previous = i > 0 ? this.literals[i - 1] : null;
+            int start;
+            if (this.kinds[i] == ANY) {
+                if (previous == null) {
+                    start = 0;
+                } else {
+                    int found = this.lastIndexOf(line, previous, pos - previous.length());
+                    if (found < 0) return null;
+                    start = found + previous.length();
+                }
+            } else {
+                start = pos;
+                while (start > 0 && !Character.isWhitespace(line.charAt(start - 1))
+                        && (previous == null || !this.matches(line, start - previous.length(), previous))) {
+                    start--;
+                }
+                if (start == pos) return null;
+            }
+            captured[leftGroup--] = line.substring(start, pos);
+            pos = start;
+        }
+
+        return captured;
+    }
+
+    private boolean matches(String line, int offset, String literal) {
+        return line.regionMatches(this.ignoreCase, offset, literal, 0, literal.length());
+    }
+
+    private int indexOf(String line, String literal, int from) {
+        if (!this.ignoreCase) return line.indexOf(literal, from);
+        for (int i = Math.max(from, 0); i <= line.length() - literal.length(); i++) {
+            if (this.matches(line, i, literal)) return i;
+        }
+        return -1;
+    }
+
+    private int lastIndexOf(String line, String literal, int from) {
+        if (!this.ignoreCase) return line.lastIndexOf(literal, from);
+        for (int i = Math.min(from, line.length() - literal.length()); i >= 0; i--) {
+            if (this.matches(line, i, literal)) return i;
+        }
+        return -1;
+    }
+
+    public String toString() {
+        return this.pattern;
+    }
+}
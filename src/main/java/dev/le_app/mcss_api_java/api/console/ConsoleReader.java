@@ -0,0 +1,114 @@
+package dev.le_app.mcss_api_java.api.console;
+
+import java.io.IOException;
+import java.io.Reader;
+
+import dev.le_app.mcss_api_java.api.utilities.BodyReader;
+
+/**
+ * Decodes the string array of a console response straight from the body, in fixed size chunks.
+ * Memory use stays the same whatever the number of lines: each line is decoded into one reused
+ * buffer and handed to a {@link ConsoleLineConsumer}.
+ */
+public class ConsoleReader implements BodyReader<Integer> {
+
+    private static final int CHUNK = 4096;
+
+    // Before the array, skipping object keys
+    private static final int SEEK = 0;
+    private static final int SEEK_STRING = 1;
+    private static final int SEEK_ESCAPE = 2;
+    // Inside the array, between elements
+    private static final int ARRAY = 3;
+    private static final int STRING = 4;
+    private static final int ESCAPE = 5;
+    private static final int UNICODE = 6;
+    private static final int DONE = 7;
+
+    private final ConsoleLineConsumer consumer;
+    private final char[] chunk = new char[CHUNK];
+    private StringBuilder line = new StringBuilder(256);
+
+    public ConsoleReader(ConsoleLineConsumer consumer) {
+        this.consumer = consumer;
+    }
+
+    // Made for one call, and a cached count would hand no lines to the consumer
+    public boolean isCacheable() {
+        return false;
+    }
+
+    // Returns the number of lines decoded
+    public Integer read(Reader body) throws IOException {
+        int state = SEEK;
+        int unicode = 0;
+        int digits = 0;
+        int lines = 0;
+        this.line.setLength(0);
+
+        int read;
+        while (state != DONE && (read = body.read(this.chunk)) != -1) {
+            for (int i = 0; i < read && state != DONE; i++) {
+                char c = this.chunk[i];
+                switch (state) {
+                    case SEEK:
+                        if (c == '"') state = SEEK_STRING;
+                        else if (c == '[') state = ARRAY;
+                        break;
+                    case SEEK_STRING:
+                        if (c == '\\') state = SEEK_ESCAPE;
+                        else if (c == '"') state = SEEK;
+                        break;
+                    case SEEK_ESCAPE:
+                        state = SEEK_STRING;
+                        break;
+                    case ARRAY:
+                        if (c == '"') state = STRING;
+                        else if (c == ']') state = DONE;
+                        break;
+                    case STRING:
+                        if (c == '\\') {
+                            state = ESCAPE;
+                        } else if (c == '"') {
+                            this.consumer.accept(this.line);
+                            this.line.setLength(0);
+                            lines++;
+                            state = ARRAY;
+                        } else {
+                            this.line.append(c);
+                        }
+                        break;
+                    case ESCAPE:
+                        state = STRING;
+                        switch (c) {
+                            case 'n': this.line.append('\n'); break;
+                            case 'r': this.line.append('\r'); break;
+                            case 't': this.line.append('\t'); break;
+                            case 'b': this.line.append('\b'); break;
+                            case 'f': this.line.append('\f'); break;
+                            case 'u':
+                                unicode = 0;
+                                digits = 0;
+                                state = UNICODE;
+                                break;
+                            default: this.line.append(c); break;
+                        }
+                        break;
+                    case UNICODE:
+                        unicode = (unicode << 4) | Character.digit(c, 16);
+                        if (++digits == 4) {
+                            this.line.append((char) unicode);
+                            state = STRING;
+                        }
+                        break;
+                    default:
+                        break;
+                }
+            }
+        }
+
+        // Keep the reused buffer small after an unusually long line
+        if (this.line.capacity() > CHUNK) this.line = new StringBuilder(256);
+        return lines;
+    }
+}
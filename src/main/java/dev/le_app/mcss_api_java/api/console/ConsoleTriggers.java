@@ -0,0 +1,135 @@
+package dev.le_app.mcss_api_java.api.console;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A set of console patterns compiled into a single automaton.
+ * Each line is scanned once for all the patterns, only the patterns whose literal text
+ * was found are then checked for their captures.
+ */
+public class ConsoleTriggers {
+
+    private final List<ConsolePattern> patterns = new ArrayList<ConsolePattern>();
+    private final List<ConsoleHandler> handlers = new ArrayList<ConsoleHandler>();
+
+    // Rebuilt when triggers change, read without locking while scanning
+    private volatile Compiled compiled;
+
+    public synchronized ConsoleTriggers on(String pattern, ConsoleHandler handler) {
+        return this.on(ConsolePattern.compile(pattern), handler);
+    }
+
+    public synchronized ConsoleTriggers on(ConsolePattern pattern, ConsoleHandler handler) {
+        this.patterns.add(pattern);
+        this.handlers.add(handler);
+        this.compiled = null;
+        return this;
+    }
+
+    public synchronized void clear() {
+        this.patterns.clear();
+        this.handlers.clear();
+        this.compiled = null;
+    }
+
+    public synchronized int size() {
+        return this.patterns.size();
+    }
+
+    private Compiled compiled() {
+        Compiled current = this.compiled;
+        if (current != null) return current;
+        synchronized (this) {
+            if (this.compiled == null) this.compiled = new Compiled(this.patterns, this.handlers);
+            return this.compiled;
+        }
+    }
+
+    // Scans one line, returns the number of matches dispatched
+    public int scan(String serverId, String line) {
+        return this.compiled().scan(serverId, line);
+    }
+
+    public int scan(String serverId, String[] lines, int from, int to) {
+        Compiled current = this.compiled();
+        int matches = 0;
+        for (int i = from; i < to; i++) {
+            matches += current.scan(serverId, lines[i]);
+        }
+        return matches;
+    }
+
+    private static final class Compiled {
+
+        private final ConsolePattern[] patterns;
+        private final ConsoleHandler[] handlers;
+        private final AhoCorasick automaton;
+
+        // Distinct anchor literals and the patterns sharing each of them
+        private final int[][] byKeyword;
+
+        Compiled(List<ConsolePattern> patterns, List<ConsoleHandler> handlers) {
+            this.patterns = patterns.toArray(new ConsolePattern[0]);
+            this.handlers = handlers.toArray(new ConsoleHandler[0]);
+
+            List<String> keywords = new ArrayList<String>();
+            List<List<Integer>> owners = new ArrayList<List<Integer>>();
+            boolean foldCase = false;
+            for (int p = 0; p < this.patterns.length; p++) {
+                foldCase |= this.patterns[p].isIgnoreCase();
+                String anchor = this.patterns[p].getAnchor();
+                int keyword = keywords.indexOf(anchor);
+                if (keyword < 0) {
+                    keyword = keywords.size();
+                    keywords.add(anchor);
+                    owners.add(new ArrayList<Integer>());
+                }
+                owners.get(keyword).add(p);
+            }
+
+            this.byKeyword = new int[keywords.size()][];
+            for (int k = 0; k < this.byKeyword.length; k++) {
+                List<Integer> list = owners.get(k);
+                this.byKeyword[k] = new int[list.size()];
+                for (int i = 0; i < list.size(); i++) this.byKeyword[k][i] = list.get(i);
+            }
+            this.automaton = new AhoCorasick(keywords, foldCase);
+        }
+
+        int scan(String serverId, String line) {
+            if (this.patterns.length == 0 || line == null) return 0;
+            LineScan scan = new LineScan(this, serverId, line);
+            this.automaton.scan(line, scan);
+            return scan.count;
+        }
+    }
+
+    // State of a single line scan, each pattern fires at most once per line
+    private static final class LineScan implements AhoCorasick.Hit {
+
+        private final Compiled compiled;
+        private final String serverId;
+        private final String line;
+        private boolean[] fired;
+        private int count;
+
+        LineScan(Compiled compiled, String serverId, String line) {
+            this.compiled = compiled;
+            this.serverId = serverId;
+            this.line = line;
+        }
+
+        public void hit(int keyword, int end) {
+            for (int p : this.compiled.byKeyword[keyword]) {
+                if (this.fired != null && this.fired[p]) continue;
+                String[] groups = this.compiled.patterns[p].matchAt(this.line, end);
+                if (groups == null) continue;
+                if (this.fired == null) this.fired = new boolean[this.compiled.patterns.length];
+                this.fired[p] = true;
+                this.count++;
+                this.compiled.handlers[p].handle(new ConsoleMatch(this.serverId, this.compiled.patterns[p], this.line, groups));
+            }
+        }
+    }
+}
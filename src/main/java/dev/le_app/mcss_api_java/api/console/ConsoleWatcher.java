@@ -0,0 +1,54 @@
+package dev.le_app.mcss_api_java.api.console;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import dev.le_app.mcss_api_java.api.servers.Server;
+
+/**
+ * Polls the console of many servers and runs every new line through a set of {@link ConsoleTriggers}.
+ * Lines already seen are never scanned again, servers whose console did not change are not downloaded.
+ */
+public class ConsoleWatcher {
+
+    private final ConsoleTriggers triggers;
+    private final int window;
+    private final Map<String, ConsoleCursor> cursors = new ConcurrentHashMap<String, ConsoleCursor>();
+
+    public ConsoleWatcher(ConsoleTriggers triggers, int window) {
+        this.triggers = triggers;
+        this.window = window;
+    }
+
+    public ConsoleWatcher(ConsoleTriggers triggers) {
+        this(triggers, 100);
+    }
+
+    public ConsoleTriggers getTriggers() { return this.triggers; }
+
+    // Scans the new lines of one server, returns the number of matches dispatched
+    public int poll(Server server) throws Exception {
+        ConsoleCursor cursor = this.cursors.computeIfAbsent(server.getServerId(), id -> new ConsoleCursor(this.window));
+        String[] lines = cursor.next(server);
+        return this.triggers.scan(server.getServerId(), lines, 0, lines.length);
+    }
+
+    // Polls every server, a failing server does not stop the others, the first error is rethrown at the end
+    public int poll(Iterable<? extends Server> servers) throws Exception {
+        int matches = 0;
+        Exception error = null;
+        for (Server server : servers) {
+            try {
+                matches += this.poll(server);
+            } catch (Exception e) {
+                if (error == null) error = e;
+            }
+        }
+        if (error != null) throw error;
+        return matches;
+    }
+
+    public void forget(String serverId) {
+        this.cursors.remove(serverId);
+    }
+}
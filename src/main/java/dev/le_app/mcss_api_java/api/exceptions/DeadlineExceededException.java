@@ -0,0 +1,11 @@
+package dev.le_app.mcss_api_java.api.exceptions;
+
+import java.io.InterruptedIOException;
+
+public class DeadlineExceededException extends InterruptedIOException {
+
+    public DeadlineExceededException(String message, Throwable cause) {
+        super(message);
+        if (cause != null) this.initCause(cause);
+    }
+}
@@ -4,11 +4,25 @@ public class HTTPException extends Exception {
 
     private int code;
 
+    private String body;
+
     public HTTPException(int code, String message) {
-        super(message);
+        this(code, message, null, true);
+    }
+
+    // Without a stack trace when it only carries a status, as for the errors of a Result
+    public HTTPException(int code, String message, String body, boolean stackTrace) {
+        super(message, null, true, stackTrace);
+        this.code = code;
+        this.body = body;
     }
 
     public int getCode() {
         return this.code;
     }
+
+    // Body MCSS sent with the error, null if it was not kept
+    public String getBody() {
+        return this.body;
+    }
 }
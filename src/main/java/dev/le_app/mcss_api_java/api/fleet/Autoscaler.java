@@ -0,0 +1,247 @@
+package dev.le_app.mcss_api_java.api.fleet;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import dev.le_app.mcss_api_java.api.MCSS;
+import dev.le_app.mcss_api_java.api.servers.Server;
+import dev.le_app.mcss_api_java.api.servers.ServerAction;
+import dev.le_app.mcss_api_java.api.servers.ServerStatus;
+import dev.le_app.mcss_api_java.commons.responses.server.ServerResponse;
+import dev.le_app.mcss_api_java.commons.structures.KeepOnline;
+
+/**
+ * Stops servers nobody played on for a grace period and starts them again on demand or during scheduled windows.
+ * Servers with a KeepOnline setting other than NONE are never stopped, and only a few servers are started at once.
+ */
+public class Autoscaler implements AutoCloseable {
+
+    private final MCSS mcss;
+
+    private Duration idleGrace = Duration.ofMinutes(15);
+    private int maxConcurrentStarts = 2;
+    private Clock clock = Clock.systemDefaultZone();
+    private final Set<String> excluded = new HashSet<String>();
+    private final Map<String, List<LocalTime[]>> windows = new HashMap<String, List<LocalTime[]>>();
+    private final List<ScalingListener> listeners = new CopyOnWriteArrayList<ScalingListener>();
+
+    // Servers asked for by callers, started in order as slots free up
+    private final Set<String> demanded = new LinkedHashSet<String>();
+    // When each online server was first seen without players
+    private final Map<String, Long> idleSince = new HashMap<String, Long>();
+
+    private ScheduledExecutorService scheduler;
+    // Held for a whole step so steps never overlap, the instance lock only around state changes
+    private final Object stepLock = new Object();
+
+    public Autoscaler(MCSS mcss) {
+        this.mcss = mcss;
+    }
+
+    public Duration getIdleGrace() { return this.idleGrace; }
+    public int getMaxConcurrentStarts() { return this.maxConcurrentStarts; }
+
+    public synchronized Autoscaler setIdleGrace(Duration idleGrace) {
+        if (idleGrace.isNegative()) throw new IllegalArgumentException("idleGrace cannot be negative");
+        this.idleGrace = idleGrace;
+        return this;
+    }
+
+    // Servers starting at the same time, the ones already starting count towards it
+    public synchronized Autoscaler setMaxConcurrentStarts(int maxConcurrentStarts) {
+        if (maxConcurrentStarts < 1) throw new IllegalArgumentException("maxConcurrentStarts must be at least 1");
+        this.maxConcurrentStarts = maxConcurrentStarts;
+        return this;
+    }
+
+    public synchronized Autoscaler setClock(Clock clock) {
+        this.clock = clock;
+        return this;
+    }
+
+    // Leaves the server alone
+    public synchronized Autoscaler exclude(String serverId) {
+        this.excluded.add(serverId);
+        return this;
+    }
+
+    // Keeps the server started between the two times of the day, the window may wrap past midnight
+    public synchronized Autoscaler keepOnlineBetween(String serverId, LocalTime from, LocalTime to) {
+        this.windows.computeIfAbsent(serverId, id -> new ArrayList<LocalTime[]>()).add(new LocalTime[] { from, to });
+        return this;
+    }
+
+    public Autoscaler addListener(ScalingListener listener) {
+        this.listeners.add(listener);
+        return this;
+    }
+
+    // Starts the server on the next step if it is offline, its idle time starts over
+    public synchronized void demand(String serverId) {
+        this.demanded.add(serverId);
+        this.idleSince.remove(serverId);
+    }
+
+    // One control step: lists the servers, reads the stats of the online ones, then stops and starts.
+    // A server whose stats or action fail is skipped until the next step, the others are still scaled.
+    // HTTP calls are made outside the instance lock, so demand() and the setters never wait on the network.
+    public void step() throws Exception {
+        synchronized (this.stepLock) {
+            List<ServerResponse> listed = this.mcss.getServers();
+            long now;
+            LocalTime time;
+            Duration grace;
+
+            // Online servers that may be idle, their stats are read without the lock
+            List<Server> candidates = new ArrayList<Server>();
+            Map<String, Server> offline = new LinkedHashMap<String, Server>();
+            Set<String> listedIds = new HashSet<String>();
+            int starting = 0;
+            synchronized (this) {
+                now = this.clock.millis();
+                time = LocalTime.now(this.clock);
+                grace = this.idleGrace;
+                for (ServerResponse server : listed) {
+                    String id = server.getServerId();
+                    listedIds.add(id);
+                    ServerStatus status = server.getServerStatus();
+                    if (status == ServerStatus.STARTING || status == ServerStatus.RESTARTING) starting++;
+                    if (this.excluded.contains(id)) continue;
+
+                    if (status == ServerStatus.OFFLINE) {
+                        this.idleSince.remove(id);
+                        offline.put(id, this.mcss.servers.getServer(server));
+                        continue;
+                    }
+                    if (status != ServerStatus.ONLINE) continue;
+
+                    this.demanded.remove(id);
+                    if (server.getKeepOnline() != KeepOnline.NONE || this.inWindow(id, time)) {
+                        this.idleSince.remove(id);
+                        continue;
+                    }
+                    candidates.add(this.mcss.servers.getServer(server));
+                }
+            }
+
+            Map<Server, Integer> players = new HashMap<Server, Integer>();
+            for (Server server : candidates) {
+                try {
+                    players.put(server, server.getStats().getPlayersOnline());
+                } catch (Exception e) {
+                    // Its idle time is left as it was
+                }
+            }
+
+            List<Server> toStop = new ArrayList<Server>();
+            List<Server> toStart = new ArrayList<Server>();
+            synchronized (this) {
+                for (Map.Entry<Server, Integer> entry : players.entrySet()) {
+                    String id = entry.getKey().getServerId();
+                    if (entry.getValue() > 0 || this.demanded.contains(id)) {
+                        this.idleSince.remove(id);
+                        continue;
+                    }
+                    long since = this.idleSince.computeIfAbsent(id, key -> now);
+                    if (now - since >= grace.toMillis()) toStop.add(entry.getKey());
+                }
+
+                // Demanded servers go first, then the ones inside a window
+                this.demanded.retainAll(listedIds);
+                Set<String> chosen = new LinkedHashSet<String>();
+                for (String id : this.demanded) {
+                    if (offline.containsKey(id)) chosen.add(id);
+                }
+                for (String id : offline.keySet()) {
+                    if (this.inWindow(id, time)) chosen.add(id);
+                }
+                int slots = Math.max(0, this.maxConcurrentStarts - starting);
+                for (String id : chosen) {
+                    if (toStart.size() == slots) break;
+                    toStart.add(offline.get(id));
+                }
+            }
+
+            for (Server server : toStop) {
+                try {
+                    server.stop();
+                } catch (Exception e) {
+                    continue;
+                }
+                synchronized (this) {
+                    this.idleSince.remove(server.getServerId());
+                }
+                this.fire(server.getServerId(), ServerAction.STOP, "idle for " + grace);
+            }
+
+            for (Server server : toStart) {
+                try {
+                    server.start();
+                } catch (Exception e) {
+                    continue;
+                }
+                boolean demanded;
+                synchronized (this) {
+                    demanded = this.demanded.remove(server.getServerId());
+                }
+                this.fire(server.getServerId(), ServerAction.START, demanded ? "demanded" : "scheduled window");
+            }
+        }
+    }
+
+    // Runs step() at a fixed rate on a background thread until closed, errors are retried on the next step
+    public synchronized Autoscaler start(Duration period) {
+        if (this.scheduler != null) throw new IllegalStateException("Autoscaler already started");
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "mcss-autoscaler");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.scheduler.scheduleAtFixedRate(() -> {
+            try {
+                this.step();
+            } catch (Exception e) {
+                // The next step lists the servers again
+            }
+        }, 0, period.toMillis(), TimeUnit.MILLISECONDS);
+        return this;
+    }
+
+    @Override
+    public synchronized void close() {
+        if (this.scheduler != null) this.scheduler.shutdownNow();
+        this.scheduler = null;
+    }
+
+    private boolean inWindow(String serverId, LocalTime time) {
+        List<LocalTime[]> windows = this.windows.get(serverId);
+        if (windows == null) return false;
+        for (LocalTime[] window : windows) {
+            boolean wraps = window[1].isBefore(window[0]);
+            boolean inside = wraps
+                ? !time.isBefore(window[0]) || time.isBefore(window[1])
+                : !time.isBefore(window[0]) && time.isBefore(window[1]);
+            if (inside) return true;
+        }
+        return false;
+    }
+
+    private void fire(String serverId, ServerAction action, String reason) {
+        for (ScalingListener listener : this.listeners) {
+            listener.onAction(serverId, action, reason);
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package dev.le_app.mcss_api_java.api.fleet;
+
+import dev.le_app.mcss_api_java.api.servers.ServerStats;
+
+/**
+ * Totals over the latest stats sample of each server.
+ * CPU and memory usage are kept as histograms of whole percents, so percentiles stay exact and samples can be replaced.
+ */
+public class FleetRollup {
+
+    // Statuses MCSS reports: offline, online, restarting, starting, stopping
+    private static final int STATUSES = 5;
+
+    int servers;
+    long playersOnline;
+    long playerLimit;
+    long memoryUsed;
+    long memoryLimit;
+    long cpuTotal;
+    final int[] statuses = new int[STATUSES];
+    final int[] cpu = new int[101];
+    final int[] memory = new int[101];
+
+    FleetRollup() {
+    }
+
+    private FleetRollup(FleetRollup other) {
+        this.servers = other.servers;
+        this.playersOnline = other.playersOnline;
+        this.playerLimit = other.playerLimit;
+        this.memoryUsed = other.memoryUsed;
+        this.memoryLimit = other.memoryLimit;
+        this.cpuTotal = other.cpuTotal;
+        System.arraycopy(other.statuses, 0, this.statuses, 0, STATUSES);
+        System.arraycopy(other.cpu, 0, this.cpu, 0, this.cpu.length);
+        System.arraycopy(other.memory, 0, this.memory, 0, this.memory.length);
+    }
+
+    FleetRollup copy() {
+        return new FleetRollup(this);
+    }
+
+    // Adds the sample with sign 1, takes it back out with sign -1
+    void add(Sample sample, int sign) {
+        this.servers += sign;
+        this.playersOnline += sign * sample.playersOnline;
+        this.playerLimit += sign * sample.playerLimit;
+        this.memoryUsed += sign * sample.memoryUsed;
+        this.memoryLimit += sign * sample.memoryLimit;
+        this.cpuTotal += sign * sample.cpu;
+        if (sample.status >= 0 && sample.status < STATUSES) this.statuses[sample.status] += sign;
+        this.cpu[sample.cpuPercent] += sign;
+        this.memory[sample.memoryPercent] += sign;
+    }
+
+    public int getServers() { return this.servers; }
+    public long getPlayersOnline() { return this.playersOnline; }
+    public long getPlayerLimit() { return this.playerLimit; }
+    public long getMemoryUsed() { return this.memoryUsed; }
+    public long getMemoryLimit() { return this.memoryLimit; }
+
+    public double getAverageCpu() {
+        return this.servers == 0 ? 0 : (double) this.cpuTotal / this.servers;
+    }
+
+    // Fraction of the allocated memory in use across the fleet
+    public double getMemoryUsage() {
+        return this.memoryLimit == 0 ? 0 : (double) this.memoryUsed / this.memoryLimit;
+    }
+
+    public int getStatusCount(int status) {
+        return status >= 0 && status < STATUSES ? this.statuses[status] : 0;
+    }
+
+    // CPU percent at or below which the given percentile of servers sit
+    public int getCpuPercentile(double percentile) {
+        return percentile(this.cpu, percentile);
+    }
+
+    // Memory used as a percent of the limit, same as getCpuPercentile
+    public int getMemoryPercentile(double percentile) {
+        return percentile(this.memory, percentile);
+    }
+
+    private int percentile(int[] histogram, double percentile) {
+        if (percentile < 0 || percentile > 100) throw new IllegalArgumentException("percentile must be between 0 and 100");
+        if (this.servers == 0) return 0;
+        long rank = Math.max(1, (long) Math.ceil(percentile / 100.0 * this.servers));
+        long seen = 0;
+        for (int i = 0; i < histogram.length; i++) {
+            seen += histogram[i];
+            if (seen >= rank) return i;
+        }
+        return histogram.length - 1;
+    }
+
+    public String toString() {
+        return "servers=" + this.servers + " players=" + this.playersOnline + "/" + this.playerLimit
+            + " memory=" + this.memoryUsed + "/" + this.memoryLimit + " cpu(avg=" + Math.round(this.getAverageCpu())
+            + " p50=" + this.getCpuPercentile(50) + " p95=" + this.getCpuPercentile(95) + ")";
+    }
+
+    // The part of a stats sample kept per server
+    static final class Sample {
+
+        final int status;
+        final int cpu;
+        final int cpuPercent;
+        final int memoryUsed;
+        final int memoryLimit;
+        final int memoryPercent;
+        final int playersOnline;
+        final int playerLimit;
+
+        Sample(int status, ServerStats stats) {
+            this.status = status;
+            this.cpu = stats.getCPU();
+            this.cpuPercent = clamp(this.cpu);
+            this.memoryUsed = stats.getMemoryUsed();
+            this.memoryLimit = stats.getMemoryLimit();
+            this.memoryPercent = this.memoryLimit <= 0 ? 0 : clamp((int) (100L * this.memoryUsed / this.memoryLimit));
+            this.playersOnline = stats.getPlayersOnline();
+            this.playerLimit = stats.getPlayerLimit();
+        }
+
+        private Sample(int status, Sample sample) {
+            this.status = status;
+            this.cpu = sample.cpu;
+            this.cpuPercent = sample.cpuPercent;
+            this.memoryUsed = sample.memoryUsed;
+            this.memoryLimit = sample.memoryLimit;
+            this.memoryPercent = sample.memoryPercent;
+            this.playersOnline = sample.playersOnline;
+            this.playerLimit = sample.playerLimit;
+        }
+
+        // Same figures under a newer status
+        Sample withStatus(int status) {
+            return new Sample(status, this);
+        }
+
+        private static int clamp(int percent) {
+            return Math.max(0, Math.min(100, percent));
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package dev.le_app.mcss_api_java.api.fleet;
+
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import dev.le_app.mcss_api_java.api.servers.Server;
+import dev.le_app.mcss_api_java.api.servers.ServerStats;
+import dev.le_app.mcss_api_java.api.servers.ServerStatsListener;
+import dev.le_app.mcss_api_java.api.servers.ServerType;
+import dev.le_app.mcss_api_java.commons.responses.server.ServerResponse;
+
+/**
+ * Fleet wide rollup kept up to date as stats samples arrive.
+ * Each new sample replaces the previous one of its server, so reading the totals never walks the servers.
+ */
+public class FleetStats implements ServerStatsListener {
+
+    private final Map<String, Entry> latest = new HashMap<String, Entry>();
+    private final FleetRollup total = new FleetRollup();
+    private final Map<ServerType, FleetRollup> byType = new EnumMap<ServerType, FleetRollup>(ServerType.class);
+
+    // The stats carry no status, the one of the Server object is kept until a listing brings a newer one
+    @Override
+    public void onStats(Server server, ServerStats stats) {
+        this.record(server.getServerId(), ServerType.fromValue(server.getServerType()), server.getStatus(), stats);
+    }
+
+    // Replaces the sample of the server, the type may be null when unknown
+    public void record(String serverId, ServerType type, int status, ServerStats stats) {
+        Entry entry = new Entry(type, new FleetRollup.Sample(status, stats));
+        synchronized (this) {
+            Entry previous = this.latest.put(serverId, entry);
+            if (previous != null) this.apply(previous, -1);
+            this.apply(entry, 1);
+        }
+    }
+
+    // Moves the servers to the status they were listed with, servers without a sample yet are left out
+    public synchronized void updateStatuses(List<? extends ServerResponse> servers) {
+        for (ServerResponse server : servers) {
+            Entry previous = this.latest.get(server.getServerId());
+            if (previous == null || previous.sample.status == server.getStatus()) continue;
+            Entry entry = new Entry(previous.type, previous.sample.withStatus(server.getStatus()));
+            this.latest.put(server.getServerId(), entry);
+            this.apply(previous, -1);
+            this.apply(entry, 1);
+        }
+    }
+
+    // Forgets a server that was deleted or is no longer polled
+    public synchronized void remove(String serverId) {
+        Entry previous = this.latest.remove(serverId);
+        if (previous != null) this.apply(previous, -1);
+    }
+
+    public synchronized void clear() {
+        for (Entry entry : this.latest.values()) this.apply(entry, -1);
+        this.latest.clear();
+    }
+
+    // A copy of the totals, its size does not depend on the number of servers
+    public synchronized FleetRollup get() {
+        return this.total.copy();
+    }
+
+    public synchronized FleetRollup get(ServerType type) {
+        FleetRollup rollup = this.byType.get(type);
+        return rollup == null ? new FleetRollup() : rollup.copy();
+    }
+
+    // Visits the latest sample of each server while holding the lock, the visitor must not call back into this object
+    public synchronized void forEach(Visitor visitor) {
+        for (Map.Entry<String, Entry> entry : this.latest.entrySet()) {
+            FleetRollup.Sample sample = entry.getValue().sample;
+            visitor.visit(entry.getKey(), sample.status, sample.cpu, sample.memoryUsed, sample.memoryLimit, sample.playersOnline, sample.playerLimit);
+        }
+    }
+
+    @FunctionalInterface
+    public interface Visitor {
+        void visit(String serverId, int status, int cpu, int memoryUsed, int memoryLimit, int playersOnline, int playerLimit);
+    }
+
+    private void apply(Entry entry, int sign) {
+        this.total.add(entry.sample, sign);
+        if (entry.type == null) return;
+        this.byType.computeIfAbsent(entry.type, type -> new FleetRollup()).add(entry.sample, sign);
+    }
+
+    private static final class Entry {
+
+        final ServerType type;
+        final FleetRollup.Sample sample;
+
+        Entry(ServerType type, FleetRollup.Sample sample) {
+            this.type = type;
+            this.sample = sample;
+        }
+    }
+}
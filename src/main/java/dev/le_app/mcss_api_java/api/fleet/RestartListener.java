@@ -0,0 +1,6 @@
+package dev.le_app.mcss_api_java.api.fleet;
+
+@FunctionalInterface
+public interface RestartListener {
+    void onProgress(String serverId, RestartPhase phase);
+}
@@ -0,0 +1,15 @@
+package dev.le_app.mcss_api_java.api.fleet;
+
+public enum RestartPhase {
+    // Players are still online, the restart waits for them to leave
+    WAITING,
+    // The deadline is close and players were told about the restart
+    WARNED,
+    RESTARTING,
+    // Back online after the restart
+    DONE,
+    // Did not come back online in time, or the restart call failed
+    FAILED,
+    // Was not online when the rollout reached it
+    SKIPPED
+}
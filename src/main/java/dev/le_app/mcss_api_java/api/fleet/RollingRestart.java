@@ -0,0 +1,221 @@
+package dev.le_app.mcss_api_java.api.fleet;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import dev.le_app.mcss_api_java.api.MCSS;
+import dev.le_app.mcss_api_java.api.exceptions.HTTPException;
+import dev.le_app.mcss_api_java.api.servers.Server;
+import dev.le_app.mcss_api_java.api.servers.ServerStats;
+import dev.le_app.mcss_api_java.api.servers.ServerStatus;
+import dev.le_app.mcss_api_java.commons.responses.server.ServerResponse;
+
+/**
+ * Restarts servers one slot at a time, each as soon as its last player left.
+ * Servers still in use when the deadline comes are warned through the console, then restarted anyway.
+ * A server counts as restarted once it is online with a new start date.
+ */
+public class RollingRestart {
+
+    private final MCSS mcss;
+
+    private int maxConcurrent = 2;
+    private Duration deadline = Duration.ofMinutes(30);
+    private Duration warningLead = Duration.ofMinutes(5);
+    private String warning = "say The server restarts in a few minutes for maintenance";
+    private Duration bootTimeout = Duration.ofMinutes(5);
+    private Duration pollInterval = Duration.ofSeconds(5);
+    private int retries = 3;
+    private List<String> serverIds;
+    private final List<RestartListener> listeners = new CopyOnWriteArrayList<RestartListener>();
+
+    public RollingRestart(MCSS mcss) {
+        this.mcss = mcss;
+    }
+
+    // Restarts running at the same time on the host
+    public RollingRestart setMaxConcurrent(int maxConcurrent) {
+        if (maxConcurrent < 1) throw new IllegalArgumentException("maxConcurrent must be at least 1");
+        this.maxConcurrent = maxConcurrent;
+        return this;
+    }
+
+    // Time from the start of the rollout after which servers are restarted with players online
+    public RollingRestart setDeadline(Duration deadline) {
+        this.deadline = deadline;
+        return this;
+    }
+
+    // The command sent this long before the deadline, usually a say or tellraw
+    public RollingRestart setWarning(String command, Duration lead) {
+        this.warning = command;
+        this.warningLead = lead;
+        return this;
+    }
+
+    public RollingRestart setBootTimeout(Duration bootTimeout) {
+        this.bootTimeout = bootTimeout;
+        return this;
+    }
+
+    public RollingRestart setPollInterval(Duration pollInterval) {
+        this.pollInterval = pollInterval;
+        return this;
+    }
+
+    // Polls in a row that may fail for a server before it is marked FAILED, 4xx answers fail it at once
+    public RollingRestart setRetries(int retries) {
+        if (retries < 0) throw new IllegalArgumentException("retries cannot be negative");
+        this.retries = retries;
+        return this;
+    }
+
+    // Restricts the rollout to these servers, in this order, instead of every server
+    public RollingRestart setServers(List<String> serverIds) {
+        this.serverIds = new ArrayList<String>(serverIds);
+        return this;
+    }
+
+    public RollingRestart addListener(RestartListener listener) {
+        this.listeners.add(listener);
+        return this;
+    }
+
+    // Blocks until every server was restarted, failed or skipped
+    public RollingRestartReport run() throws Exception {
+        long start = System.nanoTime();
+        Map<String, RestartPhase> phases = new LinkedHashMap<String, RestartPhase>();
+        Map<String, Exception> errors = new HashMap<String, Exception>();
+        Map<String, Server> waiting = new LinkedHashMap<String, Server>();
+        Map<String, Restart> restarting = new LinkedHashMap<String, Restart>();
+        // Failed polls in a row of each server, reset by the next successful one
+        Map<String, Integer> failures = new HashMap<String, Integer>();
+
+        Map<String, ServerResponse> listed = this.list();
+        List<String> order = this.serverIds != null ? this.serverIds : new ArrayList<String>(listed.keySet());
+        for (String id : order) {
+            ServerResponse server = listed.get(id);
+            if (server == null || server.getServerStatus() != ServerStatus.ONLINE) {
+                this.update(phases, id, RestartPhase.SKIPPED);
+                continue;
+            }
+            waiting.put(id, this.mcss.servers.getServer(server));
+            this.update(phases, id, RestartPhase.WAITING);
+        }
+
+        while (!waiting.isEmpty() || !restarting.isEmpty()) {
+            long elapsed = System.nanoTime() - start;
+            boolean pastDeadline = elapsed >= this.deadline.toNanos();
+            boolean warnNow = elapsed >= this.deadline.minus(this.warningLead).toNanos();
+
+            // Servers that finished booting free their slot first
+            if (!restarting.isEmpty()) {
+                // Without a listing the restarts stay tracked, only their boot timeout is checked
+                Map<String, ServerResponse> statuses = null;
+                Exception listError = null;
+                try {
+                    statuses = this.list();
+                } catch (Exception e) {
+                    listError = e;
+                }
+                for (Iterator<Restart> it = restarting.values().iterator(); it.hasNext(); ) {
+                    Restart restart = it.next();
+                    String id = restart.server.getServerId();
+                    try {
+                        if (statuses != null && restart.isBack(statuses.get(id))) {
+                            it.remove();
+                            this.update(phases, id, RestartPhase.DONE);
+                        } else if (System.nanoTime() - restart.since >= this.bootTimeout.toNanos()) {
+                            it.remove();
+                            if (listError != null) errors.put(id, listError);
+                            this.update(phases, id, RestartPhase.FAILED);
+                        }
+                        failures.remove(id);
+                    } catch (Exception e) {
+                        if (this.retry(failures, id, e)) continue;
+                        it.remove();
+                        errors.put(id, e);
+                        this.update(phases, id, RestartPhase.FAILED);
+                    }
+                }
+            }
+
+            for (Iterator<Server> it = waiting.values().iterator(); it.hasNext(); ) {
+                Server server = it.next();
+                String id = server.getServerId();
+                try {
+                    ServerStats stats = server.getStats();
+                    boolean empty = stats.getPlayersOnline() == 0;
+                    if (!empty && warnNow && phases.get(id) == RestartPhase.WAITING && this.warning != null) {
+                        server.execute(this.warning);
+                        this.update(phases, id, RestartPhase.WARNED);
+                    }
+                    if ((empty || pastDeadline) && restarting.size() < this.maxConcurrent) {
+                        server.restart();
+                        it.remove();
+                        restarting.put(id, new Restart(server, stats.getStartDate()));
+                        this.update(phases, id, RestartPhase.RESTARTING);
+                    }
+                    failures.remove(id);
+                } catch (Exception e) {
+                    if (this.retry(failures, id, e)) continue;
+                    it.remove();
+                    errors.put(id, e);
+                    this.update(phases, id, RestartPhase.FAILED);
+                }
+            }
+
+            if (!waiting.isEmpty() || !restarting.isEmpty()) Thread.sleep(this.pollInterval.toMillis());
+        }
+
+        return new RollingRestartReport(phases, errors, Duration.ofNanos(System.nanoTime() - start));
+    }
+
+    private Map<String, ServerResponse> list() throws Exception {
+        Map<String, ServerResponse> servers = new LinkedHashMap<String, ServerResponse>();
+        for (ServerResponse server : this.mcss.getServers()) servers.put(server.getServerId(), server);
+        return servers;
+    }
+
+    // Counts the failure, true while the server may be polled again
+    private boolean retry(Map<String, Integer> failures, String serverId, Exception e) {
+        if (e instanceof HTTPException && ((HTTPException) e).getCode() < 500) return false;
+        return failures.merge(serverId, 1, Integer::sum) <= this.retries;
+    }
+
+    private void update(Map<String, RestartPhase> phases, String serverId, RestartPhase phase) {
+        phases.put(serverId, phase);
+        for (RestartListener listener : this.listeners) {
+            listener.onProgress(serverId, phase);
+        }
+    }
+
+    private static final class Restart {
+
+        final Server server;
+        final int startDate;
+        final long since = System.nanoTime();
+        boolean seenDown;
+
+        Restart(Server server, int startDate) {
+            this.server = server;
+            this.startDate = startDate;
+        }
+
+        // Online again, after going down or with a start date that moved
+        boolean isBack(ServerResponse listed) throws Exception {
+            if (listed == null) return false;
+            if (listed.getServerStatus() != ServerStatus.ONLINE) {
+                this.seenDown = true;
+                return false;
+            }
+            return this.seenDown || this.server.getStats().getStartDate() != this.startDate;
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package dev.le_app.mcss_api_java.api.fleet;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.Map;
+
+public class RollingRestartReport {
+
+    private final Map<String, RestartPhase> phases;
+    private final Map<String, Exception> errors;
+    private final Duration elapsed;
+
+    RollingRestartReport(Map<String, RestartPhase> phases, Map<String, Exception> errors, Duration elapsed) {
+        this.phases = Collections.unmodifiableMap(phases);
+        this.errors = Collections.unmodifiableMap(errors);
+        this.elapsed = elapsed;
+    }
+
+    // Final phase of every server, in rollout order
+    public Map<String, RestartPhase> getPhases() { return this.phases; }
+
+    public Map<String, Exception> getErrors() { return this.errors; }
+    public Duration getElapsed() { return this.elapsed; }
+
+    public int count(RestartPhase phase) {
+        int count = 0;
+        for (RestartPhase value : this.phases.values()) {
+            if (value == phase) count++;
+        }
+        return count;
+    }
+
+    public boolean isSuccess() {
+        return this.count(RestartPhase.FAILED) == 0;
+    }
+
+    public String toString() {
+        return "done=" + this.count(RestartPhase.DONE) + " failed=" + this.count(RestartPhase.FAILED)
+            + " skipped=" + this.count(RestartPhase.SKIPPED) + " in " + this.elapsed.toMillis() + " ms";
+    }
+}
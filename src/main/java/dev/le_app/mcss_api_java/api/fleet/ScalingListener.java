@@ -0,0 +1,8 @@
+package dev.le_app.mcss_api_java.api.fleet;
+
+import dev.le_app.mcss_api_java.api.servers.ServerAction;
+
+@FunctionalInterface
+public interface ScalingListener {
+    void onAction(String serverId, ServerAction action, String reason);
+}
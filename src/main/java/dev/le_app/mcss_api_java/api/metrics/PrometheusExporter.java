@@ -0,0 +1,239 @@
+package dev.le_app.mcss_api_java.api.metrics;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.util.Arrays;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import dev.le_app.mcss_api_java.api.MCSS;
+import dev.le_app.mcss_api_java.api.fleet.FleetStats;
+import dev.le_app.mcss_api_java.api.utilities.Request;
+import dev.le_app.mcss_api_java.api.utilities.RequestMetrics;
+import dev.le_app.mcss_api_java.api.utilities.ResponseCache;
+
+/**
+ * Serves the metrics of an MCSS client for Prometheus on /metrics.
+ * <pre>
+ * PrometheusExporter exporter = new PrometheusExporter(mcss).start(new InetSocketAddress(9464));
+ * </pre>
+ * Server gauges come from the stats this client already fetched (see {@link MCSS#getFleetStats()}), a scrape never calls MCSS.
+ * Scrapes render into a buffer reused between them, answering in the OpenMetrics format when the scraper accepts it.
+ */
+public class PrometheusExporter implements Closeable {
+
+    static final String TEXT = "text/plain; version=0.0.4; charset=utf-8";
+    static final String OPEN_METRICS = "application/openmetrics-text; version=1.0.0; charset=utf-8";
+
+    private final MCSS mcss;
+
+    // Reused by every scrape, scrapes are served one at a time
+    private final StringBuilder text = new StringBuilder(16 * 1024);
+    private byte[] bytes = new byte[16 * 1024];
+    private int length;
+
+    // Format of the scrape being rendered
+    private boolean openMetrics;
+
+    private HttpServer server;
+    private ExecutorService executor;
+
+    public PrometheusExporter(MCSS mcss) {
+        this.mcss = mcss;
+    }
+
+    public synchronized PrometheusExporter start(InetSocketAddress address) throws IOException {
+        if (this.server != null) throw new IllegalStateException("Already started");
+        this.server = HttpServer.create(address, 0);
+        this.executor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "mcss-prometheus");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.server.setExecutor(this.executor);
+        this.server.createContext("/metrics", this::handle);
+        this.server.start();
+        return this;
+    }
+
+    // Port bound by start(), useful when it was started on port 0
+    public synchronized int getPort() {
+        if (this.server == null) throw new IllegalStateException("Not started");
+        return this.server.getAddress().getPort();
+    }
+
+    // Renders a scrape without serving it
+    public synchronized String scrape(boolean openMetrics) {
+        this.render(openMetrics);
+        return this.text.toString();
+    }
+
+    @Override
+    public synchronized void close() {
+        if (this.server != null) this.server.stop(0);
+        if (this.executor != null) this.executor.shutdownNow();
+        this.server = null;
+        this.executor = null;
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try {
+            if (!exchange.getRequestMethod().equals("GET")) {
+                exchange.sendResponseHeaders(405, -1);
+                return;
+            }
+            String accept = exchange.getRequestHeaders().getFirst("Accept");
+            boolean openMetrics = accept != null && accept.contains("application/openmetrics-text");
+            synchronized (this) {
+                this.render(openMetrics);
+                this.encode();
+                exchange.getResponseHeaders().set("Content-Type", openMetrics ? OPEN_METRICS : TEXT);
+                exchange.sendResponseHeaders(200, this.length);
+                try (OutputStream out = exchange.getResponseBody()) {
+                    out.write(this.bytes, 0, this.length);
+                }
+            }
+        } finally {
+            exchange.close();
+        }
+    }
+
+    /* RENDERING */
+
+    private void render(boolean openMetrics) {
+        this.openMetrics = openMetrics;
+        this.text.setLength(0);
+        this.renderFleet(this.mcss.getFleetStats());
+
+        Request request = this.mcss.request();
+        this.renderRequests(request.getMetrics());
+
+        this.type("mcss_client_hedges", "counter", "Second copies of slow GETs sent");
+        this.counter("mcss_client_hedges").append(' ').append(request.getHedgesSent()).append('\n');
+        this.type("mcss_client_hedges_won", "counter", "Hedged GETs answered by the second copy first");
+        this.counter("mcss_client_hedges_won").append(' ').append(request.getHedgesWon()).append('\n');
+
+        ResponseCache cache = request.getResponseCache();
+        if (cache != null) {
+            this.type("mcss_client_cache_lookups", "counter", "GETs made with a response cache, by outcome");
+            this.counter("mcss_client_cache_lookups").append("{result=\"not_modified\"} ").append(cache.getNotModified()).append('\n');
+            this.counter("mcss_client_cache_lookups").append("{result=\"unchanged\"} ").append(cache.getUnchanged()).append('\n');
+            this.counter("mcss_client_cache_lookups").append("{result=\"miss\"} ").append(cache.getMisses()).append('\n');
+        }
+
+        if (openMetrics) this.text.append("# EOF\n");
+    }
+
+    // One pass per metric family, families must not be interleaved
+    private void renderFleet(FleetStats fleet) {
+        this.type("mcss_server_status", "gauge", "Status code of the server, 0 offline, 1 online, 2 restarting, 3 starting, 4 stopping");
+        fleet.forEach((id, status, cpu, memoryUsed, memoryLimit, players, playerLimit) -> this.server("mcss_server_status", id, status));
+        this.type("mcss_server_cpu_percent", "gauge", "CPU usage of the server");
+        fleet.forEach((id, status, cpu, memoryUsed, memoryLimit, players, playerLimit) -> this.server("mcss_server_cpu_percent", id, cpu));
+        this.type("mcss_server_memory_used_megabytes", "gauge", "Memory used by the server");
+        fleet.forEach((id, status, cpu, memoryUsed, memoryLimit, players, playerLimit) -> this.server("mcss_server_memory_used_megabytes", id, memoryUsed));
+        this.type("mcss_server_memory_limit_megabytes", "gauge", "Memory allocated to the server");
+        fleet.forEach((id, status, cpu, memoryUsed, memoryLimit, players, playerLimit) -> this.server("mcss_server_memory_limit_megabytes", id, memoryLimit));
+        this.type("mcss_server_players_online", "gauge", "Players connected to the server");
+        fleet.forEach((id, status, cpu, memoryUsed, memoryLimit, players, playerLimit) -> this.server("mcss_server_players_online", id, players));
+        this.type("mcss_server_player_limit", "gauge", "Player slots of the server");
+        fleet.forEach((id, status, cpu, memoryUsed, memoryLimit, players, playerLimit) -> this.server("mcss_server_player_limit", id, playerLimit));
+    }
+
+    private void renderRequests(RequestMetrics metrics) {
+        this.type("mcss_client_requests", "counter", "HTTP requests sent to MCSS");
+        for (RequestMetrics.Endpoint endpoint : metrics.getEndpoints()) {
+            this.sample(this.counter("mcss_client_requests"), endpoint, endpoint.getRequests());
+        }
+        this.type("mcss_client_request_errors", "counter", "Requests that got no response or an error status");
+        for (RequestMetrics.Endpoint endpoint : metrics.getEndpoints()) {
+            this.sample(this.counter("mcss_client_request_errors"), endpoint, endpoint.getErrors());
+        }
+        this.type("mcss_client_response_bytes", "counter", "Bytes of response bodies read");
+        for (RequestMetrics.Endpoint endpoint : metrics.getEndpoints()) {
+            this.sample(this.counter("mcss_client_response_bytes"), endpoint, endpoint.getBytes());
+        }
+
+        this.type("mcss_client_request_duration_seconds", "histogram", "Time from sending a request to the end of its body");
+        for (RequestMetrics.Endpoint endpoint : metrics.getEndpoints()) {
+            // Read the count first so the buckets never exceed it
+            long count = endpoint.getRequests();
+            long cumulative = 0;
+            for (int i = 0; i < RequestMetrics.getBucketCount(); i++) {
+                cumulative += endpoint.getBucket(i);
+                this.labels(this.text.append("mcss_client_request_duration_seconds_bucket{"), endpoint);
+                this.text.append(",le=\"").append(RequestMetrics.getBucketBound(i)).append("\"} ").append(Math.min(cumulative, count)).append('\n');
+            }
+            this.labels(this.text.append("mcss_client_request_duration_seconds_bucket{"), endpoint);
+            this.text.append(",le=\"+Inf\"} ").append(count).append('\n');
+            this.labels(this.text.append("mcss_client_request_duration_seconds_sum{"), endpoint);
+            this.text.append("} ").append(endpoint.getTotalNanos() / 1e9).append('\n');
+            this.sample(this.text.append("mcss_client_request_duration_seconds_count"), endpoint, count);
+        }
+    }
+
+    private void type(String name, String type, String help) {
+        // The text format names counters with their _total suffix, OpenMetrics without
+        String family = type.equals("counter") && !this.openMetrics ? name + "_total" : name;
+        this.text.append("# HELP ").append(family).append(' ').append(help).append('\n');
+        this.text.append("# TYPE ").append(family).append(' ').append(type).append('\n');
+    }
+
+    private StringBuilder counter(String name) {
+        return this.text.append(name).append("_total");
+    }
+
+    private void server(String name, String serverId, long value) {
+        this.text.append(name).append("{server=\"");
+        this.label(serverId);
+        this.text.append("\"} ").append(value).append('\n');
+    }
+
+    private void sample(StringBuilder name, RequestMetrics.Endpoint endpoint, long value) {
+        this.labels(name.append('{'), endpoint);
+        this.text.append("} ").append(value).append('\n');
+    }
+
+    private void labels(StringBuilder line, RequestMetrics.Endpoint endpoint) {
+        line.append("method=\"").append(endpoint.getMethod()).append("\",endpoint=\"");
+        this.label(endpoint.getTemplate());
+        line.append('"');
+    }
+
+    private void label(String value) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '\\' || c == '"') this.text.append('\\').append(c);
+            else if (c == '\n') this.text.append("\\n");
+            else this.text.append(c);
+        }
+    }
+
+    // UTF-8 into the reused byte array
+    private void encode() {
+        int needed = this.text.length() * 3;
+        if (this.bytes.length < needed) this.bytes = Arrays.copyOf(this.bytes, Math.max(needed, this.bytes.length * 2));
+        int n = 0;
+        for (int i = 0; i < this.text.length(); i++) {
+            char c = this.text.charAt(i);
+            if (c < 0x80) {
+                this.bytes[n++] = (byte) c;
+            } else if (c < 0x800) {
+                this.bytes[n++] = (byte) (0xC0 | (c >> 6));
+                this.bytes[n++] = (byte) (0x80 | (c & 0x3F));
+            } else if (Character.isSurrogate(c)) {
+                this.bytes[n++] = '?';
+            } else {
+                this.bytes[n++] = (byte) (0xE0 | (c >> 12));
+                this.bytes[n++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+                this.bytes[n++] = (byte) (0x80 | (c & 0x3F));
+            }
+        }
+        this.length = n;
+    }
+}
@@ -0,0 +1,26 @@
+package dev.le_app.mcss_api_java.api.scheduler;
+
+// A task together with its server and parsed timing
+
+public class ScheduledTask {
+
+    private final String serverId;
+    private final Task task;
+    private final TaskTiming timing;
+
+    public ScheduledTask(String serverId, Task task) {
+        this.serverId = serverId;
+        this.task = task;
+        this.timing = TaskTiming.parse(task.getTiming());
+    }
+
+    public String getServerId() { return this.serverId; }
+    public Task getTask() { return this.task; }
+
+    // Null when the timing could not be interpreted
+    public TaskTiming getTiming() { return this.timing; }
+
+    public String toString() {
+        return this.serverId + "/" + this.task.getName() + " " + this.timing;
+    }
+}
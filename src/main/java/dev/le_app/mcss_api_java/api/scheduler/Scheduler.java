@@ -1,25 +1,34 @@
 package dev.le_app.mcss_api_java.api.scheduler;
 
+import java.io.StringReader;
 import java.util.ArrayList;
+import java.util.stream.Stream;
 
 import dev.le_app.mcss_api_java.api.MCSS;
+import dev.le_app.mcss_api_java.api.utilities.BodyReader;
+import dev.le_app.mcss_api_java.api.utilities.Request;
+import dev.le_app.mcss_api_java.commons.json.JsonWriter;
 import dev.le_app.mcss_api_java.commons.responses.Response;
 import dev.le_app.mcss_api_java.commons.responses.schedule.SchedulerResponse;
-import dev.le_app.mcss_api_java.commons.responses.schedule.TasksResponse;
+import dev.le_app.mcss_api_java.commons.structures.BuilderCodec;
 import dev.le_app.mcss_api_java.commons.structures.TaskBuilder;
 import org.json.JSONObject;
 
-import dev.le_app.mcss_api_java.api.utilities.Request;
-
 public class Scheduler {
     
     private Request request;
 
     private String serverId;
 
+    public Scheduler(Request request, String serverId) {
+        this.request = request;
+        this.serverId = serverId;
+    }
+
+    // Uses the request of the last MCSS instance created
+    @Deprecated
     public Scheduler(String serverId) {
-        this.request = MCSS.getRequest();
-        this.serverId = null;
+        this(MCSS.getRequest(), serverId);
     }
 
     public SchedulerResponse get() throws Exception {
@@ -27,15 +36,27 @@ public class Scheduler {
     }
 
     public ArrayList<Task> getTasks() throws Exception {
-        return new TasksResponse(this.request.GET("/servers/" + this.serverId + "/scheduler/tasks")).getTasks();
+        return new ArrayList<Task>(this.request.GET("/servers/" + this.serverId + "/scheduler/tasks", TaskCodec::readList));
     }
 
     public ArrayList<Task> getTasks(TaskFilter filter) throws Exception {
-        return new TasksResponse(this.request.GET("/servers/" + this.serverId + "/scheduler/tasks?filter=" + filter.getValue())).getTasks();
+        return this.getTasks(filter.getValue());
     }
 
     public ArrayList<Task> getTasks(int filter) throws Exception {
-        return new TasksResponse(this.request.GET("/servers/" + this.serverId + "/scheduler/tasks?filter=" + filter)).getTasks();
+        return new ArrayList<Task>(this.request.GET("/servers/" + this.serverId + "/scheduler/tasks?filter=" + filter, TaskCodec::readList));
+    }
+
+    public Stream<Task> streamTasks() throws Exception {
+        return TaskCodec.stream(new StringReader(this.request.GET("/servers/" + this.serverId + "/scheduler/tasks", BodyReader.TEXT)));
+    }
+
+    public Stream<Task> streamTasks(TaskFilter filter) throws Exception {
+        return TaskCodec.stream(new StringReader(this.request.GET("/servers/" + this.serverId + "/scheduler/tasks?filter=" + filter.getValue(), BodyReader.TEXT)));
+    }
+
+    public Stream<Task> streamTasks(int filter) throws Exception {
+        return TaskCodec.stream(new StringReader(this.request.GET("/servers/" + this.serverId + "/scheduler/tasks?filter=" + filter, BodyReader.TEXT)));
     }
 
     public Task getTask(String taskId) throws Exception {
@@ -43,7 +64,7 @@ public class Scheduler {
     }
 
     public Response create(TaskBuilder task) throws Exception {
-        return new Response(this.request.POST("/servers/" + this.serverId + "/scheduler/tasks", task.toJSON()));
+        return new Response(this.request.POST("/servers/" + this.serverId + "/scheduler/tasks", BuilderCodec.write(new JsonWriter(), task).toString()));
     }
 
     public Response create(JSONObject task) throws Exception {
@@ -51,7 +72,7 @@ public class Scheduler {
     }
 
     public Response update(String taskId, TaskBuilder task) throws Exception {
-        return new Response(this.request.PUT("/servers/" + this.serverId + "/scheduler/tasks/" + taskId, task.toJSON()));
+        return new Response(this.request.PUT("/servers/" + this.serverId + "/scheduler/tasks/" + taskId, BuilderCodec.write(new JsonWriter(), task).toString()));
     }
 
     public Response update(String taskId, JSONObject task) throws Exception {
@@ -3,7 +3,9 @@ package dev.le_app.mcss_api_java.api.scheduler;
 import org.json.JSONObject;
 
 public class Task {
-    
+
+    private String taskId;
+
     private String name;
 
     private boolean enabled;
@@ -15,6 +17,7 @@ public class Task {
     private Object job;
 
     public Task(JSONObject json) {
+        this.taskId = json.optString("taskId", null);
         this.name = json.getString("name");
         this.enabled = json.getBoolean("enabled");
         this.playerRequirement = json.getInt("playerRequirement");
@@ -22,6 +25,19 @@ public class Task {
         this.job = json.get("job");
     }
 
+    // Used by TaskCodec
+    Task(String taskId, String name, boolean enabled, int playerRequirement, Object timing, Object job) {
+        this.taskId = taskId;
+        this.name = name;
+        this.enabled = enabled;
+        this.playerRequirement = playerRequirement;
+        this.timing = timing;
+        this.job = job;
+    }
+
+    // Null when the response did not include it
+    public String getTaskId() { return this.taskId; }
+
     public String getName() { return this.name; }
 
     public boolean getEnabled() { return this.enabled; }
@@ -0,0 +1,78 @@
+package dev.le_app.mcss_api_java.api.scheduler;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.stream.Stream;
+
+import dev.le_app.mcss_api_java.commons.json.JsonReader;
+import dev.le_app.mcss_api_java.commons.json.JsonWriter;
+
+/**
+ * Decodes tasks straight from the token stream, timing and job stay free-form org.json values.
+ */
+public final class TaskCodec {
+
+    // Bit of each field in the seen mask
+    private static final String[] FIELDS = { "name", "enabled", "playerRequirement", "timing", "job" };
+
+    private TaskCodec() {}
+
+    public static Task read(JsonReader in) throws IOException {
+        String taskId = null;
+        String name = null;
+        boolean enabled = false;
+        int playerRequirement = 0;
+        Object timing = null;
+        Object job = null;
+        int seen = 0;
+
+        in.beginObject();
+        while (in.hasNext()) {
+            switch (in.nextName()) {
+                case "taskId": taskId = in.nextString(); break;
+                case "name": name = in.nextString(); seen |= 1 << 0; break;
+                case "enabled": enabled = in.nextBoolean(); seen |= 1 << 1; break;
+                case "playerRequirement": playerRequirement = in.nextInt(); seen |= 1 << 2; break;
+                case "timing": timing = in.readValue(); seen |= 1 << 3; break;
+                case "job": job = in.readValue(); seen |= 1 << 4; break;
+                default: in.skipValue();
+            }
+        }
+        in.endObject();
+        // Every field is required, as with Task(JSONObject)
+        if (seen != (1 << FIELDS.length) - 1) throw new IOException("Task is missing " + FIELDS[Integer.numberOfTrailingZeros(~seen)]);
+
+        return new Task(taskId, name, enabled, playerRequirement, timing, job);
+    }
+
+    // Reads the tasks key of GET /servers/{id}/scheduler/tasks
+    public static ArrayList<Task> readList(Reader body) throws IOException {
+        JsonReader in = new JsonReader(body);
+        ArrayList<Task> tasks = new ArrayList<Task>();
+        if (!in.seek("tasks")) return tasks;
+        in.beginArray();
+        while (in.hasNext()) tasks.add(read(in));
+        in.endArray();
+        return tasks;
+    }
+
+    // Same list decoded one task at a time as the stream is consumed
+    public static Stream<Task> stream(Reader body) throws IOException {
+        JsonReader in = new JsonReader(body);
+        if (!in.seek("tasks")) return Stream.empty();
+        return in.stream(TaskCodec::read);
+    }
+
+    // Same fields as Task.toJSON plus the id when known
+    public static JsonWriter write(JsonWriter out, Task task) {
+        out.beginObject();
+        if (task.getTaskId() != null) out.name("taskId").value(task.getTaskId());
+        out.name("name").value(task.getName());
+        out.name("enabled").value(task.getEnabled());
+        out.name("playerRequirement").value(task.getPlayerRequirement());
+        out.name("timing").raw(task.getTiming());
+        out.name("job").raw(task.getJob());
+        return out.endObject();
+    }
+}
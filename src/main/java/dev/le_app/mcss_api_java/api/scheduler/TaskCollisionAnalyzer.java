@@ -0,0 +1,165 @@
+package dev.le_app.mcss_api_java.api.scheduler;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import dev.le_app.mcss_api_java.api.MCSS;
+import dev.le_app.mcss_api_java.commons.responses.server.ServerResponse;
+
+/**
+ * Simulates when the tasks of every server fire over a horizon and finds the slots where many fire together.
+ * Tasks in those slots can be given staggered offsets, time of the day tasks can have them applied through the API.
+ */
+public class TaskCollisionAnalyzer {
+
+    private final MCSS mcss;
+
+    private int horizon = 86400;
+    private int resolution = 60;
+    private int threshold = 5;
+    private int maxShift = 1800;
+
+    public TaskCollisionAnalyzer(MCSS mcss) {
+        this.mcss = mcss;
+    }
+
+    // Time simulated from midnight, a day by default
+    public TaskCollisionAnalyzer setHorizon(Duration horizon) {
+        if (horizon.getSeconds() < 1) throw new IllegalArgumentException("horizon must be at least a second");
+        this.horizon = (int) horizon.getSeconds();
+        return this;
+    }
+
+    // Width of a slot, runs in the same slot collide
+    public TaskCollisionAnalyzer setResolution(Duration resolution) {
+        if (resolution.getSeconds() < 1) throw new IllegalArgumentException("resolution must be at least a second");
+        this.resolution = (int) resolution.getSeconds();
+        return this;
+    }
+
+    // Runs in a slot from which it counts as a hotspot
+    public TaskCollisionAnalyzer setThreshold(int threshold) {
+        if (threshold < 2) throw new IllegalArgumentException("threshold must be at least 2");
+        this.threshold = threshold;
+        return this;
+    }
+
+    // Largest offset suggested for a task, interval tasks are also kept below their interval
+    public TaskCollisionAnalyzer setMaxShift(Duration maxShift) {
+        this.maxShift = (int) maxShift.getSeconds();
+        return this;
+    }
+
+    // Enabled tasks of every server whose timing could be interpreted
+    public List<ScheduledTask> load() throws Exception {
+        List<ScheduledTask> tasks = new ArrayList<ScheduledTask>();
+        for (ServerResponse server : this.mcss.getServers()) {
+            Scheduler scheduler = new Scheduler(this.mcss.request(), server.getServerId());
+            for (Task task : scheduler.getTasks()) {
+                ScheduledTask scheduled = new ScheduledTask(server.getServerId(), task);
+                if (task.getEnabled() && scheduled.getTiming() != null) tasks.add(scheduled);
+            }
+        }
+        return tasks;
+    }
+
+    public TaskCollisionReport analyze() throws Exception {
+        return this.analyze(this.load());
+    }
+
+    public TaskCollisionReport analyze(List<ScheduledTask> tasks) {
+        int[] load = new int[(this.horizon + this.resolution - 1) / this.resolution];
+        for (ScheduledTask task : tasks) this.add(load, task.getTiming(), 0, 1);
+        int[] original = load.clone();
+
+        List<TaskCollisionReport.Hotspot> hotspots = new ArrayList<TaskCollisionReport.Hotspot>();
+        boolean[] hot = new boolean[load.length];
+        for (int slot = 0; slot < load.length; slot++) {
+            if (load[slot] < this.threshold) continue;
+            hot[slot] = true;
+            hotspots.add(new TaskCollisionReport.Hotspot(slot * this.resolution, load[slot]));
+        }
+        hotspots.sort(Comparator.comparingInt(TaskCollisionReport.Hotspot::getCount).reversed());
+
+        List<TaskOffset> offsets = new ArrayList<TaskOffset>();
+        if (hotspots.isEmpty()) return new TaskCollisionReport(tasks, original, this.resolution, hotspots, offsets);
+
+        // Tasks that can be moved are placed around the interval tasks, which stay where they are
+        for (ScheduledTask task : tasks) {
+            if (TaskOffset.isMovable(task)) this.place(load, hot, task, offsets);
+        }
+        // Interval tasks then get suggestions against that result, on a copy so they do not change it
+        int[] suggested = load.clone();
+        for (ScheduledTask task : tasks) {
+            if (!TaskOffset.isMovable(task)) this.place(suggested, hot, task, offsets);
+        }
+        return new TaskCollisionReport(tasks, original, this.resolution, hotspots, offsets);
+    }
+
+    // Greedy: a task of a hotspot takes the offset whose slots are the least busy so far
+    private void place(int[] load, boolean[] hot, ScheduledTask task, List<TaskOffset> offsets) {
+        TaskTiming timing = task.getTiming();
+        if (!this.touches(hot, timing)) return;
+        this.add(load, timing, 0, -1);
+        int limit = timing.isInterval() ? Math.min(this.maxShift, timing.getInterval() - 1) : this.maxShift;
+        int best = 0;
+        long bestCost = Long.MAX_VALUE;
+        for (int shift = 0; shift <= limit; shift += this.resolution) {
+            long cost = this.cost(load, timing, shift);
+            if (cost < bestCost) {
+                bestCost = cost;
+                best = shift;
+            }
+        }
+        this.add(load, timing, best, 1);
+        if (best != 0) offsets.add(new TaskOffset(task, best));
+    }
+
+    // Moves the time of the day tasks of the offsets, returns how many were updated
+    public int apply(List<TaskOffset> offsets) throws Exception {
+        int applied = 0;
+        for (TaskOffset offset : offsets) {
+            if (!offset.isApplicable()) continue;
+            Task task = offset.getTask().getTask();
+            new Scheduler(this.mcss.request(), offset.getTask().getServerId())
+                .update(task.getTaskId(), task.toJSON().put("timing", offset.getTiming().toJSON()));
+            applied++;
+        }
+        return applied;
+    }
+
+    private void add(int[] load, TaskTiming timing, int shift, int delta) {
+        int period = timing.period();
+        for (int t = this.first(timing, shift); t < this.horizon; t += period) {
+            load[t / this.resolution] += delta;
+            if (period == 0) break;
+        }
+    }
+
+    private long cost(int[] load, TaskTiming timing, int shift) {
+        long cost = 0;
+        int period = timing.period();
+        for (int t = this.first(timing, shift); t < this.horizon; t += period) {
+            cost += load[t / this.resolution];
+            if (period == 0) break;
+        }
+        return cost;
+    }
+
+    private boolean touches(boolean[] hot, TaskTiming timing) {
+        int period = timing.period();
+        for (int t = this.first(timing, 0); t < this.horizon; t += period) {
+            if (hot[t / this.resolution]) return true;
+            if (period == 0) break;
+        }
+        return false;
+    }
+
+    // Time of the day runs wrap around midnight when shifted
+    private int first(TaskTiming timing, int shift) {
+        if (timing.isInterval()) return timing.firstFire() + shift;
+        return (timing.firstFire() + shift) % 86400;
+    }
+}
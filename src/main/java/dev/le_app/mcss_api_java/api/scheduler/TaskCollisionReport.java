@@ -0,0 +1,66 @@
+package dev.le_app.mcss_api_java.api.scheduler;
+
+import java.util.Collections;
+import java.util.List;
+
+public class TaskCollisionReport {
+
+    /**
+     * A slot in which at least the threshold number of tasks fire.
+     */
+    public static class Hotspot {
+
+        private final int second;
+        private final int count;
+
+        Hotspot(int second, int count) {
+            this.second = second;
+            this.count = count;
+        }
+
+        // Start of the slot in seconds from midnight of the first day
+        public int getSecond() { return this.second; }
+        public int getCount() { return this.count; }
+
+        public String toString() {
+            return String.format("%02d:%02d:%02d (day %d) %d tasks", this.second / 3600 % 24, this.second / 60 % 60, this.second % 60, this.second / 86400, this.count);
+        }
+    }
+
+    private final List<ScheduledTask> tasks;
+    private final int[] load;
+    private final int resolution;
+    private final List<Hotspot> hotspots;
+    private final List<TaskOffset> offsets;
+
+    TaskCollisionReport(List<ScheduledTask> tasks, int[] load, int resolution, List<Hotspot> hotspots, List<TaskOffset> offsets) {
+        this.tasks = Collections.unmodifiableList(tasks);
+        this.load = load;
+        this.resolution = resolution;
+        this.hotspots = Collections.unmodifiableList(hotspots);
+        this.offsets = Collections.unmodifiableList(offsets);
+    }
+
+    public List<ScheduledTask> getTasks() { return this.tasks; }
+
+    // Runs per slot over the horizon
+    public int[] getLoad() { return this.load.clone(); }
+
+    public int getResolutionSeconds() { return this.resolution; }
+
+    // Slots at or above the threshold, busiest first
+    public List<Hotspot> getHotspots() { return this.hotspots; }
+
+    // Moves that spread the tasks of the hotspots, empty when there are none
+    public List<TaskOffset> getOffsets() { return this.offsets; }
+
+    public int getPeak() {
+        int peak = 0;
+        for (int count : this.load) peak = Math.max(peak, count);
+        return peak;
+    }
+
+    public String toString() {
+        return this.tasks.size() + " tasks, peak " + this.getPeak() + " per " + this.resolution + "s, " + this.hotspots.size() + " hotspots";
+    }
+}
@@ -0,0 +1,35 @@
+package dev.le_app.mcss_api_java.api.scheduler;
+
+// A suggested move of a task by a number of seconds to flatten the load
+
+public class TaskOffset {
+
+    private final ScheduledTask task;
+    private final int seconds;
+
+    TaskOffset(ScheduledTask task, int seconds) {
+        this.task = task;
+        this.seconds = seconds;
+    }
+
+    public ScheduledTask getTask() { return this.task; }
+    public int getSeconds() { return this.seconds; }
+
+    // Only time of the day timings can be moved through the API, the phase of an interval is not settable
+    static boolean isMovable(ScheduledTask task) {
+        return !task.getTiming().isInterval() && task.getTask().getTaskId() != null;
+    }
+
+    public boolean isApplicable() {
+        return isMovable(this.task);
+    }
+
+    // The new timing, null when the offset cannot be applied
+    public TaskTiming getTiming() {
+        return this.task.getTiming().isInterval() ? null : this.task.getTiming().shift(this.seconds);
+    }
+
+    public String toString() {
+        return this.task + " +" + this.seconds + "s" + (this.isApplicable() ? "" : " (suggestion only)");
+    }
+}
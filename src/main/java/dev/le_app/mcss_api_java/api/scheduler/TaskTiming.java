@@ -0,0 +1,76 @@
+package dev.le_app.mcss_api_java.api.scheduler;
+
+import java.time.LocalTime;
+import java.time.format.DateTimeParseException;
+
+import org.json.JSONObject;
+
+/**
+ * The timing object of a task, either an interval in seconds or a time of the day, repeated or not.
+ * Interval tasks are taken to fire on multiples of their interval counted from midnight, the way they line up when servers start together.
+ */
+public class TaskTiming {
+
+    private static final int DAY = 86400;
+
+    private final boolean repeat;
+    private final int interval;
+    private final LocalTime time;
+
+    private TaskTiming(boolean repeat, int interval, LocalTime time) {
+        this.repeat = repeat;
+        this.interval = interval;
+        this.time = time;
+    }
+
+    // Returns null when the timing is not one of the two known shapes
+    public static TaskTiming parse(Object timing) {
+        if (!(timing instanceof JSONObject)) return null;
+        JSONObject json = (JSONObject) timing;
+        boolean repeat = json.optBoolean("repeat", false);
+        if (json.has("interval") && json.optInt("interval", 0) > 0) return new TaskTiming(repeat, json.getInt("interval"), null);
+        if (json.has("time")) {
+            try {
+                return new TaskTiming(repeat, 0, LocalTime.parse(json.getString("time")));
+            } catch (DateTimeParseException e) {
+                return null;
+            }
+        }
+        return null;
+    }
+
+    public boolean isRepeat() { return this.repeat; }
+    public boolean isInterval() { return this.time == null; }
+
+    // Seconds between runs, 0 for a time of the day
+    public int getInterval() { return this.interval; }
+
+    // Null for interval timings
+    public LocalTime getTime() { return this.time; }
+
+    // Seconds from midnight of the first run
+    int firstFire() {
+        return this.time == null ? this.interval : this.time.toSecondOfDay();
+    }
+
+    // Seconds between runs, 0 when the task runs once
+    int period() {
+        if (!this.repeat) return 0;
+        return this.time == null ? this.interval : DAY;
+    }
+
+    // The same timing with the time of the day moved by the offset, wrapping around midnight
+    public TaskTiming shift(int seconds) {
+        if (this.time == null) throw new IllegalStateException("Interval timings have no time of the day to shift");
+        return new TaskTiming(this.repeat, 0, this.time.plusSeconds(seconds));
+    }
+
+    public JSONObject toJSON() {
+        JSONObject json = new JSONObject().put("repeat", this.repeat);
+        return this.time == null ? json.put("interval", this.interval) : json.put("time", this.time.toString().length() == 5 ? this.time + ":00" : this.time.toString());
+    }
+
+    public String toString() {
+        return (this.time == null ? "every " + this.interval + "s" : "at " + this.time) + (this.repeat ? "" : " once");
+    }
+}
@@ -1,10 +1,27 @@
 package dev.le_app.mcss_api_java.api.servers;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Predicate;
+
 import dev.le_app.mcss_api_java.api.backups.Backups;
+import dev.le_app.mcss_api_java.api.console.CommandCapture;
+import dev.le_app.mcss_api_java.api.console.CommandOutput;
+import dev.le_app.mcss_api_java.api.console.ConsoleLineConsumer;
+import dev.le_app.mcss_api_java.api.console.ConsoleReader;
 import dev.le_app.mcss_api_java.api.scheduler.Scheduler;
 import dev.le_app.mcss_api_java.api.utilities.Request;
+import dev.le_app.mcss_api_java.api.utilities.Result;
+import dev.le_app.mcss_api_java.commons.json.JsonWriter;
 import dev.le_app.mcss_api_java.commons.responses.Response;
 import dev.le_app.mcss_api_java.commons.responses.server.ServerResponse;
+import dev.le_app.mcss_api_java.commons.structures.BuilderCodec;
 import dev.le_app.mcss_api_java.commons.structures.ServerBuilder;
 import org.json.JSONObject;
 
@@ -16,20 +33,49 @@ public class Server extends ServerResponse {
 
     private Backups backups;
 
+    private List<ServerStatsListener> listeners;
+
     public Server(Request request, JSONObject response) {
+        this(request, response, Collections.emptyList());
+    }
+
+    Server(Request request, JSONObject response, List<ServerStatsListener> listeners) {
         super(response);
         this.request = request;
-        this.scheduler = new Scheduler(this.getServerId());
+        this.scheduler = new Scheduler(request, this.getServerId());
+        this.backups = new Backups(request, this.getServerId());
+        this.listeners = listeners;
     }
 
     public ServerStats getStats() throws Exception {
-        return new ServerStats(this.request.GET("/servers/" + this.getServerId() + "/stats"));
+        return this.tryGetStats().orElseThrow();
+    }
+
+    // Returns an error status instead of throwing it, listeners are only told about successful samples
+    public Result<ServerStats> tryGetStats() throws Exception {
+        Result<ServerStats> result = this.request.tryGET("/servers/" + this.getServerId() + "/stats").map(ServerStats::new);
+        if (result.isOk()) {
+            for (ServerStatsListener listener : this.listeners) {
+                listener.onStats(this, result.getValue());
+            }
+        }
+        return result;
     }
 
     public Response execute(String command) throws Exception {
         return new Response(this.request.POST("/servers/" + this.getServerId() + "/execute/command", new JSONObject().put("command", command)));
     }
 
+    // Sends the command and returns the console lines it produced once the output went quiet
+    public CommandOutput executeAndCapture(String command, Duration timeout) throws Exception {
+        return new CommandCapture().run(this, command, timeout);
+    }
+
+    // Sends the command and returns the console lines up to the first one the matcher accepts
+    public CommandOutput executeAndCapture(String command, Duration timeout, Predicate<String> until) throws Exception {
+        return new CommandCapture().setUntil(until).run(this, command, timeout);
+    }
+
     public Response execute(String[] commands) throws Exception {
         return new Response(this.request.POST("/servers/" + this.getServerId() + "/execute/commands", new JSONObject().put("commands", commands)));
     }
@@ -59,7 +105,7 @@ public class Server extends ServerResponse {
     }
 
     public Response edit(ServerBuilder builder) throws Exception {
-        return new Response(this.request.PUT("/servers/" + this.getServerId(), builder.toJSON()));
+        return new Response(this.request.PUT("/servers/" + this.getServerId(), BuilderCodec.write(new JsonWriter(), builder).toString()));
     }
 
     public Response edit(JSONObject json) throws Exception {
@@ -67,27 +113,57 @@ public class Server extends ServerResponse {
     }
 
     public String[] getConsole() throws Exception {
-        return this.request.GET("/servers/" + this.getServerId() + "/console").getJSONArray("console").toList().toArray(new String[0]);
+        return this.console("");
     }
 
     public String[] getConsole(int lines) throws Exception {
-        return this.request.GET("/servers/" + this.getServerId() + "/console?lines=" + lines).getJSONArray("console").toList().toArray(new String[0]);
+        return this.console("?lines=" + lines);
     }
 
     public String[] getConsole(boolean reversed) throws Exception {
-        return this.request.GET("/servers/" + this.getServerId() + "/console?reversed=" + reversed).getJSONArray("console").toList().toArray(new String[0]);
+        return this.console("?reversed=" + reversed);
     }
 
     public String[] getConsole(int lines, boolean reversed) throws Exception {
-        return this.request.GET("/servers/" + this.getServerId() + "/console?lines=" + lines + "&reversed=" + reversed).getJSONArray("console").toList().toArray(new String[0]);
+        return this.console("?lines=" + lines + "&reversed=" + reversed);
     }
 
     public String[] getConsole(int lines, boolean reversed, boolean takeFromBeginning) throws Exception {
-        return this.request.GET("/servers/" + this.getServerId() + "/console?lines=" + lines + "&reversed=" + reversed + "&takeFromBeginning=" + takeFromBeginning).getJSONArray("console").toList().toArray(new String[0]);
+        return this.console("?lines=" + lines + "&reversed=" + reversed + "&takeFromBeginning=" + takeFromBeginning);
+    }
+
+    private String[] console(String query) throws Exception {
+        ArrayList<String> lines = new ArrayList<String>();
+        this.request.GET("/servers/" + this.getServerId() + "/console" + query, new ConsoleReader(line -> lines.add(line.toString())));
+        return lines.toArray(new String[0]);
+    }
+
+    // Hands every line to the consumer as it is decoded, returns the number of lines read
+    public int readConsole(int lines, ConsoleLineConsumer consumer) throws Exception {
+        return this.request.GET("/servers/" + this.getServerId() + "/console?lines=" + lines, new ConsoleReader(consumer));
+    }
+
+    public int readConsole(int lines, boolean reversed, ConsoleLineConsumer consumer) throws Exception {
+        return this.request.GET("/servers/" + this.getServerId() + "/console?lines=" + lines + "&reversed=" + reversed, new ConsoleReader(consumer));
+    }
+
+    public int readConsole(int lines, boolean reversed, boolean takeFromBeginning, ConsoleLineConsumer consumer) throws Exception {
+        return this.request.GET("/servers/" + this.getServerId() + "/console?lines=" + lines + "&reversed=" + reversed + "&takeFromBeginning=" + takeFromBeginning, new ConsoleReader(consumer));
+    }
+
+    // Appends every line followed by a new line, a CharBuffer that fills up throws BufferOverflowException
+    public int readConsole(int lines, Appendable out) throws Exception {
+        return this.readConsole(lines, line -> {
+            try {
+                out.append(line).append('\n');
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
     }
 
     public boolean isConsoleOutdated(String secondLastLine, String lastLine) throws Exception {
-        return this.request.GET("/servers/" + this.getServerId() + "/console?secondLastLine=" + secondLastLine + "&lastLine=" + lastLine).getBoolean("outdated");
+        return this.request.GET("/servers/" + this.getServerId() + "/console?secondLastLine=" + URLEncoder.encode(secondLastLine, StandardCharsets.UTF_8) + "&lastLine=" + URLEncoder.encode(lastLine, StandardCharsets.UTF_8)).getBoolean("outdated");
     }
 
     public Scheduler getScheduler() {
@@ -0,0 +1,8 @@
+package dev.le_app.mcss_api_java.api.servers;
+
+// Receives the stats of a server each time they are fetched, called on the fetching thread
+
+@FunctionalInterface
+public interface ServerStatsListener {
+    void onStats(Server server, ServerStats stats);
+}
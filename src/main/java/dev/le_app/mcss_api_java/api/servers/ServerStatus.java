@@ -0,0 +1,28 @@
+package dev.le_app.mcss_api_java.api.servers;
+
+public enum ServerStatus {
+    OFFLINE(0),
+    ONLINE(1),
+    RESTARTING(2),
+    STARTING(3),
+    STOPPING(4);
+
+    private final int value;
+
+    private ServerStatus(int value) {
+        this.value = value;
+    }
+
+    public int getValue() {
+        return value;
+    }
+
+    public static ServerStatus fromValue(int value) {
+        for(ServerStatus serverStatus : ServerStatus.values()) {
+            if(serverStatus.getValue() == value) {
+                return serverStatus;
+            }
+        }
+        return null;
+    }
+}
@@ -20,5 +20,14 @@ public enum ServerType {
 
     public String getValue() {
         return value;
-    }   
+    }
+
+    public static ServerType fromValue(String value) {
+        for(ServerType type : ServerType.values()) {
+            if(type.getValue().equals(value)) {
+                return type;
+            }
+        }
+        return null;
+    }
 }
@@ -1,31 +1,51 @@
 package dev.le_app.mcss_api_java.api.servers;
 
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
 import dev.le_app.mcss_api_java.api.MCSS;
 import dev.le_app.mcss_api_java.api.utilities.Request;
-import org.json.JSONObject;
+import dev.le_app.mcss_api_java.api.utilities.Result;
+import dev.le_app.mcss_api_java.commons.responses.server.ServerResponse;
 
 public class Servers {
 
     private Request request;
 
+    // Told about every stats sample fetched through a server of this instance
+    private List<ServerStatsListener> listeners = new CopyOnWriteArrayList<ServerStatsListener>();
+
+    public Servers(Request request) {
+        this.request = request;
+    }
+
+    // Uses the request of the last MCSS instance created
+    @Deprecated
     public Servers() {
-        this.request = MCSS.getRequest();
+        this(MCSS.getRequest());
+    }
+
+    public void addStatsListener(ServerStatsListener listener) {
+        this.listeners.add(listener);
     }
 
+    public void removeStatsListener(ServerStatsListener listener) {
+        this.listeners.remove(listener);
+    }
+
+    // Error statuses are thrown by the request as HTTPException
     public Server getServer(String id) throws Exception {
-        JSONObject response = this.request.GET("/servers/" + id);
-        switch(response.getInt("status")) {
-            case 200:
-                return new Server(this.request, response);
-            case 401:
-                throw new Exception("Unauthorized");
-            case 403: 
-                throw new Exception("Forbidden");
-            case 404:
-                throw new Exception("Server not found");
-            default:
-                throw new Exception("Unknown error");
-        }
+        return new Server(this.request, this.request.GET("/servers/" + id), this.listeners);
+    }
+
+    // Returns a 404 or other error status instead of throwing it
+    public Result<Server> tryGetServer(String id) throws Exception {
+        return this.request.tryGET("/servers/" + id).map(response -> new Server(this.request, response, this.listeners));
+    }
+
+    // Wraps a server from a listing without fetching it again
+    public Server getServer(ServerResponse server) {
+        return new Server(this.request, server.getRaw(), this.listeners);
     }
     
 }
@@ -0,0 +1,244 @@
+package dev.le_app.mcss_api_java.api.snapshot;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.json.JSONObject;
+
+import dev.le_app.mcss_api_java.api.MCSS;
+import dev.le_app.mcss_api_java.api.backups.Backup;
+import dev.le_app.mcss_api_java.api.backups.BackupCodec;
+import dev.le_app.mcss_api_java.api.scheduler.Task;
+import dev.le_app.mcss_api_java.api.scheduler.TaskCodec;
+import dev.le_app.mcss_api_java.api.servers.Server;
+import dev.le_app.mcss_api_java.api.servers.ServerStats;
+import dev.le_app.mcss_api_java.api.utilities.Deadline;
+import dev.le_app.mcss_api_java.commons.json.JsonReader;
+import dev.le_app.mcss_api_java.commons.json.JsonWriter;
+import dev.le_app.mcss_api_java.commons.responses.server.ServerResponse;
+import dev.le_app.mcss_api_java.commons.responses.server.ServerResponseCodec;
+import dev.le_app.mcss_api_java.commons.responses.user.UserResponse;
+import dev.le_app.mcss_api_java.commons.responses.user.UserResponseCodec;
+
+/**
+ * Servers, users, tasks, backup configurations and the last stats of one MCSS at a point in time.
+ * Snapshots are immutable, see {@link SnapshotStore} to share them between processes.
+ */
+public final class FleetSnapshot {
+
+    private final long takenAt;
+    private final List<ServerResponse> servers;
+    private final List<UserResponse> users;
+    private final Map<String, List<Task>> tasks;
+    private final Map<String, List<Backup>> backups;
+    private final Map<String, ServerStats> stats;
+
+    FleetSnapshot(long takenAt, List<ServerResponse> servers, List<UserResponse> users, Map<String, List<Task>> tasks,
+                  Map<String, List<Backup>> backups, Map<String, ServerStats> stats) {
+        this.takenAt = takenAt;
+        this.servers = Collections.unmodifiableList(servers);
+        this.users = Collections.unmodifiableList(users);
+        this.tasks = Collections.unmodifiableMap(tasks);
+        this.backups = Collections.unmodifiableMap(backups);
+        this.stats = Collections.unmodifiableMap(stats);
+    }
+
+    // Downloads everything, the per server requests run on up to concurrency threads
+    public static FleetSnapshot capture(MCSS mcss, int concurrency) throws Exception {
+        if (concurrency < 1) throw new IllegalArgumentException("concurrency must be at least 1");
+        long takenAt = System.currentTimeMillis();
+        List<ServerResponse> servers = mcss.getServers();
+        List<UserResponse> users = mcss.users.get();
+
+        Deadline deadline = Deadline.current();
+        ExecutorService executor = Executors.newFixedThreadPool(Math.min(concurrency, Math.max(1, servers.size())), runnable -> {
+            Thread thread = new Thread(runnable, "mcss-snapshot");
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            List<Future<Details>> futures = new ArrayList<Future<Details>>();
+            for (ServerResponse listed : servers) {
+                Server server = mcss.servers.getServer(listed);
+                futures.add(executor.submit(() -> deadline == null ? new Details(server) : deadline.call(() -> new Details(server))));
+            }
+
+            Map<String, List<Task>> tasks = new LinkedHashMap<String, List<Task>>();
+            Map<String, List<Backup>> backups = new LinkedHashMap<String, List<Backup>>();
+            Map<String, ServerStats> stats = new LinkedHashMap<String, ServerStats>();
+            for (int i = 0; i < futures.size(); i++) {
+                Details details = unwrap(futures.get(i));
+                String serverId = servers.get(i).getServerId();
+                tasks.put(serverId, Collections.unmodifiableList(details.tasks));
+                backups.put(serverId, Collections.unmodifiableList(details.backups));
+                stats.put(serverId, details.stats);
+            }
+            return new FleetSnapshot(takenAt, servers, users, tasks, backups, stats);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    public static FleetSnapshot capture(MCSS mcss) throws Exception {
+        return capture(mcss, 8);
+    }
+
+    // Epoch millis at which the download started
+    public long getTakenAt() { return this.takenAt; }
+
+    public List<ServerResponse> getServers() { return this.servers; }
+
+    public List<UserResponse> getUsers() { return this.users; }
+
+    public List<Task> getTasks(String serverId) { return this.tasks.getOrDefault(serverId, Collections.emptyList()); }
+
+    public List<Backup> getBackups(String serverId) { return this.backups.getOrDefault(serverId, Collections.emptyList()); }
+
+    // Null if the server was not in the snapshot
+    public ServerStats getStats(String serverId) { return this.stats.get(serverId); }
+
+    public ServerResponse getServer(String serverId) {
+        for (ServerResponse server : this.servers) {
+            if (server.getServerId().equals(serverId)) return server;
+        }
+        return null;
+    }
+
+    /* ENCODING, one JSON document written and read with the model codecs */
+
+    JsonWriter write(JsonWriter out) {
+        out.beginObject();
+        out.name("takenAt").value(this.takenAt);
+        out.name("servers").beginArray();
+        for (ServerResponse server : this.servers) ServerResponseCodec.write(out, server);
+        out.endArray();
+        out.name("users").beginArray();
+        for (UserResponse user : this.users) UserResponseCodec.write(out, user);
+        out.endArray();
+        out.name("tasks").beginObject();
+        for (Map.Entry<String, List<Task>> entry : this.tasks.entrySet()) {
+            out.name(entry.getKey()).beginArray();
+            for (Task task : entry.getValue()) TaskCodec.write(out, task);
+            out.endArray();
+        }
+        out.endObject();
+        out.name("backups").beginObject();
+        for (Map.Entry<String, List<Backup>> entry : this.backups.entrySet()) {
+            out.name(entry.getKey()).beginArray();
+            for (Backup backup : entry.getValue()) BackupCodec.write(out, backup);
+            out.endArray();
+        }
+        out.endObject();
+        out.name("stats").beginObject();
+        for (Map.Entry<String, ServerStats> entry : this.stats.entrySet()) {
+            ServerStats stats = entry.getValue();
+            out.name(entry.getKey()).beginObject().name("latest").beginObject()
+                .name("cpu").value(stats.getCPU())
+                .name("memoryUsed").value(stats.getMemoryUsed())
+                .name("memoryLimit").value(stats.getMemoryLimit())
+                .name("playersOnline").value(stats.getPlayersOnline())
+                .name("playerLimit").value(stats.getPlayerLimit())
+                .name("startDate").value(stats.getStartDate())
+                .endObject().endObject();
+        }
+        out.endObject();
+        return out.endObject();
+    }
+
+    static FleetSnapshot read(Reader body) throws IOException {
+        JsonReader in = new JsonReader(body);
+        long takenAt = 0;
+        List<ServerResponse> servers = new ArrayList<ServerResponse>();
+        List<UserResponse> users = new ArrayList<UserResponse>();
+        Map<String, List<Task>> tasks = new LinkedHashMap<String, List<Task>>();
+        Map<String, List<Backup>> backups = new LinkedHashMap<String, List<Backup>>();
+        Map<String, ServerStats> stats = new LinkedHashMap<String, ServerStats>();
+
+        in.beginObject();
+        while (in.hasNext()) {
+            switch (in.nextName()) {
+                case "takenAt":
+                    takenAt = in.nextLong();
+                    break;
+                case "servers":
+                    in.beginArray();
+                    while (in.hasNext()) servers.add(ServerResponseCodec.read(in));
+                    in.endArray();
+                    break;
+                case "users":
+                    in.beginArray();
+                    while (in.hasNext()) users.add(UserResponseCodec.read(in));
+                    in.endArray();
+                    break;
+                case "tasks":
+                    in.beginObject();
+                    while (in.hasNext()) {
+                        String serverId = in.nextName();
+                        List<Task> list = new ArrayList<Task>();
+                        in.beginArray();
+                        while (in.hasNext()) list.add(TaskCodec.read(in));
+                        in.endArray();
+                        tasks.put(serverId, Collections.unmodifiableList(list));
+                    }
+                    in.endObject();
+                    break;
+                case "backups":
+                    in.beginObject();
+                    while (in.hasNext()) {
+                        String serverId = in.nextName();
+                        List<Backup> list = new ArrayList<Backup>();
+                        in.beginArray();
+                        while (in.hasNext()) list.add(BackupCodec.read(in));
+                        in.endArray();
+                        backups.put(serverId, Collections.unmodifiableList(list));
+                    }
+                    in.endObject();
+                    break;
+                case "stats":
+                    in.beginObject();
+                    while (in.hasNext()) {
+                        String serverId = in.nextName();
+                        stats.put(serverId, new ServerStats((JSONObject) in.readValue()));
+                    }
+                    in.endObject();
+                    break;
+                default:
+                    in.skipValue();
+            }
+        }
+        in.endObject();
+        return new FleetSnapshot(takenAt, servers, users, tasks, backups, stats);
+    }
+
+    private static Details unwrap(Future<Details> future) throws Exception {
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof Exception) throw (Exception) e.getCause();
+            throw e;
+        }
+    }
+
+    // What is downloaded for each server
+    private static final class Details {
+
+        final List<Task> tasks;
+        final List<Backup> backups;
+        final ServerStats stats;
+
+        Details(Server server) throws Exception {
+            this.tasks = server.getScheduler().getTasks();
+            this.backups = server.getBackups().getBackups();
+            this.stats = server.getStats();
+        }
+    }
+}
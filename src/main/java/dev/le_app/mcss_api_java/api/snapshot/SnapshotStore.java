@@ -0,0 +1,215 @@
+package dev.le_app.mcss_api_java.api.snapshot;
+
+import java.io.ByteArrayInputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import dev.le_app.mcss_api_java.api.MCSS;
+import dev.le_app.mcss_api_java.commons.json.JsonWriter;
+
+/**
+ * Shares the latest {@link FleetSnapshot} of an MCSS host between the processes of a machine through a memory-mapped file.
+ * <pre>
+ * SnapshotStore store = new SnapshotStore(mcss).start(Duration.ofSeconds(30));
+ * FleetSnapshot fleet = store.read(); // what any process last downloaded, null before the first download
+ * </pre>
+ * The process holding the lock file downloads and writes, the others only map and read and take over when it exits.
+ * Writes are guarded by a sequence counter, readers retry while it is odd or changed during their copy and never block the writer.
+ */
+public class SnapshotStore implements Closeable {
+
+    // Header: magic, version, sequence, payload length, then the UTF-8 payload
+    private static final int MAGIC = 0x4D435346;
+    private static final int VERSION = 1;
+    private static final int SEQUENCE = 8;
+    private static final int LENGTH = 16;
+    private static final int HEADER = 32;
+
+    private static final VarHandle LONGS = MethodHandles.byteBufferViewVarHandle(long[].class, ByteOrder.nativeOrder());
+
+    private final MCSS mcss;
+    private final Path path;
+    private final FileChannel channel;
+    private final FileChannel lockChannel;
+
+    private volatile MappedByteBuffer map;
+    private FileLock lock;
+    private int concurrency = 8;
+    private long maxWaitNanos = TimeUnit.SECONDS.toNanos(1);
+
+    // Last decoded snapshot and the sequence it was read at, so unchanged files are not decoded again
+    private volatile FleetSnapshot snapshot;
+    private volatile long sequence;
+
+    private volatile Exception lastError;
+    private ScheduledExecutorService poller;
+
+    public SnapshotStore(MCSS mcss, Path directory) throws IOException {
+        this.mcss = mcss;
+        this.path = directory.resolve("mcss-" + mcss.getUrl().replaceAll("[^A-Za-z0-9.-]+", "_") + ".snapshot");
+        this.channel = FileChannel.open(this.path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        this.lockChannel = FileChannel.open(Paths.get(this.path + ".lock"), StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+        this.map = this.channel.map(FileChannel.MapMode.READ_WRITE, 0, Math.max(HEADER, this.channel.size()));
+    }
+
+    // Keeps the file in the temporary directory
+    public SnapshotStore(MCSS mcss) throws IOException {
+        this(mcss, Paths.get(System.getProperty("java.io.tmpdir")));
+    }
+
+    public Path getPath() { return this.path; }
+
+    // Threads used for the per server requests of a download
+    public SnapshotStore setConcurrency(int concurrency) {
+        if (concurrency < 1) throw new IllegalArgumentException("concurrency must be at least 1");
+        this.concurrency = concurrency;
+        return this;
+    }
+
+    // How long a reader waits for a write in progress before returning the snapshot it already has
+    public SnapshotStore setMaxWait(Duration maxWait) {
+        this.maxWaitNanos = maxWait.toNanos();
+        return this;
+    }
+
+    // Last failure of the background refresh, null once a refresh succeeds
+    public Exception getLastError() { return this.lastError; }
+
+    // Whether this store holds the lock, trying to take it if no process does
+    public synchronized boolean isWriter() throws IOException {
+        if (this.lock != null) return true;
+        try {
+            this.lock = this.lockChannel.tryLock();
+        } catch (OverlappingFileLockException e) {
+            // Another store of this JVM is the writer
+            return false;
+        }
+        return this.lock != null;
+    }
+
+    // Latest snapshot in the file, null if none was written yet
+    public FleetSnapshot read() throws IOException {
+        long started = System.nanoTime();
+        while (true) {
+            MappedByteBuffer map = this.map;
+            long before = (long) LONGS.getVolatile(map, SEQUENCE);
+            if (before == 0) return null;
+            if (before == this.sequence) return this.snapshot;
+
+            if ((before & 1) == 0) {
+                long length = (long) LONGS.getVolatile(map, LENGTH);
+                if (HEADER + length > map.capacity()) {
+                    // The writer grew the file
+                    this.remap(HEADER + length);
+                    continue;
+                }
+                byte[] payload = new byte[(int) length];
+                map.get(HEADER, payload);
+                int magic = map.getInt(0);
+                int version = map.getInt(4);
+                VarHandle.acquireFence();
+                if ((long) LONGS.getVolatile(map, SEQUENCE) == before) {
+                    if (magic != MAGIC || version != VERSION) throw new IOException("Not a snapshot file: " + this.path);
+                    FleetSnapshot snapshot = FleetSnapshot.read(new InputStreamReader(new ByteArrayInputStream(payload), StandardCharsets.UTF_8));
+                    synchronized (this) {
+                        this.snapshot = snapshot;
+                        this.sequence = before;
+                    }
+                    return snapshot;
+                }
+            }
+
+            // A write is in progress, a writer that died halfway leaves the sequence odd
+            if (System.nanoTime() - started > this.maxWaitNanos) return this.snapshot;
+            Thread.onSpinWait();
+        }
+    }
+
+    // Stores the snapshot, only the writer may call it
+    public synchronized void write(FleetSnapshot snapshot) throws IOException {
+        if (!this.isWriter()) throw new IllegalStateException("Another process writes " + this.path);
+        byte[] payload = snapshot.write(new JsonWriter()).toString().getBytes(StandardCharsets.UTF_8);
+        MappedByteBuffer map = this.remap(HEADER + payload.length);
+
+        long next = ((long) LONGS.getVolatile(map, SEQUENCE)) | 1;
+        LONGS.setVolatile(map, SEQUENCE, next);
+        VarHandle.storeStoreFence();
+        map.putInt(0, MAGIC);
+        map.putInt(4, VERSION);
+        map.put(HEADER, payload);
+        LONGS.setVolatile(map, LENGTH, (long) payload.length);
+        LONGS.setRelease(map, SEQUENCE, next + 1);
+
+        this.snapshot = snapshot;
+        this.sequence = next + 1;
+    }
+
+    // Downloads and writes a new snapshot if this store is the writer, otherwise reads the file
+    public FleetSnapshot refresh() throws Exception {
+        if (!this.isWriter()) return this.read();
+        FleetSnapshot snapshot = FleetSnapshot.capture(this.mcss, this.concurrency);
+        this.write(snapshot);
+        return snapshot;
+    }
+
+    // Refreshes in the background, readers keep decoding what the writer stores so read() returns at once
+    public synchronized SnapshotStore start(Duration interval) {
+        if (this.poller != null) throw new IllegalStateException("Already started");
+        this.poller = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "mcss-snapshot-poller");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.poller.scheduleWithFixedDelay(() -> {
+            try {
+                this.refresh();
+                this.lastError = null;
+            } catch (Exception e) {
+                this.lastError = e;
+            }
+        }, 0, interval.toNanos(), TimeUnit.NANOSECONDS);
+        return this;
+    }
+
+    @Override
+    public void close() throws IOException {
+        synchronized (this) {
+            if (this.poller != null) this.poller.shutdownNow();
+            if (this.lock != null) this.lock.release();
+            this.lock = null;
+        }
+        this.lockChannel.close();
+        this.channel.close();
+    }
+
+    // Maps the file again if it is smaller than needed, growing it when this store is the writer
+    private synchronized MappedByteBuffer remap(long needed) throws IOException {
+        MappedByteBuffer map = this.map;
+        if (map.capacity() >= needed) return map;
+        long size = this.channel.size();
+        if (size < needed && this.lock != null) {
+            size = Math.max(needed, map.capacity() * 2L);
+            this.channel.write(ByteBuffer.allocate(1), size - 1);
+        }
+        if (size > Integer.MAX_VALUE) throw new IOException("Snapshot too large: " + size + " bytes");
+        this.map = this.channel.map(FileChannel.MapMode.READ_WRITE, 0, Math.max(size, HEADER));
+        return this.map;
+    }
+}
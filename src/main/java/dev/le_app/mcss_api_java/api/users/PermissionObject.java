@@ -1,8 +1,12 @@
 package dev.le_app.mcss_api_java.api.users;
 
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
+import org.json.JSONObject;
+
 public class PermissionObject {
     
     private String serverId;
@@ -19,4 +23,30 @@ public class PermissionObject {
     public void setPermission(String permission, Permission value) {
         permissions.put(permission, value);
     }
+
+    // Reads a customServerPermissions object, keyed by server id
+    public static PermissionObject[] fromJSON(JSONObject serverPermissions) {
+        List<PermissionObject> permissions = new ArrayList<PermissionObject>();
+        for (String serverId : serverPermissions.keySet()) {
+            HashMap<String, Permission> perms = new HashMap<String, Permission>();
+            JSONObject serverPerms = serverPermissions.getJSONObject(serverId);
+            for (String perm : serverPerms.keySet()) {
+                perms.put(perm, Permission.fromString(serverPerms.getString(perm)));
+            }
+            permissions.add(new PermissionObject(serverId, perms));
+        }
+        return permissions.toArray(new PermissionObject[0]);
+    }
+
+    public static JSONObject toJSON(PermissionObject[] permissions) {
+        JSONObject serverPermissions = new JSONObject();
+        for (PermissionObject perm : permissions) {
+            JSONObject serverPerms = new JSONObject();
+            for (String p : perm.getPermissions().keySet()) {
+                serverPerms.put(p, perm.getPermissions().get(p).toString());
+            }
+            serverPermissions.put(perm.getServerId(), serverPerms);
+        }
+        return serverPermissions;
+    }
 }
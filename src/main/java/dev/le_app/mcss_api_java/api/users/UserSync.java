@@ -0,0 +1,156 @@
+package dev.le_app.mcss_api_java.api.users;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import dev.le_app.mcss_api_java.api.exceptions.HTTPException;
+import dev.le_app.mcss_api_java.api.utilities.Deadline;
+import dev.le_app.mcss_api_java.commons.responses.Response;
+import dev.le_app.mcss_api_java.commons.responses.user.UserResponse;
+import dev.le_app.mcss_api_java.commons.structures.UserBuilder;
+
+/**
+ * Brings the users of MCSS in line with a desired list, matched by username.
+ * Current users are fetched once, then creates, updates and deletes run in parallel.
+ * Passwords cannot be read back, so they are only sent when a user is created or updated for another reason.
+ */
+public class UserSync {
+
+    private final Users users;
+    private int concurrency = 8;
+    private boolean deleteMissing = false;
+
+    public UserSync(Users users) {
+        this.users = users;
+    }
+
+    public int getConcurrency() { return this.concurrency; }
+    public boolean isDeleteMissing() { return this.deleteMissing; }
+
+    public UserSync setConcurrency(int concurrency) {
+        if (concurrency < 1) throw new IllegalArgumentException("concurrency must be at least 1");
+        this.concurrency = concurrency;
+        return this;
+    }
+
+    // Also deletes users missing from the desired list, make sure your own account is in it
+    public UserSync setDeleteMissing(boolean deleteMissing) {
+        this.deleteMissing = deleteMissing;
+        return this;
+    }
+
+    public UserSyncReport sync(List<UserBuilder> desired) throws Exception {
+        Map<String, UserResponse> current = new HashMap<String, UserResponse>();
+        for (UserResponse user : this.users.get()) {
+            current.put(user.getUsername(), user);
+        }
+
+        Map<String, UserBuilder> wanted = new LinkedHashMap<String, UserBuilder>();
+        for (UserBuilder user : desired) {
+            if (user.getUsername() == null || user.getUsername().isEmpty()) throw new IllegalArgumentException("Every user needs a username");
+            if (wanted.put(user.getUsername(), user) != null) throw new IllegalArgumentException("Duplicate username " + user.getUsername());
+        }
+
+        List<Change> changes = new ArrayList<Change>();
+        for (UserBuilder user : wanted.values()) {
+            UserResponse existing = current.get(user.getUsername());
+            if (existing == null) changes.add(new Change(UserSyncResult.Action.CREATE, user.getUsername(), null, user));
+            else if (differs(existing, user)) changes.add(new Change(UserSyncResult.Action.UPDATE, user.getUsername(), existing.getUserId(), user));
+            else changes.add(new Change(UserSyncResult.Action.UNCHANGED, user.getUsername(), existing.getUserId(), user));
+        }
+        if (this.deleteMissing) {
+            for (UserResponse user : current.values()) {
+                if (!wanted.containsKey(user.getUsername())) changes.add(new Change(UserSyncResult.Action.DELETE, user.getUsername(), user.getUserId(), null));
+            }
+        }
+
+        return new UserSyncReport(this.apply(changes));
+    }
+
+    private List<UserSyncResult> apply(List<Change> changes) throws InterruptedException {
+        Deadline deadline = Deadline.current();
+        ExecutorService executor = Executors.newFixedThreadPool(Math.min(this.concurrency, Math.max(1, changes.size())), runnable -> {
+            Thread thread = new Thread(runnable, "mcss-user-sync");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        try {
+            List<Future<UserSyncResult>> futures = new ArrayList<Future<UserSyncResult>>();
+            for (Change change : changes) {
+                futures.add(executor.submit(() -> deadline == null ? this.apply(change) : deadline.call(() -> this.apply(change))));
+            }
+
+            List<UserSyncResult> results = new ArrayList<UserSyncResult>();
+            for (int i = 0; i < futures.size(); i++) {
+                try {
+                    results.add(futures.get(i).get());
+                } catch (ExecutionException e) {
+                    // Errors are not a failed change, anything else that is not an Exception is kept wrapped
+                    if (e.getCause() instanceof Error) throw (Error) e.getCause();
+                    Change change = changes.get(i);
+                    Exception error = e.getCause() instanceof Exception ? (Exception) e.getCause() : e;
+                    results.add(new UserSyncResult(change.username, change.userId, change.action, 0, error));
+                }
+            }
+            return results;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private UserSyncResult apply(Change change) {
+        try {
+            Response response;
+            switch (change.action) {
+                case CREATE:
+                    if (change.user.getPassword() == null) throw new IllegalArgumentException("A password is required to create " + change.username);
+                    response = this.users.create(change.user);
+                    break;
+                case UPDATE:
+                    response = this.users.update(change.userId, change.user);
+                    break;
+                case DELETE:
+                    response = this.users.delete(change.userId);
+                    break;
+                default:
+                    return new UserSyncResult(change.username, change.userId, change.action, 0, null);
+            }
+            return new UserSyncResult(change.username, change.userId, change.action, response.getStatus(), null);
+        } catch (HTTPException e) {
+            return new UserSyncResult(change.username, change.userId, change.action, e.getCode(), e);
+        } catch (Exception e) {
+            return new UserSyncResult(change.username, change.userId, change.action, 0, e);
+        }
+    }
+
+    private static boolean differs(UserResponse existing, UserBuilder user) {
+        if (existing.isEnabled() != user.isEnabled()) return true;
+        if (existing.isAdmin() != user.isAdmin()) return true;
+        if (existing.hasAccessToAllServers() != user.hasAccessToAllServers()) return true;
+        if (user.getPermissions() == null) return false;
+        return !PermissionObject.toJSON(user.getPermissions()).similar(PermissionObject.toJSON(existing.getPermissions()));
+    }
+
+    private static final class Change {
+
+        private final UserSyncResult.Action action;
+        private final String username;
+        private final String userId;
+        private final UserBuilder user;
+
+        Change(UserSyncResult.Action action, String username, String userId, UserBuilder user) {
+            this.action = action;
+            this.username = username;
+            this.userId = userId;
+            this.user = user;
+        }
+    }
+}
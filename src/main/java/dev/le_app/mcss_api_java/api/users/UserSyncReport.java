@@ -0,0 +1,44 @@
+package dev.le_app.mcss_api_java.api.users;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+public class UserSyncReport {
+
+    private final List<UserSyncResult> results;
+
+    public UserSyncReport(List<UserSyncResult> results) {
+        this.results = Collections.unmodifiableList(results);
+    }
+
+    public List<UserSyncResult> getResults() { return this.results; }
+
+    public int count(UserSyncResult.Action action) {
+        int count = 0;
+        for (UserSyncResult result : this.results) {
+            if (result.getAction() == action) count++;
+        }
+        return count;
+    }
+
+    public List<UserSyncResult> getFailures() {
+        List<UserSyncResult> failures = new ArrayList<UserSyncResult>();
+        for (UserSyncResult result : this.results) {
+            if (!result.isSuccess()) failures.add(result);
+        }
+        return failures;
+    }
+
+    public boolean isSuccess() {
+        return this.getFailures().isEmpty();
+    }
+
+    public String toString() {
+        return "created=" + this.count(UserSyncResult.Action.CREATE)
+            + " updated=" + this.count(UserSyncResult.Action.UPDATE)
+            + " deleted=" + this.count(UserSyncResult.Action.DELETE)
+            + " unchanged=" + this.count(UserSyncResult.Action.UNCHANGED)
+            + " failed=" + this.getFailures().size();
+    }
+}
@@ -0,0 +1,43 @@
+package dev.le_app.mcss_api_java.api.users;
+
+public class UserSyncResult {
+
+    public enum Action {
+        CREATE,
+        UPDATE,
+        DELETE,
+        UNCHANGED
+    }
+
+    private final String username;
+    private final String userId;
+    private final Action action;
+    private final int status;
+    private final Exception error;
+
+    public UserSyncResult(String username, String userId, Action action, int status, Exception error) {
+        this.username = username;
+        this.userId = userId;
+        this.action = action;
+        this.status = status;
+        this.error = error;
+    }
+
+    public String getUsername() { return this.username; }
+
+    // Null for users that had to be created
+    public String getUserId() { return this.userId; }
+
+    public Action getAction() { return this.action; }
+
+    // HTTP status of the call, 0 when nothing was sent
+    public int getStatus() { return this.status; }
+
+    public Exception getError() { return this.error; }
+
+    public boolean isSuccess() { return this.error == null; }
+
+    public String toString() {
+        return this.action + " " + this.username + (this.error == null ? "" : " failed: " + this.error.getMessage());
+    }
+}
@@ -1,45 +1,71 @@
 package dev.le_app.mcss_api_java.api.users;
 
+import java.io.StringReader;
 import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
 
 import dev.le_app.mcss_api_java.api.MCSS;
-import org.json.JSONObject;
-
+import dev.le_app.mcss_api_java.api.utilities.BodyReader;
 import dev.le_app.mcss_api_java.api.utilities.Request;
+import dev.le_app.mcss_api_java.api.utilities.Result;
+import dev.le_app.mcss_api_java.commons.json.JsonWriter;
 import dev.le_app.mcss_api_java.commons.responses.Response;
 import dev.le_app.mcss_api_java.commons.responses.user.UserResponse;
-import dev.le_app.mcss_api_java.commons.responses.user.UsersResponse;
+import dev.le_app.mcss_api_java.commons.responses.user.UserResponseCodec;
+import dev.le_app.mcss_api_java.commons.structures.BuilderCodec;
 import dev.le_app.mcss_api_java.commons.structures.UserBuilder;
+import org.json.JSONObject;
 
 public class Users {
     
     private Request request;
 
+    public Users(Request request) {
+        this.request = request;
+    }
+
+    // Uses the request of the last MCSS instance created
+    @Deprecated
     public Users() {
-        this.request = MCSS.getRequest();
+        this(MCSS.getRequest());
     }
 
     public ArrayList<UserResponse> get() throws Exception {
-        UsersResponse users = new UsersResponse(this.request.GET("/users"));
-        return users.getUsers();
+        // Copied, the decoded list may be shared through the response cache
+        return new ArrayList<UserResponse>(this.request.GET("/users", UserResponseCodec::readList));
+    }
+
+    public Stream<UserResponse> stream() throws Exception {
+        return UserResponseCodec.stream(new StringReader(this.request.GET("/users", BodyReader.TEXT)));
     }
 
     public UserResponse get(String userId) throws Exception {
         return new UserResponse(this.request.GET("/users/" + userId));
     }
 
+    // Returns a 404 or other error status instead of throwing it
+    public Result<UserResponse> tryGet(String userId) throws Exception {
+        return this.request.tryGET("/users/" + userId).map(UserResponse::new);
+    }
+
     public Response create(UserBuilder user) throws Exception {
-        return new Response(this.request.POST("/users", user.toJSON().put("passwordRepeat", user.getPassword())));
+        return new Response(this.request.POST("/users", BuilderCodec.writeCreate(new JsonWriter(), user).toString()));
     }
 
     public Response update(String userId, UserBuilder user) throws Exception {
-        return new Response(this.request.PUT("/users/" + userId, user.toJSON()));
+        return new Response(this.request.PUT("/users/" + userId, BuilderCodec.write(new JsonWriter(), user).toString()));
     }
 
     public Response delete(String userId) throws Exception {
         return new Response(this.request.DELETE("/users/" + userId));
     }
 
+    // Creates, updates and optionally deletes users so MCSS matches the desired list
+    public UserSyncReport sync(List<UserBuilder> desired, int concurrency, boolean deleteMissing) throws Exception {
+        return new UserSync(this).setConcurrency(concurrency).setDeleteMissing(deleteMissing).sync(desired);
+    }
+
     public Response wipeSessions() throws Exception {
         return new Response(this.request.POST("/users/wipe/sessions", new JSONObject()));
     }
@@ -0,0 +1,27 @@
+package dev.le_app.mcss_api_java.api.utilities;
+
+import java.io.IOException;
+import java.io.Reader;
+
+// Consumes a response body as it arrives instead of buffering it into a String
+
+@FunctionalInterface
+public interface BodyReader<T> {
+
+    // Keeps the whole body, for bodies decoded after the call is closed such as the stream variants
+    BodyReader<String> TEXT = body -> {
+        StringBuilder text = new StringBuilder();
+        char[] buffer = new char[4096];
+        int read;
+        while ((read = body.read(buffer)) != -1) text.append(buffer, 0, read);
+        return text.toString();
+    };
+
+    T read(Reader body) throws IOException;
+
+    // Whether a ResponseCache may keep what this reader returned, readers made for one call or feeding the caller as they decode must say no
+    default boolean isCacheable() {
+        return true;
+    }
+
+}
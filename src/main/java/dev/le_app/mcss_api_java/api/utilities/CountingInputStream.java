@@ -0,0 +1,36 @@
+package dev.le_app.mcss_api_java.api.utilities;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+// Counts the bytes read from a response body
+
+final class CountingInputStream extends FilterInputStream {
+
+    private long count;
+
+    CountingInputStream(InputStream in) {
+        super(in);
+    }
+
+    long getCount() { return this.count; }
+
+    public int read() throws IOException {
+        int b = super.read();
+        if (b >= 0) this.count++;
+        return b;
+    }
+
+    public int read(byte[] b, int off, int len) throws IOException {
+        int read = super.read(b, off, len);
+        if (read > 0) this.count += read;
+        return read;
+    }
+
+    public long skip(long n) throws IOException {
+        long skipped = super.skip(n);
+        this.count += skipped;
+        return skipped;
+    }
+}
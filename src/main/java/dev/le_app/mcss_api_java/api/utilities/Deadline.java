@@ -0,0 +1,104 @@
+package dev.le_app.mcss_api_java.api.utilities;
+
+import java.time.Duration;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import dev.le_app.mcss_api_java.api.exceptions.DeadlineExceededException;
+
+/**
+ * A time budget shared by every request made on the current thread while it is active.
+ * <pre>
+ * Deadline.after(Duration.ofMillis(500)).call(() -&gt; mcss.servers.getServer(id).getStats());
+ * </pre>
+ * Timeouts of each request are cut to what is left of the budget, and a request still running
+ * when the budget runs out is disconnected and fails with a {@link DeadlineExceededException}.
+ */
+public final class Deadline {
+
+    private static final ThreadLocal<Deadline> CURRENT = new ThreadLocal<Deadline>();
+
+    // Started by the first watched request, not when the class is loaded
+    private static final class Watchdog {
+        static final ScheduledThreadPoolExecutor EXECUTOR = new ScheduledThreadPoolExecutor(1, runnable -> {
+            Thread thread = new Thread(runnable, "mcss-deadline");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        static {
+            EXECUTOR.setRemoveOnCancelPolicy(true);
+        }
+    }
+
+    private final long expiresAt;
+
+    private Deadline(long expiresAt) {
+        this.expiresAt = expiresAt;
+    }
+
+    public static Deadline after(Duration budget) {
+        return new Deadline(System.nanoTime() + budget.toNanos());
+    }
+
+    // Deadline active on this thread, or null
+    public static Deadline current() {
+        return CURRENT.get();
+    }
+
+    public long remainingNanos() {
+        return this.expiresAt - System.nanoTime();
+    }
+
+    public long remainingMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(this.remainingNanos());
+    }
+
+    public boolean isExpired() {
+        return this.remainingNanos() <= 0;
+    }
+
+    // Runs the call with this deadline, or the one already active if it expires sooner
+    public <T> T call(Callable<T> call) throws Exception {
+        Deadline previous = CURRENT.get();
+        CURRENT.set(previous != null && previous.expiresAt - this.expiresAt < 0 ? previous : this);
+        try {
+            return call.call();
+        } finally {
+            if (previous == null) CURRENT.remove();
+            else CURRENT.set(previous);
+        }
+    }
+
+    public void run(Step step) throws Exception {
+        this.call(() -> {
+            step.run();
+            return null;
+        });
+    }
+
+    @FunctionalInterface
+    public interface Step {
+        void run() throws Exception;
+    }
+
+    /* USED BY REQUEST */
+
+    // Timeout for a single connection, never above the configured one and never 0 which means infinite
+    int timeout(int configured, String url) throws DeadlineExceededException {
+        long remaining = this.remainingMillis();
+        if (remaining <= 0) throw this.exceeded(url, null);
+        return (int) Math.min(configured > 0 ? configured : Integer.MAX_VALUE, remaining);
+    }
+
+    // Cancels the call when the deadline expires, cancel the returned future once done
+    ScheduledFuture<?> watch(Transport.Call call) {
+        return Watchdog.EXECUTOR.schedule(call::cancel, Math.max(0, this.remainingNanos()), TimeUnit.NANOSECONDS);
+    }
+
+    DeadlineExceededException exceeded(String url, Throwable cause) {
+        return new DeadlineExceededException("Deadline exceeded for " + url, cause);
+    }
+}
@@ -0,0 +1,60 @@
+package dev.le_app.mcss_api_java.api.utilities;
+
+// Turns request paths into templates such as /servers/{id}/console, so they can be grouped
+
+public final class Endpoints {
+
+    private Endpoints() {}
+
+    public static String template(String url) {
+        int query = url.indexOf('?');
+        String path = query < 0 ? url : url.substring(0, query);
+
+        StringBuilder template = new StringBuilder(path.length());
+        String previous = "";
+        int start = path.startsWith("/") ? 1 : 0;
+        while (start <= path.length()) {
+            int end = path.indexOf('/', start);
+            if (end < 0) end = path.length();
+            String segment = path.substring(start, end);
+            if (start > 0 || path.startsWith("/")) template.append('/');
+            template.append(isId(previous, segment) ? "{id}" : segment);
+            previous = segment;
+            start = end + 1;
+        }
+        return template.length() == 0 ? "/" : template.toString();
+    }
+
+    // Id of the server, user, task or backup following a collection segment
+    public static String id(String url, String collection) {
+        int query = url.indexOf('?');
+        String path = query < 0 ? url : url.substring(0, query);
+        String[] segments = path.split("/");
+        for (int i = 0; i + 1 < segments.length; i++) {
+            if (segments[i].equals(collection) && isId(collection, segments[i + 1])) return segments[i + 1];
+        }
+        return null;
+    }
+
+    private static boolean isId(String previous, String segment) {
+        switch (previous) {
+            case "servers":
+            case "users":
+            case "tasks":
+            case "backups":
+                break;
+            default:
+                return false;
+        }
+        switch (segment) {
+            case "":
+            case "count":
+            case "stats":
+            case "history":
+            case "wipe":
+                return false;
+            default:
+                return true;
+        }
+    }
+}
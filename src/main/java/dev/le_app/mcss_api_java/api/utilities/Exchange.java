@@ -0,0 +1,101 @@
+package dev.le_app.mcss_api_java.api.utilities;
+
+// One attempt at an HTTP exchange: its call and the time spent in each phase
+
+final class Exchange {
+
+    final String method;
+    final String url;
+    final String correlationId;
+    final int attempt;
+    final RequestEvent event = new RequestEvent();
+    private final Request request;
+    private final long start;
+    final long startedAt = System.currentTimeMillis();
+
+    volatile Transport.Call call;
+    volatile boolean cancelled;
+
+    // Snapshot the call is made with
+    RequestConfig config;
+
+    // Validators to send, set when the URL has a cached response
+    ResponseCache.Entry cached;
+
+    int status;
+    long bytes;
+    boolean hedged;
+    long connectNanos;
+    long sendNanos;
+    long waitNanos;
+    long readNanos;
+    long decodeNanos;
+
+    private long mark;
+    private boolean committed;
+
+    Exchange(Request request, String method, String url, String correlationId, int attempt) {
+        this.request = request;
+        this.method = method;
+        this.url = url;
+        this.correlationId = correlationId;
+        this.attempt = attempt;
+        this.event.begin();
+        this.start = System.nanoTime();
+        this.mark = this.start;
+    }
+
+    // Time elapsed since the previous phase ended
+    long lap() {
+        long now = System.nanoTime();
+        long elapsed = now - this.mark;
+        this.mark = now;
+        return elapsed;
+    }
+
+    // Disconnects the attempt from another thread
+    void cancel() {
+        this.cancelled = true;
+        Transport.Call current = this.call;
+        if (current != null) current.cancel();
+    }
+
+    // Cancels an attempt that lost or was given up and records it now, its own thread may never get to
+    void abandon() {
+        this.cancel();
+        this.commit();
+    }
+
+    // Called by the thread of the attempt and by the one abandoning it, only the first call records
+    synchronized void commit() {
+        if (this.committed) return;
+        this.committed = true;
+        Transport.Call current = this.call;
+        if (current != null) current.close();
+        long total = System.nanoTime() - this.start;
+        this.request.getMetrics().record(this.method, this.url, this.status, total, this.bytes);
+        if (!this.request.spanListeners.isEmpty()) {
+            Span span = new Span(this, total);
+            for (SpanListener listener : this.request.spanListeners) {
+                // Commit runs in finally blocks, a failing listener must not replace the outcome of the request
+                try {
+                    listener.onSpan(span);
+                } catch (RuntimeException ignored) {
+                }
+            }
+        }
+        this.event.end();
+        if (!this.event.shouldCommit()) return;
+        this.event.method = this.method;
+        this.event.endpoint = Endpoints.template(this.url);
+        this.event.status = this.status;
+        this.event.bytes = this.bytes;
+        this.event.hedged = this.hedged;
+        this.event.connect = this.connectNanos;
+        this.event.send = this.sendNanos;
+        this.event.waiting = this.waitNanos;
+        this.event.read = this.readNanos;
+        this.event.decode = this.decodeNanos;
+        this.event.commit();
+    }
+}
@@ -0,0 +1,41 @@
+package dev.le_app.mcss_api_java.api.utilities;
+
+/**
+ * When to send a second copy of a GET that has not answered yet.
+ * The delay follows the observed latency percentile, bounded by a minimum and a maximum.
+ */
+public class HedgePolicy {
+
+    private double percentile = 95;
+    private long minDelayMillis = 10;
+    private long maxDelayMillis = 1000;
+    private int minSamples = 32;
+
+    public double getPercentile() { return this.percentile; }
+    public long getMinDelayMillis() { return this.minDelayMillis; }
+    public long getMaxDelayMillis() { return this.maxDelayMillis; }
+    public int getMinSamples() { return this.minSamples; }
+
+    public HedgePolicy setPercentile(double percentile) {
+        if (percentile <= 0 || percentile >= 100) throw new IllegalArgumentException("percentile must be between 0 and 100");
+        this.percentile = percentile;
+        return this;
+    }
+
+    public HedgePolicy setDelayBounds(long minDelayMillis, long maxDelayMillis) {
+        if (minDelayMillis < 0 || maxDelayMillis < minDelayMillis) throw new IllegalArgumentException("Invalid delay bounds");
+        this.minDelayMillis = minDelayMillis;
+        this.maxDelayMillis = maxDelayMillis;
+        return this;
+    }
+
+    // Until this many GETs were timed, the maximum delay is used
+    public HedgePolicy setMinSamples(int minSamples) { this.minSamples = minSamples; return this; }
+
+    long delayNanos(LatencyTracker latencies) {
+        long max = this.maxDelayMillis * 1_000_000L;
+        if (latencies.count() < this.minSamples) return max;
+        long observed = latencies.percentileNanos(this.percentile);
+        return Math.max(this.minDelayMillis * 1_000_000L, Math.min(max, observed));
+    }
+}
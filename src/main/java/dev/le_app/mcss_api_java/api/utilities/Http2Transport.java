@@ -0,0 +1,289 @@
+package dev.le_app.mcss_api_java.api.utilities;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.time.Duration;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Transport of the JDK HTTP client, multiplexing concurrent calls to an https host over a few HTTP/2 connections.
+ * <pre>
+ * mcss.request().setTransport(new Http2Transport(2, 100)); // 2 connections, at most 100 streams in flight on each
+ * </pre>
+ * HTTP/2 is negotiated during the TLS handshake, hosts that do not offer it are spoken to in HTTP/1.1 without any error.
+ * HPACK compresses the headers repeated on every call, the apiKey among them, to a few bytes.
+ * Plain http hosts are always spoken to in HTTP/1.1.
+ */
+public class Http2Transport implements Transport {
+
+    private final Connection[] connections;
+    private final int maxStreams;
+    private final AtomicInteger next = new AtomicInteger();
+
+    private final LongAdder http2Responses = new LongAdder();
+    private final LongAdder http1Responses = new LongAdder();
+
+    public Http2Transport(int connections, int maxStreams) {
+        if (connections < 1) throw new IllegalArgumentException("connections must be at least 1");
+        if (maxStreams < 1) throw new IllegalArgumentException("maxStreams must be at least 1");
+        this.maxStreams = maxStreams;
+        this.connections = new Connection[connections];
+        for (int i = 0; i < connections; i++) {
+            // Each client keeps its own connection to the host
+            this.connections[i] = new Connection(HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_2)
+                .followRedirects(HttpClient.Redirect.NEVER)
+                .build(), maxStreams);
+        }
+    }
+
+    // One connection with up to 100 concurrent streams, the usual limit announced by servers
+    public Http2Transport() {
+        this(1, 100);
+    }
+
+    public int getConnections() { return this.connections.length; }
+    public int getMaxStreams() { return this.maxStreams; }
+
+    // Calls sent and not yet closed, over all connections
+    public int getActiveStreams() {
+        int active = 0;
+        for (Connection connection : this.connections) active += this.maxStreams - connection.streams.availablePermits();
+        return active;
+    }
+
+    public long getHttp2Responses() { return this.http2Responses.sum(); }
+
+    // Responses from hosts that did not negotiate HTTP/2
+    public long getHttp1Responses() { return this.http1Responses.sum(); }
+
+    @Override
+    public Transport.Call open(String method, String url, int connectTimeout, int readTimeout) throws IOException {
+        HttpRequest.Builder builder;
+        try {
+            builder = HttpRequest.newBuilder(URI.create(url));
+        } catch (IllegalArgumentException e) {
+            throw new IOException("Invalid URL " + url, e);
+        }
+        if (url.startsWith("http:")) builder.version(HttpClient.Version.HTTP_1_1);
+        // The client has no per request connect timeout, the connect timeout bounds the wait for a free stream,
+        // the read timeout the wait for the response headers and then for each read of the body
+        if (readTimeout > 0) builder.timeout(Duration.ofMillis(readTimeout));
+        Connection connection = this.connections[Math.floorMod(this.next.getAndIncrement(), this.connections.length)];
+        return new Call(connection, builder, method, connectTimeout, readTimeout);
+    }
+
+    // Started by the first body read with a timeout, not when the class is loaded
+    private static final class Watchdog {
+        static final ScheduledThreadPoolExecutor EXECUTOR = new ScheduledThreadPoolExecutor(1, runnable -> {
+            Thread thread = new Thread(runnable, "mcss-http2-timeout");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        static {
+            EXECUTOR.setRemoveOnCancelPolicy(true);
+        }
+    }
+
+    private static final class Connection {
+
+        final HttpClient client;
+        final Semaphore streams;
+
+        Connection(HttpClient client, int maxStreams) {
+            this.client = client;
+            this.streams = new Semaphore(maxStreams);
+        }
+    }
+
+    private final class Call implements Transport.Call {
+
+        private final Connection connection;
+        private final HttpRequest.Builder builder;
+        private final String method;
+        private final int connectTimeout;
+        private final int readTimeout;
+
+        private final AtomicBoolean released = new AtomicBoolean();
+        private volatile boolean acquired;
+        private volatile boolean cancelled;
+        private volatile CompletableFuture<HttpResponse<InputStream>> future;
+        private volatile HttpResponse<InputStream> response;
+
+        private InputStream body;
+
+        Call(Connection connection, HttpRequest.Builder builder, String method, int connectTimeout, int readTimeout) {
+            this.connection = connection;
+            this.builder = builder;
+            this.method = method;
+            this.connectTimeout = connectTimeout;
+            this.readTimeout = readTimeout;
+        }
+
+        @Override
+        public void setHeader(String name, String value) {
+            // Set by the client itself, it refuses them
+            if (name.equalsIgnoreCase("Connection") || name.equalsIgnoreCase("Content-Length") || name.equalsIgnoreCase("Host")) return;
+            this.builder.setHeader(name, value);
+        }
+
+        // Waits for a free stream, for at most the connect timeout
+        @Override
+        public void connect() throws IOException {
+            try {
+                if (this.connectTimeout > 0) {
+                    if (!this.connection.streams.tryAcquire(this.connectTimeout, TimeUnit.MILLISECONDS)) {
+                        throw new HttpTimeoutException("No stream free within " + this.connectTimeout + " ms");
+                    }
+                } else {
+                    this.connection.streams.acquire();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted while waiting for a stream");
+            }
+            this.acquired = true;
+            if (this.cancelled) this.release();
+        }
+
+        @Override
+        public void send(byte[] body) throws IOException {
+            if (this.cancelled) throw new InterruptedIOException("Call cancelled");
+            HttpRequest.BodyPublisher publisher = body == null ? HttpRequest.BodyPublishers.noBody() : HttpRequest.BodyPublishers.ofByteArray(body);
+            this.future = this.connection.client.sendAsync(this.builder.method(this.method, publisher).build(), HttpResponse.BodyHandlers.ofInputStream());
+            if (this.cancelled) this.future.cancel(true);
+        }
+
+        @Override
+        public int getStatus() throws IOException {
+            try {
+                this.response = this.future.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                this.cancel();
+                throw new InterruptedIOException("Interrupted while waiting for the response");
+            } catch (CancellationException e) {
+                throw new InterruptedIOException("Call cancelled");
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof IOException) throw (IOException) e.getCause();
+                throw new IOException(e.getCause());
+            }
+            if (this.response.version() == HttpClient.Version.HTTP_2) Http2Transport.this.http2Responses.increment();
+            else Http2Transport.this.http1Responses.increment();
+            return this.response.statusCode();
+        }
+
+        @Override
+        public String getHeader(String name) {
+            HttpResponse<InputStream> response = this.response;
+            return response == null ? null : response.headers().firstValue(name).orElse(null);
+        }
+
+        @Override
+        public InputStream getBody() {
+            if (this.body == null) {
+                InputStream body = this.response.body();
+                this.body = this.readTimeout > 0 ? new TimedBody(body, this.readTimeout) : body;
+            }
+            return this.body;
+        }
+
+        @Override
+        public void cancel() {
+            this.cancelled = true;
+            CompletableFuture<HttpResponse<InputStream>> future = this.future;
+            if (future != null) future.cancel(true);
+            this.close();
+        }
+
+        // Closing the body of a stream not read to the end resets the stream instead of reading the rest
+        @Override
+        public void close() {
+            HttpResponse<InputStream> response = this.response;
+            if (response != null) {
+                try {
+                    response.body().close();
+                } catch (IOException ignored) {
+                    // Nothing left to release
+                }
+            }
+            this.release();
+        }
+
+        private void release() {
+            if (this.acquired && this.released.compareAndSet(false, true)) this.connection.streams.release();
+        }
+    }
+
+    // Fails a read that gets no data within the timeout, closing the body is what unblocks the reading thread
+    private static final class TimedBody extends FilterInputStream {
+
+        private final int timeout;
+        private volatile boolean expired;
+
+        TimedBody(InputStream body, int timeout) {
+            super(body);
+            this.timeout = timeout;
+        }
+
+        @Override
+        public int read() throws IOException {
+            ScheduledFuture<?> timer = Watchdog.EXECUTOR.schedule(this::expire, this.timeout, TimeUnit.MILLISECONDS);
+            try {
+                return this.check(super.read());
+            } catch (IOException e) {
+                throw this.expired ? this.timedOut() : e;
+            } finally {
+                timer.cancel(false);
+            }
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            ScheduledFuture<?> timer = Watchdog.EXECUTOR.schedule(this::expire, this.timeout, TimeUnit.MILLISECONDS);
+            try {
+                return this.check(super.read(buffer, offset, length));
+            } catch (IOException e) {
+                throw this.expired ? this.timedOut() : e;
+            } finally {
+                timer.cancel(false);
+            }
+        }
+
+        // A body closed by the timer may also just look finished
+        private int check(int read) throws IOException {
+            if (this.expired) throw this.timedOut();
+            return read;
+        }
+
+        private HttpTimeoutException timedOut() {
+            return new HttpTimeoutException("No data read within " + this.timeout + " ms");
+        }
+
+        private void expire() {
+            this.expired = true;
+            try {
+                this.in.close();
+            } catch (IOException ignored) {
+                // The read fails either way
+            }
+        }
+    }
+}
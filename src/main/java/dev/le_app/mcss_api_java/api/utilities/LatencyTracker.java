@@ -0,0 +1,48 @@
+package dev.le_app.mcss_api_java.api.utilities;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+// Keeps the latest GET latencies to derive the hedging delay, percentiles are recomputed every few samples.
+// Recording is lock-free since every GET records, only the hedging path takes the lock to sort.
+
+final class LatencyTracker {
+
+    private static final int SIZE = 512;
+    private static final int REFRESH = 64;
+
+    private final AtomicLongArray samples = new AtomicLongArray(SIZE);
+    private final AtomicLong count = new AtomicLong();
+
+    // Guarded by this
+    private final long[] sorted = new long[SIZE];
+    private double cachedPercentile = -1;
+    private long cachedValue;
+    private long cachedAt = -1;
+
+    void record(long nanos) {
+        this.samples.set((int) (this.count.getAndIncrement() % SIZE), nanos);
+    }
+
+    long count() {
+        return this.count.get();
+    }
+
+    synchronized long percentileNanos(double percentile) {
+        long count = this.count.get();
+        if (count == 0) return 0;
+        if (percentile == this.cachedPercentile && count - this.cachedAt < REFRESH) return this.cachedValue;
+
+        // A slot claimed but not written yet holds an older sample, or zero on the first lap
+        int n = (int) Math.min(count, SIZE);
+        for (int i = 0; i < n; i++) this.sorted[i] = this.samples.get(i);
+        Arrays.sort(this.sorted, 0, n);
+        int index = Math.max(0, Math.min(n - 1, (int) Math.ceil(percentile / 100.0 * n) - 1));
+
+        this.cachedPercentile = percentile;
+        this.cachedValue = this.sorted[index];
+        this.cachedAt = count;
+        return this.cachedValue;
+    }
+}
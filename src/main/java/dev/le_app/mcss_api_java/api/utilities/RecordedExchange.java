@@ -0,0 +1,104 @@
+package dev.le_app.mcss_api_java.api.utilities;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// One request and its response as stored by a RecordingTransport, with its timing relative to the send
+
+final class RecordedExchange {
+
+    // File layout: magic, version, then records each preceded by a marker byte, 0 ends the file
+    static final int MAGIC = 0x4D435352;
+    static final int VERSION = 1;
+    static final int RECORD = 1;
+    static final int END = 0;
+
+    String method;
+    // Path and query, without scheme and host so a recording replays against any base URL
+    String path;
+    final Map<String, String> requestHeaders = new LinkedHashMap<String, String>();
+    byte[] requestBody;
+
+    int status;
+    // Only the headers the client asked for, null values included
+    final Map<String, String> responseHeaders = new LinkedHashMap<String, String>();
+    byte[] responseBody;
+
+    // Since the first recorded send, until the status line, until the body was read or abandoned
+    long sentAt;
+    long headersNanos;
+    long bodyNanos;
+
+    static String path(String url) {
+        int scheme = url.indexOf("://");
+        int slash = url.indexOf('/', scheme < 0 ? 0 : scheme + 3);
+        return slash < 0 ? "/" : url.substring(slash);
+    }
+
+    void write(DataOutputStream out) throws IOException {
+        out.writeByte(RECORD);
+        out.writeLong(this.sentAt);
+        out.writeLong(this.headersNanos);
+        out.writeLong(this.bodyNanos);
+        out.writeUTF(this.method);
+        out.writeUTF(this.path);
+        writeHeaders(out, this.requestHeaders);
+        writeBytes(out, this.requestBody);
+        out.writeShort(this.status);
+        writeHeaders(out, this.responseHeaders);
+        writeBytes(out, this.responseBody);
+    }
+
+    // Null at the end of the file, including a file whose writer died before closing it
+    static RecordedExchange read(DataInputStream in) throws IOException {
+        int marker = in.read();
+        if (marker == -1 || marker == END) return null;
+        if (marker != RECORD) throw new IOException("Corrupt recording, unexpected marker " + marker);
+
+        RecordedExchange exchange = new RecordedExchange();
+        exchange.sentAt = in.readLong();
+        exchange.headersNanos = in.readLong();
+        exchange.bodyNanos = in.readLong();
+        exchange.method = in.readUTF();
+        exchange.path = in.readUTF();
+        readHeaders(in, exchange.requestHeaders);
+        exchange.requestBody = readBytes(in);
+        exchange.status = in.readUnsignedShort();
+        readHeaders(in, exchange.responseHeaders);
+        exchange.responseBody = readBytes(in);
+        return exchange;
+    }
+
+    private static void writeHeaders(DataOutputStream out, Map<String, String> headers) throws IOException {
+        out.writeShort(headers.size());
+        for (Map.Entry<String, String> header : headers.entrySet()) {
+            out.writeUTF(header.getKey());
+            out.writeBoolean(header.getValue() != null);
+            if (header.getValue() != null) out.writeUTF(header.getValue());
+        }
+    }
+
+    private static void readHeaders(DataInputStream in, Map<String, String> headers) throws IOException {
+        int count = in.readUnsignedShort();
+        for (int i = 0; i < count; i++) {
+            String name = in.readUTF();
+            headers.put(name, in.readBoolean() ? in.readUTF() : null);
+        }
+    }
+
+    private static void writeBytes(DataOutputStream out, byte[] bytes) throws IOException {
+        out.writeInt(bytes == null ? -1 : bytes.length);
+        if (bytes != null) out.write(bytes);
+    }
+
+    private static byte[] readBytes(DataInputStream in) throws IOException {
+        int length = in.readInt();
+        if (length < 0) return null;
+        byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return bytes;
+    }
+}
@@ -0,0 +1,178 @@
+package dev.le_app.mcss_api_java.api.utilities;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+import java.util.Set;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Passes calls on to another transport and stores each request and response in a gzipped file, for a {@link ReplayTransport}.
+ * <pre>
+ * RecordingTransport recorder = mcss.request().record(Paths.get("traffic.rec"));
+ * ...
+ * recorder.close(); // calls keep going through the recorder, they are no longer stored
+ * </pre>
+ * The values of the apiKey, Authorization and Cookie headers are replaced before anything is written.
+ * Bodies are stored as far as the client read them, cancelled calls such as lost hedges are not stored.
+ */
+public class RecordingTransport implements Transport, Closeable {
+
+    public static final String REDACTED = "REDACTED";
+    private static final Set<String> SECRET_HEADERS = Set.of("apikey", "authorization", "cookie");
+
+    private final Transport delegate;
+    private final Path path;
+    private final DataOutputStream out;
+    private final long origin = System.nanoTime();
+
+    private long recorded;
+    private boolean closed;
+    private IOException error;
+
+    public RecordingTransport(Transport delegate, Path path) throws IOException {
+        this.delegate = delegate;
+        this.path = path;
+        this.out = new DataOutputStream(new GZIPOutputStream(new BufferedOutputStream(Files.newOutputStream(path)), 8192));
+        this.out.writeInt(RecordedExchange.MAGIC);
+        this.out.writeInt(RecordedExchange.VERSION);
+    }
+
+    public Path getPath() { return this.path; }
+    public Transport getDelegate() { return this.delegate; }
+    public synchronized long getRecorded() { return this.recorded; }
+
+    @Override
+    public Transport.Call open(String method, String url, int connectTimeout, int readTimeout) throws IOException {
+        return new Call(this.delegate.open(method, url, connectTimeout, readTimeout), method, url);
+    }
+
+    // Ends the file, rethrowing a write failure that stopped the recording earlier
+    @Override
+    public synchronized void close() throws IOException {
+        if (this.closed) return;
+        this.closed = true;
+        try {
+            if (this.error == null) this.out.writeByte(RecordedExchange.END);
+        } finally {
+            this.out.close();
+        }
+        if (this.error != null) throw this.error;
+    }
+
+    // A failing disk stops the recording, never the calls
+    private synchronized void write(RecordedExchange exchange) {
+        if (this.closed || this.error != null) return;
+        try {
+            exchange.write(this.out);
+            this.recorded++;
+        } catch (IOException e) {
+            this.error = e;
+        }
+    }
+
+    private final class Call implements Transport.Call {
+
+        private final Transport.Call delegate;
+        private final RecordedExchange exchange = new RecordedExchange();
+
+        private volatile boolean cancelled;
+        private boolean done;
+        private long sent;
+        private long headers;
+        private long bodyEnd;
+        private ByteArrayOutputStream body;
+
+        Call(Transport.Call delegate, String method, String url) {
+            this.delegate = delegate;
+            this.exchange.method = method;
+            this.exchange.path = RecordedExchange.path(url);
+        }
+
+        @Override
+        public void setHeader(String name, String value) {
+            this.delegate.setHeader(name, value);
+            this.exchange.requestHeaders.put(name, SECRET_HEADERS.contains(name.toLowerCase(Locale.ROOT)) ? REDACTED : value);
+        }
+
+        @Override
+        public void connect() throws IOException {
+            this.delegate.connect();
+        }
+
+        @Override
+        public void send(byte[] body) throws IOException {
+            this.sent = System.nanoTime();
+            this.exchange.requestBody = body;
+            this.delegate.send(body);
+        }
+
+        @Override
+        public int getStatus() throws IOException {
+            this.exchange.status = this.delegate.getStatus();
+            this.headers = System.nanoTime();
+            return this.exchange.status;
+        }
+
+        @Override
+        public String getHeader(String name) {
+            String value = this.delegate.getHeader(name);
+            this.exchange.responseHeaders.put(name, value);
+            return value;
+        }
+
+        @Override
+        public InputStream getBody() throws IOException {
+            InputStream stream = this.delegate.getBody();
+            if (stream == null) return null;
+            this.body = new ByteArrayOutputStream();
+            return new FilterInputStream(stream) {
+                @Override
+                public int read() throws IOException {
+                    int b = super.read();
+                    if (b == -1) Call.this.ended();
+                    else Call.this.body.write(b);
+                    return b;
+                }
+
+                @Override
+                public int read(byte[] buffer, int offset, int length) throws IOException {
+                    int read = super.read(buffer, offset, length);
+                    if (read == -1) Call.this.ended();
+                    else Call.this.body.write(buffer, offset, read);
+                    return read;
+                }
+            };
+        }
+
+        @Override
+        public void cancel() {
+            this.cancelled = true;
+            this.delegate.cancel();
+        }
+
+        @Override
+        public void close() {
+            this.delegate.close();
+            if (this.done || this.cancelled || this.headers == 0) return;
+            this.done = true;
+            if (this.bodyEnd == 0) this.bodyEnd = System.nanoTime();
+            this.exchange.sentAt = this.sent - RecordingTransport.this.origin;
+            this.exchange.headersNanos = this.headers - this.sent;
+            this.exchange.bodyNanos = this.bodyEnd - this.headers;
+            if (this.body != null) this.exchange.responseBody = this.body.toByteArray();
+            RecordingTransport.this.write(this.exchange);
+        }
+
+        private void ended() {
+            if (this.bodyEnd == 0) this.bodyEnd = System.nanoTime();
+        }
+    }
+}
@@ -0,0 +1,149 @@
+package dev.le_app.mcss_api_java.api.utilities;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.net.SocketTimeoutException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Serves the exchanges stored by a {@link RecordingTransport} instead of calling MCSS, to benchmark against real traffic offline.
+ * <pre>
+ * mcss.request().setTransport(new ReplayTransport(Paths.get("traffic.rec"), true));
+ * </pre>
+ * Calls are matched by method and path, each one gets the next response recorded for it, starting over once all were served.
+ * With the original timing the status line and the body arrive after the recorded delays, read timeouts included, otherwise at once.
+ */
+public class ReplayTransport implements Transport {
+
+    private final Map<String, Responses> responses = new HashMap<String, Responses>();
+    private final boolean originalTiming;
+    private final int size;
+    private final LongAdder served = new LongAdder();
+
+    public ReplayTransport(Path path, boolean originalTiming) throws IOException {
+        this.originalTiming = originalTiming;
+        int size = 0;
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new GZIPInputStream(Files.newInputStream(path), 8192)))) {
+            if (in.readInt() != RecordedExchange.MAGIC) throw new IOException("Not a recording: " + path);
+            int version = in.readInt();
+            if (version != RecordedExchange.VERSION) throw new IOException("Unsupported recording version " + version + ": " + path);
+            try {
+                RecordedExchange exchange;
+                while ((exchange = RecordedExchange.read(in)) != null) {
+                    this.responses.computeIfAbsent(exchange.method + " " + exchange.path, key -> new Responses()).list.add(exchange);
+                    size++;
+                }
+            } catch (EOFException e) {
+                // The recorder was not closed, keep the complete records
+            }
+        }
+        this.size = size;
+    }
+
+    // Exchanges in the recording
+    public int size() { return this.size; }
+
+    // Calls answered so far
+    public long getServed() { return this.served.sum(); }
+
+    @Override
+    public Transport.Call open(String method, String url, int connectTimeout, int readTimeout) throws IOException {
+        String key = method + " " + RecordedExchange.path(url);
+        Responses responses = this.responses.get(key);
+        if (responses == null) throw new IOException("Nothing recorded for " + key);
+        this.served.increment();
+        return new Call(responses.next(), readTimeout);
+    }
+
+    private static final class Responses {
+
+        final List<RecordedExchange> list = new ArrayList<RecordedExchange>();
+        final AtomicInteger next = new AtomicInteger();
+
+        RecordedExchange next() {
+            return this.list.get(Math.floorMod(this.next.getAndIncrement(), this.list.size()));
+        }
+    }
+
+    private final class Call implements Transport.Call {
+
+        private final RecordedExchange exchange;
+        private final int readTimeout;
+        private final CountDownLatch cancelled = new CountDownLatch(1);
+        private long sent;
+
+        Call(RecordedExchange exchange, int readTimeout) {
+            this.exchange = exchange;
+            this.readTimeout = readTimeout;
+        }
+
+        // The request is not compared with the recorded one
+        @Override
+        public void setHeader(String name, String value) {}
+
+        @Override
+        public void connect() {}
+
+        @Override
+        public void send(byte[] body) throws IOException {
+            if (this.cancelled.getCount() == 0) throw new InterruptedIOException("Call cancelled");
+            this.sent = System.nanoTime();
+        }
+
+        @Override
+        public int getStatus() throws IOException {
+            this.await(this.exchange.headersNanos);
+            return this.exchange.status;
+        }
+
+        @Override
+        public String getHeader(String name) {
+            return this.exchange.responseHeaders.get(name);
+        }
+
+        @Override
+        public InputStream getBody() throws IOException {
+            if (this.exchange.responseBody == null) return null;
+            this.await(this.exchange.headersNanos + this.exchange.bodyNanos);
+            return new ByteArrayInputStream(this.exchange.responseBody);
+        }
+
+        @Override
+        public void cancel() {
+            this.cancelled.countDown();
+        }
+
+        @Override
+        public void close() {}
+
+        // Waits until the given time after the send, as the original response did
+        private void await(long sinceSent) throws IOException {
+            if (!ReplayTransport.this.originalTiming) return;
+            long timeout = TimeUnit.MILLISECONDS.toNanos(this.readTimeout);
+            boolean timesOut = this.readTimeout > 0 && sinceSent > timeout;
+            long remaining = this.sent + (timesOut ? timeout : sinceSent) - System.nanoTime();
+            try {
+                if (remaining > 0 && this.cancelled.await(remaining, TimeUnit.NANOSECONDS)) throw new InterruptedIOException("Call cancelled");
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted while replaying");
+            }
+            if (timesOut) throw new SocketTimeoutException("Read timed out");
+        }
+    }
+}
@@ -1,12 +1,29 @@
 package dev.le_app.mcss_api_java.api.utilities;
 
-import java.io.BufferedReader;
-import java.io.DataOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.InputStreamReader;
-import java.net.HttpURLConnection;
-import java.net.URL;
-import java.util.HashMap;
+import java.io.InterruptedIOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+import dev.le_app.mcss_api_java.api.exceptions.DeadlineExceededException;
 
 import dev.le_app.mcss_api_java.api.exceptions.HTTPException;
 import org.json.JSONObject;
@@ -15,217 +32,426 @@ import org.json.JSONObject;
 
 public class Request {
 
-    // Base URL for the API
-    private String baseUrl;
+    // Sent with every attempt, so a call can be found in the logs of MCSS or of a proxy
+    public static final String CORRELATION_HEADER = "X-Correlation-ID";
 
-    // Headers for the request
-    private HashMap<String, String> headers;
+    // Base URL, headers and default timeouts, replaced as a whole so the request path reads them without locking
+    private final AtomicReference<RequestConfig> config;
+
+    // Hedging of GET requests, disabled when null
+    private volatile HedgePolicy hedging;
+    private final LatencyTracker latencies = new LatencyTracker();
+    private final LongAdder hedgesSent = new LongAdder();
+    private final LongAdder hedgesWon = new LongAdder();
+
+    // Revalidation of GET responses, disabled when null
+    private volatile ResponseCache cache;
+
+    private final RequestMetrics metrics = new RequestMetrics();
+
+    // Told about every attempt, nothing is built for them while the list is empty
+    final List<SpanListener> spanListeners = new CopyOnWriteArrayList<SpanListener>();
+
+    private volatile Transport transport = new UrlConnectionTransport();
+
+    // Created on the first hedged GET, so clients that never hedge start no pool and native images hold no thread at build time
+    private static final class Hedges {
+        static final ExecutorService POOL = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "mcss-hedge");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
 
     // Constructor
     public Request(String url) {
-        this.baseUrl = url;
-        this.headers = new HashMap<String, String>();
-        this.addHeader("accept", "*/*");
-        this.addHeader("Content-Type", "application/json; charset=utf-8;");
+        Map<String, String> headers = new LinkedHashMap<String, String>();
+        headers.put("accept", "*/*");
+        headers.put("Content-Type", "application/json; charset=utf-8;");
+        this.config = new AtomicReference<RequestConfig>(new RequestConfig(url, headers, 5000, 5000));
     }
 
     // Sets the base URL
     public void setBaseUrl(String url) {
-        this.baseUrl = url;
+        this.config.updateAndGet(config -> config.withBaseUrl(url));
+    }
+
+    // Swaps the base URL and a header at once, so no request pairs the new host with the previous value
+    public void setBaseUrl(String url, String key, String value) {
+        this.config.updateAndGet(config -> config.withBaseUrl(url).withHeader(key, value));
+    }
+
+    public String getBaseUrl() {
+        return this.config.get().baseUrl;
     }
 
     // Adds a header to the request
     public void addHeader(String key, String value) {
-        this.headers.put(key, value);
+        this.config.updateAndGet(config -> config.withHeader(key, value));
     }
 
     // Replaces a header in the request
     public void setHeader(String key, String value) {
-        this.headers.replace(key, value);
+        this.config.updateAndGet(config -> config.headers.containsKey(key) ? config.withHeader(key, value) : config);
     }
 
     // Removes a header from the request
     public void removeHeader(String key) {
-        this.headers.remove(key);
+        this.config.updateAndGet(config -> config.withHeader(key, null));
+    }
+
+    public String getHeader(String key) {
+        return this.config.get().headers.get(key);
+    }
+
+    // Sets the default connect and read timeouts in milliseconds
+    public void setTimeouts(int connectTimeout, int readTimeout) {
+        if (connectTimeout < 0 || readTimeout < 0) throw new IllegalArgumentException("Timeouts cannot be negative");
+        this.config.updateAndGet(config -> config.withTimeouts(connectTimeout, readTimeout));
+    }
+
+    public int getConnectTimeout() { return this.config.get().connectTimeout; }
+    public int getReadTimeout() { return this.config.get().readTimeout; }
+
+    // Enables hedged GETs, null disables them
+    public void setHedging(HedgePolicy policy) {
+        this.hedging = policy;
+    }
+
+    public HedgePolicy getHedging() { return this.hedging; }
+    public long getHedgesSent() { return this.hedgesSent.sum(); }
+    public long getHedgesWon() { return this.hedgesWon.sum(); }
+
+    // Keeps GET responses to revalidate them, null disables it
+    public void setResponseCache(ResponseCache cache) {
+        this.cache = cache;
+    }
+
+    public ResponseCache getResponseCache() { return this.cache; }
+
+    // Counts and latencies of every exchange made through this request
+    public RequestMetrics getMetrics() { return this.metrics; }
+
+    // Carries the exchanges, an Http2Transport multiplexes them over a few connections to https hosts
+    public void setTransport(Transport transport) {
+        if (transport == null) throw new IllegalArgumentException("transport cannot be null");
+        this.transport = transport;
+    }
+
+    public Transport getTransport() { return this.transport; }
+
+    // Stores every exchange in the file until the returned recorder is closed, see ReplayTransport to serve them back
+    public RecordingTransport record(Path path) throws IOException {
+        RecordingTransport recorder = new RecordingTransport(this.transport, path);
+        this.transport = recorder;
+        return recorder;
+    }
+
+    public void addSpanListener(SpanListener listener) {
+        this.spanListeners.add(listener);
+    }
+
+    public void removeSpanListener(SpanListener listener) {
+        this.spanListeners.remove(listener);
     }
 
     /* HTTP REQUEST FUNCTIONS */
 
-    // Generates a response object
-    private JSONObject generateResponse(int responseCode, String response) throws HTTPException {
+    // Generates a response object, error statuses are turned into a Result by the caller first
+    private JSONObject generateResponse(int responseCode, String response) {
+        if(responseCode < 300 && response.isBlank()) return new JSONObject().put("status", responseCode);
         switch(responseCode) {
             case 200:
                 if(!response.toString().startsWith("{")) return new JSONObject("{ \"data\":" + response.toString() + "}").put("status", responseCode);
-                return new JSONObject(response.toString()).put("status", responseCode);
+                // Server objects carry their own status, it must not be replaced by the HTTP one
+                JSONObject json = new JSONObject(response.toString());
+                return json.has("status") ? json : json.put("status", responseCode);
             case 204:
                 return new JSONObject("{}").put("status", responseCode);
-            case 400:
-                throw new HTTPException(responseCode, "Bad request");
-            case 401:
-                throw new HTTPException(responseCode, "Unauthorized");
-            case 403:
-                throw new HTTPException(responseCode, "Forbidden");
-            case 404:
-                throw new HTTPException(responseCode, "Not found");
-            case 500:
-                throw new HTTPException(responseCode, "Internal server error");
             default:
                 if(!response.toString().startsWith("{")) return new JSONObject("{ \"data\":" + response.toString() + "}").put("status", responseCode);
                 return new JSONObject().put("status", responseCode);
         }
     }
 
-    public JSONObject GET(String url, Object... args) throws IOException, HTTPException {
-        URL getReqUrl = new URL(this.baseUrl + url);
-        HttpURLConnection con = (HttpURLConnection) getReqUrl.openConnection();
-        con.setRequestMethod("GET");
-
-        for (String key : this.headers.keySet()) {
-            con.setRequestProperty(key, this.headers.get(key));
-        }
-        
-        con.setConnectTimeout(5000);
-        con.setReadTimeout(5000);
-
-        int responseCode = con.getResponseCode();
-        
-        BufferedReader in = new BufferedReader(new InputStreamReader(con.getInputStream(), "UTF-8"));
-        String inputLine;
-        StringBuffer response = new StringBuffer();
-
-        while((inputLine = in.readLine()) != null) {
-            response.append(inputLine);
+    // Message of a status treated as an error, every status from 400 up is one, null for the others
+    private static String error(int responseCode) {
+        switch(responseCode) {
+            case 400: return "Bad request";
+            case 401: return "Unauthorized";
+            case 403: return "Forbidden";
+            case 404: return "Not found";
+            case 500: return "Internal server error";
+            default: return responseCode >= 400 ? "HTTP " + responseCode : null;
         }
-
-        in.close();
-
-        return this.generateResponse(responseCode, response.toString());
     }
 
-    public JSONObject POST(String url, JSONObject body) throws IOException, HTTPException {
+    public JSONObject GET(String url, Object... args) throws IOException, HTTPException {
+        return this.exchange("GET", url, null);
+    }
 
-        URL postReqUrl = new URL(this.baseUrl + url);
-        HttpURLConnection con = (HttpURLConnection) postReqUrl.openConnection();
-        con.setRequestMethod("POST");
+    // Streams the body of a successful GET to the reader, error statuses are thrown as usual
+    public <T> T GET(String url, BodyReader<T> reader) throws IOException, HTTPException {
+        return this.tryGET(url, reader).orElseThrow();
+    }
 
-        for (String key : this.headers.keySet()) {
-            con.setRequestProperty(key, this.headers.get(key));
-        }
+    /* RESULT FUNCTIONS, error statuses are returned instead of thrown */
 
-        con.setDoOutput(true);
+    public Result<JSONObject> tryGET(String url) throws IOException {
+        return this.attempt("GET", url, null);
+    }
 
-        try (DataOutputStream outputStream = new DataOutputStream(con.getOutputStream())) {
-            outputStream.writeBytes(body.toString());
-            outputStream.flush();
+    @SuppressWarnings("unchecked")
+    public <T> Result<T> tryGET(String url, BodyReader<T> reader) throws IOException {
+        Deadline deadline = Deadline.current();
+        RequestConfig config = this.config.get();
+        ResponseCache cache = reader.isCacheable() ? this.cache : null;
+        ResponseCache.Entry cached = cache == null ? null : cache.get(config.baseUrl, url, reader);
+        Exchange exchange = this.connect("GET", url, null, deadline, config, cached);
+        ScheduledFuture<?> watch = deadline == null ? null : deadline.watch(exchange.call);
+        try {
+            if (cache != null) {
+                Object current = cache.lookup(cached, exchange.status, 0, -1);
+                if (current != null) return Result.ok(exchange.status, (T) current);
+            }
+            // A body that is not a success cannot be given to the reader
+            String error = error(exchange.status);
+            if (error != null) return Result.error(exchange.status, error, this.read(exchange));
+            if (exchange.status >= 300) {
+                this.read(exchange);
+                return Result.ok(exchange.status, null);
+            }
+
+            CountingInputStream body = new CountingInputStream(exchange.call.getBody());
+            T value;
+            try (Reader in = new InputStreamReader(body, StandardCharsets.UTF_8)) {
+                value = reader.read(in);
+            } finally {
+                exchange.bytes = body.getCount();
+                exchange.readNanos = exchange.lap();
+            }
+            if (cache != null && exchange.status == 200) cache.store(config.baseUrl, url, exchange.call, 0, -1, value, reader);
+            return Result.ok(exchange.status, value);
+        } catch (IOException e) {
+            throw deadline != null && deadline.isExpired() ? deadline.exceeded(url, e) : e;
+        } finally {
+            if (watch != null) watch.cancel(false);
+            exchange.commit();
         }
+    }
 
-        con.setConnectTimeout(5000);
-        con.setReadTimeout(5000);
+    public Result<JSONObject> tryPOST(String url, String body) throws IOException {
+        return this.attempt("POST", url, body);
+    }
 
-        int responseCode = con.getResponseCode();
-        BufferedReader in = new BufferedReader(new InputStreamReader(con.getInputStream(), "UTF-8"));
-        String inputLine;
-        StringBuffer response = new StringBuffer();
+    public Result<JSONObject> tryPUT(String url, String body) throws IOException {
+        return this.attempt("PUT", url, body);
+    }
 
-        while((inputLine = in.readLine()) != null) {
-            response.append(inputLine);
-        }
+    public Result<JSONObject> tryDELETE(String url) throws IOException {
+        return this.attempt("DELETE", url, null);
+    }
 
-        in.close();
+    public JSONObject POST(String url, JSONObject body) throws IOException, HTTPException {
+        return this.exchange("POST", url, body.toString());
+    }
 
-        return this.generateResponse(responseCode, response.toString());
+    // Sends a body already encoded, as written by a JsonWriter
+    public JSONObject POST(String url, String body) throws IOException, HTTPException {
+        return this.exchange("POST", url, body);
     }
 
     public JSONObject PUT(String url, JSONObject body) throws IOException, HTTPException {
-        URL putReqUrl = new URL(this.baseUrl + url);
-        HttpURLConnection con = (HttpURLConnection) putReqUrl.openConnection();
-        con.setRequestMethod("PUT");
-
-        for (String key : this.headers.keySet()) {
-            con.setRequestProperty(key, this.headers.get(key));
-        }
+        return this.exchange("PUT", url, body.toString());
+    }
 
-        con.setDoOutput(true);
+    public JSONObject PUT(String url, String body) throws IOException, HTTPException {
+        return this.exchange("PUT", url, body);
+    }
 
-        try (DataOutputStream outputStream = new DataOutputStream(con.getOutputStream())) {
-            outputStream.writeBytes(body.toString());
-            outputStream.flush();
-        }
+    public JSONObject PATCH(String url, JSONObject body) throws IOException, HTTPException {
+        return this.exchange("PATCH", url, body.toString());
+    }
 
-        con.setConnectTimeout(5000);
-        con.setReadTimeout(5000);
+    public JSONObject DELETE(String url) throws IOException, HTTPException {
+        return this.exchange("DELETE", url, null);
+    }
 
-        int responseCode = con.getResponseCode();
-        BufferedReader in = new BufferedReader(new InputStreamReader(con.getInputStream(), "UTF-8"));
-        String inputLine;
-        StringBuffer response = new StringBuffer();
+    private JSONObject exchange(String method, String url, String body) throws IOException, HTTPException {
+        return this.attempt(method, url, body).orElseThrow();
+    }
 
-        while((inputLine = in.readLine()) != null) {
-            response.append(inputLine);
+    private Result<JSONObject> attempt(String method, String url, String body) throws IOException {
+        Deadline deadline = Deadline.current();
+        RequestConfig config = this.config.get();
+        ResponseCache cache = method.equals("GET") ? this.cache : null;
+        ResponseCache.Entry cached = cache == null ? null : cache.get(config.baseUrl, url, null);
+        Exchange exchange = this.connect(method, url, body, deadline, config, cached);
+        ScheduledFuture<?> watch = deadline == null ? null : deadline.watch(exchange.call);
+        try {
+            String response = this.read(exchange);
+            exchange.readNanos = exchange.lap();
+            try {
+                long hash = 0;
+                if (cache != null) {
+                    hash = ResponseCache.hash(response);
+                    Object current = cache.lookup(cached, exchange.status, hash, response.length());
+                    if (current != null) return Result.ok(exchange.status, (JSONObject) current);
+                }
+                String error = error(exchange.status);
+                if (error != null) return Result.error(exchange.status, error, response);
+
+                JSONObject json = this.generateResponse(exchange.status, response);
+                if (cache != null && exchange.status == 200) cache.store(config.baseUrl, url, exchange.call, hash, response.length(), json, null);
+                return Result.ok(exchange.status, json);
+            } finally {
+                exchange.decodeNanos = exchange.lap();
+            }
+        } catch (IOException e) {
+            throw deadline != null && deadline.isExpired() ? deadline.exceeded(url, e) : e;
+        } finally {
+            if (watch != null) watch.cancel(false);
+            exchange.commit();
         }
-
-        in.close();
-
-        return this.generateResponse(responseCode, response.toString());
     }
 
-    public JSONObject PATCH(String url, JSONObject body) throws IOException, HTTPException {
-        URL patchReqUrl = new URL(this.baseUrl + url);
-        HttpURLConnection con = (HttpURLConnection) patchReqUrl.openConnection();
-        con.setRequestMethod("PATCH");
-
-        for (String key : this.headers.keySet()) {
-            con.setRequestProperty(key, this.headers.get(key));
+    // Sends the request and waits for the status line, GETs are hedged when a policy is set.
+    // Every attempt uses the snapshot the cache entry was looked up with, so validators never reach another host
+    private Exchange connect(String method, String url, String body, Deadline deadline, RequestConfig config, ResponseCache.Entry cached) throws IOException {
+        HedgePolicy policy = this.hedging;
+        String correlationId = Long.toHexString(ThreadLocalRandom.current().nextLong() | Long.MIN_VALUE);
+        try {
+            if (policy != null && method.equals("GET")) return this.hedged(url, correlationId, policy, deadline, config, cached);
+            Exchange exchange = new Exchange(this, method, url, correlationId, 1);
+            exchange.config = config;
+            exchange.cached = cached;
+            this.perform(exchange, body, deadline);
+            return exchange;
+        } catch (IOException e) {
+            throw deadline != null && deadline.isExpired() && !(e instanceof DeadlineExceededException) ? deadline.exceeded(url, e) : e;
         }
+    }
 
-        con.setDoOutput(true);
-
-        try (DataOutputStream outputStream = new DataOutputStream(con.getOutputStream())) {
-            outputStream.writeBytes(body.toString());
-            outputStream.flush();
+    private void perform(Exchange exchange, String body, Deadline deadline) throws IOException {
+        try {
+            exchange.call = this.open(exchange.config, exchange.method, exchange.url, deadline);
+            exchange.call.setHeader(CORRELATION_HEADER, exchange.correlationId);
+            if (exchange.cached != null) exchange.cached.validate(exchange.call);
+            if (exchange.cancelled) throw new InterruptedIOException("Hedged attempt cancelled");
+            exchange.call.connect();
+            exchange.connectNanos = exchange.lap();
+
+            exchange.call.send(body == null ? null : body.getBytes(StandardCharsets.UTF_8));
+            exchange.sendNanos = exchange.lap();
+
+            exchange.status = exchange.call.getStatus();
+            exchange.waitNanos = exchange.lap();
+            if (exchange.method.equals("GET")) {
+                this.latencies.record(exchange.connectNanos + exchange.sendNanos + exchange.waitNanos);
+            }
+        } catch (IOException e) {
+            exchange.commit();
+            throw e;
         }
+    }
 
-        con.setConnectTimeout(5000);
-        con.setReadTimeout(5000);
-
-        int responseCode = con.getResponseCode();
-        BufferedReader in = new BufferedReader(new InputStreamReader(con.getInputStream(), "UTF-8"));
-        String inputLine;
-        StringBuffer response = new StringBuffer();
-
-        while((inputLine = in.readLine()) != null) {
-            response.append(inputLine);
+    // Sends a second GET if the first has not answered within the policy delay, the first to answer wins
+    private Exchange hedged(String url, String correlationId, HedgePolicy policy, Deadline deadline, RequestConfig config, ResponseCache.Entry cached) throws IOException {
+        CompletionService<Exchange> race = new ExecutorCompletionService<Exchange>(Hedges.POOL);
+        Exchange first = new Exchange(this, "GET", url, correlationId, 1);
+        first.config = config;
+        first.cached = cached;
+        Exchange second = null;
+        Future<Exchange> firstFuture = race.submit(() -> {
+            this.perform(first, null, deadline);
+            return first;
+        });
+
+        try {
+            long delay = policy.delayNanos(this.latencies);
+            Future<Exchange> done = race.poll(deadline == null ? delay : Math.min(delay, deadline.remainingNanos()), TimeUnit.NANOSECONDS);
+            if (done == null && (deadline == null || !deadline.isExpired())) {
+                Exchange hedge = new Exchange(this, "GET", url, correlationId, 2);
+                hedge.config = config;
+                hedge.cached = cached;
+                first.hedged = true;
+                hedge.hedged = true;
+                second = hedge;
+                race.submit(() -> {
+                    this.perform(hedge, null, deadline);
+                    return hedge;
+                });
+                this.hedgesSent.increment();
+                done = this.next(race, deadline);
+            }
+
+            int pending = second == null ? 1 : 2;
+            while (true) {
+                if (done == null) throw deadline.exceeded(url, null);
+                pending--;
+                try {
+                    Exchange winner = done.get();
+                    if (done == firstFuture) {
+                        if (second != null) second.abandon();
+                    } else {
+                        first.abandon();
+                        this.hedgesWon.increment();
+                    }
+                    return winner;
+                } catch (ExecutionException e) {
+                    if (pending == 0) {
+                        if (e.getCause() instanceof IOException) throw (IOException) e.getCause();
+                        throw new IOException(e.getCause());
+                    }
+                }
+                done = this.next(race, deadline);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            first.abandon();
+            if (second != null) second.abandon();
+            throw new InterruptedIOException("Interrupted while waiting for " + url);
+        } catch (IOException e) {
+            first.abandon();
+            if (second != null) second.abandon();
+            throw e;
         }
+    }
 
-        in.close();
-
-        return this.generateResponse(responseCode, response.toString());
+    private Future<Exchange> next(CompletionService<Exchange> race, Deadline deadline) throws InterruptedException {
+        if (deadline == null) return race.take();
+        return race.poll(Math.max(0, deadline.remainingNanos()), TimeUnit.NANOSECONDS);
     }
 
-    public JSONObject DELETE(String url) throws IOException, HTTPException {
-        URL deleteReqUrl = new URL(this.baseUrl + url);
-        HttpURLConnection con = (HttpURLConnection) deleteReqUrl.openConnection();
-        con.setRequestMethod("DELETE");
+    // Opens a call with the headers and timeouts of a snapshot
+    private Transport.Call open(RequestConfig config, String method, String url, Deadline deadline) throws IOException {
+        int connectTimeout = deadline == null ? config.connectTimeout : deadline.timeout(config.connectTimeout, url);
+        int readTimeout = deadline == null ? config.readTimeout : deadline.timeout(config.readTimeout, url);
+        Transport.Call call = this.transport.open(method, config.baseUrl + url, connectTimeout, readTimeout);
 
-        for (String key : this.headers.keySet()) {
-            con.setRequestProperty(key, this.headers.get(key));
+        for (Map.Entry<String, String> header : config.headers.entrySet()) {
+            call.setHeader(header.getKey(), header.getValue());
         }
+        return call;
+    }
 
-        con.setConnectTimeout(5000);
-        con.setReadTimeout(5000);
-
-        int responseCode = con.getResponseCode();
-        BufferedReader in = new BufferedReader(new InputStreamReader(con.getInputStream(), "UTF-8"));
-        String inputLine;
-        StringBuffer response = new StringBuffer();
-
-        while((inputLine = in.readLine()) != null) {
-            response.append(inputLine);
+    // Reads the whole body, error bodies included
+    private String read(Exchange exchange) throws IOException {
+        InputStream stream = exchange.call.getBody();
+        if (stream == null) return "";
+
+        CountingInputStream counted = new CountingInputStream(stream);
+        StringBuilder response = new StringBuilder();
+        char[] buffer = new char[4096];
+        try (Reader in = new InputStreamReader(counted, StandardCharsets.UTF_8)) {
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                response.append(buffer, 0, read);
+            }
+        } finally {
+            exchange.bytes = counted.getCount();
         }
-
-        in.close();
-
-        return this.generateResponse(responseCode, response.toString());
+        return response.toString();
     }
 
-}
\ No newline at end of file
+}
@@ -0,0 +1,37 @@
+package dev.le_app.mcss_api_java.api.utilities;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// Immutable settings of a Request, changes build a new snapshot so requests in flight keep the one they started with
+
+final class RequestConfig {
+
+    final String baseUrl;
+    final Map<String, String> headers;
+    final int connectTimeout;
+    final int readTimeout;
+
+    RequestConfig(String baseUrl, Map<String, String> headers, int connectTimeout, int readTimeout) {
+        this.baseUrl = baseUrl;
+        this.headers = Collections.unmodifiableMap(headers);
+        this.connectTimeout = connectTimeout;
+        this.readTimeout = readTimeout;
+    }
+
+    RequestConfig withBaseUrl(String baseUrl) {
+        return new RequestConfig(baseUrl, new LinkedHashMap<String, String>(this.headers), this.connectTimeout, this.readTimeout);
+    }
+
+    RequestConfig withHeader(String key, String value) {
+        Map<String, String> headers = new LinkedHashMap<String, String>(this.headers);
+        if (value == null) headers.remove(key);
+        else headers.put(key, value);
+        return new RequestConfig(this.baseUrl, headers, this.connectTimeout, this.readTimeout);
+    }
+
+    RequestConfig withTimeouts(int connectTimeout, int readTimeout) {
+        return new RequestConfig(this.baseUrl, new LinkedHashMap<String, String>(this.headers), connectTimeout, readTimeout);
+    }
+}
@@ -0,0 +1,62 @@
+package dev.le_app.mcss_api_java.api.utilities;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * Java Flight Recorder event emitted for every HTTP exchange made by {@link Request}.
+ * Costs next to nothing when no recording is running.
+ */
+@Name("dev.le_app.mcss.Request")
+@Label("MCSS Request")
+@Category({ "MCSS", "Client" })
+@Description("An HTTP exchange with the MCSS API, split by phase")
+@StackTrace(false)
+public class RequestEvent extends jdk.jfr.Event {
+
+    @Label("Method")
+    public String method;
+
+    @Label("Endpoint")
+    @Description("Path with the ids replaced by {id}")
+    public String endpoint;
+
+    @Label("Status")
+    @Description("HTTP status, 0 when no response was received")
+    public int status;
+
+    @Label("Response Size")
+    @DataAmount
+    public long bytes;
+
+    @Label("Hedged")
+    @Description("Whether a second copy of this GET was sent")
+    public boolean hedged;
+
+    @Label("Connect")
+    @Timespan(Timespan.NANOSECONDS)
+    public long connect;
+
+    @Label("Send")
+    @Timespan(Timespan.NANOSECONDS)
+    public long send;
+
+    @Label("Time To First Byte")
+    @Timespan(Timespan.NANOSECONDS)
+    public long waiting;
+
+    @Label("Body Read")
+    @Description("Includes decoding for streamed bodies such as the console")
+    @Timespan(Timespan.NANOSECONDS)
+    public long read;
+
+    @Label("Decode")
+    @Timespan(Timespan.NANOSECONDS)
+    public long decode;
+
+}
@@ -0,0 +1,88 @@
+package dev.le_app.mcss_api_java.api.utilities;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counters of the HTTP exchanges made by a {@link Request}, per method and endpoint template.
+ * Every attempt counts, so a hedged GET is two requests.
+ */
+public final class RequestMetrics {
+
+    // Upper bounds of the latency buckets in seconds, requests slower than the last one only count in the total
+    private static final double[] BUCKETS = { 0.005, 0.01, 0.025, 0.05, 0.1, 0.25, 0.5, 1, 2.5, 5, 10 };
+    private static final long[] BUCKET_NANOS = new long[BUCKETS.length];
+
+    static {
+        for (int i = 0; i < BUCKETS.length; i++) BUCKET_NANOS[i] = (long) (BUCKETS[i] * 1_000_000_000L);
+    }
+
+    private final ConcurrentHashMap<String, Endpoint> endpoints = new ConcurrentHashMap<String, Endpoint>();
+
+    public static int getBucketCount() { return BUCKETS.length; }
+
+    public static double getBucketBound(int bucket) { return BUCKETS[bucket]; }
+
+    // A live view, the counters keep moving while it is read
+    public Collection<Endpoint> getEndpoints() {
+        return Collections.unmodifiableCollection(this.endpoints.values());
+    }
+
+    public void clear() {
+        this.endpoints.clear();
+    }
+
+    void record(String method, String url, int status, long nanos, long bytes) {
+        String template = Endpoints.template(url);
+        Endpoint endpoint = this.endpoints.get(method + " " + template);
+        if (endpoint == null) {
+            endpoint = this.endpoints.computeIfAbsent(method + " " + template, key -> new Endpoint(method, template));
+        }
+        endpoint.record(status, nanos, bytes);
+    }
+
+    public static final class Endpoint {
+
+        private final String method;
+        private final String template;
+        private final LongAdder requests = new LongAdder();
+        private final LongAdder errors = new LongAdder();
+        private final LongAdder bytes = new LongAdder();
+        private final LongAdder nanos = new LongAdder();
+        private final LongAdder[] buckets = new LongAdder[BUCKETS.length];
+
+        private Endpoint(String method, String template) {
+            this.method = method;
+            this.template = template;
+            for (int i = 0; i < this.buckets.length; i++) this.buckets[i] = new LongAdder();
+        }
+
+        private void record(int status, long nanos, long bytes) {
+            this.requests.increment();
+            if (status == 0 || status >= 400) this.errors.increment();
+            this.bytes.add(bytes);
+            this.nanos.add(nanos);
+            for (int i = 0; i < BUCKET_NANOS.length; i++) {
+                if (nanos <= BUCKET_NANOS[i]) {
+                    this.buckets[i].increment();
+                    break;
+                }
+            }
+        }
+
+        public String getMethod() { return this.method; }
+        public String getTemplate() { return this.template; }
+        public long getRequests() { return this.requests.sum(); }
+
+        // Attempts that got no response or an error status
+        public long getErrors() { return this.errors.sum(); }
+
+        public long getBytes() { return this.bytes.sum(); }
+        public long getTotalNanos() { return this.nanos.sum(); }
+
+        // Requests that took at most the bound of the bucket, not cumulative
+        public long getBucket(int bucket) { return this.buckets[bucket].sum(); }
+    }
+}
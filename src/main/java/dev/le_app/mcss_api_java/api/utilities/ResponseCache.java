@@ -0,0 +1,150 @@
+package dev.le_app.mcss_api_java.api.utilities;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Remembers the last decoded body of GET requests per host and URL along with its ETag and Last-Modified validators.
+ * Validators are sent back so MCSS can answer 304, hosts that send none still skip decoding when the body hash is unchanged.
+ * Bodies streamed to a {@link BodyReader} are only reused on a 304, and never for readers that are not {@link BodyReader#isCacheable() cacheable}.
+ * Cached objects are shared between callers and must not be modified.
+ */
+public class ResponseCache {
+
+    private final int maxEntries;
+    private final Map<Key, Entry> entries;
+
+    private final LongAdder notModified = new LongAdder();
+    private final LongAdder unchanged = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    public ResponseCache(int maxEntries) {
+        if (maxEntries < 1) throw new IllegalArgumentException("maxEntries must be at least 1");
+        this.maxEntries = maxEntries;
+        this.entries = new LinkedHashMap<Key, Entry>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, Entry> eldest) {
+                return this.size() > ResponseCache.this.maxEntries;
+            }
+        };
+    }
+
+    public ResponseCache() {
+        this(256);
+    }
+
+    public int getMaxEntries() { return this.maxEntries; }
+
+    // Responses answered with a 304
+    public long getNotModified() { return this.notModified.sum(); }
+
+    // Full bodies that hashed to the cached one and were not decoded again
+    public long getUnchanged() { return this.unchanged.sum(); }
+
+    public long getMisses() { return this.misses.sum(); }
+
+    public synchronized int size() {
+        return this.entries.size();
+    }
+
+    public synchronized void clear() {
+        this.entries.clear();
+    }
+
+    // Forgets the URL on every host
+    public synchronized void invalidate(String url) {
+        this.entries.keySet().removeIf(key -> key.url.equals(url));
+    }
+
+    // Entry stored for the URL of the host by the same body reader, null is the tree decoding of exchange()
+    synchronized Entry get(String baseUrl, String url, BodyReader<?> reader) {
+        Entry entry = this.entries.get(new Key(baseUrl, url));
+        return entry != null && entry.reader == reader ? entry : null;
+    }
+
+    // Returns the cached object if the exchange shows it is still current, null if the body has to be decoded
+    Object lookup(Entry cached, int status, long hash, int length) {
+        if (cached == null) {
+            this.misses.increment();
+            return null;
+        }
+        if (status == 304) {
+            this.notModified.increment();
+            return cached.value;
+        }
+        if (status == 200 && length >= 0 && cached.hash == hash && cached.length == length) {
+            this.unchanged.increment();
+            return cached.value;
+        }
+        this.misses.increment();
+        return null;
+    }
+
+    // Streamed bodies are not hashed, pass a negative length so only validators can match them
+    void store(String baseUrl, String url, Transport.Call call, long hash, int length, Object value, BodyReader<?> reader) {
+        Entry entry = new Entry(call.getHeader("ETag"), call.getHeader("Last-Modified"), hash, length, value, reader);
+        synchronized (this) {
+            this.entries.put(new Key(baseUrl, url), entry);
+        }
+    }
+
+    // 64-bit FNV-1a over the characters of the body
+    static long hash(String body) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < body.length(); i++) {
+            hash ^= body.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        return hash;
+    }
+
+    // Validators only mean something to the host that sent them, a client pointed elsewhere must not send them on
+    private static final class Key {
+
+        final String baseUrl;
+        final String url;
+
+        Key(String baseUrl, String url) {
+            this.baseUrl = baseUrl;
+            this.url = url;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (!(other instanceof Key)) return false;
+            Key key = (Key) other;
+            return this.baseUrl.equals(key.baseUrl) && this.url.equals(key.url);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * this.baseUrl.hashCode() + this.url.hashCode();
+        }
+    }
+
+    static final class Entry {
+
+        final String etag;
+        final String lastModified;
+        final long hash;
+        final int length;
+        final Object value;
+        final BodyReader<?> reader;
+
+        Entry(String etag, String lastModified, long hash, int length, Object value, BodyReader<?> reader) {
+            this.etag = etag;
+            this.lastModified = lastModified;
+            this.hash = hash;
+            this.length = length;
+            this.value = value;
+            this.reader = reader;
+        }
+
+        // Adds the conditional headers to a request for the same URL
+        void validate(Transport.Call call) {
+            if (this.etag != null) call.setHeader("If-None-Match", this.etag);
+            if (this.lastModified != null) call.setHeader("If-Modified-Since", this.lastModified);
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package dev.le_app.mcss_api_java.api.utilities;
+
+import java.util.function.Function;
+
+import dev.le_app.mcss_api_java.api.exceptions.HTTPException;
+
+/**
+ * Outcome of a request made through one of the try methods, either a value or the error status MCSS answered with.
+ * <pre>
+ * Result&lt;Server&gt; result = mcss.servers.tryGetServer(id);
+ * if (result.getStatus() == 404) ...
+ * </pre>
+ * Error statuses are returned instead of thrown, so expected errors cost no stack trace. Failures to reach MCSS are still thrown.
+ */
+public final class Result<T> {
+
+    private final int status;
+    private final T value;
+    private final String message;
+    private final String body;
+
+    private Result(int status, T value, String message, String body) {
+        this.status = status;
+        this.value = value;
+        this.message = message;
+        this.body = body;
+    }
+
+    public static <T> Result<T> ok(int status, T value) {
+        return new Result<T>(status, value, null, null);
+    }
+
+    public static <T> Result<T> error(int status, String message, String body) {
+        return new Result<T>(status, null, message, body);
+    }
+
+    public boolean isOk() { return this.message == null; }
+
+    // HTTP status of the response
+    public int getStatus() { return this.status; }
+
+    // Null when the request failed
+    public T getValue() { return this.value; }
+
+    // Body MCSS sent with an error status, null when the request succeeded
+    public String getErrorBody() { return this.body; }
+
+    // Stackless exception describing the error, null when the request succeeded
+    public HTTPException getError() {
+        return this.isOk() ? null : new HTTPException(this.status, this.message, this.body, false);
+    }
+
+    public T orElse(T other) {
+        return this.isOk() ? this.value : other;
+    }
+
+    // The value, or an HTTPException with a stack trace as the throwing methods raise it
+    public T orElseThrow() throws HTTPException {
+        if (!this.isOk()) throw new HTTPException(this.status, this.message, this.body, true);
+        return this.value;
+    }
+
+    // Converts the value, errors are passed on unchanged
+    @SuppressWarnings("unchecked")
+    public <U> Result<U> map(Function<? super T, ? extends U> mapper) {
+        if (!this.isOk()) return (Result<U>) this;
+        return new Result<U>(this.status, mapper.apply(this.value), null, null);
+    }
+
+    @Override
+    public String toString() {
+        return this.isOk() ? "Result[" + this.status + ", " + this.value + "]" : "Result[" + this.status + ", " + this.message + "]";
+    }
+}
@@ -0,0 +1,127 @@
+package dev.le_app.mcss_api_java.api.utilities;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.function.Consumer;
+import java.util.function.LongSupplier;
+
+/**
+ * Keeps the slowest calls of each interval with their timing breakdown.
+ * <pre>
+ * SlowCallLog slow = new SlowCallLog(10, Duration.ofMinutes(1)).setReporter(calls -&gt; calls.forEach(System.out::println));
+ * mcss.request().addSpanListener(slow);
+ * </pre>
+ * Intervals roll over when a span arrives or the log is read, no thread is started.
+ * Spans faster than the slowest kept ones are dropped without taking the lock once the interval has filled up.
+ */
+public class SlowCallLog implements SpanListener {
+
+    private static final Comparator<Span> BY_DURATION = Comparator.comparingLong(Span::getTotalNanos);
+
+    private final int size;
+    private final long intervalNanos;
+    private final LongSupplier nanoTime;
+
+    // Fastest of the kept spans while the current interval is full, kept spans never get faster
+    private volatile long threshold = -1;
+    private PriorityQueue<Span> current;
+    // Written under the lock after threshold, read before it on the fast path of onSpan
+    private volatile long intervalEnd;
+    private List<Span> previous = Collections.emptyList();
+    private Consumer<List<Span>> reporter;
+
+    public SlowCallLog(int size, Duration interval) {
+        this(size, interval, System::nanoTime);
+    }
+
+    // Reads the time from nanoTime instead of System.nanoTime, for tests that step it
+    public SlowCallLog(int size, Duration interval, LongSupplier nanoTime) {
+        if (size < 1) throw new IllegalArgumentException("size must be at least 1");
+        if (interval.isNegative() || interval.isZero()) throw new IllegalArgumentException("interval must be positive");
+        this.size = size;
+        this.intervalNanos = interval.toNanos();
+        this.nanoTime = nanoTime;
+        this.current = new PriorityQueue<Span>(size, BY_DURATION);
+        this.intervalEnd = nanoTime.getAsLong() + this.intervalNanos;
+    }
+
+    // Told about the slowest calls of every interval that ends with at least one call, on the thread that ended it
+    public synchronized SlowCallLog setReporter(Consumer<List<Span>> reporter) {
+        this.reporter = reporter;
+        return this;
+    }
+
+    @Override
+    public void onSpan(Span span) {
+        // A new intervalEnd is published after its reset threshold, so reading it first never pairs it with a stale one
+        long intervalEnd = this.intervalEnd;
+        long threshold = this.threshold;
+        if (threshold >= 0 && span.getTotalNanos() <= threshold && this.nanoTime.getAsLong() - intervalEnd < 0) return;
+
+        List<Span> ended;
+        Consumer<List<Span>> reporter;
+        synchronized (this) {
+            ended = this.roll();
+            reporter = this.reporter;
+            if (this.current.size() < this.size) {
+                this.current.add(span);
+            } else if (span.getTotalNanos() > this.current.peek().getTotalNanos()) {
+                this.current.poll();
+                this.current.add(span);
+            }
+            if (this.current.size() == this.size) this.threshold = this.current.peek().getTotalNanos();
+        }
+        if (ended != null && reporter != null) reporter.accept(ended);
+    }
+
+    // Slowest calls of the last interval that ended, slowest first
+    public List<Span> getSlowest() {
+        List<Span> ended;
+        List<Span> slowest;
+        Consumer<List<Span>> reporter;
+        synchronized (this) {
+            ended = this.roll();
+            slowest = this.previous;
+            reporter = this.reporter;
+        }
+        if (ended != null && reporter != null) reporter.accept(ended);
+        return slowest;
+    }
+
+    // Slowest calls so far in the running interval, slowest first
+    public List<Span> getCurrent() {
+        List<Span> ended;
+        List<Span> current;
+        Consumer<List<Span>> reporter;
+        synchronized (this) {
+            ended = this.roll();
+            current = sorted(this.current);
+            reporter = this.reporter;
+        }
+        if (ended != null && reporter != null) reporter.accept(ended);
+        return current;
+    }
+
+    // Starts a new interval if the current one is over, returning the calls of the one that ended
+    private List<Span> roll() {
+        long now = this.nanoTime.getAsLong();
+        if (now - this.intervalEnd < 0) return null;
+        List<Span> ended = sorted(this.current);
+        this.current = new PriorityQueue<Span>(this.size, BY_DURATION);
+        this.threshold = -1;
+        // Intervals without any call are skipped
+        this.intervalEnd += ((now - this.intervalEnd) / this.intervalNanos + 1) * this.intervalNanos;
+        this.previous = ended;
+        return ended.isEmpty() ? null : ended;
+    }
+
+    private static List<Span> sorted(PriorityQueue<Span> spans) {
+        List<Span> list = new ArrayList<Span>(spans);
+        list.sort(BY_DURATION.reversed());
+        return Collections.unmodifiableList(list);
+    }
+}
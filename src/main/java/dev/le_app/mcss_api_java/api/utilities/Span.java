@@ -0,0 +1,83 @@
+package dev.le_app.mcss_api_java.api.utilities;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One attempt at an HTTP exchange, as seen by a {@link SpanListener}.
+ * The correlation id was sent in the {@value Request#CORRELATION_HEADER} header, the attempts of a hedged GET share it.
+ */
+public final class Span {
+
+    private final String correlationId;
+    private final String method;
+    private final String url;
+    private final int attempt;
+    private final boolean hedged;
+    private final int status;
+    private final long bytes;
+    private final long startedAt;
+    private final long connectNanos;
+    private final long sendNanos;
+    private final long waitNanos;
+    private final long readNanos;
+    private final long decodeNanos;
+    private final long totalNanos;
+
+    Span(Exchange exchange, long totalNanos) {
+        this.correlationId = exchange.correlationId;
+        this.method = exchange.method;
+        this.url = exchange.url;
+        this.attempt = exchange.attempt;
+        this.hedged = exchange.hedged;
+        this.status = exchange.status;
+        this.bytes = exchange.bytes;
+        this.startedAt = exchange.startedAt;
+        this.connectNanos = exchange.connectNanos;
+        this.sendNanos = exchange.sendNanos;
+        this.waitNanos = exchange.waitNanos;
+        this.readNanos = exchange.readNanos;
+        this.decodeNanos = exchange.decodeNanos;
+        this.totalNanos = totalNanos;
+    }
+
+    public String getCorrelationId() { return this.correlationId; }
+    public String getMethod() { return this.method; }
+
+    // Path relative to the base URL, query included
+    public String getUrl() { return this.url; }
+
+    public String getEndpoint() { return Endpoints.template(this.url); }
+
+    // Null for calls outside a server
+    public String getServerId() { return Endpoints.id(this.url, "servers"); }
+
+    // 1 for the first attempt, 2 for the second copy of a hedged GET
+    public int getAttempt() { return this.attempt; }
+    public boolean isHedged() { return this.hedged; }
+
+    // 0 when no response was received
+    public int getStatus() { return this.status; }
+    public long getBytes() { return this.bytes; }
+
+    // Wall clock time the attempt started, in epoch milliseconds
+    public long getStartedAt() { return this.startedAt; }
+
+    public long getConnectNanos() { return this.connectNanos; }
+    public long getSendNanos() { return this.sendNanos; }
+    public long getWaitNanos() { return this.waitNanos; }
+    public long getReadNanos() { return this.readNanos; }
+    public long getDecodeNanos() { return this.decodeNanos; }
+    public long getTotalNanos() { return this.totalNanos; }
+
+    @Override
+    public String toString() {
+        return this.method + " " + this.url + " " + this.status + " in " + millis(this.totalNanos) + " ms"
+            + " [id=" + this.correlationId + " attempt=" + this.attempt
+            + " connect=" + millis(this.connectNanos) + " send=" + millis(this.sendNanos) + " wait=" + millis(this.waitNanos)
+            + " read=" + millis(this.readNanos) + " decode=" + millis(this.decodeNanos) + " bytes=" + this.bytes + "]";
+    }
+
+    private static String millis(long nanos) {
+        return String.valueOf(TimeUnit.NANOSECONDS.toMicros(nanos) / 1000.0);
+    }
+}
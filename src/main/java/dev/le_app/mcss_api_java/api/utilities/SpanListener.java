@@ -0,0 +1,8 @@
+package dev.le_app.mcss_api_java.api.utilities;
+
+// Receives a span for every attempt made by a Request, called on the requesting thread once the attempt ends
+
+@FunctionalInterface
+public interface SpanListener {
+    void onSpan(Span span);
+}
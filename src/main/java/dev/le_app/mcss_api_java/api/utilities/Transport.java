@@ -0,0 +1,41 @@
+package dev.le_app.mcss_api_java.api.utilities;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Carries the HTTP exchanges of a {@link Request}, a {@link UrlConnectionTransport} unless another one is set.
+ * A call goes through its methods in order: headers, connect, send, status, then body, and is closed once done.
+ */
+public interface Transport {
+
+    // Prepares a request to an absolute URL, nothing is sent yet
+    Call open(String method, String url, int connectTimeout, int readTimeout) throws IOException;
+
+    interface Call extends Closeable {
+
+        void setHeader(String name, String value);
+
+        // Opens or picks the connection to use
+        void connect() throws IOException;
+
+        // Sends the request with its body, null for none
+        void send(byte[] body) throws IOException;
+
+        // Waits for the status line and the headers
+        int getStatus() throws IOException;
+
+        String getHeader(String name);
+
+        // Body of the response, error bodies included, null when there is none
+        InputStream getBody() throws IOException;
+
+        // Aborts the call from another thread
+        void cancel();
+
+        // Releases the call whether its body was read or not, never throws
+        @Override
+        void close();
+    }
+}
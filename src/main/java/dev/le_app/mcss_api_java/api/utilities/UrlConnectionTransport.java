@@ -0,0 +1,85 @@
+package dev.le_app.mcss_api_java.api.utilities;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+
+/**
+ * Transport of {@link HttpURLConnection}, HTTP/1.1 with the keep-alive pool of the JDK.
+ * HttpURLConnection cannot send PATCH, those requests go through an {@link Http2Transport} instead.
+ */
+public class UrlConnectionTransport implements Transport {
+
+    // Created on the first PATCH, so the HTTP client and its selector thread only exist when needed
+    private static final class Patch {
+        static final Http2Transport TRANSPORT = new Http2Transport(1, 16);
+    }
+
+    @Override
+    public Transport.Call open(String method, String url, int connectTimeout, int readTimeout) throws IOException {
+        if (method.equals("PATCH")) return Patch.TRANSPORT.open(method, url, connectTimeout, readTimeout);
+
+        HttpURLConnection con = (HttpURLConnection) new URL(url).openConnection();
+        con.setRequestMethod(method);
+        // Must be set before connecting, which happens before the body is known
+        if (method.equals("POST") || method.equals("PUT")) con.setDoOutput(true);
+        con.setConnectTimeout(connectTimeout);
+        con.setReadTimeout(readTimeout);
+        return new Call(con);
+    }
+
+    private static final class Call implements Transport.Call {
+
+        private final HttpURLConnection con;
+        private int status;
+
+        Call(HttpURLConnection con) {
+            this.con = con;
+        }
+
+        @Override
+        public void setHeader(String name, String value) {
+            this.con.setRequestProperty(name, value);
+        }
+
+        @Override
+        public void connect() throws IOException {
+            this.con.connect();
+        }
+
+        @Override
+        public void send(byte[] body) throws IOException {
+            if (body == null) return;
+            try (OutputStream outputStream = this.con.getOutputStream()) {
+                outputStream.write(body);
+            }
+        }
+
+        @Override
+        public int getStatus() throws IOException {
+            this.status = this.con.getResponseCode();
+            return this.status;
+        }
+
+        @Override
+        public String getHeader(String name) {
+            return this.con.getHeaderField(name);
+        }
+
+        @Override
+        public InputStream getBody() throws IOException {
+            return this.status >= 400 ? this.con.getErrorStream() : this.con.getInputStream();
+        }
+
+        @Override
+        public void cancel() {
+            this.con.disconnect();
+        }
+
+        // The connection goes back to the keep-alive pool once its body is read, nothing to release
+        @Override
+        public void close() {}
+    }
+}
@@ -0,0 +1,158 @@
+package dev.le_app.mcss_api_java.cli;
+
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import dev.le_app.mcss_api_java.api.MCSS;
+import dev.le_app.mcss_api_java.api.console.ConsoleCursor;
+import dev.le_app.mcss_api_java.api.servers.Server;
+import dev.le_app.mcss_api_java.api.servers.ServerAction;
+import dev.le_app.mcss_api_java.api.servers.ServerStats;
+import dev.le_app.mcss_api_java.commons.responses.server.ServerResponse;
+
+/**
+ * Small command line client for scripts and cron jobs, also the entry point of the native image.
+ * <pre>
+ * mcss [--host h] [--port p] [--key k] [--https] servers
+ * mcss ... stats &lt;serverId&gt;
+ * mcss ... action &lt;serverId&gt; start|stop|restart|kill
+ * mcss ... command &lt;serverId&gt; &lt;command...&gt;
+ * mcss ... console &lt;serverId&gt; [lines] [-f]
+ * </pre>
+ * Connection options default to the MCSS_HOST, MCSS_PORT, MCSS_API_KEY and MCSS_HTTPS environment variables.
+ */
+public final class Main {
+
+    public static final int OK = 0;
+    public static final int FAILED = 1;
+    public static final int USAGE = 2;
+
+    private static final String USAGE_TEXT = String.join(System.lineSeparator(),
+        "usage: mcss [--host host] [--port port] [--key apiKey] [--https] [--interval ms] <command>",
+        "  servers                               list servers as id, status and name",
+        "  stats <serverId>                      cpu, memory and players of a server",
+        "  action <serverId> start|stop|restart|kill",
+        "  command <serverId> <command...>       run a console command",
+        "  console <serverId> [lines] [-f]       print the console, -f keeps following it every --interval ms");
+
+    private Main() {}
+
+    public static void main(String[] args) {
+        System.exit(run(args, System.getenv(), System.out, System.err));
+    }
+
+    // Runs one invocation and returns the exit code, never calls System.exit
+    public static int run(String[] args, Map<String, String> env, PrintStream out, PrintStream err) {
+        String host = env.getOrDefault("MCSS_HOST", "localhost");
+        String port = env.getOrDefault("MCSS_PORT", "8080");
+        String key = env.get("MCSS_API_KEY");
+        boolean https = Boolean.parseBoolean(env.getOrDefault("MCSS_HTTPS", "false"));
+        String interval = "1000";
+
+        List<String> positional = new ArrayList<String>();
+        for (int i = 0; i < args.length; i++) {
+            String arg = args[i];
+            // Options are only read before the command, a console command may contain anything
+            if (!positional.isEmpty()) {
+                positional.add(arg);
+                continue;
+            }
+            switch (arg) {
+                case "--host": if (++i < args.length) host = args[i]; break;
+                case "--port": if (++i < args.length) port = args[i]; break;
+                case "--key": if (++i < args.length) key = args[i]; break;
+                case "--interval": if (++i < args.length) interval = args[i]; break;
+                case "--https": https = true; break;
+                case "-h":
+                case "--help":
+                    out.println(USAGE_TEXT);
+                    return OK;
+                default:
+                    if (arg.startsWith("--")) return usage(err, "Unknown option " + arg);
+                    positional.add(arg);
+            }
+        }
+        if (positional.isEmpty()) return usage(err, null);
+        if (key == null) return usage(err, "An API key is required, use --key or MCSS_API_KEY");
+
+        try {
+            long every = Long.parseLong(interval);
+            MCSS mcss = new MCSS(host, Integer.parseInt(port), key, https);
+            String command = positional.get(0);
+            switch (command) {
+                case "servers":
+                    for (ServerResponse server : mcss.getServers()) {
+                        out.println(server.getServerId() + "\t" + server.getServerStatus() + "\t" + server.getName());
+                    }
+                    return OK;
+                case "stats": {
+                    if (positional.size() != 2) return usage(err, "stats needs a server id");
+                    ServerStats stats = mcss.servers.getServer(positional.get(1)).getStats();
+                    out.println("cpu\t" + stats.getCPU());
+                    out.println("memory\t" + stats.getMemoryUsed() + "/" + stats.getMemoryLimit());
+                    out.println("players\t" + stats.getPlayersOnline() + "/" + stats.getPlayerLimit());
+                    return OK;
+                }
+                case "action": {
+                    if (positional.size() != 3) return usage(err, "action needs a server id and an action");
+                    ServerAction action;
+                    try {
+                        action = ServerAction.valueOf(positional.get(2).toUpperCase(Locale.ROOT));
+                    } catch (IllegalArgumentException e) {
+                        return usage(err, "Unknown action " + positional.get(2));
+                    }
+                    if (action == ServerAction.INVALID_OR_EMPTY) return usage(err, "Unknown action " + positional.get(2));
+                    mcss.servers.getServer(positional.get(1)).execute(action);
+                    return OK;
+                }
+                case "command": {
+                    if (positional.size() < 3) return usage(err, "command needs a server id and a command");
+                    mcss.servers.getServer(positional.get(1)).execute(String.join(" ", positional.subList(2, positional.size())));
+                    return OK;
+                }
+                case "console":
+                    return console(mcss, positional, every, out, err);
+                default:
+                    return usage(err, "Unknown command " + command);
+            }
+        } catch (NumberFormatException e) {
+            return usage(err, "Not a number: " + e.getMessage());
+        } catch (Exception e) {
+            err.println("mcss: " + e.getMessage());
+            return FAILED;
+        }
+    }
+
+    private static int console(MCSS mcss, List<String> positional, long interval, PrintStream out, PrintStream err) throws Exception {
+        boolean follow = positional.remove("-f");
+        if (positional.size() < 2 || positional.size() > 3) return usage(err, "console needs a server id");
+        int lines = positional.size() == 3 ? Integer.parseInt(positional.get(2)) : 50;
+        Server server = mcss.servers.getServer(positional.get(1));
+
+        for (String line : server.getConsole(lines, false)) out.println(line);
+        if (!follow) return OK;
+
+        // Polls until the process is interrupted
+        ConsoleCursor cursor = new ConsoleCursor(Math.max(lines, 100));
+        cursor.mark(server);
+        while (!Thread.currentThread().isInterrupted()) {
+            for (String line : cursor.next(server)) out.println(line);
+            out.flush();
+            try {
+                Thread.sleep(interval);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        return OK;
+    }
+
+    private static int usage(PrintStream err, String message) {
+        if (message != null) err.println("mcss: " + message);
+        err.println(USAGE_TEXT);
+        return USAGE;
+    }
+}
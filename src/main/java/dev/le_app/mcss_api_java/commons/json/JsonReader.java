@@ -0,0 +1,525 @@
+package dev.le_app.mcss_api_java.commons.json;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import org.json.JSONArray;
+import org.json.JSONObject;
+
+/**
+ * Pull parser reading JSON tokens straight from a Reader, so models can be decoded without building a tree.
+ * Object keys are returned as canonical strings from a small table, repeated keys do not allocate.
+ */
+public final class JsonReader {
+
+    public enum Token {
+        BEGIN_OBJECT,
+        END_OBJECT,
+        BEGIN_ARRAY,
+        END_ARRAY,
+        NAME,
+        STRING,
+        NUMBER,
+        BOOLEAN,
+        NULL,
+        END
+    }
+
+    // Reads one element of an array, such as a model codec's read method
+    @FunctionalInterface
+    public interface Decoder<T> {
+        T read(JsonReader in) throws IOException;
+    }
+
+    // Where the reader stands in each open container
+    private static final int EMPTY_ARRAY = 1;
+    private static final int NONEMPTY_ARRAY = 2;
+    private static final int EMPTY_OBJECT = 3;
+    private static final int DANGLING_NAME = 4;
+    private static final int NONEMPTY_OBJECT = 5;
+    private static final int EMPTY_DOCUMENT = 6;
+    private static final int NONEMPTY_DOCUMENT = 7;
+
+    private static final int NAMES = 128;
+
+    private static final BigDecimal MIN_LONG = BigDecimal.valueOf(Long.MIN_VALUE);
+    private static final BigDecimal MAX_LONG = BigDecimal.valueOf(Long.MAX_VALUE);
+
+    private final Reader in;
+    private final char[] buffer = new char[8192];
+    private int pos;
+    private int limit;
+
+    private int[] stack = new int[32];
+    private int depth;
+
+    // Token found by peek() and not consumed yet, its opening character is already read
+    private Token peeked;
+    private boolean peekedBoolean;
+
+    private final StringBuilder scratch = new StringBuilder();
+    private final String[] names = new String[NAMES];
+
+    public JsonReader(Reader in) {
+        this.in = in;
+        this.stack[this.depth++] = EMPTY_DOCUMENT;
+    }
+
+    public JsonReader(String json) {
+        this(new StringReader(json));
+    }
+
+    public Token peek() throws IOException {
+        if (this.peeked == null) this.peeked = this.doPeek();
+        return this.peeked;
+    }
+
+    public void beginObject() throws IOException {
+        this.expect(Token.BEGIN_OBJECT);
+        this.push(EMPTY_OBJECT);
+    }
+
+    public void endObject() throws IOException {
+        this.expect(Token.END_OBJECT);
+        this.depth--;
+    }
+
+    public void beginArray() throws IOException {
+        this.expect(Token.BEGIN_ARRAY);
+        this.push(EMPTY_ARRAY);
+    }
+
+    public void endArray() throws IOException {
+        this.expect(Token.END_ARRAY);
+        this.depth--;
+    }
+
+    // Whether the current object or array has another element
+    public boolean hasNext() throws IOException {
+        Token token = this.peek();
+        return token != Token.END_OBJECT && token != Token.END_ARRAY && token != Token.END;
+    }
+
+    public String nextName() throws IOException {
+        this.expect(Token.NAME);
+        return this.readName();
+    }
+
+    // Null for a JSON null
+    public String nextString() throws IOException {
+        Token token = this.peek();
+        if (token == Token.NULL) {
+            this.peeked = null;
+            return null;
+        }
+        if (token == Token.NUMBER) {
+            this.peeked = null;
+            return this.readNumber();
+        }
+        this.expect(Token.STRING);
+        return this.readString();
+    }
+
+    public boolean nextBoolean() throws IOException {
+        this.expect(Token.BOOLEAN);
+        return this.peekedBoolean;
+    }
+
+    public long nextLong() throws IOException {
+        this.expect(Token.NUMBER);
+        long value = 0;
+        boolean negative = false;
+        int digits = 0;
+        while (true) {
+            if (this.pos == this.limit && !this.fill()) break;
+            char c = this.buffer[this.pos];
+            if (c == '-' && digits == 0 && !negative) {
+                negative = true;
+            } else if (c >= '0' && c <= '9' && digits < 18) {
+                value = value * 10 + (c - '0');
+                digits++;
+            } else if (c == '.' || c == 'e' || c == 'E' || (c >= '0' && c <= '9')) {
+                // Fractions, exponents and very long numbers go through the slow path, readNumber() reuses the scratch buffer
+                String head = (negative ? "-" : "") + (digits == 0 ? "" : Long.toString(value));
+                return this.parseLong(head + this.readNumber());
+            } else {
+                break;
+            }
+            this.pos++;
+        }
+        if (digits == 0) throw this.syntaxError("Expected a number");
+        return negative ? -value : value;
+    }
+
+    public int nextInt() throws IOException {
+        long value = this.nextLong();
+        if (value != (int) value) throw this.syntaxError("Number out of int range: " + value);
+        return (int) value;
+    }
+
+    public double nextDouble() throws IOException {
+        this.expect(Token.NUMBER);
+        String number = this.readNumber();
+        try {
+            return Double.parseDouble(number);
+        } catch (NumberFormatException e) {
+            throw this.syntaxError("Invalid number " + number);
+        }
+    }
+
+    public void nextNull() throws IOException {
+        this.expect(Token.NULL);
+    }
+
+    // Skips the next value, nested containers included
+    public void skipValue() throws IOException {
+        int open = 0;
+        do {
+            Token token = this.peek();
+            switch (token) {
+                case BEGIN_OBJECT:
+                    this.beginObject();
+                    open++;
+                    break;
+                case BEGIN_ARRAY:
+                    this.beginArray();
+                    open++;
+                    break;
+                case END_OBJECT:
+                    this.endObject();
+                    open--;
+                    break;
+                case END_ARRAY:
+                    this.endArray();
+                    open--;
+                    break;
+                case NAME:
+                    this.peeked = null;
+                    this.skipString();
+                    break;
+                case STRING:
+                    this.peeked = null;
+                    this.skipString();
+                    break;
+                case NUMBER:
+                    this.peeked = null;
+                    this.readNumber();
+                    break;
+                case BOOLEAN:
+                case NULL:
+                    this.peeked = null;
+                    break;
+                default:
+                    throw this.syntaxError("Unexpected end of input");
+            }
+        } while (open > 0);
+    }
+
+    // Reads the next value as org.json objects, for free-form parts of a model such as task timings
+    public Object readValue() throws IOException {
+        switch (this.peek()) {
+            case BEGIN_OBJECT:
+                JSONObject object = new JSONObject();
+                this.beginObject();
+                while (this.hasNext()) {
+                    String name = this.nextName();
+                    object.put(name, this.readValue());
+                }
+                this.endObject();
+                return object;
+            case BEGIN_ARRAY:
+                JSONArray array = new JSONArray();
+                this.beginArray();
+                while (this.hasNext()) array.put(this.readValue());
+                this.endArray();
+                return array;
+            case STRING:
+                return this.nextString();
+            case NUMBER:
+                this.peeked = null;
+                String number = this.readNumber();
+                return JSONObject.stringToValue(number);
+            case BOOLEAN:
+                return this.nextBoolean();
+            case NULL:
+                this.nextNull();
+                return JSONObject.NULL;
+            default:
+                throw this.syntaxError("Expected a value but was " + this.peek());
+        }
+    }
+
+    // Enters the object and moves to the value of the given key, false if the object has no such key
+    public boolean seek(String name) throws IOException {
+        this.beginObject();
+        while (this.hasNext()) {
+            if (this.nextName().equals(name)) return true;
+            this.skipValue();
+        }
+        this.endObject();
+        return false;
+    }
+
+    // Decodes the array at the reader one element at a time as the stream is consumed, read errors are thrown as UncheckedIOException
+    public <T> Stream<T> stream(Decoder<T> decoder) {
+        return StreamSupport.stream(new Spliterators.AbstractSpliterator<T>(Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL) {
+            private boolean started;
+            private boolean ended;
+
+            @Override
+            public boolean tryAdvance(Consumer<? super T> action) {
+                if (this.ended) return false;
+                try {
+                    if (!this.started) {
+                        JsonReader.this.beginArray();
+                        this.started = true;
+                    }
+                    if (!JsonReader.this.hasNext()) {
+                        JsonReader.this.endArray();
+                        this.ended = true;
+                        return false;
+                    }
+                    action.accept(decoder.read(JsonReader.this));
+                    return true;
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+        }, false);
+    }
+
+    /* TOKENIZER */
+
+    private Token doPeek() throws IOException {
+        int scope = this.stack[this.depth - 1];
+        int c;
+        switch (scope) {
+            case EMPTY_ARRAY:
+                this.stack[this.depth - 1] = NONEMPTY_ARRAY;
+                break;
+            case NONEMPTY_ARRAY:
+                c = this.nextNonWhitespace(true);
+                if (c == ']') return Token.END_ARRAY;
+                if (c != ',') throw this.syntaxError("Expected ',' or ']'");
+                break;
+            case EMPTY_OBJECT:
+            case NONEMPTY_OBJECT:
+                this.stack[this.depth - 1] = DANGLING_NAME;
+                if (scope == NONEMPTY_OBJECT) {
+                    c = this.nextNonWhitespace(true);
+                    if (c == '}') return Token.END_OBJECT;
+                    if (c != ',') throw this.syntaxError("Expected ',' or '}'");
+                }
+                c = this.nextNonWhitespace(true);
+                if (c == '"') return Token.NAME;
+                if (c == '}' && scope == EMPTY_OBJECT) return Token.END_OBJECT;
+                throw this.syntaxError("Expected a name");
+            case DANGLING_NAME:
+                this.stack[this.depth - 1] = NONEMPTY_OBJECT;
+                if (this.nextNonWhitespace(true) != ':') throw this.syntaxError("Expected ':'");
+                break;
+            case EMPTY_DOCUMENT:
+                this.stack[this.depth - 1] = NONEMPTY_DOCUMENT;
+                break;
+            default:
+                if (this.nextNonWhitespace(false) == -1) return Token.END;
+                throw this.syntaxError("Expected the end of the document");
+        }
+
+        c = this.nextNonWhitespace(true);
+        switch (c) {
+            case '{':
+                return Token.BEGIN_OBJECT;
+            case '[':
+                return Token.BEGIN_ARRAY;
+            case ']':
+                if (scope == EMPTY_ARRAY) return Token.END_ARRAY;
+                throw this.syntaxError("Unexpected ']'");
+            case '"':
+                return Token.STRING;
+            case 't':
+                this.literal("rue");
+                this.peekedBoolean = true;
+                return Token.BOOLEAN;
+            case 'f':
+                this.literal("alse");
+                this.peekedBoolean = false;
+                return Token.BOOLEAN;
+            case 'n':
+                this.literal("ull");
+                return Token.NULL;
+            default:
+                if (c == '-' || (c >= '0' && c <= '9')) {
+                    this.pos--;
+                    return Token.NUMBER;
+                }
+                throw this.syntaxError("Unexpected character '" + (char) c + "'");
+        }
+    }
+
+    private void expect(Token token) throws IOException {
+        Token actual = this.peek();
+        if (actual != token) throw this.syntaxError("Expected " + token + " but was " + actual);
+        this.peeked = null;
+    }
+
+    private void push(int scope) {
+        if (this.depth == this.stack.length) this.stack = Arrays.copyOf(this.stack, this.depth * 2);
+        this.stack[this.depth++] = scope;
+    }
+
+    private boolean fill() throws IOException {
+        this.pos = 0;
+        this.limit = 0;
+        int read = this.in.read(this.buffer, 0, this.buffer.length);
+        if (read <= 0) return false;
+        this.limit = read;
+        return true;
+    }
+
+    private int nextNonWhitespace(boolean required) throws IOException {
+        while (true) {
+            if (this.pos == this.limit && !this.fill()) {
+                if (required) throw this.syntaxError("Unexpected end of input");
+                return -1;
+            }
+            char c = this.buffer[this.pos++];
+            if (c != ' ' && c != '\n' && c != '\r' && c != '\t') return c;
+        }
+    }
+
+    private void literal(String rest) throws IOException {
+        for (int i = 0; i < rest.length(); i++) {
+            if (this.pos == this.limit && !this.fill()) throw this.syntaxError("Unexpected end of input");
+            if (this.buffer[this.pos++] != rest.charAt(i)) throw this.syntaxError("Invalid literal");
+        }
+    }
+
+    private String readNumber() throws IOException {
+        this.scratch.setLength(0);
+        while (true) {
+            if (this.pos == this.limit && !this.fill()) break;
+            char c = this.buffer[this.pos];
+            if ((c >= '0' && c <= '9') || c == '-' || c == '+' || c == '.' || c == 'e' || c == 'E') {
+                this.scratch.append(c);
+                this.pos++;
+            } else {
+                break;
+            }
+        }
+        if (this.scratch.length() == 0) throw this.syntaxError("Expected a number");
+        return this.scratch.toString();
+    }
+
+    // Whole numbers parse exactly, fractions and exponents are truncated toward zero as org.json does
+    private long parseLong(String number) throws IOException {
+        try {
+            if (number.indexOf('.') < 0 && number.indexOf('e') < 0 && number.indexOf('E') < 0) return Long.parseLong(number);
+            BigDecimal decimal = new BigDecimal(number);
+            if (decimal.compareTo(MIN_LONG) < 0 || decimal.compareTo(MAX_LONG) > 0) throw this.syntaxError("Number out of long range: " + number);
+            return decimal.longValue();
+        } catch (NumberFormatException e) {
+            throw this.syntaxError("Invalid long " + number);
+        }
+    }
+
+    // Names without escapes inside the buffer are hashed in place and looked up before anything is allocated
+    private String readName() throws IOException {
+        int hash = 0;
+        for (int i = this.pos; i < this.limit; i++) {
+            char c = this.buffer[i];
+            if (c == '\\') break;
+            if (c == '"') {
+                String name = this.intern(this.buffer, this.pos, i - this.pos, hash);
+                this.pos = i + 1;
+                return name;
+            }
+            hash = 31 * hash + c;
+        }
+        String name = this.readString();
+        return this.intern(name.toCharArray(), 0, name.length(), name.hashCode());
+    }
+
+    private String intern(char[] chars, int start, int length, int hash) {
+        int slot = (hash ^ (hash >>> 16)) & (NAMES - 1);
+        String cached = this.names[slot];
+        if (cached != null && cached.length() == length) {
+            boolean same = true;
+            for (int i = 0; i < length && same; i++) same = cached.charAt(i) == chars[start + i];
+            if (same) return cached;
+        }
+        String name = new String(chars, start, length);
+        this.names[slot] = name;
+        return name;
+    }
+
+    private String readString() throws IOException {
+        // Fast path, the whole string sits in the buffer without escapes
+        for (int i = this.pos; i < this.limit; i++) {
+            char c = this.buffer[i];
+            if (c == '\\') break;
+            if (c == '"') {
+                String value = new String(this.buffer, this.pos, i - this.pos);
+                this.pos = i + 1;
+                return value;
+            }
+        }
+
+        this.scratch.setLength(0);
+        while (true) {
+            if (this.pos == this.limit && !this.fill()) throw this.syntaxError("Unterminated string");
+            char c = this.buffer[this.pos++];
+            if (c == '"') return this.scratch.toString();
+            if (c != '\\') {
+                this.scratch.append(c);
+                continue;
+            }
+            if (this.pos == this.limit && !this.fill()) throw this.syntaxError("Unterminated escape");
+            char escaped = this.buffer[this.pos++];
+            switch (escaped) {
+                case 'n': this.scratch.append('\n'); break;
+                case 't': this.scratch.append('\t'); break;
+                case 'r': this.scratch.append('\r'); break;
+                case 'b': this.scratch.append('\b'); break;
+                case 'f': this.scratch.append('\f'); break;
+                case 'u':
+                    int code = 0;
+                    for (int i = 0; i < 4; i++) {
+                        if (this.pos == this.limit && !this.fill()) throw this.syntaxError("Unterminated escape");
+                        int digit = Character.digit(this.buffer[this.pos++], 16);
+                        if (digit < 0) throw this.syntaxError("Invalid unicode escape");
+                        code = code * 16 + digit;
+                    }
+                    this.scratch.append((char) code);
+                    break;
+                default:
+                    this.scratch.append(escaped);
+            }
+        }
+    }
+
+    private void skipString() throws IOException {
+        while (true) {
+            if (this.pos == this.limit && !this.fill()) throw this.syntaxError("Unterminated string");
+            char c = this.buffer[this.pos++];
+            if (c == '"') return;
+            if (c == '\\') {
+                if (this.pos == this.limit && !this.fill()) throw this.syntaxError("Unterminated escape");
+                this.pos++;
+            }
+        }
+    }
+
+    private IOException syntaxError(String message) {
+        return new IOException("Malformed JSON: " + message);
+    }
+}
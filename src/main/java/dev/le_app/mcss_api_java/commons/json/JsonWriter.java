@@ -0,0 +1,139 @@
+package dev.le_app.mcss_api_java.commons.json;
+
+import java.util.Arrays;
+
+import org.json.JSONObject;
+
+/**
+ * Writes JSON straight into a StringBuilder, the counterpart of JsonReader for request bodies.
+ */
+public final class JsonWriter {
+
+    private final StringBuilder out;
+
+    // Whether the container at each depth still has no element
+    private boolean[] empty = new boolean[16];
+    private int depth;
+    private boolean afterName;
+
+    public JsonWriter(StringBuilder out) {
+        this.out = out;
+    }
+
+    public JsonWriter() {
+        this(new StringBuilder(256));
+    }
+
+    public JsonWriter beginObject() {
+        this.separate();
+        this.out.append('{');
+        this.open();
+        return this;
+    }
+
+    public JsonWriter endObject() {
+        this.depth--;
+        this.out.append('}');
+        return this;
+    }
+
+    public JsonWriter beginArray() {
+        this.separate();
+        this.out.append('[');
+        this.open();
+        return this;
+    }
+
+    public JsonWriter endArray() {
+        this.depth--;
+        this.out.append(']');
+        return this;
+    }
+
+    public JsonWriter name(String name) {
+        this.separate();
+        this.string(name);
+        this.out.append(':');
+        this.afterName = true;
+        return this;
+    }
+
+    public JsonWriter value(String value) {
+        if (value == null) return this.nullValue();
+        this.separate();
+        this.string(value);
+        return this;
+    }
+
+    public JsonWriter value(long value) {
+        this.separate();
+        this.out.append(value);
+        return this;
+    }
+
+    public JsonWriter value(boolean value) {
+        this.separate();
+        this.out.append(value);
+        return this;
+    }
+
+    public JsonWriter value(String[] values) {
+        if (values == null) return this.nullValue();
+        this.beginArray();
+        for (String value : values) this.value(value);
+        return this.endArray();
+    }
+
+    // Writes an org.json value as is, for free-form parts of a model
+    public JsonWriter raw(Object value) {
+        this.separate();
+        this.out.append(value == null ? "null" : JSONObject.valueToString(value));
+        return this;
+    }
+
+    public JsonWriter nullValue() {
+        this.separate();
+        this.out.append("null");
+        return this;
+    }
+
+    public String toString() {
+        return this.out.toString();
+    }
+
+    private void open() {
+        if (this.depth == this.empty.length) this.empty = Arrays.copyOf(this.empty, this.depth * 2);
+        this.empty[this.depth++] = true;
+    }
+
+    // Adds the comma between elements, values right after a name need none
+    private void separate() {
+        if (this.afterName) {
+            this.afterName = false;
+            return;
+        }
+        if (this.depth == 0) return;
+        if (!this.empty[this.depth - 1]) this.out.append(',');
+        this.empty[this.depth - 1] = false;
+    }
+
+    private void string(String value) {
+        this.out.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"': this.out.append("\\\""); break;
+                case '\\': this.out.append("\\\\"); break;
+                case '\n': this.out.append("\\n"); break;
+                case '\r': this.out.append("\\r"); break;
+                case '\t': this.out.append("\\t"); break;
+                case '\b': this.out.append("\\b"); break;
+                case '\f': this.out.append("\\f"); break;
+                default:
+                    if (c < 0x20) this.out.append(String.format("\\u%04x", (int) c));
+                    else this.out.append(c);
+            }
+        }
+        this.out.append('"');
+    }
+}
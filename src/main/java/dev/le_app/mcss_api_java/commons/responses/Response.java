@@ -1,5 +1,10 @@
 package dev.le_app.mcss_api_java.commons.responses;
 
+import java.util.function.Function;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import org.json.JSONArray;
 import org.json.JSONObject;
 
 public class Response {
@@ -15,14 +20,19 @@ public class Response {
     }
 
     public int getStatus() {
-        return this.json.getInt("status");
+        return this.getRaw().getInt("status");
     }
 
     public JSONObject getRaw() {
         return this.json;
     }
 
+    // Decodes the entries of a JSON array one at a time, as the stream is consumed
+    protected static <T> Stream<T> stream(JSONArray array, Function<JSONObject, T> decoder) {
+        return IntStream.range(0, array.length()).mapToObj(i -> decoder.apply(array.getJSONObject(i)));
+    }
+
     public String toString() {
-        return this.json.toString();
+        return this.getRaw().toString();
     }
 }
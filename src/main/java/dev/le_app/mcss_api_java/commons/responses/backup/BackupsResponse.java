@@ -1,6 +1,7 @@
 package dev.le_app.mcss_api_java.commons.responses.backup;
 
 import java.util.ArrayList;
+import java.util.stream.Stream;
 
 import dev.le_app.mcss_api_java.api.backups.Backup;
 import org.json.JSONObject;
@@ -23,4 +24,8 @@ public class BackupsResponse extends Response {
         }
         return backups;
     }
+
+    public Stream<Backup> stream() {
+        return stream(this.json.getJSONArray("backups"), Backup::new);
+    }
 }
@@ -1,6 +1,8 @@
 package dev.le_app.mcss_api_java.commons.responses.client;
 
 import java.util.ArrayList;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import dev.le_app.mcss_api_java.commons.responses.server.ServerResponse;
 import org.json.JSONObject;
@@ -16,14 +18,17 @@ public class ServersResponse extends Response {
     public ServersResponse(JSONObject responses) {
         super(responses);
         this.json = responses;
-        this.servers = new ArrayList<ServerResponse>();
-        for (int i = 0; i < json.getJSONArray("data").length(); i++) {
-            servers.add(new ServerResponse(json.getJSONArray("data").getJSONObject(i)));
-        }
     }
 
     public ArrayList<ServerResponse> getServers() {
+        if (this.servers == null) {
+            this.servers = this.stream().collect(Collectors.toCollection(ArrayList::new));
+        }
         return this.servers;
     }
 
+    public Stream<ServerResponse> stream() {
+        return stream(this.json.getJSONArray("data"), ServerResponse::new);
+    }
+
 }
@@ -1,6 +1,7 @@
 package dev.le_app.mcss_api_java.commons.responses.schedule;
 
 import java.util.ArrayList;
+import java.util.stream.Stream;
 
 import org.json.JSONObject;
 
@@ -23,4 +24,8 @@ public class TasksResponse extends Response {
         }
         return tasks;
     }
+
+    public Stream<Task> stream() {
+        return stream(this.json.getJSONArray("tasks"), Task::new);
+    }
 }
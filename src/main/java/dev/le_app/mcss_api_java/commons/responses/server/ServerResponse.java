@@ -2,56 +2,87 @@ package dev.le_app.mcss_api_java.commons.responses.server;
 
 import org.json.JSONObject;
 
+import dev.le_app.mcss_api_java.api.servers.ServerStatus;
 import dev.le_app.mcss_api_java.commons.responses.Response;
 import dev.le_app.mcss_api_java.commons.structures.KeepOnline;
 
+// Built by ServerResponseCodec, fields are already decoded and the JSON is only built if getRaw() is called.
+
 public class ServerResponse extends Response {
-    
+
+    private JSONObject json;
+
     private String serverId;
     private int status;
     private String name;
     private String description;
     private String pathToFolder;
     private String folderName;
-    private String serverType;
+    private String type;
     private String creationDate;
     private boolean isSetToAutoStart;
     private boolean forceSaveOnStop;
-    private KeepOnline keepOnline;
     private int javaAllocatedMemory;
+    private KeepOnline keepOnline;
     private String javaStartupLine;
 
     public ServerResponse(JSONObject json) {
         super(json);
+        this.json = json;
         this.serverId = json.getString("serverId");
         this.status = json.getInt("status");
         this.name = json.getString("name");
         this.description = json.getString("description");
         this.pathToFolder = json.getString("pathToFolder");
         this.folderName = json.getString("folderName");
-        this.serverType = json.getString("type");
+        this.type = json.getString("type");
         this.creationDate = json.getString("creationDate");
         this.isSetToAutoStart = json.getBoolean("isSetToAutoStart");
         this.forceSaveOnStop = json.getBoolean("forceSaveOnStop");
-        this.keepOnline = KeepOnline.fromValue(json.getInt("keepOnline"));
         this.javaAllocatedMemory = json.getInt("javaAllocatedMemory");
+        this.keepOnline = KeepOnline.fromValue(json.getInt("keepOnline"));
         this.javaStartupLine = json.getString("javaStartupLine");
     }
 
-    public String getName() { return name; }
-    public String getDescription() { return description; }
-    public boolean isSetToAutoStart() { return isSetToAutoStart; }
-    public boolean isForceSaveOnStop() { return forceSaveOnStop; }
-    public int getJavaAllocatedMemory() { return javaAllocatedMemory; }
-    public KeepOnline getKeepOnline() { return keepOnline; }
-    public String getServerId() { return serverId; }
-    public int getStatus() { return status; }
-    public String getPathToFolder() { return pathToFolder; }
-    public String getFolderName() { return folderName; }
-    public String getServerType() { return serverType; }
-    public String getCreationDate() { return creationDate; }
-    public String getJavaStartupLine() { return javaStartupLine; }
+    ServerResponse(String serverId, int status, String name, String description, String pathToFolder, String folderName,
+                   String type, String creationDate, boolean isSetToAutoStart, boolean forceSaveOnStop,
+                   int javaAllocatedMemory, KeepOnline keepOnline, String javaStartupLine) {
+        super();
+        this.serverId = serverId;
+        this.status = status;
+        this.name = name;
+        this.description = description;
+        this.pathToFolder = pathToFolder;
+        this.folderName = folderName;
+        this.type = type;
+        this.creationDate = creationDate;
+        this.isSetToAutoStart = isSetToAutoStart;
+        this.forceSaveOnStop = forceSaveOnStop;
+        this.javaAllocatedMemory = javaAllocatedMemory;
+        this.keepOnline = keepOnline;
+        this.javaStartupLine = javaStartupLine;
+    }
 
+    public String getName() { return this.name; }
+    public String getDescription() { return this.description; }
+    public boolean isSetToAutoStart() { return this.isSetToAutoStart; }
+    public boolean isForceSaveOnStop() { return this.forceSaveOnStop; }
+    public int getJavaAllocatedMemory() { return this.javaAllocatedMemory; }
+    public KeepOnline getKeepOnline() { return this.keepOnline; }
+    public String getServerId() { return this.serverId; }
+    public int getStatus() { return this.status; }
+    public ServerStatus getServerStatus() { return ServerStatus.fromValue(this.status); }
+    public String getPathToFolder() { return this.pathToFolder; }
+    public String getFolderName() { return this.folderName; }
+    public String getServerType() { return this.type; }
+    public String getCreationDate() { return this.creationDate; }
+    public String getJavaStartupLine() { return this.javaStartupLine; }
+
+    @Override
+    public synchronized JSONObject getRaw() {
+        if (this.json == null) this.json = this.toJSON();
+        return this.json;
+    }
 
     public JSONObject toJSON() {
         JSONObject json = new JSONObject();
@@ -61,7 +92,7 @@ public class ServerResponse extends Response {
         json.put("description", this.description);
         json.put("pathToFolder", this.pathToFolder);
         json.put("folderName", this.folderName);
-        json.put("type", this.serverType);
+        json.put("type", this.type);
         json.put("creationDate", this.creationDate);
         json.put("isSetToAutoStart", this.isSetToAutoStart);
         json.put("forceSaveOnStop", this.forceSaveOnStop);
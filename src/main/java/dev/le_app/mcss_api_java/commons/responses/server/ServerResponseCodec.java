@@ -0,0 +1,98 @@
+package dev.le_app.mcss_api_java.commons.responses.server;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.stream.Stream;
+
+import dev.le_app.mcss_api_java.commons.json.JsonReader;
+import dev.le_app.mcss_api_java.commons.json.JsonWriter;
+import dev.le_app.mcss_api_java.commons.structures.KeepOnline;
+
+/**
+ * Decodes servers straight from the token stream, unknown keys are skipped.
+ */
+public final class ServerResponseCodec {
+
+    // Bit of each field in the seen mask
+    private static final String[] FIELDS = { "serverId", "status", "name", "description", "pathToFolder", "folderName", "type",
+        "creationDate", "isSetToAutoStart", "forceSaveOnStop", "javaAllocatedMemory", "keepOnline", "javaStartupLine" };
+
+    private ServerResponseCodec() {}
+
+    public static ServerResponse read(JsonReader in) throws IOException {
+        String serverId = null;
+        int status = 0;
+        String name = null;
+        String description = null;
+        String pathToFolder = null;
+        String folderName = null;
+        String type = null;
+        String creationDate = null;
+        boolean isSetToAutoStart = false;
+        boolean forceSaveOnStop = false;
+        int javaAllocatedMemory = 0;
+        KeepOnline keepOnline = null;
+        String javaStartupLine = null;
+        int seen = 0;
+
+        in.beginObject();
+        while (in.hasNext()) {
+            switch (in.nextName()) {
+                case "serverId": serverId = in.nextString(); seen |= 1 << 0; break;
+                case "status": status = in.nextInt(); seen |= 1 << 1; break;
+                case "name": name = in.nextString(); seen |= 1 << 2; break;
+                case "description": description = in.nextString(); seen |= 1 << 3; break;
+                case "pathToFolder": pathToFolder = in.nextString(); seen |= 1 << 4; break;
+                case "folderName": folderName = in.nextString(); seen |= 1 << 5; break;
+                case "type": type = in.nextString(); seen |= 1 << 6; break;
+                case "creationDate": creationDate = in.nextString(); seen |= 1 << 7; break;
+                case "isSetToAutoStart": isSetToAutoStart = in.nextBoolean(); seen |= 1 << 8; break;
+                case "forceSaveOnStop": forceSaveOnStop = in.nextBoolean(); seen |= 1 << 9; break;
+                case "javaAllocatedMemory": javaAllocatedMemory = in.nextInt(); seen |= 1 << 10; break;
+                case "keepOnline": keepOnline = KeepOnline.fromValue(in.nextInt()); seen |= 1 << 11; break;
+                case "javaStartupLine": javaStartupLine = in.nextString(); seen |= 1 << 12; break;
+                default: in.skipValue();
+            }
+        }
+        in.endObject();
+        // Every field is required, as with ServerResponse(JSONObject)
+        if (seen != (1 << FIELDS.length) - 1) throw new IOException("Server is missing " + FIELDS[Integer.numberOfTrailingZeros(~seen)]);
+
+        return new ServerResponse(serverId, status, name, description, pathToFolder, folderName, type, creationDate,
+            isSetToAutoStart, forceSaveOnStop, javaAllocatedMemory, keepOnline, javaStartupLine);
+    }
+
+    // Reads the array answered by GET /servers
+    public static ArrayList<ServerResponse> readList(Reader body) throws IOException {
+        JsonReader in = new JsonReader(body);
+        ArrayList<ServerResponse> servers = new ArrayList<ServerResponse>();
+        in.beginArray();
+        while (in.hasNext()) servers.add(read(in));
+        in.endArray();
+        return servers;
+    }
+
+    // Same array decoded one server at a time as the stream is consumed
+    public static Stream<ServerResponse> stream(Reader body) {
+        return new JsonReader(body).stream(ServerResponseCodec::read);
+    }
+
+    public static JsonWriter write(JsonWriter out, ServerResponse server) {
+        out.beginObject();
+        out.name("serverId").value(server.getServerId());
+        out.name("status").value(server.getStatus());
+        out.name("name").value(server.getName());
+        out.name("description").value(server.getDescription());
+        out.name("pathToFolder").value(server.getPathToFolder());
+        out.name("folderName").value(server.getFolderName());
+        out.name("type").value(server.getServerType());
+        out.name("creationDate").value(server.getCreationDate());
+        out.name("isSetToAutoStart").value(server.isSetToAutoStart());
+        out.name("forceSaveOnStop").value(server.isForceSaveOnStop());
+        out.name("javaAllocatedMemory").value(server.getJavaAllocatedMemory());
+        if (server.getKeepOnline() != null) out.name("keepOnline").value(server.getKeepOnline().getValue());
+        out.name("javaStartupLine").value(server.getJavaStartupLine());
+        return out.endObject();
+    }
+}
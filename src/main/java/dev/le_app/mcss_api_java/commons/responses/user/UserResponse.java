@@ -1,7 +1,5 @@
 package dev.le_app.mcss_api_java.commons.responses.user;
 
-import java.util.HashMap;
-
 import dev.le_app.mcss_api_java.api.users.Permission;
 import dev.le_app.mcss_api_java.api.users.PermissionObject;
 import org.json.JSONObject;
@@ -10,6 +8,8 @@ import dev.le_app.mcss_api_java.commons.responses.Response;
 
 public class UserResponse extends Response {
 
+    private JSONObject json;
+
     private String userId;
     private String username;
     private boolean enabled;
@@ -21,6 +21,7 @@ public class UserResponse extends Response {
 
     public UserResponse(JSONObject response) {
         super(response);
+        this.json = response;
         this.userId = response.getString("userId");
         this.username = response.getString("username");
         this.enabled = response.getBoolean("enabled");
@@ -29,17 +30,21 @@ public class UserResponse extends Response {
         this.createdAt = response.getString("createdAt");
         this.lastModifiedAt = response.getString("lastModifiedAt");
 
-        JSONObject serverPermissions = response.getJSONObject("customServerPermissions");
-
-        for (String serverId : serverPermissions.keySet()) {
-            HashMap<String, Permission> perms = new HashMap<String, Permission>();
-            JSONObject serverPerms = serverPermissions.getJSONObject(serverId);
-            for (String perm : serverPerms.keySet()) {
-                perms.put(perm, Permission.fromString(serverPerms.getString(perm)));
-            }
-            permissions[permissions.length] = new PermissionObject(serverId, perms);
-        }
+        this.permissions = PermissionObject.fromJSON(response.getJSONObject("customServerPermissions"));
+    }
 
+    // Used by UserResponseCodec, the JSON is only built if getRaw() is called
+    UserResponse(String userId, String username, boolean enabled, boolean isAdmin, boolean hasAccessToAllServers,
+                 PermissionObject[] permissions, String createdAt, String lastModifiedAt) {
+        super();
+        this.userId = userId;
+        this.username = username;
+        this.enabled = enabled;
+        this.isAdmin = isAdmin;
+        this.hasAccessToAllServers = hasAccessToAllServers;
+        this.permissions = permissions;
+        this.createdAt = createdAt;
+        this.lastModifiedAt = lastModifiedAt;
     }
 
     public String getUserId() { return userId; }
@@ -74,6 +79,12 @@ public class UserResponse extends Response {
         return false;
     }
 
+    @Override
+    public synchronized JSONObject getRaw() {
+        if (this.json == null) this.json = this.toJSON();
+        return this.json;
+    }
+
     public JSONObject toJSON() {
         JSONObject json = new JSONObject();
         json.put("userId", userId);
@@ -84,15 +95,7 @@ public class UserResponse extends Response {
         json.put("createdAt", createdAt);
         json.put("lastModifiedAt", lastModifiedAt);
 
-        JSONObject serverPermissions = new JSONObject();
-
-        for (PermissionObject perm : permissions) {
-            JSONObject serverPerms = new JSONObject();
-            for (String p : perm.getPermissions().keySet()) {
-                serverPerms.put(p, perm.getPermissions().get(p).toString());
-            }
-            serverPermissions.put(perm.getServerId(), serverPerms);
-        }
+        json.put("customServerPermissions", PermissionObject.toJSON(permissions));
         return json;
     }
     
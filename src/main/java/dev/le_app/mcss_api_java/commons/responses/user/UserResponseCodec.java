@@ -0,0 +1,123 @@
+package dev.le_app.mcss_api_java.commons.responses.user;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import dev.le_app.mcss_api_java.api.users.Permission;
+import dev.le_app.mcss_api_java.api.users.PermissionObject;
+import dev.le_app.mcss_api_java.commons.json.JsonReader;
+import dev.le_app.mcss_api_java.commons.json.JsonWriter;
+
+/**
+ * Decodes users straight from the token stream, unknown keys are skipped.
+ */
+public final class UserResponseCodec {
+
+    private static final PermissionObject[] NO_PERMISSIONS = new PermissionObject[0];
+
+    // Bit of each field in the seen mask
+    private static final String[] FIELDS = { "userId", "username", "enabled", "isAdmin", "hasAccessToAllServers",
+        "customServerPermissions", "createdAt", "lastModifiedAt" };
+
+    private UserResponseCodec() {}
+
+    public static UserResponse read(JsonReader in) throws IOException {
+        String userId = null;
+        String username = null;
+        boolean enabled = false;
+        boolean isAdmin = false;
+        boolean hasAccessToAllServers = false;
+        PermissionObject[] permissions = NO_PERMISSIONS;
+        String createdAt = null;
+        String lastModifiedAt = null;
+        int seen = 0;
+
+        in.beginObject();
+        while (in.hasNext()) {
+            switch (in.nextName()) {
+                case "userId": userId = in.nextString(); seen |= 1 << 0; break;
+                case "username": username = in.nextString(); seen |= 1 << 1; break;
+                case "enabled": enabled = in.nextBoolean(); seen |= 1 << 2; break;
+                case "isAdmin": isAdmin = in.nextBoolean(); seen |= 1 << 3; break;
+                case "hasAccessToAllServers": hasAccessToAllServers = in.nextBoolean(); seen |= 1 << 4; break;
+                case "customServerPermissions": permissions = readPermissions(in); seen |= 1 << 5; break;
+                case "createdAt": createdAt = in.nextString(); seen |= 1 << 6; break;
+                case "lastModifiedAt": lastModifiedAt = in.nextString(); seen |= 1 << 7; break;
+                default: in.skipValue();
+            }
+        }
+        in.endObject();
+        // Every field is required, as with UserResponse(JSONObject)
+        if (seen != (1 << FIELDS.length) - 1) throw new IOException("User is missing " + FIELDS[Integer.numberOfTrailingZeros(~seen)]);
+
+        return new UserResponse(userId, username, enabled, isAdmin, hasAccessToAllServers, permissions, createdAt, lastModifiedAt);
+    }
+
+    // Reads the array answered by GET /users
+    public static ArrayList<UserResponse> readList(Reader body) throws IOException {
+        JsonReader in = new JsonReader(body);
+        ArrayList<UserResponse> users = new ArrayList<UserResponse>();
+        in.beginArray();
+        while (in.hasNext()) users.add(read(in));
+        in.endArray();
+        return users;
+    }
+
+    // Same list decoded one user at a time as the stream is consumed
+    public static Stream<UserResponse> stream(Reader body) {
+        return new JsonReader(body).stream(UserResponseCodec::read);
+    }
+
+    // Same shape as PermissionObject.fromJSON, server id to permission name to value
+    public static PermissionObject[] readPermissions(JsonReader in) throws IOException {
+        if (in.peek() == JsonReader.Token.NULL) {
+            in.nextNull();
+            return NO_PERMISSIONS;
+        }
+        List<PermissionObject> permissions = new ArrayList<PermissionObject>();
+        in.beginObject();
+        while (in.hasNext()) {
+            String serverId = in.nextName();
+            HashMap<String, Permission> perms = new HashMap<String, Permission>();
+            in.beginObject();
+            while (in.hasNext()) {
+                String perm = in.nextName();
+                perms.put(perm, Permission.fromString(in.nextString()));
+            }
+            in.endObject();
+            permissions.add(new PermissionObject(serverId, perms));
+        }
+        in.endObject();
+        return permissions.toArray(NO_PERMISSIONS);
+    }
+
+    public static JsonWriter writePermissions(JsonWriter out, PermissionObject[] permissions) {
+        out.beginObject();
+        for (PermissionObject perm : permissions) {
+            out.name(perm.getServerId()).beginObject();
+            for (Map.Entry<String, Permission> p : perm.getPermissions().entrySet()) {
+                out.name(p.getKey()).value(p.getValue() == null ? null : p.getValue().toString());
+            }
+            out.endObject();
+        }
+        return out.endObject();
+    }
+
+    public static JsonWriter write(JsonWriter out, UserResponse user) {
+        out.beginObject();
+        out.name("userId").value(user.getUserId());
+        out.name("username").value(user.getUsername());
+        out.name("enabled").value(user.isEnabled());
+        out.name("isAdmin").value(user.isAdmin());
+        out.name("hasAccessToAllServers").value(user.hasAccessToAllServers());
+        out.name("createdAt").value(user.getCreatedAt());
+        out.name("lastModifiedAt").value(user.getLastModifiedAt());
+        writePermissions(out.name("customServerPermissions"), user.getPermissions());
+        return out.endObject();
+    }
+}
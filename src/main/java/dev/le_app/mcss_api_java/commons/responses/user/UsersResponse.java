@@ -1,6 +1,8 @@
 package dev.le_app.mcss_api_java.commons.responses.user;
 
 import java.util.ArrayList;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import org.json.JSONObject;
 
@@ -15,14 +17,17 @@ public class UsersResponse extends Response {
     public UsersResponse(JSONObject responses) {
         super(responses);
         this.json = responses;
-        this.users = new ArrayList<UserResponse>();
-        for (int i = 0; i < json.getJSONArray("data").length(); i++) {
-            users.add(new UserResponse(json.getJSONArray("data").getJSONObject(i)));
-        }
     }
 
     public ArrayList<UserResponse> getUsers() {
+        if (this.users == null) {
+            this.users = this.stream().collect(Collectors.toCollection(ArrayList::new));
+        }
         return this.users;
     }
 
+    public Stream<UserResponse> stream() {
+        return stream(this.json.getJSONArray("data"), UserResponse::new);
+    }
+
 }
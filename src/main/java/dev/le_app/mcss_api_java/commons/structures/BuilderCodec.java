@@ -0,0 +1,72 @@
+package dev.le_app.mcss_api_java.commons.structures;
+
+import dev.le_app.mcss_api_java.api.exceptions.RequiredException;
+import dev.le_app.mcss_api_java.commons.json.JsonWriter;
+import dev.le_app.mcss_api_java.commons.responses.user.UserResponseCodec;
+
+/**
+ * Writes request bodies of the builders without going through a JSONObject, same keys as their toJSON().
+ */
+public final class BuilderCodec {
+
+    private BuilderCodec() {}
+
+    public static JsonWriter write(JsonWriter out, ServerBuilder server) throws RequiredException {
+        server.check();
+        out.beginObject();
+        out.name("name").value(server.getName());
+        out.name("description").value(server.getDescription());
+        out.name("isSetToAutoStart").value(server.isSetToAutoStart());
+        out.name("forceSaveOnStop").value(server.isForceSaveOnStop());
+        out.name("javaAllocatedMemory").value(server.getJavaAllocatedMemory());
+        out.name("keepOnline").value(server.getKeepOnline().getValue());
+        return out.endObject();
+    }
+
+    public static JsonWriter write(JsonWriter out, UserBuilder user) {
+        return writeUser(out, user, false);
+    }
+
+    // Body of a user creation, which repeats the password
+    public static JsonWriter writeCreate(JsonWriter out, UserBuilder user) {
+        return writeUser(out, user, true);
+    }
+
+    public static JsonWriter write(JsonWriter out, TaskBuilder task) {
+        out.beginObject();
+        out.name("name").value(task.getName());
+        out.name("enabled").value(task.getEnabled());
+        out.name("playerRequirement").value(task.getPlayerRequirement());
+        out.name("timing").raw(task.getTiming());
+        out.name("job").raw(task.getJob());
+        return out.endObject();
+    }
+
+    public static JsonWriter write(JsonWriter out, BackupBuilder backup) {
+        out.beginObject();
+        out.name("name").value(backup.getName());
+        out.name("destination").value(backup.getDestination());
+        out.name("suspend").value(backup.getSuspend());
+        out.name("compression").value(backup.getCompression() == null ? null : backup.getCompression().name());
+        out.name("deleteOldBackups").value(backup.getDeleteOldBackups());
+        out.name("runBackupAfterCreation").value(backup.getRunBackupAfterCreation());
+        out.name("fileBlacklist").value(backup.getFileBlacklist());
+        out.name("folderBlacklist").value(backup.getFolderBlacklist());
+        return out.endObject();
+    }
+
+    private static JsonWriter writeUser(JsonWriter out, UserBuilder user, boolean repeatPassword) {
+        out.beginObject();
+        out.name("username").value(user.getUsername());
+        // Left out like JSONObject.put drops null values
+        if (user.getPassword() != null) {
+            out.name("password").value(user.getPassword());
+            if (repeatPassword) out.name("passwordRepeat").value(user.getPassword());
+        }
+        out.name("enabled").value(user.isEnabled());
+        out.name("isAdmin").value(user.isAdmin());
+        out.name("hasAccessToAllServers").value(user.hasAccessToAllServers());
+        if (user.getPermissions() != null) UserResponseCodec.writePermissions(out.name("customServerPermissions"), user.getPermissions());
+        return out.endObject();
+    }
+}
@@ -64,7 +64,7 @@ public class ServerBuilder {
     public void setKeepOnline(KeepOnline keepOnline) { this.keepOnline = keepOnline; }
     public void setKeepOnline(int keepOnline) { this.keepOnline = KeepOnline.fromValue(keepOnline); }
 
-    private void check() throws RequiredException {
+    void check() throws RequiredException {
         List<String> requiredFields = new ArrayList<>();
         if(this.name == null || this.name.isEmpty()) requiredFields.add("name");
         if(this.description == null || this.description.isEmpty()) requiredFields.add("description");
@@ -1,8 +1,5 @@
 package dev.le_app.mcss_api_java.commons.structures;
 
-import java.util.HashMap;
-
-import dev.le_app.mcss_api_java.api.users.Permission;
 import dev.le_app.mcss_api_java.api.users.PermissionObject;
 import org.json.JSONObject;
 
@@ -17,22 +14,11 @@ public class UserBuilder {
 
     public UserBuilder(JSONObject json) {
         this.username = json.getString("username");
-        this.password = json.getString("password");
+        this.password = json.optString("password", null);
         this.enabled = json.getBoolean("enabled");
         this.isAdmin = json.getBoolean("isAdmin");
         this.hasAccessToAllServers = json.getBoolean("hasAccessToAllServers");
-        this.permissions = null;
-
-        JSONObject serverPermissions = json.getJSONObject("customServerPermissions");
-
-        for (String serverId : serverPermissions.keySet()) {
-            HashMap<String, Permission> perms = new HashMap<String, Permission>();
-            JSONObject serverPerms = serverPermissions.getJSONObject(serverId);
-            for (String perm : serverPerms.keySet()) {
-                perms.put(perm, Permission.fromString(serverPerms.getString(perm)));
-            }
-            permissions[permissions.length] = new PermissionObject(serverId, perms);
-        }
+        this.permissions = PermissionObject.fromJSON(json.getJSONObject("customServerPermissions"));
     }
 
     public UserBuilder() {
@@ -59,14 +45,7 @@ public class UserBuilder {
 
     public UserBuilder setPermissions(PermissionObject[] permissions) { this.permissions = permissions; return this; }
     public UserBuilder setPermissions(JSONObject permissions) {
-        for (String serverId : permissions.keySet()) {
-            HashMap<String, Permission> perms = new HashMap<String, Permission>();
-            JSONObject serverPerms = permissions.getJSONObject(serverId);
-            for (String perm : serverPerms.keySet()) {
-                perms.put(perm, Permission.fromString(serverPerms.getString(perm)));
-            }
-            this.permissions[this.permissions.length] = new PermissionObject(serverId, perms);
-        }
+        this.permissions = PermissionObject.fromJSON(permissions);
         return this;
     }
 
@@ -77,7 +56,7 @@ public class UserBuilder {
         json.put("enabled", this.enabled);
         json.put("isAdmin", this.isAdmin);
         json.put("hasAccessToAllServers", this.hasAccessToAllServers);
-        json.put("customServerPermissions", this.permissions);
+        if (this.permissions != null) json.put("customServerPermissions", PermissionObject.toJSON(this.permissions));
         return json;
     }
 
@@ -0,0 +1,84 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.json.JSONObject;
+import org.junit.jupiter.api.Test;
+
+import dev.le_app.mcss_api_java.api.alerts.Alert;
+import dev.le_app.mcss_api_java.api.alerts.AlertEngine;
+import dev.le_app.mcss_api_java.api.alerts.AlertRule;
+import dev.le_app.mcss_api_java.api.alerts.Metric;
+import dev.le_app.mcss_api_java.api.servers.ServerStats;
+
+public class TestAlerts {
+
+    static final long SECOND = 1_000_000_000L;
+
+    static ServerStats stats(int cpu, int memoryUsed, int players) {
+        return new ServerStats(new JSONObject().put("latest", new JSONObject()
+            .put("cpu", cpu)
+            .put("memoryUsed", memoryUsed)
+            .put("memoryLimit", 1000)
+            .put("playersOnline", players)
+            .put("playerLimit", 20)
+            .put("startDate", 0)));
+    }
+
+    @Test
+    public void thresholdForDuration() {
+        List<Alert> alerts = new ArrayList<Alert>();
+        AlertEngine engine = new AlertEngine()
+            .addRule(AlertRule.above("cpu", Metric.CPU, 90).forDuration(Duration.ofSeconds(60)))
+            .addListener(alerts::add);
+
+        for (int i = 0; i <= 6; i++) engine.record("a", i * 10 * SECOND, stats(95, 100, 0));
+        assertEquals(1, alerts.size());
+        assertTrue(alerts.get(0).isFiring());
+        assertEquals(60 * SECOND, alerts.get(0).getNanos());
+
+        engine.record("a", 70 * SECOND, stats(50, 100, 0));
+        assertEquals(2, alerts.size());
+        assertFalse(alerts.get(1).isFiring());
+    }
+
+    @Test
+    public void thresholdForSamples() {
+        AlertEngine engine = new AlertEngine().addRule(AlertRule.above("memory", Metric.MEMORY_PERCENT, 95).forSamples(3));
+        engine.record("a", 0, stats(0, 990, 0));
+        engine.record("a", 1, stats(0, 990, 0));
+        engine.record("b", 1, stats(0, 990, 0));
+        assertFalse(engine.isFiring("a", "memory"));
+        engine.record("a", 2, stats(0, 990, 0));
+        assertTrue(engine.isFiring("a", "memory"));
+        assertFalse(engine.isFiring("b", "memory"));
+    }
+
+    @Test
+    public void rateAndAbsence() {
+        List<Alert> alerts = new ArrayList<Alert>();
+        AlertEngine engine = new AlertEngine()
+            .addRule(AlertRule.rising("leak", Metric.MEMORY_USED, 5, Duration.ofSeconds(30)))
+            .addRule(AlertRule.absent("silent", Duration.ofSeconds(60)))
+            .addListener(alerts::add);
+
+        for (int i = 0; i < 10; i++) engine.record("a", i * 10 * SECOND, stats(0, 100 + i * 60, 0));
+        assertTrue(engine.isFiring("a", "leak"));
+        engine.record("a", 100 * SECOND, stats(0, 640, 0));
+        engine.record("a", 140 * SECOND, stats(0, 640, 0));
+        assertFalse(engine.isFiring("a", "leak"));
+
+        engine.tick(150 * SECOND);
+        assertFalse(engine.isFiring("a", "silent"));
+        engine.tick(200 * SECOND);
+        assertTrue(engine.isFiring("a", "silent"));
+        engine.record("a", 201 * SECOND, stats(0, 640, 0));
+        engine.tick(202 * SECOND);
+        assertFalse(engine.isFiring("a", "silent"));
+        assertEquals(4, alerts.size());
+    }
+}
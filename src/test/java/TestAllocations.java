@@ -0,0 +1,136 @@
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import java.io.StringReader;
+import java.lang.management.ManagementFactory;
+import java.util.HashMap;
+import java.util.List;
+
+import org.json.JSONObject;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+
+import dev.le_app.mcss_api_java.api.MCSS;
+import dev.le_app.mcss_api_java.api.backups.Compression;
+import dev.le_app.mcss_api_java.api.servers.Server;
+import dev.le_app.mcss_api_java.api.servers.ServerStats;
+import dev.le_app.mcss_api_java.api.users.Permission;
+import dev.le_app.mcss_api_java.api.users.PermissionObject;
+import dev.le_app.mcss_api_java.commons.json.JsonWriter;
+import dev.le_app.mcss_api_java.commons.responses.client.ServersResponse;
+import dev.le_app.mcss_api_java.commons.responses.server.ServerResponse;
+import dev.le_app.mcss_api_java.commons.responses.server.ServerResponseCodec;
+import dev.le_app.mcss_api_java.commons.structures.BackupBuilder;
+import dev.le_app.mcss_api_java.commons.structures.BuilderCodec;
+import dev.le_app.mcss_api_java.commons.structures.KeepOnline;
+import dev.le_app.mcss_api_java.commons.structures.ServerBuilder;
+import dev.le_app.mcss_api_java.commons.structures.TaskBuilder;
+import dev.le_app.mcss_api_java.commons.structures.UserBuilder;
+import dev.le_app.mcss_api_java.simulator.McssSimulator;
+import dev.le_app.mcss_api_java.simulator.SimulatorConfig;
+
+/**
+ * Bytes allocated per operation on the hot paths of the client, each against a budget.
+ * Budgets are about twice what the operation allocates today, a failure means a change made it allocate much more.
+ * Raise a budget only when the extra allocation is intended and say why in the commit.
+ */
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class TestAllocations {
+
+    private static final com.sun.management.ThreadMXBean THREADS = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    // Results are kept here so the JIT cannot drop the operations
+    static volatile Object sink;
+
+    McssSimulator simulator;
+    MCSS mcss;
+
+    @BeforeAll
+    public void start() throws Exception {
+        assumeTrue(THREADS.isThreadAllocatedMemorySupported());
+        THREADS.setThreadAllocatedMemoryEnabled(true);
+        simulator = new McssSimulator(new SimulatorConfig().setServers(50)).start();
+        mcss = simulator.client();
+    }
+
+    @AfterAll
+    public void stop() {
+        if (simulator != null) simulator.close();
+    }
+
+    @Test
+    public void requests() throws Exception {
+        String stats = "/servers/" + simulator.getServerIds().get(0) + "/stats";
+        assertBudget("Request.GET stats", 80_000, 300, 200, () -> mcss.request().GET(stats));
+        assertBudget("MCSS.getServers 50 servers", 160_000, 300, 200, () -> mcss.getServers());
+
+        // Offline servers do not churn, every read returns the same lines
+        Server server = mcss.servers.getServer(simulator.getServerIds().get(3));
+        assertBudget("Server.getConsole 50 lines", 80_000, 300, 200, () -> server.getConsole(50));
+    }
+
+    @Test
+    public void decoding() throws Exception {
+        JSONObject servers = mcss.request().GET("/servers");
+        String body = servers.getJSONArray("data").toString();
+        assertBudget("ServersResponse 50 servers", 14_000, 2_000, 500, () -> readAll(new ServersResponse(servers).getServers()));
+        assertBudget("ServerResponseCodec 50 servers", 110_000, 2_000, 500, () -> ServerResponseCodec.readList(new StringReader(body)));
+
+        ServerStats stats = mcss.servers.getServer(simulator.getServerIds().get(0)).getStats();
+        assertBudget("ServerStats reads", 64, 10_000, 10_000, () -> stats.getCPU() + stats.getMemoryUsed() + stats.getMemoryLimit()
+            + stats.getPlayersOnline() + stats.getPlayerLimit() + stats.getStartDate());
+    }
+
+    @Test
+    public void builders() throws Exception {
+        HashMap<String, Permission> perms = new HashMap<String, Permission>();
+        perms.put("useConsole", Permission.USE_CONSOLE);
+        UserBuilder user = new UserBuilder().setUsername("user").setPassword("secret").setEnabled(true)
+            .setPermissions(new PermissionObject[] { new PermissionObject("server-1", perms) });
+        ServerBuilder server = new ServerBuilder("name", "description", true, false, 1024, KeepOnline.ELEVATED);
+        TaskBuilder task = new TaskBuilder(new JSONObject().put("name", "t").put("enabled", true).put("playerRequirement", 1)
+            .put("timing", new JSONObject().put("time", "04:00:00")).put("job", new JSONObject().put("action", 4)));
+        BackupBuilder backup = new BackupBuilder().setName("b").setDestination("d").setCompression(Compression.NONE)
+            .setFileBlacklist(new String[] { "x" }).setFolderBlacklist(new String[0]);
+
+        assertBudget("UserBuilder.toJSON", 1_500, 5_000, 2_000, () -> user.toJSON());
+        assertBudget("ServerBuilder.toJSON", 800, 5_000, 2_000, () -> server.toJSON());
+        assertBudget("TaskBuilder.toJSON", 640, 5_000, 2_000, () -> task.toJSON());
+        assertBudget("BackupBuilder.toJSON", 800, 5_000, 2_000, () -> backup.toJSON());
+
+        assertBudget("BuilderCodec user", 1_300, 5_000, 2_000, () -> BuilderCodec.write(new JsonWriter(), user).toString());
+        assertBudget("BuilderCodec server", 1_200, 5_000, 2_000, () -> BuilderCodec.write(new JsonWriter(), server).toString());
+        assertBudget("BuilderCodec task", 3_000, 5_000, 2_000, () -> BuilderCodec.write(new JsonWriter(), task).toString());
+        assertBudget("BuilderCodec backup", 1_200, 5_000, 2_000, () -> BuilderCodec.write(new JsonWriter(), backup).toString());
+    }
+
+    // Reads every getter so the budget covers decoding the fields, not just wrapping the array
+    private static long readAll(List<ServerResponse> servers) {
+        long read = 0;
+        for (ServerResponse server : servers) {
+            read += server.getName().length() + server.getDescription().length() + server.getServerId().length()
+                + server.getPathToFolder().length() + server.getFolderName().length() + server.getServerType().length()
+                + server.getCreationDate().length() + server.getJavaStartupLine().length() + server.getJavaAllocatedMemory()
+                + server.getStatus() + server.getServerStatus().ordinal() + server.getKeepOnline().ordinal()
+                + (server.isSetToAutoStart() ? 1 : 0) + (server.isForceSaveOnStop() ? 1 : 0) + server.getRaw().length();
+        }
+        return read;
+    }
+
+    @FunctionalInterface
+    interface Operation {
+        Object run() throws Exception;
+    }
+
+    // Warms the operation up so the JIT has settled, then fails if the runs allocated more than the budget on average
+    private static void assertBudget(String name, long budget, int warmup, int runs, Operation operation) throws Exception {
+        for (int i = 0; i < warmup; i++) sink = operation.run();
+        long thread = Thread.currentThread().getId();
+        long before = THREADS.getThreadAllocatedBytes(thread);
+        for (int i = 0; i < runs; i++) sink = operation.run();
+        long perOperation = (THREADS.getThreadAllocatedBytes(thread) - before) / runs;
+        assertTrue(perOperation <= budget, name + " allocated " + perOperation + " bytes per operation, over its budget of " + budget);
+    }
+}
@@ -0,0 +1,265 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import dev.le_app.mcss_api_java.api.backups.Backup;
+import dev.le_app.mcss_api_java.api.backups.BackupCodec;
+import dev.le_app.mcss_api_java.api.backups.Compression;
+import dev.le_app.mcss_api_java.api.scheduler.Task;
+import dev.le_app.mcss_api_java.api.scheduler.TaskCodec;
+import dev.le_app.mcss_api_java.api.users.Permission;
+import dev.le_app.mcss_api_java.api.users.PermissionObject;
+import dev.le_app.mcss_api_java.bench.CodecBenchmark;
+import dev.le_app.mcss_api_java.commons.json.JsonReader;
+import dev.le_app.mcss_api_java.commons.json.JsonWriter;
+import dev.le_app.mcss_api_java.commons.responses.server.ServerResponse;
+import dev.le_app.mcss_api_java.commons.responses.server.ServerResponseCodec;
+import dev.le_app.mcss_api_java.commons.responses.user.UserResponse;
+import dev.le_app.mcss_api_java.commons.responses.user.UserResponseCodec;
+import dev.le_app.mcss_api_java.commons.structures.BackupBuilder;
+import dev.le_app.mcss_api_java.commons.structures.BuilderCodec;
+import dev.le_app.mcss_api_java.commons.structures.KeepOnline;
+import dev.le_app.mcss_api_java.commons.structures.ServerBuilder;
+import dev.le_app.mcss_api_java.commons.structures.TaskBuilder;
+import dev.le_app.mcss_api_java.commons.structures.UserBuilder;
+
+public class TestCodecs {
+
+    static JSONObject server(int i) {
+        return new JSONObject()
+            .put("serverId", "server-" + i)
+            .put("status", i % 5)
+            .put("name", "Server \"" + i + "\" \u00e9\u4e16")
+            .put("description", "line\nbreak\ttab \\ slash")
+            .put("pathToFolder", "C:\\MCSS\\servers\\" + i)
+            .put("folderName", "server-" + i)
+            .put("type", "vanilla")
+            .put("creationDate", "2024-01-01T00:00:00")
+            .put("isSetToAutoStart", i % 2 == 0)
+            .put("forceSaveOnStop", true)
+            .put("javaAllocatedMemory", 2048 + i)
+            .put("keepOnline", i % 3)
+            .put("javaStartupLine", "-jar server.jar")
+            .put("unknown", new JSONObject().put("nested", new JSONArray().put(1).put(new JSONObject())));
+    }
+
+    @Test
+    public void serversMatchTheTreeDecoding() throws Exception {
+        JSONArray array = new JSONArray();
+        for (int i = 0; i < 200; i++) array.put(server(i));
+
+        List<ServerResponse> servers = ServerResponseCodec.readList(new StringReader(array.toString(2)));
+        assertEquals(200, servers.size());
+        for (int i = 0; i < servers.size(); i++) {
+            ServerResponse expected = new ServerResponse(array.getJSONObject(i));
+            assertTrue(expected.toJSON().similar(servers.get(i).toJSON()), servers.get(i).toString());
+            assertEquals(KeepOnline.fromValue(i % 3), servers.get(i).getKeepOnline());
+        }
+
+        // Written back and read again
+        JsonWriter out = new JsonWriter();
+        ServerResponseCodec.write(out, servers.get(7));
+        assertTrue(servers.get(7).toJSON().similar(new JSONObject(out.toString())));
+    }
+
+    @Test
+    public void usersTasksAndBackups() throws Exception {
+        JSONObject permissions = new JSONObject().put("server-1", new JSONObject().put("viewStats", "viewStats"));
+        JSONArray users = new JSONArray().put(new JSONObject()
+            .put("userId", "u1").put("username", "admin").put("enabled", true).put("isAdmin", true)
+            .put("hasAccessToAllServers", false).put("customServerPermissions", permissions)
+            .put("createdAt", "a").put("lastModifiedAt", "b"));
+        UserResponse user = UserResponseCodec.readList(new StringReader(users.toString())).get(0);
+        assertTrue(new UserResponse(users.getJSONObject(0)).toJSON().similar(user.toJSON()));
+        assertEquals(Permission.VIEW_STATS, user.getPermission("server-1", "viewStats"));
+
+        JSONObject timing = new JSONObject().put("repeat", true).put("interval", 3600);
+        JSONObject job = new JSONObject().put("commands", new JSONArray().put("say hi"));
+        String tasks = new JSONObject().put("other", 1).put("tasks", new JSONArray()
+            .put(new JSONObject().put("taskId", "t1").put("name", "Auto save").put("enabled", true)
+                .put("playerRequirement", 0).put("timing", timing).put("job", job))).toString();
+        Task task = TaskCodec.readList(new StringReader(tasks)).get(0);
+        assertEquals("t1", task.getTaskId());
+        assertTrue(timing.similar(task.getTiming()));
+        assertTrue(job.similar(task.getJob()));
+        assertTrue(TaskCodec.readList(new StringReader("{\"data\":[]}")).isEmpty());
+
+        String backups = "{\"backups\":[{\"name\":\"b\",\"destination\":\"d\",\"suspend\":false,\"compression\":1,"
+            + "\"deleteOldBackups\":true,\"runBackupAfterCreation\":false,\"fileBlacklist\":[\"a\",\"b\"],\"folderBlacklist\":[]},"
+            + "{\"name\":\"c\",\"destination\":\"e\",\"suspend\":true,\"compression\":\"HIGH\",\"deleteOldBackups\":false,"
+            + "\"runBackupAfterCreation\":false,\"fileBlacklist\":null,\"folderBlacklist\":[]}]}";
+        List<Backup> decoded = BackupCodec.readList(new StringReader(backups));
+        assertEquals(Compression.LOW, decoded.get(0).getCompression());
+        assertEquals(2, decoded.get(0).getFileBlacklist().length);
+        assertEquals(Compression.HIGH, decoded.get(1).getCompression());
+    }
+
+    @Test
+    public void buildersWriteTheSameBodies() throws Exception {
+        HashMap<String, Permission> perms = new HashMap<String, Permission>();
+        perms.put("useConsole", Permission.USE_CONSOLE);
+        UserBuilder user = new UserBuilder().setUsername("a\"b").setPassword("secret").setEnabled(true)
+            .setPermissions(new PermissionObject[] { new PermissionObject("server-1", perms) });
+        assertTrue(user.toJSON().similar(new JSONObject(BuilderCodec.write(new JsonWriter(), user).toString())));
+        JSONObject create = new JSONObject(BuilderCodec.writeCreate(new JsonWriter(), user).toString());
+        assertEquals("secret", create.getString("passwordRepeat"));
+
+        ServerBuilder server = new ServerBuilder("name", "description", true, false, 1024, KeepOnline.ELEVATED);
+        assertTrue(server.toJSON().similar(new JSONObject(BuilderCodec.write(new JsonWriter(), server).toString())));
+
+        TaskBuilder task = new TaskBuilder(new JSONObject().put("name", "t").put("enabled", true).put("playerRequirement", 1)
+            .put("timing", new JSONObject().put("time", "04:00:00")).put("job", new JSONObject().put("action", 4)));
+        task.addJob(new String[] { "say a", "say b" });
+        assertTrue(new JSONObject(task.toJSON().toString()).similar(new JSONObject(BuilderCodec.write(new JsonWriter(), task).toString())));
+
+        BackupBuilder backup = new BackupBuilder().setName("b").setDestination("d").setCompression(Compression.NONE)
+            .setFileBlacklist(new String[] { "x" }).setFolderBlacklist(new String[0]);
+        assertTrue(new JSONObject(backup.toJSON().toString()).similar(new JSONObject(BuilderCodec.write(new JsonWriter(), backup).toString())));
+    }
+
+    @Test
+    public void readerTokens() throws Exception {
+        JsonReader in = new JsonReader("{\"a\":-12,\"b\":1.5e3,\"c\":\"\\u00e9\\\"\\/\",\"d\":null,\"e\":[true,false],\"f\":9007199254740993}");
+        in.beginObject();
+        assertEquals("a", in.nextName());
+        assertEquals(-12, in.nextInt());
+        assertEquals("b", in.nextName());
+        assertEquals(1500.0, in.nextDouble());
+        assertEquals("c", in.nextName());
+        assertEquals("\u00e9\"/", in.nextString());
+        assertEquals("d", in.nextName());
+        assertNull(in.nextString());
+        assertEquals("e", in.nextName());
+        in.beginArray();
+        assertTrue(in.nextBoolean());
+        assertFalse(in.nextBoolean());
+        assertFalse(in.hasNext());
+        in.endArray();
+        assertEquals("f", in.nextName());
+        assertEquals(9007199254740993L, in.nextLong());
+        in.endObject();
+        assertEquals(JsonReader.Token.END, in.peek());
+
+        // Repeated keys are the same instance
+        in = new JsonReader("[{\"serverId\":1},{\"serverId\":2}]");
+        in.beginArray();
+        in.beginObject();
+        String first = in.nextName();
+        in.skipValue();
+        in.endObject();
+        in.beginObject();
+        assertSame(first, in.nextName());
+    }
+
+    @Test
+    public void valuesSpanningTheBuffer() throws Exception {
+        StringBuilder longValue = new StringBuilder();
+        for (int i = 0; i < 20000; i++) longValue.append((char) ('a' + i % 26));
+        String padding = " ".repeat(8190);
+        String json = padding + "{\"escaped\\nname\":\"" + longValue + "\",\"short\":\"x\\ty\",\"long\":123456789012}";
+
+        JsonReader in = new JsonReader(new StringReader(json));
+        in.beginObject();
+        assertEquals("escaped\nname", in.nextName());
+        assertEquals(longValue.toString(), in.nextString());
+        assertEquals("short", in.nextName());
+        assertEquals("x\ty", in.nextString());
+        assertEquals("long", in.nextName());
+        assertEquals(123456789012L, in.nextLong());
+        in.endObject();
+    }
+
+    @Test
+    public void numbersTakingTheSlowPath() throws Exception {
+        JsonReader in = new JsonReader("[1234567890123456789,-1234567890123456789,9223372036854775807,-9223372036854775808,12.5,-3.0,1e3,-2.5E2,0.5]");
+        in.beginArray();
+        assertEquals(1234567890123456789L, in.nextLong());
+        assertEquals(-1234567890123456789L, in.nextLong());
+        assertEquals(Long.MAX_VALUE, in.nextLong());
+        assertEquals(Long.MIN_VALUE, in.nextLong());
+        assertEquals(12, in.nextInt());
+        assertEquals(-3, in.nextInt());
+        assertEquals(1000, in.nextInt());
+        assertEquals(-250, in.nextLong());
+        assertEquals(0, in.nextLong());
+        in.endArray();
+
+        assertThrows(IOException.class, () -> readLong("92233720368547758070"));
+        assertThrows(IOException.class, () -> readLong("1e30"));
+        assertThrows(IOException.class, () -> readLong("1.2.3"));
+        JsonReader tooLong = new JsonReader("[1234567890123]");
+        tooLong.beginArray();
+        assertThrows(IOException.class, tooLong::nextInt);
+
+        // Same values in codec fields read through nextInt()
+        String server = server(1).toString().replace("\"status\":1,", "\"status\":1.0,")
+            .replace("\"javaAllocatedMemory\":2049", "\"javaAllocatedMemory\":2.049e3").replace("\"keepOnline\":1", "\"keepOnline\":-0.0");
+        ServerResponse decoded = ServerResponseCodec.readList(new StringReader("[" + server + "]")).get(0);
+        assertEquals(2049, decoded.getJavaAllocatedMemory());
+        assertEquals(KeepOnline.fromValue(0), decoded.getKeepOnline());
+        assertThrows(IOException.class, () -> ServerResponseCodec.readList(new StringReader("[{\"status\":1.5.0}]")));
+        assertThrows(IOException.class, () -> ServerResponseCodec.readList(new StringReader("[{\"javaAllocatedMemory\":12345678901234567890}]")));
+    }
+
+    private static long readLong(String number) throws IOException {
+        JsonReader in = new JsonReader("[" + number + "]");
+        in.beginArray();
+        return in.nextLong();
+    }
+
+    @Test
+    public void streamsDecodeAsConsumed() throws Exception {
+        // The third server is missing its name, only a stream reaching it fails
+        JSONObject broken = server(2);
+        broken.remove("name");
+        String body = new JSONArray().put(server(0)).put(server(1)).put(broken).toString();
+        assertThrows(IOException.class, () -> ServerResponseCodec.readList(new StringReader(body)));
+        // The tree decoding fails in the constructor as well, not later in a getter
+        assertThrows(JSONException.class, () -> new ServerResponse(broken));
+        assertThrows(UncheckedIOException.class, () -> ServerResponseCodec.stream(new StringReader(body)).count());
+        List<ServerResponse> first = ServerResponseCodec.stream(new StringReader(body)).limit(2).collect(Collectors.toList());
+        assertEquals("server-1", first.get(1).getServerId());
+
+        JSONObject tasks = new JSONObject().put("tasks", new JSONArray()
+            .put(new JSONObject().put("taskId", "t1").put("name", "a").put("enabled", true).put("playerRequirement", 0).put("timing", new JSONObject()).put("job", new JSONObject()))
+            .put(new JSONObject().put("taskId", "t2").put("enabled", true)));
+        assertEquals("t1", TaskCodec.stream(new StringReader(tasks.toString())).findFirst().get().getTaskId());
+        assertThrows(IOException.class, () -> TaskCodec.readList(new StringReader(tasks.toString())));
+        assertEquals(0, BackupCodec.stream(new StringReader("{\"other\":[]}")).count());
+        assertThrows(IOException.class, () -> UserResponseCodec.readList(new StringReader("[{\"userId\":\"u1\"}]")));
+    }
+
+    @Test
+    public void malformedInput() {
+        assertThrows(IOException.class, () -> ServerResponseCodec.readList(new StringReader("[{\"name\":\"a\"")));
+        assertThrows(IOException.class, () -> ServerResponseCodec.readList(new StringReader("[{\"name\" \"a\"}]")));
+        assertThrows(IOException.class, () -> ServerResponseCodec.readList(new StringReader("{}")));
+        assertThrows(IOException.class, () -> new JsonReader("[tru]").skipValue());
+    }
+
+    // Prints the JMH numbers, enable with -Dmcss.bench=true
+    @Test
+    @EnabledIfSystemProperty(named = "mcss.bench", matches = "true")
+    public void benchmark() throws Exception {
+        new Runner(new OptionsBuilder().include(CodecBenchmark.class.getSimpleName()).build()).run();
+    }
+}
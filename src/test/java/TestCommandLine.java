@@ -0,0 +1,41 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static dev.le_app.mcss_api_java.simulator.SimulatorFixture.withServers;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import dev.le_app.mcss_api_java.cli.Main;
+
+public class TestCommandLine {
+
+    @Test
+    public void commandLine() throws Exception {
+        withServers(20, (simulator, client) -> {
+            Map<String, String> env = Map.of("MCSS_HOST", simulator.getHost(), "MCSS_PORT", String.valueOf(simulator.getPort()));
+            String key = simulator.getConfig().getApiKey();
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            ByteArrayOutputStream err = new ByteArrayOutputStream();
+
+            assertEquals(Main.OK, Main.run(new String[] { "--key", key, "servers" }, env, new PrintStream(out), new PrintStream(err)));
+            String[] lines = out.toString().split(System.lineSeparator());
+            assertEquals(simulator.getServerIds().size(), lines.length);
+            assertTrue(lines[0].startsWith(simulator.getServerIds().get(0) + "\t"));
+
+            // A new simulator has barely logged anything yet
+            String id = simulator.getServerIds().get(0);
+            for (int i = 0; i < 5; i++) client.servers.getServer(id).execute("say " + i);
+            out.reset();
+            assertEquals(Main.OK, Main.run(new String[] { "--key", key, "console", id, "5" }, env, new PrintStream(out), new PrintStream(err)));
+            assertEquals(5, out.toString().split(System.lineSeparator()).length);
+
+            assertEquals(Main.USAGE, Main.run(new String[] { "--key", key, "action", id, "jump" }, env, new PrintStream(out), new PrintStream(err)));
+            assertEquals(Main.USAGE, Main.run(new String[] { "servers" }, env, new PrintStream(out), new PrintStream(err)));
+            assertEquals(Main.USAGE, Main.run(new String[] { "--key", key, "--interval", "abc", "servers" }, env, new PrintStream(out), new PrintStream(err)));
+            assertEquals(Main.FAILED, Main.run(new String[] { "--key", "wrong", "servers" }, env, new PrintStream(out), new PrintStream(err)));
+        });
+    }
+}
@@ -0,0 +1,274 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import dev.le_app.mcss_api_java.api.MCSS;
+import dev.le_app.mcss_api_java.api.servers.Server;
+import dev.le_app.mcss_api_java.api.utilities.RequestMetrics;
+import dev.le_app.mcss_api_java.commons.responses.server.ServerResponse;
+import dev.le_app.mcss_api_java.commons.responses.user.UserResponse;
+import dev.le_app.mcss_api_java.commons.structures.UserBuilder;
+import dev.le_app.mcss_api_java.simulator.LoadDriver;
+import dev.le_app.mcss_api_java.simulator.LoadReport;
+import dev.le_app.mcss_api_java.simulator.McssSimulator;
+import dev.le_app.mcss_api_java.simulator.SimulatorConfig;
+
+/**
+ * Drives shared clients from many threads against local simulators.
+ * Two hosts with different keys and servers make a request that reached the wrong host, or carried the wrong key, visible.
+ */
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class TestConcurrency {
+
+    private static final int THREADS = 16;
+
+    McssSimulator first;
+    McssSimulator second;
+    // Same key as the first, so only the port tells them apart
+    McssSimulator sameKey;
+
+    @BeforeAll
+    public void start() throws Exception {
+        first = new McssSimulator(new SimulatorConfig().setServers(8).setApiKey("first-key").setSeed(1)).start();
+        second = new McssSimulator(new SimulatorConfig().setServers(8).setApiKey("second-key").setSeed(2)).start();
+        sameKey = new McssSimulator(new SimulatorConfig().setServers(8).setApiKey("first-key").setSeed(3)).start();
+    }
+
+    @AfterAll
+    public void stop() {
+        first.close();
+        second.close();
+        sameKey.close();
+    }
+
+    @Test
+    public void concurrentGetsAndPostsLoseNothing() throws Exception {
+        MCSS mcss = first.client();
+        int before = mcss.users.get().size();
+        int perThread = 25;
+        List<String> ids = first.getServerIds();
+
+        run(THREADS, thread -> {
+            for (int i = 0; i < perThread; i++) {
+                mcss.users.create(new UserBuilder().setUsername("stress-" + thread + "-" + i).setPassword("secret"));
+                assertTrue(mcss.servers.getServer(ids.get(i % ids.size())).getStats().getMemoryLimit() > 0);
+            }
+        });
+
+        // Every POST reached MCSS once and was counted once by the client
+        Set<String> names = new HashSet<String>();
+        for (UserResponse user : mcss.users.get()) names.add(user.getUsername());
+        for (int thread = 0; thread < THREADS; thread++) {
+            for (int i = 0; i < perThread; i++) assertTrue(names.contains("stress-" + thread + "-" + i));
+        }
+        assertEquals(before + THREADS * perThread, names.size());
+        assertEquals(THREADS * perThread, requests(mcss, "POST", "/users"));
+        assertEquals(THREADS * perThread, requests(mcss, "GET", "/servers/{id}/stats"));
+    }
+
+    @Test
+    public void instancesNeverShareHosts() throws Exception {
+        Set<String> firstIds = new HashSet<String>(first.getServerIds());
+        Set<String> secondIds = new HashSet<String>(second.getServerIds());
+
+        run(THREADS, thread -> {
+            for (int i = 0; i < 20; i++) {
+                McssSimulator host = (thread + i) % 2 == 0 ? first : second;
+                MCSS mcss = host.client();
+                Set<String> expected = host == first ? firstIds : secondIds;
+                for (ServerResponse server : mcss.getServers()) assertTrue(expected.contains(server.getServerId()));
+                // Instances created meanwhile for the other host leave this one alone
+                assertTrue(mcss.request().getBaseUrl().contains(":" + host.getPort() + "/"));
+            }
+        });
+    }
+
+    @Test
+    public void retargetingNeverMixesHostAndKey() throws Exception {
+        MCSS mcss = first.client();
+        Set<String> firstIds = new HashSet<String>(first.getServerIds());
+        Set<String> secondIds = new HashSet<String>(second.getServerIds());
+        AtomicBoolean done = new AtomicBoolean();
+
+        ExecutorService flipper = Executors.newSingleThreadExecutor();
+        Future<?> flips = flipper.submit(() -> {
+            boolean toSecond = true;
+            while (!done.get()) {
+                McssSimulator host = toSecond ? second : first;
+                mcss.setTarget(host.getHost(), host.getPort(), host.getConfig().getApiKey(), false);
+                mcss.request().addHeader("x-flip", String.valueOf(toSecond));
+                mcss.setTimeouts(toSecond ? 5000 : 4000, 5000);
+                toSecond = !toSecond;
+                Thread.yield();
+            }
+            return null;
+        });
+        try {
+            // A key sent to the other host is answered with 401 and fails the reader
+            run(8, thread -> {
+                for (int i = 0; i < 200; i++) {
+                    Set<String> ids = new HashSet<String>();
+                    for (ServerResponse server : mcss.getServers()) ids.add(server.getServerId());
+                    assertTrue(firstIds.containsAll(ids) || secondIds.containsAll(ids));
+                }
+            });
+        } finally {
+            done.set(true);
+            flips.get();
+            flipper.shutdown();
+        }
+    }
+
+    @Test
+    public void portChangesDuringRequests() throws Exception {
+        MCSS mcss = first.client();
+        Set<String> firstIds = new HashSet<String>(first.getServerIds());
+        Set<String> otherIds = new HashSet<String>(sameKey.getServerIds());
+        AtomicBoolean done = new AtomicBoolean();
+
+        ExecutorService flipper = Executors.newSingleThreadExecutor();
+        Future<?> flips = flipper.submit(() -> {
+            boolean other = true;
+            while (!done.get()) {
+                mcss.setPort(other ? sameKey.getPort() : first.getPort());
+                // Rebuilds the URL with the same scheme, as setPort does
+                mcss.setHttps(false);
+                other = !other;
+                Thread.yield();
+            }
+            return null;
+        });
+        try {
+            run(8, thread -> {
+                for (int i = 0; i < 200; i++) {
+                    Set<String> ids = new HashSet<String>();
+                    for (ServerResponse server : mcss.getServers()) ids.add(server.getServerId());
+                    assertTrue(firstIds.containsAll(ids) || otherIds.containsAll(ids));
+                }
+            });
+        } finally {
+            done.set(true);
+            flips.get();
+            flipper.shutdown();
+        }
+    }
+
+    @Test
+    public void concurrentReconfiguration() throws Exception {
+        try (McssSimulator other = new McssSimulator(new SimulatorConfig().setServers(3).setApiKey("other-key")).start()) {
+            MCSS client = first.client();
+            MCSS second = other.client();
+            assertEquals(3, second.getServerCount());
+
+            // Headers change under the workers, every call still sees a complete snapshot
+            LoadDriver driver = new LoadDriver(8, Duration.ZERO, Duration.ofMillis(300));
+            Thread writer = new Thread(() -> {
+                for (int i = 0; !Thread.currentThread().isInterrupted(); i++) {
+                    client.request().addHeader("X-Rotation", String.valueOf(i));
+                    client.setApiKey(i % 2 == 0 ? "first-key" : new String("first-key"));
+                    client.request().removeHeader("X-Rotation");
+                }
+            });
+            writer.start();
+            LoadReport report = driver.run("rotate", (thread, i) -> client.getServerCount());
+            writer.interrupt();
+            writer.join();
+            assertFalse(report.getErrors() > 0, String.valueOf(report.getFirstError()));
+            assertEquals(8, client.getServerCount());
+            assertEquals(3, second.getServerCount());
+
+            // setUrl used to leave the request on the old host
+            second.setUrl(first.getHost());
+            second.setPort(first.getPort());
+            second.setApiKey("first-key");
+            assertEquals(8, second.getServerCount());
+        }
+    }
+
+    // Timing based, enable with -Dmcss.loadtest=true
+    @Test
+    @EnabledIfSystemProperty(named = "mcss.loadtest", matches = "true")
+    public void throughputScalesWithThreads() throws Exception {
+        SimulatorConfig config = new SimulatorConfig().setServers(32).setLatency(2, 2).setThreads(64);
+        try (McssSimulator slow = new McssSimulator(config).start()) {
+            MCSS mcss = slow.client();
+            List<String> ids = slow.getServerIds();
+            Server[] servers = new Server[ids.size()];
+            for (int i = 0; i < servers.length; i++) servers[i] = mcss.servers.getServer(ids.get(i));
+
+            // Each call waits on the simulated latency, so threads should overlap rather than queue on the client
+            List<LoadReport> reports = new ArrayList<LoadReport>();
+            for (int threads : new int[] { 1, 2, 4, 8, THREADS }) {
+                LoadDriver driver = new LoadDriver(threads, Duration.ofMillis(100), Duration.ofMillis(400));
+                LoadReport report = driver.run("server stats", (thread, i) -> servers[(int) ((thread * 7 + i) % servers.length)].getStats());
+                assertEquals(0, report.getErrors(), String.valueOf(report.getFirstError()));
+                reports.add(report);
+            }
+            double single = reports.get(0).getThroughput();
+            double most = reports.get(reports.size() - 1).getThroughput();
+            assertTrue(most >= single * 4, "Throughput went from " + single + " ops/s on 1 thread to " + most + " on " + THREADS);
+        }
+    }
+
+    @FunctionalInterface
+    interface Worker {
+        void run(int thread) throws Exception;
+    }
+
+    // Starts the workers together and rethrows the first failure
+    private static void run(int threads, Worker worker) throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        ConcurrentLinkedQueue<Throwable> failures = new ConcurrentLinkedQueue<Throwable>();
+        try {
+            for (int t = 0; t < threads; t++) {
+                int thread = t;
+                pool.submit(() -> {
+                    try {
+                        start.await();
+                        worker.run(thread);
+                    } catch (Throwable e) {
+                        failures.add(e);
+                    }
+                    return null;
+                });
+            }
+            start.countDown();
+            pool.shutdown();
+            assertTrue(pool.awaitTermination(60, TimeUnit.SECONDS), "Workers did not finish");
+        } finally {
+            pool.shutdownNow();
+        }
+        if (!failures.isEmpty()) {
+            Throwable failure = failures.peek();
+            if (failure instanceof Exception) throw (Exception) failure;
+            throw (Error) failure;
+        }
+    }
+
+    private static long requests(MCSS mcss, String method, String template) {
+        for (RequestMetrics.Endpoint endpoint : mcss.request().getMetrics().getEndpoints()) {
+            if (endpoint.getMethod().equals(method) && endpoint.getTemplate().equals(template)) return endpoint.getRequests();
+        }
+        return 0;
+    }
+}
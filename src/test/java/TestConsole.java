@@ -0,0 +1,205 @@
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static dev.le_app.mcss_api_java.simulator.SimulatorFixture.with;
+
+import java.nio.CharBuffer;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+
+import dev.le_app.mcss_api_java.api.MCSS;
+import dev.le_app.mcss_api_java.api.console.CommandOutput;
+import dev.le_app.mcss_api_java.api.console.ConsoleMatch;
+import dev.le_app.mcss_api_java.api.console.ConsolePattern;
+import dev.le_app.mcss_api_java.api.console.ConsoleTriggers;
+import dev.le_app.mcss_api_java.api.console.ConsoleWatcher;
+import dev.le_app.mcss_api_java.api.servers.Server;
+import dev.le_app.mcss_api_java.simulator.McssSimulator;
+import dev.le_app.mcss_api_java.simulator.SimulatorConfig;
+
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class TestConsole {
+
+    McssSimulator simulator;
+    MCSS mcss;
+
+    @BeforeAll
+    public void start() throws Exception {
+        simulator = new McssSimulator(new SimulatorConfig().setServers(8).setConsoleLinesPerSecond(50)).start();
+        mcss = simulator.client();
+    }
+
+    @AfterAll
+    public void stop() {
+        simulator.close();
+    }
+
+    @Test
+    public void consoleSinks() throws Exception {
+        // Offline servers do not churn, both reads see the same console
+        Server server = mcss.servers.getServer(simulator.getServerIds().get(3));
+        String[] lines = server.getConsole(20);
+        CharBuffer buffer = CharBuffer.allocate(64 * 1024);
+        assertEquals(lines.length, server.readConsole(20, buffer));
+        buffer.flip();
+        assertEquals(lines[0], buffer.toString().split("\n")[0]);
+    }
+
+    @Test
+    public void executeAndCapture() throws Exception {
+        // Online servers keep logging, the matcher skips the noise
+        Server busy = mcss.servers.getServer(simulator.getServerIds().get(0));
+        CommandOutput noisy = busy.executeAndCapture("list", Duration.ofSeconds(2), line -> line.contains("players online"));
+        assertTrue(noisy.isMatched(), noisy.toString());
+        assertTrue(noisy.getLines().contains("[00:00:00 INFO]: > list"));
+
+        with(new SimulatorConfig().setServers(1).setConsoleLinesPerSecond(0), (quiet, client) -> {
+            quiet.setPlayersOnline(quiet.getServerIds().get(0), 4);
+            Server server = client.servers.getServer(quiet.getServerIds().get(0));
+            CommandOutput output = server.executeAndCapture("list", Duration.ofSeconds(2));
+            assertFalse(output.isTimedOut());
+            assertEquals(List.of("[00:00:00 INFO]: > list", "[00:00:00 INFO]: There are 4 of a max of 20 players online"), output.getLines());
+
+            output = server.executeAndCapture("say hi", Duration.ofMillis(200), line -> line.contains("never"));
+            assertTrue(output.isTimedOut());
+            assertEquals(1, output.getLines().size());
+        });
+    }
+
+    @Test
+    public void overlappingPatterns() {
+        List<String> fired = new ArrayList<String>();
+        ConsoleTriggers triggers = new ConsoleTriggers()
+            .on("she", match -> fired.add("she"))
+            .on("he", match -> fired.add("he"))
+            .on("hers", match -> fired.add("hers"))
+            .on("his", match -> fired.add("his"));
+
+        // Occurrences share characters, every keyword ending in the same place is reported
+        assertEquals(3, triggers.scan("a", "ushers"));
+        assertEquals(List.of("she", "he", "hers"), fired);
+    }
+
+    @Test
+    public void substringOfAnotherPattern() {
+        List<ConsoleMatch> matches = new ArrayList<ConsoleMatch>();
+        ConsoleTriggers triggers = new ConsoleTriggers()
+            .on("{} joined the game", matches::add)
+            .on("joined", matches::add);
+
+        // Matches are dispatched in the order their anchor ends in the line
+        assertEquals(2, triggers.scan("a", "[12:00:00 INFO]: Steve joined the game"));
+        assertEquals("joined", matches.get(0).getPattern().getPattern());
+        assertEquals(0, matches.get(0).getGroups().length);
+        assertEquals("{} joined the game", matches.get(1).getPattern().getPattern());
+        assertArrayEquals(new String[] { "Steve" }, matches.get(1).getGroups());
+
+        // Only the shorter one is on this line
+        assertEquals(1, triggers.scan("a", "[12:00:00 INFO]: Steve joined"));
+    }
+
+    @Test
+    public void caseFolding() {
+        List<String> fired = new ArrayList<String>();
+        ConsoleTriggers triggers = new ConsoleTriggers()
+            .on(ConsolePattern.compile("can't keep up! running *ms", true), match -> fired.add(match.getGroup(0)))
+            .on("saving the game", match -> fired.add("exact"))
+            .on(ConsolePattern.compile("SAVING the game", true), match -> fired.add("folded"));
+
+        assertEquals(1, triggers.scan("a", "[12:00:00 WARN]: Can't keep up! Running 2045ms or 40 ticks behind"));
+        assertEquals(List.of("2045"), fired);
+
+        // A case sensitive pattern sharing its literal with a folded one still compares exactly
+        assertEquals(1, triggers.scan("a", "[12:00:00 INFO]: Saving the game (this may take a moment!)"));
+        assertEquals(List.of("2045", "folded"), fired);
+        assertEquals(2, triggers.scan("a", "saving the game"));
+
+        assertEquals(0, new ConsoleTriggers().on("can't keep up!", match -> { }).scan("a", "Can't keep up!"));
+    }
+
+    @Test
+    public void patternWildcardsAndAnchors() {
+        assertArrayEquals(new String[] { "Alex", "hello #5" }, match("<{}> *", "[12:00:00 INFO]: <Alex> hello #5"));
+        assertArrayEquals(new String[] { "2045", "40" }, match("Running *ms or {} ticks", "Running 2045ms or 40 ticks behind"));
+        // The longest literal anchors the match, captures are read on both sides of it
+        assertArrayEquals(new String[] { "[12:00:00", "Steve" }, match("{} INFO]: {} left the game", "[12:00:00 INFO]: Steve left the game"));
+        assertArrayEquals(new String[] { "[12:00:00 INFO]: " }, match("*Done!", "[12:00:00 INFO]: Done! For help"));
+        assertArrayEquals(new String[] { "" }, match("Done!*", "Done!"));
+        // A word needs at least one character and stops at whitespace
+        assertNull(match("{} joined", " joined the game"));
+        assertArrayEquals(new String[] { "Steve" }, match("{} joined", "a Steve joined"));
+        // Escaped captures are literal text
+        assertArrayEquals(new String[0], match("5 \\* 3 \\{}", "5 * 3 {}"));
+        assertNull(match("5 \\* 3", "5 x 3"));
+        // Occurrences of the anchor are tried in order until the rest of the pattern matches
+        assertArrayEquals(new String[] { "c" }, match("said {}!", "a said b said c!"));
+        assertArrayEquals(new String[] { "b" }, match("said {}!", "a said b! said c!"));
+
+        assertThrows(IllegalArgumentException.class, () -> ConsolePattern.compile("{}*"));
+        assertThrows(IllegalArgumentException.class, () -> ConsolePattern.compile("*"));
+        assertEquals(2, ConsolePattern.compile("<{}> *").getGroupCount());
+    }
+
+    @Test
+    public void firesOncePerLine() {
+        List<ConsoleMatch> matches = new ArrayList<ConsoleMatch>();
+        ConsoleTriggers triggers = new ConsoleTriggers().on("hello", matches::add);
+        assertEquals(1, triggers.scan("a", "hello hello hello"));
+        assertEquals(1, matches.size());
+
+        String[] lines = { "hello", "nothing", "hello again" };
+        assertEquals(2, triggers.scan("b", lines, 0, lines.length));
+        assertEquals(3, matches.size());
+        assertEquals("b", matches.get(2).getServerId());
+        assertEquals("hello again", matches.get(2).getLine());
+    }
+
+    @Test
+    public void consoleWatcher() throws Exception {
+        // Server 3 is offline, its console never changes
+        with(new SimulatorConfig().setServers(4).setConsoleLinesPerSecond(0), (quiet, client) -> {
+            List<ConsoleMatch> matches = new ArrayList<ConsoleMatch>();
+            ConsoleWatcher watcher = new ConsoleWatcher(new ConsoleTriggers().on("say {} joined the game", matches::add));
+            Server online = client.servers.getServer(quiet.getServerIds().get(0));
+            Server offline = client.servers.getServer(quiet.getServerIds().get(3));
+            List<Server> servers = List.of(online, offline);
+
+            // The first poll only marks where each console ends
+            online.execute("say Old joined the game");
+            assertEquals(0, watcher.poll(servers));
+
+            online.execute("say Steve joined the game");
+            online.execute("say Alex joined the game");
+            assertEquals(2, watcher.poll(servers));
+            assertEquals(List.of("Steve", "Alex"), matches.stream().map(match -> match.getGroup(0)).collect(Collectors.toList()));
+            assertEquals(online.getServerId(), matches.get(0).getServerId());
+
+            // Lines already seen are not scanned again, an unchanged console is not downloaded
+            long requests = quiet.getRequestCount();
+            assertEquals(0, watcher.poll(servers));
+            assertEquals(requests + 2, quiet.getRequestCount());
+
+            // The same command twice is two new lines
+            online.execute("say Steve joined the game");
+            online.execute("say Steve joined the game");
+            assertEquals(2, watcher.poll(online));
+            assertEquals(4, matches.size());
+        });
+    }
+
+    private static String[] match(String pattern, String line) {
+        List<ConsoleMatch> matches = new ArrayList<ConsoleMatch>();
+        new ConsoleTriggers().on(pattern, matches::add).scan("a", line);
+        return matches.isEmpty() ? null : matches.get(0).getGroups();
+    }
+}
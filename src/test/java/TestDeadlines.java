@@ -0,0 +1,89 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static dev.le_app.mcss_api_java.simulator.SimulatorFixture.with;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import dev.le_app.mcss_api_java.api.MCSS;
+import dev.le_app.mcss_api_java.api.exceptions.DeadlineExceededException;
+import dev.le_app.mcss_api_java.api.utilities.Deadline;
+import dev.le_app.mcss_api_java.api.utilities.HedgePolicy;
+import dev.le_app.mcss_api_java.simulator.SimulatorConfig;
+
+public class TestDeadlines {
+
+    @Test
+    public void deadlineCutsTimeouts() throws Exception {
+        with(new SimulatorConfig().setServers(2).setLatency(300, 300), (slow, client) -> {
+            // The status line comes after the budget, the read timeout was cut to it
+            DeadlineExceededException exceeded = assertThrows(DeadlineExceededException.class, () -> Deadline.after(Duration.ofMillis(30)).call(client::getStats));
+            assertEquals("Deadline exceeded for /", exceeded.getMessage());
+            assertNotNull(exceeded.getCause());
+        });
+    }
+
+    @Test
+    public void watchdogDisconnectsTricklingBody() throws Exception {
+        // Answers at once, then sends a byte now and then, so no read ever times out
+        CountDownLatch disconnected = new CountDownLatch(1);
+        CountDownLatch stop = new CountDownLatch(1);
+        HttpServer trickling = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        trickling.createContext("/", exchange -> {
+            exchange.sendResponseHeaders(200, 1_000_000);
+            try (OutputStream body = exchange.getResponseBody()) {
+                while (!stop.await(20, TimeUnit.MILLISECONDS)) {
+                    body.write(' ');
+                    body.flush();
+                }
+            } catch (IOException e) {
+                disconnected.countDown();
+            } catch (InterruptedException ignored) {
+                // Stopping
+            }
+        });
+        trickling.start();
+        try {
+            MCSS client = new MCSS(trickling.getAddress().getHostString(), trickling.getAddress().getPort(), "key");
+            client.setTimeouts(10_000, 10_000);
+            assertThrows(DeadlineExceededException.class, () -> Deadline.after(Duration.ofMillis(200)).call(client::getStats));
+            // Only the watchdog closes the connection, the body would otherwise keep coming
+            assertTrue(disconnected.await(10, TimeUnit.SECONDS));
+        } finally {
+            stop.countDown();
+            trickling.stop(0);
+        }
+    }
+
+    @Test
+    public void hedgesSlowGets() throws Exception {
+        // Every answer takes longer than the hedge delay, so every GET is hedged
+        with(new SimulatorConfig().setServers(2).setLatency(100, 100), (slow, client) -> {
+            client.setHedging(new HedgePolicy().setMinSamples(0).setDelayBounds(20, 20));
+            for (int i = 0; i < 5; i++) client.getStats();
+            assertEquals(5, client.request().getHedgesSent());
+        });
+    }
+
+    // Timing based, enable with -Dmcss.loadtest=true
+    @Test
+    @EnabledIfSystemProperty(named = "mcss.loadtest", matches = "true")
+    public void deadlineReturnsPromptly() throws Exception {
+        with(new SimulatorConfig().setServers(2).setLatency(50, 300), (slow, client) -> {
+            long start = System.nanoTime();
+            assertThrows(DeadlineExceededException.class, () -> Deadline.after(Duration.ofMillis(30)).call(client::getStats));
+            assertTrue(System.nanoTime() - start < 250_000_000L);
+        });
+    }
+}
@@ -0,0 +1,175 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static dev.le_app.mcss_api_java.simulator.SimulatorFixture.with;
+import static dev.le_app.mcss_api_java.simulator.SimulatorFixture.withServers;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import dev.le_app.mcss_api_java.api.fleet.Autoscaler;
+import dev.le_app.mcss_api_java.api.fleet.FleetRollup;
+import dev.le_app.mcss_api_java.api.fleet.RestartPhase;
+import dev.le_app.mcss_api_java.api.fleet.RollingRestart;
+import dev.le_app.mcss_api_java.api.fleet.RollingRestartReport;
+import dev.le_app.mcss_api_java.api.servers.Server;
+import dev.le_app.mcss_api_java.api.servers.ServerStats;
+import dev.le_app.mcss_api_java.api.snapshot.FleetSnapshot;
+import dev.le_app.mcss_api_java.api.snapshot.SnapshotStore;
+import dev.le_app.mcss_api_java.commons.structures.UserBuilder;
+import dev.le_app.mcss_api_java.simulator.SimulatorConfig;
+
+/**
+ * Fleet wide features, each against a simulator of its own since they start, stop and restart servers.
+ */
+public class TestFleet {
+
+    @Test
+    public void fleetStats() throws Exception {
+        withServers(8, (own, client) -> {
+            // Players and memory used, summed over what the client read
+            long[] totals = new long[2];
+            for (String id : own.getServerIds()) {
+                own.setPlayersOnline(id, 3);
+                Server server = client.servers.getServer(id);
+                server.getStats();
+                ServerStats stats = server.getStats();
+                totals[0] += stats.getPlayersOnline();
+                totals[1] += stats.getMemoryUsed();
+            }
+
+            FleetRollup rollup = client.getFleetStats().get();
+            assertEquals(8, rollup.getServers());
+            assertEquals(totals[0], rollup.getPlayersOnline());
+            assertEquals(totals[1], rollup.getMemoryUsed());
+            assertEquals(6, rollup.getStatusCount(1));
+            assertEquals(2, rollup.getStatusCount(0));
+            assertEquals(0, rollup.getCpuPercentile(10));
+            assertTrue(rollup.getCpuPercentile(100) >= 5);
+
+            // Stats carry no status, a listing brings the new one
+            String online = own.getServerIds().stream().filter(id -> own.getServerStatus(id) == 1).findFirst().get();
+            client.servers.getServer(online).stop();
+            assertEquals(6, client.getFleetStats().get().getStatusCount(1));
+            client.getServers();
+            assertEquals(5, client.getFleetStats().get().getStatusCount(1));
+            assertEquals(3, client.getFleetStats().get().getStatusCount(0));
+
+            client.getFleetStats().remove(own.getServerIds().get(0));
+            assertEquals(7, client.getFleetStats().get().getServers());
+        });
+    }
+
+    @Test
+    public void autoscaler() throws Exception {
+        withServers(12, (own, client) -> {
+            List<String> ids = own.getServerIds();
+            List<String> actions = new ArrayList<String>();
+            Instant t0 = Instant.parse("2023-01-01T12:00:00Z");
+            Autoscaler autoscaler = new Autoscaler(client)
+                .setIdleGrace(Duration.ofMinutes(1))
+                .setMaxConcurrentStarts(1)
+                .setClock(Clock.fixed(t0, ZoneOffset.UTC))
+                .addListener((id, action, reason) -> actions.add(action + " " + ids.indexOf(id)));
+
+            // Server 0 is the only online one without players nor a KeepOnline setting
+            autoscaler.step();
+            assertTrue(actions.isEmpty());
+            autoscaler.setClock(Clock.fixed(t0.plusSeconds(120), ZoneOffset.UTC)).step();
+            assertEquals(List.of("STOP 0"), actions);
+            assertEquals(0, own.getServerStatus(ids.get(0)));
+
+            autoscaler.demand(ids.get(3));
+            autoscaler.demand(ids.get(7));
+            autoscaler.step();
+            assertEquals(List.of("STOP 0", "START 3"), actions);
+            autoscaler.step();
+            assertEquals(List.of("STOP 0", "START 3", "START 7"), actions);
+            assertEquals(1, own.getServerStatus(ids.get(7)));
+
+            // A server whose stats fail is skipped without failing the step, it is stopped once they read again
+            autoscaler.step();
+            own.failNextRequests(ids.get(3), 1);
+            autoscaler.setClock(Clock.fixed(t0.plusSeconds(240), ZoneOffset.UTC)).step();
+            assertEquals(List.of("STOP 0", "START 3", "START 7"), actions);
+            autoscaler.step();
+            assertEquals(List.of("STOP 0", "START 3", "START 7", "STOP 3"), actions);
+        });
+    }
+
+    @Test
+    public void rollingRestart() throws Exception {
+        with(new SimulatorConfig().setServers(8).setStartupMillis(100), (own, client) -> {
+            List<String> ids = own.getServerIds();
+            own.setPlayersOnline(ids.get(1), 0);
+            own.setPlayersOnline(ids.get(2), 0);
+            // Transient errors are retried, the server is still restarted
+            own.failNextRequests(ids.get(1), 2);
+            int[] inFlight = new int[2];
+            List<String> warned = new ArrayList<String>();
+            RollingRestartReport report = new RollingRestart(client)
+                .setMaxConcurrent(2)
+                .setDeadline(Duration.ofMillis(400))
+                .setWarning("say restarting", Duration.ofMillis(200))
+                .setPollInterval(Duration.ofMillis(20))
+                .setBootTimeout(Duration.ofSeconds(5))
+                .addListener((id, phase) -> {
+                    if (phase == RestartPhase.RESTARTING) inFlight[1] = Math.max(inFlight[1], ++inFlight[0]);
+                    if (phase == RestartPhase.DONE || phase == RestartPhase.FAILED) inFlight[0]--;
+                    if (phase == RestartPhase.WARNED) warned.add(id);
+                })
+                .run();
+
+            assertTrue(report.isSuccess(), report.toString());
+            assertEquals(6, report.count(RestartPhase.DONE));
+            assertEquals(2, report.count(RestartPhase.SKIPPED));
+            assertEquals(2, inFlight[1]);
+            assertEquals(List.of(ids.get(4), ids.get(5), ids.get(6)), warned);
+        });
+    }
+
+    @Test
+    public void snapshotStore() throws Exception {
+        Path directory = Files.createTempDirectory("mcss-snapshot");
+        withServers(4, (own, client) -> {
+            try (SnapshotStore writer = new SnapshotStore(client, directory); SnapshotStore reader = new SnapshotStore(own.client(), directory)) {
+                assertEquals(writer.getPath(), reader.getPath());
+                assertEquals(null, reader.read());
+
+                // The first store takes the lock, the second only reads what it stores
+                FleetSnapshot written = writer.refresh();
+                assertTrue(writer.isWriter());
+                assertFalse(reader.isWriter());
+                FleetSnapshot read = reader.refresh();
+                assertEquals(4, read.getServers().size());
+                assertEquals(written.getUsers().size(), read.getUsers().size());
+                String id = own.getServerIds().get(0);
+                assertEquals("Auto save 0", read.getTasks(id).get(0).getName());
+                assertEquals(written.getTasks(id).get(0).getTaskId(), read.getTasks(id).get(0).getTaskId());
+                assertEquals(1, read.getBackups(id).size());
+                assertEquals(written.getStats(id).getMemoryLimit(), read.getStats(id).getMemoryLimit());
+                assertTrue(written.getServer(id).toJSON().similar(read.getServer(id).toJSON()));
+                assertSame(read, reader.read());
+
+                // A larger snapshot grows the file and the reader maps it again
+                for (int i = 0; i < 300; i++) client.users.create(new UserBuilder().setUsername("snapshot-user-" + i).setPassword("secret"));
+                writer.refresh();
+                assertEquals(written.getUsers().size() + 300, reader.read().getUsers().size());
+
+                // Once the writer is gone another store takes over
+                writer.close();
+                assertTrue(reader.isWriter());
+                assertEquals(written.getUsers().size() + 300, reader.refresh().getUsers().size());
+            }
+        });
+    }
+}
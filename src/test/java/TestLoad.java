@@ -0,0 +1,49 @@
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import dev.le_app.mcss_api_java.api.MCSS;
+import dev.le_app.mcss_api_java.api.servers.Server;
+import dev.le_app.mcss_api_java.simulator.LoadDriver;
+import dev.le_app.mcss_api_java.simulator.LoadReport;
+import dev.le_app.mcss_api_java.simulator.McssSimulator;
+import dev.le_app.mcss_api_java.simulator.SimulatorConfig;
+
+// Sizing run, enable with -Dmcss.loadtest=true
+@EnabledIfSystemProperty(named = "mcss.loadtest", matches = "true")
+public class TestLoad {
+
+    @Test
+    public void throughputAndTailLatency() throws Exception {
+        SimulatorConfig config = new SimulatorConfig()
+            .setServers(Integer.getInteger("mcss.loadtest.servers", 2000))
+            .setLatency(Integer.getInteger("mcss.loadtest.minLatency", 1), Integer.getInteger("mcss.loadtest.maxLatency", 5))
+            .setErrorRate(Double.parseDouble(System.getProperty("mcss.loadtest.errorRate", "0.001")))
+            .setConsoleLinesPerSecond(20)
+            .setThreads(128);
+
+        try (McssSimulator simulator = new McssSimulator(config).start()) {
+            MCSS mcss = simulator.client();
+            List<String> ids = simulator.getServerIds();
+            Server[] servers = new Server[64];
+            for (int i = 0; i < servers.length; i++) servers[i] = mcss.servers.getServer(ids.get(i));
+
+            Duration warmup = Duration.ofSeconds(1);
+            Duration duration = Duration.ofSeconds(Integer.getInteger("mcss.loadtest.seconds", 5));
+            for (int threads : new int[] { 1, 4, 16, 64 }) {
+                LoadDriver driver = new LoadDriver(threads, warmup, duration);
+                LoadReport stats = driver.run("server stats", (thread, i) -> servers[(int) (i % servers.length)].getStats());
+                LoadReport console = driver.run("console 100 lines", (thread, i) -> servers[(int) (i % servers.length)].getConsole(100));
+                LoadReport list = driver.run("list servers", (thread, i) -> mcss.getServers());
+                System.out.println(stats);
+                System.out.println(console);
+                System.out.println(list);
+                assertTrue(stats.getOperations() > 0);
+            }
+        }
+    }
+}
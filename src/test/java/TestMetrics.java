@@ -0,0 +1,48 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static dev.le_app.mcss_api_java.simulator.SimulatorFixture.withServers;
+
+import java.net.HttpURLConnection;
+import java.net.InetSocketAddress;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.Test;
+
+import dev.le_app.mcss_api_java.api.metrics.PrometheusExporter;
+
+public class TestMetrics {
+
+    @Test
+    public void prometheusExporter() throws Exception {
+        withServers(3, (own, client) -> {
+            String id = own.getServerIds().get(0);
+            own.setPlayersOnline(id, 4);
+            client.servers.getServer(id).getStats();
+            assertThrows(Exception.class, () -> client.servers.getServer("missing"));
+
+            try (PrometheusExporter exporter = new PrometheusExporter(client).start(new InetSocketAddress("127.0.0.1", 0))) {
+                long requests = client.request().getMetrics().getEndpoints().stream().mapToLong(e -> e.getRequests()).sum();
+                HttpURLConnection con = (HttpURLConnection) new URL("http://127.0.0.1:" + exporter.getPort() + "/metrics").openConnection();
+                assertEquals(200, con.getResponseCode());
+                String text = new String(con.getInputStream().readAllBytes(), StandardCharsets.UTF_8);
+
+                assertTrue(text.contains("mcss_server_players_online{server=\"" + id + "\"} 4\n"), text);
+                assertTrue(text.contains("# TYPE mcss_client_requests_total counter\n"));
+                assertTrue(text.contains("mcss_client_requests_total{method=\"GET\",endpoint=\"/servers/{id}/stats\"} 1\n"));
+                assertTrue(text.contains("mcss_client_request_errors_total{method=\"GET\",endpoint=\"/servers/{id}\"} 1\n"));
+                assertTrue(text.contains("mcss_client_request_duration_seconds_bucket{method=\"GET\",endpoint=\"/servers/{id}/stats\",le=\"+Inf\"} 1\n"));
+                assertFalse(text.contains("# EOF"));
+
+                // Scrapes never call MCSS
+                assertEquals(requests, client.request().getMetrics().getEndpoints().stream().mapToLong(e -> e.getRequests()).sum());
+
+                String openMetrics = exporter.scrape(true);
+                assertTrue(openMetrics.contains("# TYPE mcss_client_requests counter\n"));
+                assertTrue(openMetrics.endsWith("# EOF\n"));
+            }
+        });
+    }
+}
@@ -1,3 +1,6 @@
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
 import org.junit.Test;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.MethodOrderer;
@@ -6,20 +9,37 @@ import org.junit.jupiter.api.TestInstance;
 import org.junit.jupiter.api.TestMethodOrder;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.io.IOException;
 import java.util.ArrayList;
 
 import dev.le_app.mcss_api_java.api.MCSS;
 import dev.le_app.mcss_api_java.commons.responses.server.ServerResponse;
 import dev.le_app.mcss_api_java.commons.responses.client.StatsResponse;
+import dev.le_app.mcss_api_java.simulator.McssSimulator;
 
 @TestInstance(TestInstance.Lifecycle.PER_CLASS)
 @TestMethodOrder(MethodOrderer.OrderAnnotation.class)
 public class TestRequest {
 
-    String apiKey = "BaFfXXBmRTeRVqGWq1dPSa7imoHhlYWc7gHIWFGiY6eFVKZj41X5OLdC513ci5XT8hgdqBb9KrW4o88hl4ySuwMpNFTiCD9HUhdnWouMKKs3i0Ve8OFBnpsL";
+    static McssSimulator simulator;
+
+    MCSS mcss;
+
+    @BeforeClass
+    public static void startSimulator() throws IOException {
+        simulator = new McssSimulator().start();
+    }
+
+    @AfterClass
+    public static void stopSimulator() {
+        simulator.close();
+    }
+
+    @Before
+    public void connect() {
+        mcss = simulator.client();
+    }
 
-    MCSS mcss = new MCSS("bosstop.tech", 80, apiKey);
-    
     @Test
     @Order(1)
     @DisplayName("Client Test")
@@ -0,0 +1,120 @@
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static dev.le_app.mcss_api_java.simulator.SimulatorFixture.with;
+import static dev.le_app.mcss_api_java.simulator.SimulatorFixture.withServers;
+
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.Test;
+
+import dev.le_app.mcss_api_java.api.servers.Server;
+import dev.le_app.mcss_api_java.api.utilities.ResponseCache;
+import dev.le_app.mcss_api_java.commons.responses.client.SettingsResponse;
+import dev.le_app.mcss_api_java.commons.structures.UserBuilder;
+import dev.le_app.mcss_api_java.simulator.SimulatorConfig;
+
+public class TestResponseCache {
+
+    @Test
+    public void revalidation() throws Exception {
+        with(new SimulatorConfig().setServers(2).setValidators(true), (tagged, client) -> {
+            ResponseCache cache = new ResponseCache();
+            client.setResponseCache(cache);
+
+            SettingsResponse first = client.getSettings();
+            SettingsResponse second = client.getSettings();
+            assertEquals(1, cache.getNotModified());
+            assertSame(first.getRaw(), second.getRaw());
+
+            // A changed list gets a new ETag and is decoded again
+            int users = client.users.get().size();
+            client.users.create(new UserBuilder().setUsername("tagged").setPassword("secret"));
+            assertEquals(users + 1, client.users.get().size());
+            assertEquals(1, cache.getNotModified());
+        });
+    }
+
+    @Test
+    public void unchangedBodies() throws Exception {
+        // Without validators the body is still downloaded but not decoded again
+        withServers(2, (own, client) -> {
+            ResponseCache cache = new ResponseCache();
+            client.setResponseCache(cache);
+            SettingsResponse settings = client.getSettings();
+            assertSame(settings.getRaw(), client.getSettings().getRaw());
+            assertEquals(1, cache.getUnchanged());
+            assertEquals(0, cache.getNotModified());
+        });
+    }
+
+    @Test
+    public void consoleReadsAreNotCached() throws Exception {
+        with(new SimulatorConfig().setServers(4).setValidators(true), (tagged, client) -> {
+            ResponseCache cache = new ResponseCache();
+            client.setResponseCache(cache);
+            // Offline, so every read sees the same console
+            Server server = client.servers.getServer(tagged.getServerIds().get(3));
+            int entries = cache.size();
+
+            // Each read brings its own one-shot reader, an entry for it could never be hit again
+            String[] lines = server.getConsole(10);
+            assertArrayEquals(lines, server.getConsole(10));
+            StringBuilder out = new StringBuilder();
+            assertEquals(lines.length, server.readConsole(10, out));
+            assertEquals(entries, cache.size());
+            assertEquals(0, cache.getNotModified());
+        });
+    }
+
+    @Test
+    public void retargetDropsValidators() throws Exception {
+        // Answers 304 to any validator, as a host whose ETags collide with the previous one would
+        List<String> validators = new CopyOnWriteArrayList<String>();
+        HttpServer other = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        other.createContext("/", exchange -> {
+            String etag = exchange.getRequestHeaders().getFirst("If-None-Match");
+            if (etag != null) {
+                validators.add(etag);
+                exchange.sendResponseHeaders(304, -1);
+            } else {
+                byte[] body = "{\"data\":[]}".getBytes(StandardCharsets.UTF_8);
+                exchange.getResponseHeaders().set("ETag", "\"other\"");
+                exchange.sendResponseHeaders(200, body.length);
+                exchange.getResponseBody().write(body);
+            }
+            exchange.close();
+        });
+        other.start();
+        try {
+            with(new SimulatorConfig().setServers(4).setValidators(true), (tagged, client) -> {
+                ResponseCache cache = new ResponseCache();
+                client.setResponseCache(cache);
+                assertEquals(4, client.request().GET("/servers").getJSONArray("data").length());
+                assertEquals(4, client.request().GET("/servers").getJSONArray("data").length());
+                assertEquals(1, cache.getNotModified());
+
+                client.setTarget(other.getAddress().getHostString(), other.getAddress().getPort(), "other-key", false);
+                assertEquals(0, client.request().GET("/servers").getJSONArray("data").length());
+                assertTrue(validators.isEmpty(), validators.toString());
+                // The new host's own validators are sent back to it
+                assertEquals(0, client.request().GET("/servers").getJSONArray("data").length());
+                assertEquals(List.of("\"other\""), validators);
+
+                // Each host keeps its entries, going back revalidates the first one
+                client.setTarget(tagged.getHost(), tagged.getPort(), tagged.getConfig().getApiKey(), false);
+                assertEquals(4, client.request().GET("/servers").getJSONArray("data").length());
+                assertEquals(3, cache.getNotModified());
+                assertEquals(2, cache.size());
+            });
+        } finally {
+            other.stop(0);
+        }
+    }
+}
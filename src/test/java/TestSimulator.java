@@ -0,0 +1,137 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.ArrayList;
+
+import org.json.JSONObject;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+
+import dev.le_app.mcss_api_java.api.MCSS;
+import dev.le_app.mcss_api_java.api.backups.Backup;
+import dev.le_app.mcss_api_java.api.exceptions.HTTPException;
+import dev.le_app.mcss_api_java.api.scheduler.Task;
+import dev.le_app.mcss_api_java.api.servers.Server;
+import dev.le_app.mcss_api_java.api.servers.ServerCountFilter;
+import dev.le_app.mcss_api_java.api.servers.ServerStats;
+import dev.le_app.mcss_api_java.api.utilities.Result;
+import dev.le_app.mcss_api_java.commons.responses.server.ServerResponse;
+import dev.le_app.mcss_api_java.commons.responses.user.UserResponse;
+import dev.le_app.mcss_api_java.commons.structures.BackupBuilder;
+import dev.le_app.mcss_api_java.commons.structures.UserBuilder;
+import dev.le_app.mcss_api_java.simulator.LoadDriver;
+import dev.le_app.mcss_api_java.simulator.LoadReport;
+import dev.le_app.mcss_api_java.simulator.McssSimulator;
+import dev.le_app.mcss_api_java.simulator.SimulatorConfig;
+
+/**
+ * The client's core calls against one shared simulator.
+ * Features with a class of their own start a simulator per test through {@link dev.le_app.mcss_api_java.simulator.SimulatorFixture}.
+ */
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class TestSimulator {
+
+    McssSimulator simulator;
+    MCSS mcss;
+
+    @BeforeAll
+    public void start() throws Exception {
+        simulator = new McssSimulator(new SimulatorConfig().setServers(200).setConsoleLinesPerSecond(50)).start();
+        mcss = simulator.client();
+    }
+
+    @AfterAll
+    public void stop() {
+        simulator.close();
+    }
+
+    @Test
+    public void servers() throws Exception {
+        ArrayList<ServerResponse> servers = mcss.getServers();
+        assertEquals(200, servers.size());
+        assertEquals(200, mcss.getServerCount());
+        assertEquals(150, mcss.getServerCount(ServerCountFilter.ONLINE));
+        assertEquals(servers.get(5).getServerId(), mcss.streamServers().skip(5).findFirst().get().getServerId());
+        assertEquals(150, mcss.streamServers().filter(s -> s.getStatus() == 1).count());
+
+        Server server = mcss.servers.getServer(servers.get(0).getServerId());
+        ServerStats stats = server.getStats();
+        assertTrue(stats.getMemoryLimit() > 0);
+        assertEquals(200, server.execute("say hello").getStatus());
+        assertTrue(server.getConsole(50).length > 0);
+    }
+
+    @Test
+    public void schedulerAndBackups() throws Exception {
+        Server server = mcss.servers.getServer(simulator.getServerIds().get(1));
+        ArrayList<Task> tasks = server.getScheduler().getTasks();
+        assertEquals(2, tasks.size());
+        assertEquals(2, server.getScheduler().get().getTasks());
+        assertEquals(tasks.get(1).getTaskId(), server.getScheduler().streamTasks().skip(1).findFirst().get().getTaskId());
+
+        ArrayList<Backup> backups = server.getBackups().getBackups();
+        assertEquals(1, backups.size());
+        server.getBackups().create(new BackupBuilder().setName("Nightly").setDestination("D:\\backups"));
+        assertEquals(2, server.getBackups().getBackups().size());
+        assertEquals("Nightly", server.getBackups().streamBackups().skip(1).findFirst().get().getName());
+    }
+
+    @Test
+    public void users() throws Exception {
+        int before = mcss.users.get().size();
+        mcss.users.create(new UserBuilder().setUsername("newcomer").setPassword("secret").setEnabled(true));
+        ArrayList<UserResponse> users = mcss.users.get();
+        assertEquals(before + 1, users.size());
+        assertTrue(mcss.users.stream().anyMatch(user -> user.getUsername().equals("newcomer")));
+    }
+
+    @Test
+    public void resultApi() throws Exception {
+        String id = simulator.getServerIds().get(0);
+
+        Result<Server> missing = mcss.servers.tryGetServer("missing");
+        assertFalse(missing.isOk());
+        assertEquals(404, missing.getStatus());
+        assertNull(missing.getValue());
+        assertEquals(404, missing.getError().getCode());
+        assertEquals(0, missing.getError().getStackTrace().length);
+
+        HTTPException thrown = assertThrows(HTTPException.class, () -> mcss.servers.getServer("missing"));
+        assertEquals(404, thrown.getCode());
+        assertTrue(thrown.getStackTrace().length > 0);
+
+        Result<Server> found = mcss.servers.tryGetServer(id);
+        assertTrue(found.isOk());
+        assertEquals(id, found.getValue().getServerId());
+        assertNull(found.getError());
+        assertTrue(found.getValue().tryGetStats().isOk());
+
+        // Statuses without a named message are errors too
+        mcss.users.create(new UserBuilder().setUsername("taken").setPassword("secret"));
+        HTTPException conflict = assertThrows(HTTPException.class, () -> mcss.users.create(new UserBuilder().setUsername("taken").setPassword("secret")));
+        assertEquals(409, conflict.getCode());
+        Result<JSONObject> again = mcss.request().tryPOST("/users", new JSONObject().put("username", "taken").toString());
+        assertFalse(again.isOk());
+        assertEquals("HTTP 409", again.getError().getMessage());
+    }
+
+    @Test
+    public void wrongKeyIsRejected() throws Exception {
+        MCSS intruder = new MCSS(simulator.getHost(), simulator.getPort(), "wrong");
+        assertThrows(Exception.class, intruder::getStats);
+        mcss.getStats();
+    }
+
+    @Test
+    public void loadDriverSmoke() throws Exception {
+        LoadReport report = new LoadDriver(4, Duration.ofMillis(100), Duration.ofMillis(500)).run("getStats", (thread, i) -> mcss.getStats());
+        assertTrue(report.getOperations() > 0);
+        assertFalse(report.getErrors() > 0, String.valueOf(report.getFirstError()));
+    }
+}
@@ -0,0 +1,38 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static dev.le_app.mcss_api_java.simulator.SimulatorFixture.withServers;
+
+import org.junit.jupiter.api.Test;
+
+import dev.le_app.mcss_api_java.api.scheduler.TaskCollisionAnalyzer;
+import dev.le_app.mcss_api_java.api.scheduler.TaskCollisionReport;
+import dev.le_app.mcss_api_java.api.scheduler.TaskOffset;
+
+public class TestTaskCollisions {
+
+    @Test
+    public void taskCollisions() throws Exception {
+        withServers(20, (own, client) -> {
+            // Every server saves hourly and restarts at 04:00
+            TaskCollisionAnalyzer analyzer = new TaskCollisionAnalyzer(client).setThreshold(5);
+            TaskCollisionReport report = analyzer.analyze();
+            assertEquals(40, report.getTasks().size());
+            assertEquals(40, report.getPeak());
+            assertEquals(4 * 3600, report.getHotspots().get(0).getSecond());
+
+            // The hourly saves cannot be moved, every restart leaves their slot
+            long restarts = report.getOffsets().stream().filter(TaskOffset::isApplicable).count();
+            assertEquals(20, restarts);
+            assertTrue(report.getOffsets().stream().anyMatch(offset -> !offset.isApplicable()));
+            assertEquals(restarts, analyzer.apply(report.getOffsets()));
+
+            // Only the saves are left at 04:00, as they are every hour
+            TaskCollisionReport applied = analyzer.analyze();
+            int[] load = applied.getLoad();
+            assertEquals(20, load[4 * 60]);
+            assertEquals(20, load[5 * 60]);
+            assertEquals(20, applied.getPeak());
+            assertEquals(0, applied.getOffsets().stream().filter(TaskOffset::isApplicable).count());
+        });
+    }
+}
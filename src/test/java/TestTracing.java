@@ -0,0 +1,133 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static dev.le_app.mcss_api_java.simulator.SimulatorFixture.with;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+
+import dev.le_app.mcss_api_java.api.servers.Server;
+import dev.le_app.mcss_api_java.api.utilities.HedgePolicy;
+import dev.le_app.mcss_api_java.api.utilities.SlowCallLog;
+import dev.le_app.mcss_api_java.api.utilities.Span;
+import dev.le_app.mcss_api_java.simulator.SimulatorConfig;
+
+public class TestTracing {
+
+    @Test
+    public void tracing() throws Exception {
+        with(new SimulatorConfig().setServers(2).setLatency(5, 60), (slow, client) -> {
+            String id = slow.getServerIds().get(0);
+            List<Span> spans = new CopyOnWriteArrayList<Span>();
+            SlowCallLog log = new SlowCallLog(3, Duration.ofHours(1));
+            List<List<Span>> reports = new CopyOnWriteArrayList<List<Span>>();
+            AtomicLong clock = new AtomicLong();
+            SlowCallLog rolling = new SlowCallLog(2, Duration.ofMillis(100), clock::get).setReporter(reports::add);
+            client.request().addSpanListener(spans::add);
+            client.request().addSpanListener(log);
+            client.request().addSpanListener(rolling);
+            // A failing listener does not fail the call
+            client.request().addSpanListener(span -> { throw new IllegalStateException(); });
+
+            Server server = client.servers.getServer(id);
+            server.execute("say traced");
+            Span command = spans.get(spans.size() - 1);
+            assertEquals("POST", command.getMethod());
+            assertEquals(id, command.getServerId());
+            assertEquals(1, command.getAttempt());
+            assertEquals(200, command.getStatus());
+            assertEquals(16, command.getCorrelationId().length());
+            assertTrue(slow.hasSeenCorrelationId(command.getCorrelationId()));
+            assertTrue(command.getTotalNanos() >= command.getWaitNanos() && command.getWaitNanos() > 0);
+
+            // Both attempts of a hedged GET carry the same id
+            client.setHedging(new HedgePolicy().setMinSamples(0).setDelayBounds(5, 5));
+            for (int i = 0; i < 10; i++) server.getStats();
+            List<Span> hedges = new ArrayList<Span>();
+            for (Span span : spans) if (span.getAttempt() == 2) hedges.add(span);
+            assertFalse(hedges.isEmpty());
+            for (Span hedge : hedges) {
+                assertTrue(hedge.isHedged());
+                assertTrue(spans.stream().anyMatch(span -> span.getAttempt() == 1 && span.getCorrelationId().equals(hedge.getCorrelationId())));
+            }
+
+            List<Span> slowest = log.getCurrent();
+            assertEquals(3, slowest.size());
+            long max = spans.stream().mapToLong(Span::getTotalNanos).max().getAsLong();
+            assertEquals(max, slowest.get(0).getTotalNanos());
+            assertTrue(slowest.get(0).getTotalNanos() >= slowest.get(1).getTotalNanos());
+            assertTrue(log.getSlowest().isEmpty());
+
+            // Reading after the interval ended rolls it over and reports it
+            assertTrue(rolling.getSlowest().isEmpty());
+            assertTrue(reports.isEmpty());
+            clock.addAndGet(Duration.ofMillis(150).toNanos());
+            List<Span> ended = rolling.getSlowest();
+            assertEquals(2, ended.size());
+            assertTrue(ended.get(0).getTotalNanos() >= ended.get(1).getTotalNanos());
+            assertEquals(List.of(ended), reports);
+        });
+    }
+
+    @Test
+    public void flightRecorderEvents() throws Exception {
+        // Every call waits on the simulated latency, so the hedge is always sent
+        with(new SimulatorConfig().setServers(2).setLatency(100, 100), (slow, client) -> {
+            String stats = "/servers/" + slow.getServerIds().get(0) + "/stats";
+            List<RecordedEvent> events;
+            Path file = Files.createTempFile("mcss-requests", ".jfr");
+            try (Recording recording = new Recording()) {
+                recording.enable("dev.le_app.mcss.Request");
+                recording.start();
+                client.request().GET(stats);
+                client.setHedging(new HedgePolicy().setMinSamples(0).setDelayBounds(10, 10));
+                client.request().GET(stats);
+                recording.stop();
+                recording.dump(file);
+                events = RecordingFile.readAllEvents(file);
+            } finally {
+                Files.deleteIfExists(file);
+            }
+
+            // One event per attempt, the plain GET first
+            events.removeIf(event -> !event.getEventType().getName().equals("dev.le_app.mcss.Request"));
+            events.sort(Comparator.comparing(RecordedEvent::getStartTime));
+            assertEquals(3, events.size(), events.toString());
+            for (RecordedEvent event : events) {
+                assertEquals("GET", event.getString("method"));
+                assertEquals("/servers/{id}/stats", event.getString("endpoint"));
+                assertTrue(event.getDuration().toNanos() > 0);
+            }
+
+            RecordedEvent plain = events.get(0);
+            assertFalse(plain.getBoolean("hedged"));
+            assertAnswered(plain);
+            assertTrue(plain.getDuration("decode").toNanos() > 0);
+
+            assertTrue(events.get(1).getBoolean("hedged"));
+            assertTrue(events.get(2).getBoolean("hedged"));
+            // The attempt that lost was cancelled, the winner went through every phase
+            RecordedEvent winner = events.get(1).getInt("status") == 200 ? events.get(1) : events.get(2);
+            assertAnswered(winner);
+        });
+    }
+
+    private static void assertAnswered(RecordedEvent event) {
+        assertEquals(200, event.getInt("status"));
+        assertTrue(event.getLong("bytes") > 0);
+        assertTrue(event.getDuration("connect").toNanos() > 0);
+        assertTrue(event.getDuration("waiting").toMillis() >= 90, event.toString());
+        assertTrue(event.getDuration("read").toNanos() > 0);
+    }
+}
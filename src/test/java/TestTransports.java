@@ -0,0 +1,145 @@
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static dev.le_app.mcss_api_java.simulator.SimulatorFixture.withServers;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.http.HttpTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPInputStream;
+
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.Test;
+
+import dev.le_app.mcss_api_java.api.MCSS;
+import dev.le_app.mcss_api_java.api.servers.Server;
+import dev.le_app.mcss_api_java.api.servers.ServerStats;
+import dev.le_app.mcss_api_java.api.utilities.Http2Transport;
+import dev.le_app.mcss_api_java.api.utilities.RecordingTransport;
+import dev.le_app.mcss_api_java.api.utilities.ReplayTransport;
+import dev.le_app.mcss_api_java.commons.responses.server.ServerResponse;
+
+public class TestTransports {
+
+    @Test
+    public void http2Transport() throws Exception {
+        withServers(20, (own, client) -> {
+            // HttpURLConnection cannot send PATCH, the default transport hands it to the HTTP client
+            client.updateSettings(7);
+            assertEquals(7, client.getSettings().getDeleteOldBackupsThreshold());
+
+            Http2Transport transport = new Http2Transport(2, 3);
+            client.request().setTransport(transport);
+            long before = transport.getHttp1Responses();
+            ExecutorService pool = Executors.newFixedThreadPool(16);
+            try {
+                List<Future<ServerStats>> calls = new ArrayList<Future<ServerStats>>();
+                for (int i = 0; i < 64; i++) {
+                    String id = own.getServerIds().get(i % 20);
+                    calls.add(pool.submit(() -> client.servers.getServer(id).getStats()));
+                }
+                for (Future<ServerStats> call : calls) assertTrue(call.get().getMemoryLimit() > 0);
+                // Each call looks the server up, then reads its stats
+                assertEquals(before + 2 * calls.size(), transport.getHttp1Responses());
+            } finally {
+                pool.shutdownNow();
+            }
+            assertEquals(404, client.servers.tryGetServer("missing").getStatus());
+            client.updateSettings(9);
+            assertEquals(9, client.getSettings().getDeleteOldBackupsThreshold());
+
+            // Plain http is never upgraded, every stream was released
+            assertEquals(0, transport.getHttp2Responses());
+            assertEquals(0, transport.getActiveStreams());
+        });
+    }
+
+    @Test
+    public void http2TransportStalledBody() throws Exception {
+        // Sends the headers and part of the body, then nothing until the client gives up
+        CountDownLatch gaveUp = new CountDownLatch(1);
+        HttpServer stalling = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        stalling.createContext("/", exchange -> {
+            exchange.sendResponseHeaders(200, 1000);
+            exchange.getResponseBody().write("{\"data\":".getBytes(StandardCharsets.UTF_8));
+            exchange.getResponseBody().flush();
+            try {
+                gaveUp.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException ignored) {
+                // Stopping
+            }
+            exchange.close();
+        });
+        stalling.start();
+        try {
+            MCSS client = new MCSS(stalling.getAddress().getHostString(), stalling.getAddress().getPort(), "key");
+            client.request().setTransport(new Http2Transport());
+            client.setTimeouts(1000, 300);
+            long start = System.nanoTime();
+            assertThrows(HttpTimeoutException.class, () -> client.request().GET("/servers"));
+            assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(5));
+        } finally {
+            gaveUp.countDown();
+            stalling.stop(0);
+        }
+    }
+
+    @Test
+    public void recordAndReplay() throws Exception {
+        Path file = Files.createTempFile("mcss-traffic", ".rec");
+        try {
+            withServers(6, (own, client) -> {
+                String id = own.getServerIds().get(0);
+                RecordingTransport recorder = client.request().record(file);
+                List<ServerResponse> servers = client.getServers();
+                Server server = client.servers.getServer(id);
+                int memoryLimit = server.getStats().getMemoryLimit();
+                String[] console = server.getConsole(20);
+                int users = client.users.get().size();
+                assertEquals(404, client.servers.tryGetServer("missing").getStatus());
+                recorder.close();
+                assertEquals(6, recorder.getRecorded());
+
+                // The key never reaches the file
+                String raw = new String(new GZIPInputStream(Files.newInputStream(file)).readAllBytes(), StandardCharsets.ISO_8859_1);
+                assertFalse(raw.contains(own.getConfig().getApiKey()));
+                assertTrue(raw.contains(RecordingTransport.REDACTED));
+
+                // Served back to a client of a host that does not exist
+                MCSS offline = new MCSS("127.0.0.1", 1, "other", false);
+                ReplayTransport replay = new ReplayTransport(file, false);
+                offline.request().setTransport(replay);
+                assertEquals(6, replay.size());
+                assertEquals(servers.size(), offline.getServers().size());
+                Server replayed = offline.servers.getServer(id);
+                assertEquals(memoryLimit, replayed.getStats().getMemoryLimit());
+                assertArrayEquals(console, replayed.getConsole(20));
+                assertEquals(users, offline.users.get().size());
+                assertEquals(404, offline.servers.tryGetServer("missing").getStatus());
+                // Responses are served again once all were used
+                assertEquals(servers.size(), offline.getServers().size());
+                assertThrows(IOException.class, () -> offline.getStats());
+
+                // Also served with the recorded delays
+                ReplayTransport timed = new ReplayTransport(file, true);
+                offline.request().setTransport(timed);
+                assertEquals(servers.size(), offline.getServers().size());
+            });
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+}
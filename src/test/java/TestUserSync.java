@@ -0,0 +1,36 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static dev.le_app.mcss_api_java.simulator.SimulatorFixture.with;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import dev.le_app.mcss_api_java.api.users.UserSyncReport;
+import dev.le_app.mcss_api_java.api.users.UserSyncResult;
+import dev.le_app.mcss_api_java.commons.structures.UserBuilder;
+import dev.le_app.mcss_api_java.simulator.SimulatorConfig;
+
+public class TestUserSync {
+
+    @Test
+    public void userSync() throws Exception {
+        with(new SimulatorConfig().setServers(1).setUsers(3), (own, client) -> {
+            List<UserBuilder> desired = new ArrayList<UserBuilder>();
+            desired.add(new UserBuilder().setUsername("user0").setEnabled(true).setAdmin(true).setHasAccessToAllServers(true));
+            desired.add(new UserBuilder().setUsername("user1").setEnabled(false));
+            desired.add(new UserBuilder().setUsername("fresh").setPassword("secret").setEnabled(true));
+
+            UserSyncReport report = client.users.sync(desired, 4, true);
+            assertTrue(report.isSuccess(), report.toString());
+            assertEquals(1, report.count(UserSyncResult.Action.UNCHANGED));
+            assertEquals(1, report.count(UserSyncResult.Action.UPDATE));
+            assertEquals(1, report.count(UserSyncResult.Action.CREATE));
+            assertEquals(1, report.count(UserSyncResult.Action.DELETE));
+            assertEquals(3, client.users.get().size());
+
+            assertEquals(3, client.users.sync(desired, 4, true).count(UserSyncResult.Action.UNCHANGED));
+        });
+    }
+}
@@ -0,0 +1,73 @@
+package dev.le_app.mcss_api_java.bench;
+
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import dev.le_app.mcss_api_java.commons.responses.client.ServersResponse;
+import dev.le_app.mcss_api_java.commons.responses.server.ServerResponse;
+import dev.le_app.mcss_api_java.commons.responses.server.ServerResponseCodec;
+
+/**
+ * Decoding of a GET /servers body, through the org.json tree as before and through the token codec.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CodecBenchmark {
+
+    @Param({ "10", "1000" })
+    public int servers;
+
+    private String body;
+
+    @Setup
+    public void setup() {
+        JSONArray array = new JSONArray();
+        for (int i = 0; i < this.servers; i++) {
+            array.put(new JSONObject()
+                .put("serverId", "server-" + i)
+                .put("status", i % 5)
+                .put("name", "Server " + i)
+                .put("description", "Survival \"world\" " + i)
+                .put("pathToFolder", "C:\\MCSS\\servers\\server-" + i)
+                .put("folderName", "server-" + i)
+                .put("type", "b1d7e3d0-0f4e-4a3a-9c89-3d2d0a1f3e7c")
+                .put("creationDate", "2024-01-01T00:00:00")
+                .put("isSetToAutoStart", i % 2 == 0)
+                .put("forceSaveOnStop", true)
+                .put("javaAllocatedMemory", 2048)
+                .put("keepOnline", i % 3)
+                .put("javaStartupLine", "-Xms1G -Xmx2G -jar server.jar nogui"));
+        }
+        this.body = array.toString();
+    }
+
+    // What Request.generateResponse and ServersResponse did for every list
+    @Benchmark
+    public ArrayList<ServerResponse> tree() {
+        return new ServersResponse(new JSONObject("{ \"data\":" + this.body + "}")).getServers();
+    }
+
+    @Benchmark
+    public ArrayList<ServerResponse> codec() throws Exception {
+        return ServerResponseCodec.readList(new StringReader(this.body));
+    }
+}
@@ -0,0 +1,122 @@
+package dev.le_app.mcss_api_java.simulator;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+/**
+ * Runs an operation from many threads for a fixed time and reports throughput and latency percentiles.
+ */
+public class LoadDriver {
+
+    @FunctionalInterface
+    public interface Operation {
+        void call(int thread, long iteration) throws Exception;
+    }
+
+    private final int threads;
+    private final Duration warmup;
+    private final Duration duration;
+
+    public LoadDriver(int threads, Duration warmup, Duration duration) {
+        if (threads < 1) throw new IllegalArgumentException("threads must be at least 1");
+        this.threads = threads;
+        this.warmup = warmup;
+        this.duration = duration;
+    }
+
+    public LoadReport run(String name, Operation operation) throws InterruptedException {
+        Worker[] workers = new Worker[this.threads];
+        CountDownLatch ready = new CountDownLatch(this.threads);
+        CountDownLatch go = new CountDownLatch(1);
+
+        long warmupNanos = this.warmup.toNanos();
+        long durationNanos = this.duration.toNanos();
+        List<Thread> running = new ArrayList<Thread>();
+        long[] start = new long[1];
+
+        for (int t = 0; t < this.threads; t++) {
+            Worker worker = new Worker(t, operation);
+            workers[t] = worker;
+            Thread thread = new Thread(() -> {
+                ready.countDown();
+                try {
+                    go.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                worker.run(start[0], warmupNanos, durationNanos);
+            }, "load-driver-" + t);
+            thread.setDaemon(true);
+            running.add(thread);
+            thread.start();
+        }
+
+        ready.await();
+        start[0] = System.nanoTime();
+        go.countDown();
+        for (Thread thread : running) thread.join();
+
+        long operations = 0;
+        long errors = 0;
+        int samples = 0;
+        for (Worker worker : workers) {
+            operations += worker.count;
+            errors += worker.errors;
+            samples += worker.count;
+        }
+        long[] latencies = new long[samples];
+        int offset = 0;
+        for (Worker worker : workers) {
+            System.arraycopy(worker.latencies, 0, latencies, offset, worker.count);
+            offset += worker.count;
+        }
+        Arrays.sort(latencies);
+        Exception firstError = null;
+        for (Worker worker : workers) {
+            if (worker.firstError != null) {
+                firstError = worker.firstError;
+                break;
+            }
+        }
+        return new LoadReport(name, this.threads, this.duration, operations, errors, latencies, firstError);
+    }
+
+    private static final class Worker {
+
+        private final int thread;
+        private final Operation operation;
+        private long[] latencies = new long[1024];
+        private int count;
+        private long errors;
+        private Exception firstError;
+
+        Worker(int thread, Operation operation) {
+            this.thread = thread;
+            this.operation = operation;
+        }
+
+        void run(long start, long warmupNanos, long durationNanos) {
+            long measureFrom = start + warmupNanos;
+            long end = measureFrom + durationNanos;
+            long iteration = 0;
+            while (true) {
+                long before = System.nanoTime();
+                if (before >= end) return;
+                boolean failed = false;
+                try {
+                    this.operation.call(this.thread, iteration++);
+                } catch (Exception e) {
+                    failed = true;
+                    if (this.firstError == null) this.firstError = e;
+                }
+                if (before < measureFrom) continue;
+                if (failed) this.errors++;
+                if (this.count == this.latencies.length) this.latencies = Arrays.copyOf(this.latencies, this.count * 2);
+                this.latencies[this.count++] = System.nanoTime() - before;
+            }
+        }
+    }
+}
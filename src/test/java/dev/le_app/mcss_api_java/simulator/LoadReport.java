@@ -0,0 +1,49 @@
+package dev.le_app.mcss_api_java.simulator;
+
+import java.time.Duration;
+
+public class LoadReport {
+
+    private final String name;
+    private final int threads;
+    private final Duration duration;
+    private final long operations;
+    private final long errors;
+    private final long[] sortedLatencies;
+    private final Exception firstError;
+
+    LoadReport(String name, int threads, Duration duration, long operations, long errors, long[] sortedLatencies, Exception firstError) {
+        this.name = name;
+        this.threads = threads;
+        this.duration = duration;
+        this.operations = operations;
+        this.errors = errors;
+        this.sortedLatencies = sortedLatencies;
+        this.firstError = firstError;
+    }
+
+    public String getName() { return this.name; }
+    public int getThreads() { return this.threads; }
+    public long getOperations() { return this.operations; }
+    public long getErrors() { return this.errors; }
+    public Exception getFirstError() { return this.firstError; }
+
+    public double getThroughput() {
+        return this.operations / (this.duration.toNanos() / 1e9);
+    }
+
+    // Latency at the given percentile (0-100) in microseconds
+    public double getLatencyMicros(double percentile) {
+        if (this.sortedLatencies.length == 0) return 0;
+        int index = (int) Math.ceil(percentile / 100.0 * this.sortedLatencies.length) - 1;
+        index = Math.max(0, Math.min(this.sortedLatencies.length - 1, index));
+        return this.sortedLatencies[index] / 1000.0;
+    }
+
+    public String toString() {
+        return String.format("%-24s threads=%-3d ops=%-8d errors=%-6d throughput=%10.1f/s p50=%8.1fus p90=%8.1fus p99=%8.1fus p99.9=%8.1fus max=%8.1fus",
+            this.name, this.threads, this.operations, this.errors, this.getThroughput(),
+            this.getLatencyMicros(50), this.getLatencyMicros(90), this.getLatencyMicros(99),
+            this.getLatencyMicros(99.9), this.getLatencyMicros(100));
+    }
+}
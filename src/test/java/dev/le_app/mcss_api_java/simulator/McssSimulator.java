@@ -0,0 +1,537 @@
+package dev.le_app.mcss_api_java.simulator;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.json.JSONArray;
+import org.json.JSONObject;
+
+import dev.le_app.mcss_api_java.api.MCSS;
+import dev.le_app.mcss_api_java.api.servers.ServerType;
+import dev.le_app.mcss_api_java.api.utilities.Request;
+
+/**
+ * Embedded HTTP server implementing the {@code /api/v2} endpoints used by the client,
+ * with thousands of simulated Minecraft servers, configurable latency, error rate and console churn.
+ */
+public class McssSimulator implements AutoCloseable {
+
+    private static final String BASE = "/api/v2";
+
+    private final SimulatorConfig config;
+    private final List<SimulatedServer> servers = new ArrayList<SimulatedServer>();
+    private final Map<String, SimulatedServer> serversById = new HashMap<String, SimulatedServer>();
+    private final Map<String, JSONObject> users = new ConcurrentHashMap<String, JSONObject>();
+    private final JSONObject settings = new JSONObject()
+        .put("deleteOldBackupsThreshold", 30)
+        .put("previousBackupLocation", "C:\\MCSS\\backups");
+    private final AtomicLong ids = new AtomicLong();
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder errors = new LongAdder();
+    // Correlation ids of the latest requests, as MCSS would log them
+    private final ArrayDeque<String> correlationIds = new ArrayDeque<String>();
+    // Requests about a server still to be answered with 500, by server id
+    private final Map<String, AtomicInteger> failing = new ConcurrentHashMap<String, AtomicInteger>();
+
+    private HttpServer http;
+    private ExecutorService executor;
+
+    public McssSimulator(SimulatorConfig config) {
+        this.config = config;
+        Random random = new Random(config.getSeed());
+        ServerType[] types = ServerType.values();
+
+        for (int i = 0; i < config.getServers(); i++) {
+            String id = new UUID(random.nextLong(), random.nextLong()).toString();
+            int status = i % 4 == 3 ? SimulatedServer.OFFLINE : SimulatedServer.ONLINE;
+            SimulatedServer server = new SimulatedServer(config, i, id, types[i % types.length].getValue(), status);
+            for (int t = 0; t < config.getTasksPerServer(); t++) {
+                JSONObject task = t % 2 == 0
+                    ? this.task("Auto save " + t, new JSONObject().put("repeat", true).put("interval", 3600), new JSONObject().put("commands", new JSONArray().put("save-all")))
+                    : this.task("Daily restart " + t, new JSONObject().put("repeat", true).put("time", "04:00:00"), new JSONObject().put("action", 4));
+                server.tasks.put(task.getString("taskId"), task);
+            }
+            for (int b = 0; b < config.getBackupsPerServer(); b++) {
+                JSONObject backup = this.backup(new JSONObject().put("name", "Backup " + b).put("destination", "C:\\MCSS\\backups\\" + id));
+                server.backups.put(backup.getString("backupId"), backup);
+            }
+            this.servers.add(server);
+            this.serversById.put(id, server);
+        }
+
+        for (int i = 0; i < config.getUsers(); i++) {
+            JSONObject user = this.user(new JSONObject().put("username", "user" + i).put("enabled", true).put("isAdmin", i == 0).put("hasAccessToAllServers", i == 0));
+            this.users.put(user.getString("userId"), user);
+        }
+    }
+
+    public McssSimulator() {
+        this(new SimulatorConfig());
+    }
+
+    public McssSimulator start() throws IOException {
+        // Headers and body go out in separate writes, without this Nagle adds ~40 ms to every exchange
+        System.setProperty("sun.net.httpserver.nodelay", "true");
+        this.http = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 1024);
+        this.executor = Executors.newFixedThreadPool(this.config.getThreads(), runnable -> {
+            Thread thread = new Thread(runnable, "mcss-simulator");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.http.setExecutor(this.executor);
+        this.http.createContext(BASE, this::handle);
+        this.http.start();
+        return this;
+    }
+
+    public void close() {
+        if (this.http != null) this.http.stop(0);
+        if (this.executor != null) this.executor.shutdownNow();
+    }
+
+    public String getHost() { return this.http.getAddress().getHostString(); }
+    public int getPort() { return this.http.getAddress().getPort(); }
+    public SimulatorConfig getConfig() { return this.config; }
+    public long getRequestCount() { return this.requests.sum(); }
+    public long getErrorCount() { return this.errors.sum(); }
+
+    // Whether one of the last 1000 requests carried the correlation id
+    public boolean hasSeenCorrelationId(String correlationId) {
+        synchronized (this.correlationIds) {
+            return this.correlationIds.contains(correlationId);
+        }
+    }
+
+    // A client pointing at this simulator
+    public MCSS client() {
+        return new MCSS(this.getHost(), this.getPort(), this.config.getApiKey());
+    }
+
+    public List<String> getServerIds() {
+        List<String> ids = new ArrayList<String>();
+        for (SimulatedServer server : this.servers) ids.add(server.serverId);
+        return ids;
+    }
+
+    public void setPlayersOnline(String serverId, int players) {
+        SimulatedServer server = this.serversById.get(serverId);
+        synchronized (server) {
+            server.setPlayersOnline(players);
+        }
+    }
+
+    // Answers the next requests under /servers/{id}/ with 500, other servers are unaffected
+    public void failNextRequests(String serverId, int count) {
+        this.failing.put(serverId, new AtomicInteger(count));
+    }
+
+    public int getServerStatus(String serverId) {
+        SimulatedServer server = this.serversById.get(serverId);
+        synchronized (server) {
+            return server.status();
+        }
+    }
+
+    /* HTTP HANDLING */
+
+    private void handle(HttpExchange exchange) throws IOException {
+        this.requests.increment();
+        String correlationId = exchange.getRequestHeaders().getFirst(Request.CORRELATION_HEADER);
+        if (correlationId != null) {
+            synchronized (this.correlationIds) {
+                if (this.correlationIds.size() == 1000) this.correlationIds.removeFirst();
+                this.correlationIds.addLast(correlationId);
+            }
+        }
+        try {
+            this.delay();
+            if (!this.config.getApiKey().equals(exchange.getRequestHeaders().getFirst("apiKey"))) {
+                throw new Failure(401, "Unauthorized");
+            }
+            if (this.config.getErrorRate() > 0 && ThreadLocalRandom.current().nextDouble() < this.config.getErrorRate()) {
+                throw new Failure(500, "Simulated failure");
+            }
+
+            String method = exchange.getRequestMethod();
+            String path = exchange.getRequestURI().getRawPath().substring(BASE.length());
+            Map<String, String> query = query(exchange.getRequestURI().getRawQuery());
+            if (!this.failing.isEmpty() && path.startsWith("/servers/")) {
+                AtomicInteger left = this.failing.get(path.split("/")[2]);
+                if (left != null && left.getAndDecrement() > 0) throw new Failure(500, "Simulated failure");
+            }
+            JSONObject body = null;
+            if (!method.equals("GET") && !method.equals("DELETE")) {
+                try (InputStream in = exchange.getRequestBody()) {
+                    String text = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+                    body = text.isBlank() ? new JSONObject() : new JSONObject(text);
+                }
+            }
+
+            String[] segments = path.isEmpty() || path.equals("/") ? new String[0] : path.substring(1).split("/");
+            Object result = this.route(method, segments, query, body);
+            String text = (result == null ? new JSONObject() : result).toString();
+            if (this.config.hasValidators() && method.equals("GET")) {
+                String etag = "\"" + Integer.toHexString(text.hashCode()) + "\"";
+                exchange.getResponseHeaders().set("ETag", etag);
+                if (etag.equals(exchange.getRequestHeaders().getFirst("If-None-Match"))) {
+                    exchange.sendResponseHeaders(304, -1);
+                    exchange.close();
+                    return;
+                }
+            }
+            this.send(exchange, 200, text);
+        } catch (Failure failure) {
+            this.errors.increment();
+            this.send(exchange, failure.status, new JSONObject().put("error", failure.getMessage()));
+        } catch (RuntimeException e) {
+            this.errors.increment();
+            this.send(exchange, 400, new JSONObject().put("error", String.valueOf(e.getMessage())));
+        }
+    }
+
+    private void delay() {
+        int min = this.config.getMinLatencyMillis();
+        int max = this.config.getMaxLatencyMillis();
+        if (max <= 0) return;
+        try {
+            Thread.sleep(min == max ? min : ThreadLocalRandom.current().nextInt(min, max + 1));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void send(HttpExchange exchange, int status, Object body) throws IOException {
+        byte[] bytes = body.toString().getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    private static Map<String, String> query(String raw) {
+        Map<String, String> query = new HashMap<String, String>();
+        if (raw == null || raw.isEmpty()) return query;
+        for (String pair : raw.split("&")) {
+            int eq = pair.indexOf('=');
+            String key = eq < 0 ? pair : pair.substring(0, eq);
+            String value = eq < 0 ? "" : pair.substring(eq + 1);
+            query.put(URLDecoder.decode(key, StandardCharsets.UTF_8), URLDecoder.decode(value, StandardCharsets.UTF_8));
+        }
+        return query;
+    }
+
+    private Object route(String method, String[] s, Map<String, String> query, JSONObject body) throws Failure {
+        String route = method + " " + (s.length > 0 ? s[0] : "");
+
+        if (s.length == 0 && method.equals("GET")) {
+            return new JSONObject()
+                .put("isDevBuild", false)
+                .put("mcssVersion", "13.8.0")
+                .put("mcssApiVersion", "2.0.0")
+                .put("uniqueIdentifier", "mcss-simulator")
+                .put("youAreAwesome", true);
+        }
+
+        if (route.equals("GET mcss") && s.length == 3 && s[1].equals("settings")) {
+            synchronized (this.settings) {
+                return new JSONObject(this.settings.toString());
+            }
+        }
+        if (route.equals("PATCH mcss") && s.length == 2 && s[1].equals("settings")) {
+            synchronized (this.settings) {
+                for (String key : body.keySet()) this.settings.put(key, body.get(key));
+            }
+            return null;
+        }
+
+        if (s.length > 0 && s[0].equals("servers")) return this.servers(method, s, query, body);
+        if (s.length > 0 && s[0].equals("users")) return this.users(method, s, body);
+
+        throw new Failure(404, "Not found");
+    }
+
+    private Object servers(String method, String[] s, Map<String, String> query, JSONObject body) throws Failure {
+        if (s.length == 1 && method.equals("GET")) {
+            JSONArray out = new JSONArray();
+            for (SimulatedServer server : this.servers) {
+                synchronized (server) {
+                    out.put(server.toJSON());
+                }
+            }
+            return out;
+        }
+
+        if (s.length == 2 && s[1].equals("count") && method.equals("GET")) {
+            int filter = enumValue(query.getOrDefault("filter", "0"), "NONE", "ONLINE", "OFFLINE", "BYSERVERTYPE");
+            String type = serverType(query.get("type"));
+            int count = 0;
+            for (SimulatedServer server : this.servers) {
+                synchronized (server) {
+                    int status = server.status();
+                    if (filter == 0
+                            || (filter == 1 && status == SimulatedServer.ONLINE)
+                            || (filter == 2 && status == SimulatedServer.OFFLINE)
+                            || (filter == 3 && server.type.equals(type))) {
+                        count++;
+                    }
+                }
+            }
+            return new JSONObject().put("count", count);
+        }
+
+        SimulatedServer server = this.serversById.get(s[1]);
+        if (server == null) throw new Failure(404, "Server not found");
+        // Serialized under the lock, tasks and backups are mutated in place
+        synchronized (server) {
+            Object result = this.server(server, method, s, query, body);
+            return result == null ? null : result.toString();
+        }
+    }
+
+    private Object server(SimulatedServer server, String method, String[] s, Map<String, String> query, JSONObject body) throws Failure {
+        String sub = s.length > 2 ? s[2] : "";
+        if (s.length == 2 && method.equals("GET")) return server.toJSON();
+        if (s.length == 2 && method.equals("PUT")) {
+            for (String key : body.keySet()) server.settings.put(key, body.get(key));
+            return null;
+        }
+        if (sub.equals("stats") && method.equals("GET")) return server.stats();
+
+        if (sub.equals("execute") && method.equals("POST") && s.length == 4) {
+            switch (s[3]) {
+                case "command":
+                    server.command(body.getString("command"));
+                    return null;
+                case "commands":
+                    JSONArray commands = body.getJSONArray("commands");
+                    for (int i = 0; i < commands.length(); i++) server.command(commands.getString(i));
+                    return null;
+                case "action":
+                    Object action = body.get("action");
+                    server.action(action instanceof Number ? ((Number) action).intValue() : actionValue(action.toString()));
+                    return null;
+                default:
+                    throw new Failure(404, "Not found");
+            }
+        }
+
+        if (sub.equals("console") && method.equals("GET")) {
+            if (query.containsKey("lastLine")) {
+                return new JSONObject().put("outdated", server.outdated(query.get("secondLastLine"), query.get("lastLine")));
+            }
+            int lines = Integer.parseInt(query.getOrDefault("lines", "0"));
+            boolean reversed = Boolean.parseBoolean(query.getOrDefault("reversed", "false"));
+            boolean takeFromBeginning = Boolean.parseBoolean(query.getOrDefault("takeFromBeginning", "false"));
+            return new JSONObject().put("console", new JSONArray(server.console(lines, reversed, takeFromBeginning)));
+        }
+
+        if (sub.equals("scheduler")) return this.scheduler(server, method, s, query, body);
+        if (sub.equals("backups")) return this.backups(server, method, s, body);
+
+        throw new Failure(404, "Not found");
+    }
+
+    private Object scheduler(SimulatedServer server, String method, String[] s, Map<String, String> query, JSONObject body) throws Failure {
+        if (s.length == 3 && method.equals("GET")) {
+            return new JSONObject()
+                .put("tasks", server.tasks.size())
+                .put("fixedTime", server.taskList(1).length())
+                .put("interval", server.taskList(2).length())
+                .put("timeless", server.taskList(3).length());
+        }
+        if (s.length == 4 && s[3].equals("tasks")) {
+            if (method.equals("GET")) return new JSONObject().put("tasks", server.taskList(enumValue(query.getOrDefault("filter", "0"), "NONE", "FIXED_TIME", "INTERVAL", "TIMELESS")));
+            if (method.equals("POST")) {
+                JSONObject task = this.task(body.getString("name"), body.optJSONObject("timing"), body.opt("job"));
+                task.put("enabled", body.optBoolean("enabled", true)).put("playerRequirement", body.optInt("playerRequirement", 0));
+                server.tasks.put(task.getString("taskId"), task);
+                return new JSONObject().put("taskId", task.getString("taskId"));
+            }
+        }
+        if (s.length == 5 && s[3].equals("tasks")) {
+            JSONObject task = server.tasks.get(s[4]);
+            if (task == null) throw new Failure(404, "Task not found");
+            switch (method) {
+                case "GET":
+                    return task;
+                case "PUT":
+                    for (String key : body.keySet()) task.put(key, body.get(key));
+                    return null;
+                case "DELETE":
+                    server.tasks.remove(s[4]);
+                    return null;
+                default:
+                    break;
+            }
+        }
+        throw new Failure(404, "Not found");
+    }
+
+    private Object backups(SimulatedServer server, String method, String[] s, JSONObject body) throws Failure {
+        if (s.length == 3) {
+            if (method.equals("GET")) return new JSONObject().put("backups", new JSONArray(server.backups.values()));
+            if (method.equals("POST")) {
+                JSONObject backup = this.backup(body);
+                server.backups.put(backup.getString("backupId"), backup);
+                return new JSONObject().put("backupId", backup.getString("backupId"));
+            }
+        }
+        if (s.length == 4 && s[3].equals("stats") && method.equals("GET")) {
+            return new JSONObject().put("scheduled", 0).put("completed", server.backups.size()).put("canceled", 0).put("failed", 0);
+        }
+        if (s.length == 4 && s[3].equals("history") && method.equals("GET")) return new JSONArray();
+        if (s.length == 5 && s[3].equals("history") && s[4].equals("clear") && method.equals("DELETE")) return null;
+        if (s.length == 4) {
+            JSONObject backup = server.backups.get(s[3]);
+            if (backup == null) throw new Failure(404, "Backup not found");
+            switch (method) {
+                case "GET":
+                    return backup;
+                case "PUT":
+                    for (String key : body.keySet()) backup.put(key, body.get(key));
+                    return null;
+                case "DELETE":
+                    server.backups.remove(s[3]);
+                    return null;
+                case "POST":
+                    return null;
+                default:
+                    break;
+            }
+        }
+        throw new Failure(404, "Not found");
+    }
+
+    private Object users(String method, String[] s, JSONObject body) throws Failure {
+        if (s.length == 1) {
+            if (method.equals("GET")) return new JSONArray(this.users.values());
+            if (method.equals("POST")) {
+                for (JSONObject existing : this.users.values()) {
+                    if (existing.getString("username").equals(body.optString("username"))) throw new Failure(409, "Username taken");
+                }
+                JSONObject user = this.user(body);
+                this.users.put(user.getString("userId"), user);
+                return new JSONObject().put("userId", user.getString("userId"));
+            }
+        }
+        if (s.length == 3 && s[1].equals("wipe") && s[2].equals("sessions") && method.equals("POST")) return null;
+        if (s.length == 2) {
+            JSONObject user = this.users.get(s[1]);
+            if (user == null) throw new Failure(404, "User not found");
+            switch (method) {
+                case "GET":
+                    return user;
+                case "PUT":
+                    // Users are replaced rather than mutated so listing them needs no lock
+                    JSONObject updated = new JSONObject(user.toString());
+                    for (String key : body.keySet()) {
+                        if (!key.equals("password") && !key.equals("passwordRepeat")) updated.put(key, body.get(key));
+                    }
+                    updated.put("userId", s[1]).put("lastModifiedAt", "2023-01-02T00:00:00");
+                    this.users.put(s[1], updated);
+                    return null;
+                case "DELETE":
+                    this.users.remove(s[1]);
+                    return null;
+                default:
+                    break;
+            }
+        }
+        throw new Failure(404, "Not found");
+    }
+
+    /* MODELS */
+
+    private JSONObject task(String name, JSONObject timing, Object job) {
+        return new JSONObject()
+            .put("taskId", "task-" + this.ids.incrementAndGet())
+            .put("name", name)
+            .put("enabled", true)
+            .put("playerRequirement", 0)
+            .put("timing", timing == null ? new JSONObject() : timing)
+            .put("job", job == null ? new JSONObject() : job);
+    }
+
+    private JSONObject backup(JSONObject body) {
+        return new JSONObject()
+            .put("backupId", "backup-" + this.ids.incrementAndGet())
+            .put("name", body.optString("name", "Backup"))
+            .put("destination", body.optString("destination", ""))
+            .put("suspend", body.optBoolean("suspend", false))
+            .put("compression", body.optString("compression", "NONE"))
+            .put("deleteOldBackups", body.optBoolean("deleteOldBackups", false))
+            .put("runBackupAfterCreation", body.optBoolean("runBackupAfterCreation", false))
+            .put("fileBlacklist", body.optJSONArray("fileBlacklist") == null ? new JSONArray() : body.getJSONArray("fileBlacklist"))
+            .put("folderBlacklist", body.optJSONArray("folderBlacklist") == null ? new JSONArray() : body.getJSONArray("folderBlacklist"));
+    }
+
+    private JSONObject user(JSONObject body) {
+        return new JSONObject()
+            .put("userId", "user-" + this.ids.incrementAndGet())
+            .put("username", body.getString("username"))
+            .put("enabled", body.optBoolean("enabled", false))
+            .put("isAdmin", body.optBoolean("isAdmin", false))
+            .put("hasAccessToAllServers", body.optBoolean("hasAccessToAllServers", false))
+            .put("customServerPermissions", new JSONObject())
+            .put("createdAt", "2023-01-01T00:00:00")
+            .put("lastModifiedAt", "2023-01-01T00:00:00");
+    }
+
+    // ASP.NET binds enums from either their number or their name
+    private static int enumValue(String value, String... names) {
+        for (int i = 0; i < names.length; i++) {
+            if (names[i].equalsIgnoreCase(value)) return i;
+        }
+        return Integer.parseInt(value);
+    }
+
+    private static String serverType(String value) {
+        if (value == null) return null;
+        for (ServerType type : ServerType.values()) {
+            if (type.name().equalsIgnoreCase(value)) return type.getValue();
+        }
+        return value;
+    }
+
+    private static int actionValue(String action) {
+        switch (action) {
+            case "STOP": return 1;
+            case "START": return 2;
+            case "KILL": return 3;
+            case "RESTART": return 4;
+            default: return 0;
+        }
+    }
+
+    private static final class Failure extends Exception {
+
+        private final int status;
+
+        Failure(int status, String message) {
+            super(message, null, false, false);
+            this.status = status;
+        }
+    }
+}
@@ -0,0 +1,189 @@
+package dev.le_app.mcss_api_java.simulator;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.json.JSONArray;
+import org.json.JSONObject;
+
+// State of one simulated Minecraft server, every method is called under the server's lock
+
+class SimulatedServer {
+
+    static final int OFFLINE = 0;
+    static final int ONLINE = 1;
+    static final int RESTARTING = 2;
+    static final int STARTING = 3;
+    static final int STOPPING = 4;
+
+    private static final String[] PLAYERS = { "Steve", "Alex", "Notch", "Herobrine", "Dinnerbone", "Jeb_" };
+
+    final String serverId;
+    final String type;
+    final JSONObject settings;
+    final Map<String, JSONObject> tasks = new LinkedHashMap<String, JSONObject>();
+    final Map<String, JSONObject> backups = new LinkedHashMap<String, JSONObject>();
+
+    private final SimulatorConfig config;
+    private final String[] console;
+    private final long createdAt;
+
+    private int status;
+    private long startingUntil;
+    private long lines;
+    private long generated;
+    private int playersOnline;
+    private long startDate = 1672531200;
+
+    SimulatedServer(SimulatorConfig config, int index, String serverId, String type, int status) {
+        this.config = config;
+        this.serverId = serverId;
+        this.type = type;
+        this.status = status;
+        this.console = new String[Math.max(2, config.getConsoleCapacity())];
+        this.createdAt = System.nanoTime();
+        this.playersOnline = status == ONLINE ? index % 7 : 0;
+        this.settings = new JSONObject()
+            .put("name", "Server " + index)
+            .put("description", "Simulated server " + index)
+            .put("pathToFolder", "C:\\MCSS\\servers\\server-" + index)
+            .put("folderName", "server-" + index)
+            .put("creationDate", "2023-01-01T00:00:00")
+            .put("isSetToAutoStart", index % 2 == 0)
+            .put("forceSaveOnStop", true)
+            .put("keepOnline", index % 3)
+            .put("javaAllocatedMemory", 1024 * (1 + index % 4))
+            .put("javaStartupLine", "java -Xmx" + (1 + index % 4) + "G -jar server.jar nogui");
+        this.append("[00:00:00 INFO]: Starting minecraft server");
+        this.append("[00:00:01 INFO]: Done! For help, type \"help\"");
+    }
+
+    int status() {
+        if (this.status == STARTING || this.status == RESTARTING) {
+            if (System.nanoTime() >= this.startingUntil) this.status = ONLINE;
+        }
+        return this.status;
+    }
+
+    JSONObject toJSON() {
+        return new JSONObject(this.settings, JSONObject.getNames(this.settings))
+            .put("serverId", this.serverId)
+            .put("type", this.type)
+            .put("status", this.status());
+    }
+
+    JSONObject stats() {
+        int memoryLimit = this.settings.getInt("javaAllocatedMemory");
+        boolean online = this.status() == ONLINE;
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        return new JSONObject().put("latest", new JSONObject()
+            .put("cpu", online ? random.nextInt(5, 100) : 0)
+            .put("memoryUsed", online ? random.nextInt(memoryLimit / 4, memoryLimit) : 0)
+            .put("memoryLimit", memoryLimit)
+            .put("playersOnline", online ? this.playersOnline : 0)
+            .put("playerLimit", 20)
+            .put("startDate", online ? this.startDate : 0));
+    }
+
+    void action(int action) {
+        switch (action) {
+            case 1:
+                this.status = OFFLINE;
+                this.playersOnline = 0;
+                this.append("[00:00:00 INFO]: Stopping server");
+                break;
+            case 2:
+                if (this.status() == ONLINE) break;
+                this.boot(STARTING);
+                break;
+            case 3:
+                this.status = OFFLINE;
+                this.playersOnline = 0;
+                break;
+            case 4:
+                this.playersOnline = 0;
+                this.boot(RESTARTING);
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown action " + action);
+        }
+    }
+
+    private void boot(int state) {
+        this.status = this.config.getStartupMillis() > 0 ? state : ONLINE;
+        this.startingUntil = System.nanoTime() + this.config.getStartupMillis() * 1_000_000L;
+        // Unix seconds, moved forward on every boot even within the same second
+        this.startDate = Math.max(this.startDate + 1, System.currentTimeMillis() / 1000);
+        this.append("[00:00:00 INFO]: Starting minecraft server");
+    }
+
+    void setPlayersOnline(int playersOnline) {
+        this.playersOnline = playersOnline;
+    }
+
+    void command(String command) {
+        this.append("[00:00:00 INFO]: > " + command);
+        if (command.equals("list")) {
+            this.append("[00:00:00 INFO]: There are " + this.playersOnline + " of a max of 20 players online");
+        }
+    }
+
+    private void append(String line) {
+        this.console[(int) (this.lines % this.console.length)] = line;
+        this.lines++;
+    }
+
+    // Writes the lines the server would have logged since the last call
+    private void churn() {
+        if (this.status() != ONLINE || this.config.getConsoleLinesPerSecond() <= 0) return;
+        long expected = (long) ((System.nanoTime() - this.createdAt) / 1e9 * this.config.getConsoleLinesPerSecond());
+        long missing = Math.min(expected - this.generated, this.console.length);
+        this.generated = expected;
+        for (long i = 0; i < missing; i++) {
+            long n = this.lines;
+            String player = PLAYERS[(int) (n % PLAYERS.length)];
+            switch ((int) (n % 5)) {
+                case 0: this.append("[12:00:00 INFO]: " + player + " joined the game"); break;
+                case 1: this.append("[12:00:00 INFO]: <" + player + "> hello #" + n); break;
+                case 2: this.append("[12:00:00 WARN]: Can't keep up! Is the server overloaded? Running " + (2000 + n % 500) + "ms or " + (40 + n % 10) + " ticks behind"); break;
+                case 3: this.append("[12:00:00 INFO]: Saving the game (this may take a moment!)"); break;
+                default: this.append("[12:00:00 INFO]: " + player + " left the game"); break;
+            }
+        }
+    }
+
+    List<String> console(int count, boolean reversed, boolean takeFromBeginning) {
+        this.churn();
+        int available = (int) Math.min(this.lines, this.console.length);
+        long first = this.lines - available;
+        int n = count <= 0 ? available : Math.min(count, available);
+        long from = takeFromBeginning ? first : this.lines - n;
+
+        List<String> out = new ArrayList<String>(n);
+        for (long i = from; i < from + n; i++) {
+            out.add(this.console[(int) (i % this.console.length)]);
+        }
+        if (reversed) Collections.reverse(out);
+        return out;
+    }
+
+    boolean outdated(String secondLastLine, String lastLine) {
+        List<String> tail = this.console(2, false, false);
+        if (tail.size() < 2) return true;
+        return !(tail.get(0).equals(secondLastLine) && tail.get(1).equals(lastLine));
+    }
+
+    JSONArray taskList(int filter) {
+        JSONArray out = new JSONArray();
+        for (JSONObject task : this.tasks.values()) {
+            JSONObject timing = task.optJSONObject("timing");
+            int kind = timing == null || timing.isEmpty() ? 3 : timing.has("time") ? 1 : 2;
+            if (filter == 0 || filter == kind) out.put(task);
+        }
+        return out;
+    }
+}
@@ -0,0 +1,70 @@
+package dev.le_app.mcss_api_java.simulator;
+
+/**
+ * Settings of a {@link McssSimulator}, setters can be chained.
+ */
+public class SimulatorConfig {
+
+    private String apiKey = "simulator-key";
+    private int servers = 10;
+    private int users = 5;
+    private int tasksPerServer = 2;
+    private int backupsPerServer = 1;
+    private int minLatencyMillis = 0;
+    private int maxLatencyMillis = 0;
+    private double errorRate = 0;
+    private double consoleLinesPerSecond = 1;
+    private int consoleCapacity = 500;
+    private int startupMillis = 0;
+    private int threads = 32;
+    private long seed = 42;
+    private boolean validators = false;
+
+    public String getApiKey() { return this.apiKey; }
+    public int getServers() { return this.servers; }
+    public int getUsers() { return this.users; }
+    public int getTasksPerServer() { return this.tasksPerServer; }
+    public int getBackupsPerServer() { return this.backupsPerServer; }
+    public int getMinLatencyMillis() { return this.minLatencyMillis; }
+    public int getMaxLatencyMillis() { return this.maxLatencyMillis; }
+    public double getErrorRate() { return this.errorRate; }
+    public double getConsoleLinesPerSecond() { return this.consoleLinesPerSecond; }
+    public int getConsoleCapacity() { return this.consoleCapacity; }
+    public int getStartupMillis() { return this.startupMillis; }
+    public int getThreads() { return this.threads; }
+    public long getSeed() { return this.seed; }
+    public boolean hasValidators() { return this.validators; }
+
+    public SimulatorConfig setApiKey(String apiKey) { this.apiKey = apiKey; return this; }
+    public SimulatorConfig setServers(int servers) { this.servers = servers; return this; }
+    public SimulatorConfig setUsers(int users) { this.users = users; return this; }
+    public SimulatorConfig setTasksPerServer(int tasksPerServer) { this.tasksPerServer = tasksPerServer; return this; }
+    public SimulatorConfig setBackupsPerServer(int backupsPerServer) { this.backupsPerServer = backupsPerServer; return this; }
+
+    // Every response is delayed by a uniformly distributed latency in this range
+    public SimulatorConfig setLatency(int minMillis, int maxMillis) {
+        if (minMillis < 0 || maxMillis < minMillis) throw new IllegalArgumentException("Invalid latency range");
+        this.minLatencyMillis = minMillis;
+        this.maxLatencyMillis = maxMillis;
+        return this;
+    }
+
+    // Fraction of the requests answered with a 500
+    public SimulatorConfig setErrorRate(double errorRate) {
+        if (errorRate < 0 || errorRate > 1) throw new IllegalArgumentException("errorRate must be between 0 and 1");
+        this.errorRate = errorRate;
+        return this;
+    }
+
+    public SimulatorConfig setConsoleLinesPerSecond(double consoleLinesPerSecond) { this.consoleLinesPerSecond = consoleLinesPerSecond; return this; }
+    public SimulatorConfig setConsoleCapacity(int consoleCapacity) { this.consoleCapacity = consoleCapacity; return this; }
+
+    // Time a server spends in the starting state before it is online
+    public SimulatorConfig setStartupMillis(int startupMillis) { this.startupMillis = startupMillis; return this; }
+
+    public SimulatorConfig setThreads(int threads) { this.threads = threads; return this; }
+    public SimulatorConfig setSeed(long seed) { this.seed = seed; return this; }
+
+    // Sends ETags on GET responses and answers 304 to a matching If-None-Match, MCSS itself does not
+    public SimulatorConfig setValidators(boolean validators) { this.validators = validators; return this; }
+}
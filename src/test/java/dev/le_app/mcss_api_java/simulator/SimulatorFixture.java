@@ -0,0 +1,28 @@
+package dev.le_app.mcss_api_java.simulator;
+
+import dev.le_app.mcss_api_java.api.MCSS;
+
+/**
+ * Runs a test against a simulator of its own, for tests that change the fleet or need a particular configuration.
+ * The simulator is closed when the test returns or throws.
+ */
+public final class SimulatorFixture {
+
+    @FunctionalInterface
+    public interface Body {
+        void run(McssSimulator simulator, MCSS client) throws Exception;
+    }
+
+    private SimulatorFixture() {
+    }
+
+    public static void withServers(int servers, Body body) throws Exception {
+        with(new SimulatorConfig().setServers(servers), body);
+    }
+
+    public static void with(SimulatorConfig config, Body body) throws Exception {
+        try (McssSimulator simulator = new McssSimulator(config).start()) {
+            body.run(simulator, simulator.client());
+        }
+    }
+}